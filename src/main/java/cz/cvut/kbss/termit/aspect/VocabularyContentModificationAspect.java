@@ -1,24 +1,57 @@
 package cz.cvut.kbss.termit.aspect;
 
 import cz.cvut.kbss.termit.event.VocabularyContentModified;
+import cz.cvut.kbss.termit.exception.NotFoundException;
+import cz.cvut.kbss.termit.model.AbstractTerm;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import cz.cvut.kbss.termit.persistence.dao.util.VocabularyContextCache;
+import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.After;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.net.URI;
+
 @Aspect
 public class VocabularyContentModificationAspect {
 
     @Autowired
     private ApplicationEventPublisher eventPublisher;
 
+    @Autowired
+    private VocabularyContextCache vocabularyContextCache;
+
     @Pointcut("@annotation(cz.cvut.kbss.termit.asset.provenance.ModifiesData) && target(cz.cvut.kbss.termit.persistence.dao.TermDao)")
     public void vocabularyContentModificationOperation() {
     }
 
     @After("vocabularyContentModificationOperation()")
-    public void vocabularyContentModified() {
-        eventPublisher.publishEvent(new VocabularyContentModified(this));
+    public void vocabularyContentModified(JoinPoint jp) {
+        eventPublisher.publishEvent(new VocabularyContentModified(this, resolveVocabulary(jp.getArgs())));
+    }
+
+    /**
+     * Resolves the modified vocabulary from the arguments of the modification operation.
+     *
+     * @return Vocabulary identifier, {@code null} if it cannot be determined
+     */
+    private URI resolveVocabulary(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Vocabulary) {
+                return ((Vocabulary) arg).getUri();
+            }
+        }
+        for (Object arg : args) {
+            if (arg instanceof AbstractTerm) {
+                try {
+                    return vocabularyContextCache.getVocabulary((AbstractTerm) arg);
+                } catch (NotFoundException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
     }
 }
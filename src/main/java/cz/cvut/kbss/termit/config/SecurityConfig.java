@@ -17,7 +17,7 @@ package cz.cvut.kbss.termit.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import cz.cvut.kbss.termit.security.*;
 import cz.cvut.kbss.termit.service.security.SecurityUtils;
-import cz.cvut.kbss.termit.service.security.TermItUserDetailsService;
+import cz.cvut.kbss.termit.service.security.PrincipalCache;
 import cz.cvut.kbss.termit.util.Constants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
@@ -53,7 +53,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final SecurityUtils securityUtils;
 
-    private final TermItUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     private final ObjectMapper objectMapper;
 
@@ -62,14 +62,14 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                           AuthenticationSuccess authenticationSuccessHandler,
                           AuthenticationFailureHandler authenticationFailureHandler,
                           JwtUtils jwtUtils, SecurityUtils securityUtils,
-                          TermItUserDetailsService userDetailsService,
+                          PrincipalCache principalCache,
                           ObjectMapper objectMapper) {
         this.authenticationProvider = authenticationProvider;
         this.authenticationSuccessHandler = authenticationSuccessHandler;
         this.authenticationFailureHandler = authenticationFailureHandler;
         this.jwtUtils = jwtUtils;
         this.securityUtils = securityUtils;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
         this.objectMapper = objectMapper;
     }
 
@@ -88,7 +88,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
             .addFilter(authenticationFilter())
             .addFilter(
                     new JwtAuthorizationFilter(authenticationManager(), jwtUtils, securityUtils,
-                            userDetailsService,
+                            principalCache,
                             objectMapper)).sessionManagement()
             .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             .and();
@@ -114,6 +114,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         corsConfiguration.addExposedHeader(HttpHeaders.LOCATION);
         corsConfiguration.addExposedHeader(HttpHeaders.CONTENT_DISPOSITION);
         corsConfiguration.addExposedHeader(Constants.X_TOTAL_COUNT_HEADER);
+        corsConfiguration.addExposedHeader(Constants.X_NEXT_CURSOR_HEADER);
         final UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", corsConfiguration);
         return source;
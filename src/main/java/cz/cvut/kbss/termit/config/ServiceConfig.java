@@ -43,7 +43,8 @@ public class ServiceConfig {
     }
 
     @Bean
-    public RestTemplate restTemplate(@Qualifier("objectMapper") ObjectMapper objectMapper) {
+    public RestTemplate restTemplate(@Qualifier("objectMapper") ObjectMapper objectMapper,
+                                     cz.cvut.kbss.termit.util.Configuration config) {
         final RestTemplate restTemplate = new RestTemplate();
 
         // Using LaxRedirectStrategy to allow redirects of POST, PUT and DELETE requests
@@ -54,6 +55,9 @@ public class ServiceConfig {
                 .setRedirectStrategy(new LaxRedirectStrategy())
                 .build();
         factory.setHttpClient(httpClient);
+        // The text analysis service is the only remote service invoked by the application
+        factory.setConnectTimeout(config.getTextAnalysis().getConnectTimeout());
+        factory.setReadTimeout(config.getTextAnalysis().getReadTimeout());
         restTemplate.setRequestFactory(factory);
 
         final MappingJackson2HttpMessageConverter jacksonConverter = new MappingJackson2HttpMessageConverter();
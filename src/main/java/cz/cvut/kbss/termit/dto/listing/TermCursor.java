@@ -0,0 +1,94 @@
+package cz.cvut.kbss.termit.dto.listing;
+
+import cz.cvut.kbss.termit.exception.InvalidParameterException;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Position in a list of terms ordered by label, used for keyset pagination.
+ * <p>
+ * A cursor represents the last term of a page, i.e., its label and identifier. The next page then starts with the first
+ * term following this position in the ordering, so that preceding terms need not be skipped one by one.
+ * <p>
+ * Cursors are passed to clients as opaque tokens, see {@link #encode()} and {@link #decode(String)}.
+ */
+public final class TermCursor {
+
+    /**
+     * Separates identifier and label in the token. Identifiers may not contain whitespace.
+     */
+    private static final char SEPARATOR = ' ';
+
+    private final String label;
+
+    private final URI term;
+
+    public TermCursor(String label, URI term) {
+        this.label = Objects.requireNonNull(label);
+        this.term = Objects.requireNonNull(term);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public URI getTerm() {
+        return term;
+    }
+
+    /**
+     * Encodes this cursor into an opaque token safe to be used in a URL.
+     *
+     * @return Cursor token
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                     .encodeToString((term.toString() + SEPARATOR + label).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor from the specified token.
+     *
+     * @param token Token created by {@link #encode()}
+     * @return Decoded cursor
+     * @throws InvalidParameterException If the token is not a valid cursor
+     */
+    public static TermCursor decode(String token) {
+        Objects.requireNonNull(token);
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separatorIndex = value.indexOf(SEPARATOR);
+            if (separatorIndex < 1) {
+                throw new InvalidParameterException("Invalid cursor " + token + ".");
+            }
+            return new TermCursor(value.substring(separatorIndex + 1), URI.create(value.substring(0, separatorIndex)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParameterException("Invalid cursor " + token + ".");
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TermCursor)) {
+            return false;
+        }
+        final TermCursor that = (TermCursor) o;
+        return label.equals(that.label) && term.equals(that.term);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(label, term);
+    }
+
+    @Override
+    public String toString() {
+        return "TermCursor{" + term + " '" + label + "'}";
+    }
+}
@@ -0,0 +1,35 @@
+package cz.cvut.kbss.termit.dto.listing;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Page of terms retrieved using keyset pagination.
+ * <p>
+ * Besides the terms, the page contains the cursor from which the next page can be retrieved.
+ */
+public class TermPage {
+
+    private final List<TermDto> content;
+
+    private final TermCursor next;
+
+    public TermPage(List<TermDto> content, TermCursor next) {
+        this.content = Objects.requireNonNull(content);
+        this.next = next;
+    }
+
+    public List<TermDto> getContent() {
+        return content;
+    }
+
+    /**
+     * Gets cursor of the next page.
+     *
+     * @return Next page cursor, empty {@code Optional} if this is the last page
+     */
+    public Optional<TermCursor> getNext() {
+        return Optional.ofNullable(next);
+    }
+}
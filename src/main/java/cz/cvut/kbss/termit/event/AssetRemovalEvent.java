@@ -0,0 +1,21 @@
+package cz.cvut.kbss.termit.event;
+
+import cz.cvut.kbss.termit.model.Asset;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Indicates that an asset has been removed.
+ * <p>
+ * The event is published by the DAO removing the asset, i.e., before the surrounding transaction commits.
+ */
+public class AssetRemovalEvent extends ApplicationEvent {
+
+    public AssetRemovalEvent(Asset<?> source) {
+        super(source);
+    }
+
+    @Override
+    public Asset<?> getSource() {
+        return (Asset<?>) super.getSource();
+    }
+}
@@ -0,0 +1,41 @@
+package cz.cvut.kbss.termit.event;
+
+import cz.cvut.kbss.termit.model.Asset;
+import org.springframework.context.ApplicationEvent;
+
+import java.net.URI;
+
+/**
+ * Indicates that an asset has been persisted or updated.
+ * <p>
+ * The event is published by the DAO modifying the asset, i.e., before the surrounding transaction commits.
+ */
+public class AssetUpdateEvent extends ApplicationEvent {
+
+    private final URI vocabulary;
+
+    /**
+     * @param source     The persisted or updated asset
+     * @param vocabulary Identifier of the vocabulary the asset belongs to (applicable to terms), possibly {@code null}
+     */
+    public AssetUpdateEvent(Asset<?> source, URI vocabulary) {
+        super(source);
+        this.vocabulary = vocabulary;
+    }
+
+    /**
+     * Gets identifier of the vocabulary the asset belongs to.
+     * <p>
+     * This is relevant for terms, whose vocabulary is inferred and thus may not be available in the term instance.
+     *
+     * @return Vocabulary identifier, possibly {@code null}
+     */
+    public URI getVocabulary() {
+        return vocabulary;
+    }
+
+    @Override
+    public Asset<?> getSource() {
+        return (Asset<?>) super.getSource();
+    }
+}
@@ -0,0 +1,64 @@
+package cz.cvut.kbss.termit.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Signals that cached data related to the specified assets are outdated.
+ * <p>
+ * Unlike {@link EvictCacheEvent}, which requires all caches to be cleared, consumers of this event are expected to
+ * evict only entries depending on the specified vocabularies and terms.
+ */
+public class CacheInvalidationEvent extends ApplicationEvent {
+
+    private final Set<URI> vocabularies;
+
+    private final Set<URI> terms;
+
+    /**
+     * Creates a new event.
+     *
+     * @param source       Source of the event
+     * @param vocabularies Identifiers of vocabularies whose data (not content) were modified
+     * @param terms        Identifiers of terms whose cached data (e.g., sub-terms) are outdated
+     */
+    public CacheInvalidationEvent(Object source, Collection<URI> vocabularies, Collection<URI> terms) {
+        super(source);
+        this.vocabularies = Set.copyOf(vocabularies);
+        this.terms = Set.copyOf(terms);
+    }
+
+    /**
+     * Creates an event of modification of data of the specified vocabulary.
+     *
+     * @param source     Source of the event
+     * @param vocabulary Identifier of the modified vocabulary
+     * @return New event
+     */
+    public static CacheInvalidationEvent vocabulary(Object source, URI vocabulary) {
+        return new CacheInvalidationEvent(source, Collections.singleton(vocabulary), Collections.emptySet());
+    }
+
+    /**
+     * Creates an event invalidating cached data of the specified terms.
+     *
+     * @param source Source of the event
+     * @param terms  Identifiers of terms whose cached data are outdated
+     * @return New event
+     */
+    public static CacheInvalidationEvent terms(Object source, Collection<URI> terms) {
+        return new CacheInvalidationEvent(source, Collections.emptySet(), terms);
+    }
+
+    public Set<URI> getVocabularies() {
+        return vocabularies;
+    }
+
+    public Set<URI> getTerms() {
+        return terms;
+    }
+}
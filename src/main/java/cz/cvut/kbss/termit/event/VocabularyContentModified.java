@@ -2,6 +2,8 @@ package cz.cvut.kbss.termit.event;
 
 import org.springframework.context.ApplicationEvent;
 
+import java.net.URI;
+
 /**
  * Represents an event of modification of the content of a vocabulary.
  * <p>
@@ -9,7 +11,30 @@ import org.springframework.context.ApplicationEvent;
  */
 public class VocabularyContentModified extends ApplicationEvent {
 
+    private final URI vocabularyIri;
+
+    /**
+     * Creates an event of modification of content of an unknown vocabulary.
+     * <p>
+     * Consumers should consider content of all vocabularies modified.
+     *
+     * @param source Source of the event
+     */
     public VocabularyContentModified(Object source) {
+        this(source, null);
+    }
+
+    public VocabularyContentModified(Object source, URI vocabularyIri) {
         super(source);
+        this.vocabularyIri = vocabularyIri;
+    }
+
+    /**
+     * Gets identifier of the vocabulary whose content was modified.
+     *
+     * @return Vocabulary identifier, {@code null} if the modified vocabulary is not known
+     */
+    public URI getVocabularyIri() {
+        return vocabularyIri;
     }
 }
@@ -0,0 +1,11 @@
+package cz.cvut.kbss.termit.exception;
+
+/**
+ * Indicates that a background job cannot be accepted, because the maximum number of waiting jobs has been reached.
+ */
+public class JobRejectedException extends TermItException {
+
+    public JobRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
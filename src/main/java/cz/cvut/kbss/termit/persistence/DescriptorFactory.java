@@ -23,6 +23,7 @@ import cz.cvut.kbss.termit.model.Term;
 import cz.cvut.kbss.termit.model.Vocabulary;
 import cz.cvut.kbss.termit.model.resource.Document;
 import cz.cvut.kbss.termit.model.resource.File;
+import cz.cvut.kbss.termit.persistence.dao.util.VocabularyContextCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -37,9 +38,12 @@ public class DescriptorFactory {
 
     private final EntityManagerFactory emf;
 
+    private final VocabularyContextCache vocabularyContextCache;
+
     @Autowired
-    public DescriptorFactory(EntityManagerFactory emf) {
+    public DescriptorFactory(EntityManagerFactory emf, VocabularyContextCache vocabularyContextCache) {
         this.emf = emf;
+        this.vocabularyContextCache = vocabularyContextCache;
     }
 
     /**
@@ -237,15 +241,15 @@ public class DescriptorFactory {
     /**
      * Creates a JOPA descriptor for the specified term.
      * <p>
-     * This takes the context from the term's vocabulary. Note that if parent terms are provided for the term, their
-     * vocabularies are used as their contexts.
+     * This takes the context from the term's vocabulary. If the term does not specify its vocabulary, it is resolved
+     * (e.g., from the term's glossary). Note that if parent terms are provided for the term, their vocabularies are
+     * used as their contexts.
      *
      * @param term Term to create descriptor for
      * @return Term descriptor
      */
     public Descriptor termDescriptor(Term term) {
         Objects.requireNonNull(term);
-        assert term.getVocabulary() != null;
-        return termDescriptor(term.getVocabulary());
+        return termDescriptor(vocabularyContextCache.getVocabulary(term));
     }
 }
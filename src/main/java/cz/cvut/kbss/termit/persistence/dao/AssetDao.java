@@ -26,7 +26,9 @@ import cz.cvut.kbss.termit.util.Vocabulary;
 import cz.cvut.kbss.termit.util.Configuration.Persistence;
 
 import java.net.URI;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
@@ -109,6 +111,51 @@ public abstract class AssetDao<T extends Asset<?>> extends BaseDao<T> {
         modified.forEach(m -> m.setEditor(em.find(User.class, m.getModifiedBy())));
     }
 
+    /**
+     * Finds the specified number of most recent changes of assets of this type.
+     * <p>
+     * As opposed to {@link #findLastEdited(int)}, all changes are returned (i.e., an asset may be contained in the
+     * result multiple times), which allows to retrieve them using a single query. Each editor is loaded only once.
+     *
+     * @param limit Maximum number of changes to load
+     * @return List of recent changes, ordered by modification date in descending order
+     */
+    public List<RecentlyModifiedAsset> findRecentChanges(int limit) {
+        try {
+            final List<RecentlyModifiedAsset> changes = em.createNativeQuery(
+                    "SELECT DISTINCT ?entity ?label ?modified ?modifiedBy ?vocabulary ?type ?changeType WHERE {" +
+                            "?x a ?change ;" +
+                            "   a ?chType ;" +
+                            "?hasModifiedEntity ?entity ;" +
+                            "?hasEditor ?modifiedBy ;" +
+                            "?hasModificationDate ?modified ." +
+                            "?entity a ?cls ;" +
+                            "?hasLabel ?label ." +
+                            "OPTIONAL { ?entity ?isFromVocabulary ?vocabulary . }" +
+                            "BIND (?cls as ?type)" +
+                            "FILTER (?chType != ?change)" +
+                            "BIND (IF(?chType = ?persist, ?persist, ?update) as ?changeType)" +
+                            "FILTER (lang(?label) = ?language)" +
+                            "} ORDER BY DESC(?modified)", "RecentlyModifiedAsset")
+                    .setParameter("cls", typeUri)
+                    .setParameter("change", URI.create(Vocabulary.s_c_zmena))
+                    .setParameter("hasLabel", labelProperty())
+                    .setParameter("hasModifiedEntity", URI.create(Vocabulary.s_p_ma_zmenenou_entitu))
+                    .setParameter("hasEditor", URI.create(Vocabulary.s_p_ma_editora))
+                    .setParameter("hasModificationDate", URI.create(Vocabulary.s_p_ma_datum_a_cas_modifikace))
+                    .setParameter("isFromVocabulary", URI.create(Vocabulary.s_p_je_pojmem_ze_slovniku))
+                    .setParameter("persist", URI.create(Vocabulary.s_c_vytvoreni_entity))
+                    .setParameter("update", URI.create(Vocabulary.s_c_uprava_entity))
+                    .setParameter("language", config.getLanguage()).setMaxResults(limit).getResultList();
+            final Map<URI, User> editors = new HashMap<>();
+            changes.forEach(ch -> ch.setEditor(
+                    editors.computeIfAbsent(ch.getModifiedBy(), uri -> em.find(User.class, uri))));
+            return changes;
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
     /**
      * Finds the specified number of most recently added/edited assets by the specified author.
      *
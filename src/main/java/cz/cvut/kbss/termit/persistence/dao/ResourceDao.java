@@ -14,11 +14,13 @@
  */
 package cz.cvut.kbss.termit.persistence.dao;
 
+import cz.cvut.kbss.jopa.model.Cache;
 import cz.cvut.kbss.jopa.model.EntityManager;
 import cz.cvut.kbss.jopa.model.descriptors.Descriptor;
 import cz.cvut.kbss.jopa.vocabulary.DC;
 import cz.cvut.kbss.termit.asset.provenance.ModifiesData;
 import cz.cvut.kbss.termit.asset.provenance.SupportsLastModification;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
 import cz.cvut.kbss.termit.event.RefreshLastModifiedEvent;
 import cz.cvut.kbss.termit.exception.PersistenceException;
 import cz.cvut.kbss.termit.model.User;
@@ -27,7 +29,9 @@ import cz.cvut.kbss.termit.model.resource.File;
 import cz.cvut.kbss.termit.model.resource.Resource;
 import cz.cvut.kbss.termit.persistence.DescriptorFactory;
 import cz.cvut.kbss.termit.util.Configuration;
+import cz.cvut.kbss.termit.util.Utils;
 import cz.cvut.kbss.termit.util.Vocabulary;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Repository;
 
@@ -40,10 +44,14 @@ public class ResourceDao extends AssetDao<Resource> implements SupportsLastModif
 
     private static final URI LABEL_PROPERTY = URI.create(DC.Terms.TITLE);
 
+    private final ApplicationEventPublisher eventPublisher;
+
     private volatile long lastModified;
 
-    public ResourceDao(EntityManager em, Configuration config, DescriptorFactory descriptorFactory) {
+    public ResourceDao(EntityManager em, Configuration config, DescriptorFactory descriptorFactory,
+                       ApplicationEventPublisher eventPublisher) {
         super(Resource.class, em, config.getPersistence(), descriptorFactory);
+        this.eventPublisher = eventPublisher;
         refreshLastModified();
     }
 
@@ -100,8 +108,7 @@ public class ResourceDao extends AssetDao<Resource> implements SupportsLastModif
             final URI vocabularyId = resolveVocabularyId(entity);
             if (vocabularyId != null) {
                 setDocumentOnFileIfNecessary(entity, vocabularyId);
-                // This evict is a bit overkill, but there are multiple relationships that would have to be evicted
-                em.getEntityManagerFactory().getCache().evict(vocabularyId);
+                evictRelated(entity, vocabularyId);
                 return em.merge(entity, createDescriptor(entity, vocabularyId));
             } else {
                 return em.merge(entity);
@@ -111,6 +118,36 @@ public class ResourceDao extends AssetDao<Resource> implements SupportsLastModif
         }
     }
 
+    @ModifiesData
+    @Override
+    public void remove(Resource entity) {
+        super.remove(entity);
+        eventPublisher.publishEvent(new AssetRemovalEvent(entity));
+    }
+
+    /**
+     * Evicts the specified resource and entities referencing it from the second level cache.
+     * <p>
+     * Only the affected entities are evicted, the rest of the vocabulary context (e.g., its terms) remains cached.
+     *
+     * @param resource     Updated resource (document or file)
+     * @param vocabularyId Identifier of the vocabulary (and context) the resource belongs to
+     */
+    private void evictRelated(Resource resource, URI vocabularyId) {
+        final Cache cache = em.getEntityManagerFactory().getCache();
+        cache.evict(resource.getClass(), resource.getUri(), vocabularyId);
+        // Vocabulary references its document, which in turn references its files
+        cache.evict(cz.cvut.kbss.termit.model.Vocabulary.class, vocabularyId, vocabularyId);
+        if (resource instanceof Document) {
+            cache.evict(Document.class, resource.getUri(), vocabularyId);
+            Utils.emptyIfNull(((Document) resource).getFiles())
+                 .forEach(f -> cache.evict(File.class, f.getUri(), vocabularyId));
+        } else if (resource instanceof File) {
+            cache.evict(File.class, resource.getUri(), vocabularyId);
+            cache.evict(Document.class, ((File) resource).getDocument().getUri(), vocabularyId);
+        }
+    }
+
     private URI resolveVocabularyId(Resource resource) {
         if (resource instanceof Document) {
             return ((Document) resource).getVocabulary();
@@ -32,7 +32,7 @@ import java.util.List;
 import java.util.Objects;
 
 @Repository
-@Profile("!lucene")
+@Profile("!lucene & !embedded-lucene")
 public class SearchDao {
 
     private static final String FTS_QUERY_FILE = "fulltextsearch.rq";
@@ -15,11 +15,19 @@
 package cz.cvut.kbss.termit.persistence.dao;
 
 import cz.cvut.kbss.jopa.model.EntityManager;
+import cz.cvut.kbss.jopa.model.query.Query;
 import cz.cvut.kbss.jopa.model.query.TypedQuery;
 import cz.cvut.kbss.jopa.vocabulary.SKOS;
+import cz.cvut.kbss.ontodriver.model.LangString;
 import cz.cvut.kbss.termit.asset.provenance.ModifiesData;
 import cz.cvut.kbss.termit.dto.TermInfo;
+import cz.cvut.kbss.termit.dto.listing.TermCursor;
 import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.dto.listing.TermPage;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.event.AssetUpdateEvent;
+import cz.cvut.kbss.termit.event.CacheInvalidationEvent;
+import cz.cvut.kbss.termit.event.VocabularyContentModified;
 import cz.cvut.kbss.termit.exception.PersistenceException;
 import cz.cvut.kbss.termit.model.AbstractTerm;
 import cz.cvut.kbss.termit.model.Term;
@@ -28,30 +36,50 @@ import cz.cvut.kbss.termit.model.util.HasIdentifier;
 import cz.cvut.kbss.termit.persistence.DescriptorFactory;
 import cz.cvut.kbss.termit.persistence.dao.util.Cache;
 import cz.cvut.kbss.termit.persistence.dao.util.SparqlResultToTermInfoMapper;
+import cz.cvut.kbss.termit.persistence.dao.util.TermLabelIndex;
 import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.Utils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.net.URI;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Repository
-public class TermDao extends AssetDao<Term> {
+public class TermDao extends AssetDao<Term> implements ApplicationEventPublisherAware {
 
     private static final URI LABEL_PROP = URI.create(SKOS.PREF_LABEL);
 
+    /**
+     * Maximum number of terms whose related data (sub-terms, inverse relationships) are loaded by a single query.
+     */
+    private static final int BATCH_SIZE = 500;
+
     private final Cache<URI, Set<TermInfo>> subTermsCache;
 
+    private final TermLabelIndex labelIndex;
+
     private final Comparator<TermInfo> termInfoComparator;
 
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     public TermDao(EntityManager em, Configuration config, DescriptorFactory descriptorFactory,
-                   Cache<URI, Set<TermInfo>> subTermsCache) {
+                   Cache<URI, Set<TermInfo>> subTermsCache, TermLabelIndex labelIndex) {
         super(Term.class, em, config.getPersistence(), descriptorFactory);
         this.subTermsCache = subTermsCache;
+        this.labelIndex = labelIndex;
         this.termInfoComparator = Comparator.comparing(t -> t.getLabel().get(config.getPersistence().getLanguage()));
     }
 
@@ -127,6 +155,35 @@ public class TermDao extends AssetDao<Term> {
                 .getExactMatchTerms() : Collections.emptySet());
     }
 
+    /**
+     * Loads terms whose relationship to the specified terms is inferred due to the symmetry of SKOS related,
+     * relatedMatch and exactMatch.
+     * <p>
+     * This is a bulk alternative to loading the inverse relationships term by term, executing a fixed number of queries
+     * per batch of terms.
+     *
+     * @param terms Terms to load inverse relationships for
+     */
+    private void loadInverseRelationships(List<Term> terms) {
+        final Set<URI> termUris = terms.stream().map(Term::getUri).collect(Collectors.toSet());
+        final Map<URI, List<TermInfo>> related = fetchInverseTermInfo(termUris, SKOS.RELATED);
+        final Map<URI, List<TermInfo>> relatedMatch = fetchInverseTermInfo(termUris, SKOS.RELATED_MATCH);
+        final Map<URI, List<TermInfo>> exactMatch = fetchInverseTermInfo(termUris, SKOS.EXACT_MATCH);
+        terms.forEach(t -> {
+            t.setInverseRelated(excluding(related.get(t.getUri()),
+                                          Utils.joinCollections(t.getRelated(), t.getRelatedMatch())));
+            t.setInverseRelatedMatch(excluding(relatedMatch.get(t.getUri()), Utils.emptyIfNull(t.getRelatedMatch())));
+            t.setInverseExactMatchTerms(
+                    excluding(exactMatch.get(t.getUri()), Utils.emptyIfNull(t.getExactMatchTerms())));
+        });
+    }
+
+    private static Set<TermInfo> excluding(List<TermInfo> inverse, Collection<TermInfo> exclude) {
+        final Set<TermInfo> result = new LinkedHashSet<>(inverse);
+        result.removeAll(exclude);
+        return result;
+    }
+
     @Override
     public void persist(Term entity) {
         throw new UnsupportedOperationException(
@@ -148,7 +205,11 @@ public class TermDao extends AssetDao<Term> {
             entity.setGlossary(vocabulary.getGlossary().getUri());
             entity.setVocabulary(null); // This is inferred
             em.persist(entity, descriptorFactory.termDescriptor(vocabulary));
-            evictCachedSubTerms(Collections.emptySet(), entity.getParentTerms());
+            invalidateCachedSubTerms(entity.getParentTerms(), entity.getExternalParentTerms());
+            publishRelatedVocabulariesModified(vocabulary.getUri(), Utils.emptyIfNull(entity.getExternalParentTerms()),
+                                               Collections.emptySet());
+            labelIndex.put(entity.getUri(), vocabulary.getUri(), primaryLabel(entity), isRoot(entity));
+            eventPublisher.publishEvent(new AssetUpdateEvent(entity, vocabulary.getUri()));
         } catch (RuntimeException e) {
             throw new PersistenceException(e);
         }
@@ -166,18 +227,64 @@ public class TermDao extends AssetDao<Term> {
             em.getEntityManagerFactory().getCache().evict(TermDto.class, entity.getUri(), null);
             final Term original = em.find(Term.class, entity.getUri(), descriptorFactory.termDescriptor(entity));
             entity.setDefinitionSource(original.getDefinitionSource());
-            evictCachedSubTerms(original.getParentTerms(), entity.getParentTerms());
+            // Parents (even the unchanged ones) contain info about the updated term among their sub-terms
+            invalidateCachedSubTerms(original.getParentTerms(), entity.getParentTerms(),
+                                     original.getExternalParentTerms(), entity.getExternalParentTerms());
+            final URI vocabulary = entity.getVocabulary() != null ? entity.getVocabulary() : original.getVocabulary();
+            publishRelatedVocabulariesModified(vocabulary, Utils.joinCollections(original.getExternalParentTerms(),
+                                                                                 entity.getExternalParentTerms()),
+                                               getSubTerms(original));
+            labelIndex.put(entity.getUri(), vocabulary, primaryLabel(entity), isRoot(entity));
+            eventPublisher.publishEvent(new AssetUpdateEvent(entity, vocabulary));
             return em.merge(entity, descriptorFactory.termDescriptor(entity));
         } catch (RuntimeException e) {
             throw new PersistenceException(e);
         }
     }
 
+    /**
+     * Whether the specified term is a root term of its vocabulary, i.e., it has no parent in the same vocabulary.
+     * <p>
+     * This corresponds to how top concepts of glossaries are maintained by the repository services.
+     */
+    private static boolean isRoot(Term term) {
+        return Utils.emptyIfNull(term.getParentTerms()).stream()
+                    .noneMatch(p -> Objects.equals(p.getGlossary(), term.getGlossary()));
+    }
+
+    /**
+     * Publishes modification of content of vocabularies (other than the specified one) containing parents or sub-terms
+     * of a modified term.
+     * <p>
+     * Term listings of these vocabularies contain info about the modified term (e.g., its label), so their content is
+     * modified as well.
+     *
+     * @param vocabulary Vocabulary of the modified term
+     * @param parents    Parent terms of the modified term (including the original ones, if changed)
+     * @param subTerms   Sub-terms of the modified term
+     */
+    private void publishRelatedVocabulariesModified(URI vocabulary, Collection<? extends AbstractTerm> parents,
+                                                    Collection<TermInfo> subTerms) {
+        Stream.concat(parents.stream().map(AbstractTerm::getVocabulary),
+                      subTerms.stream().map(TermInfo::getVocabulary))
+              .filter(v -> v != null && !v.equals(vocabulary)).distinct()
+              .forEach(v -> eventPublisher.publishEvent(new VocabularyContentModified(this, v)));
+    }
+
+    private String primaryLabel(AbstractTerm term) {
+        return term.getLabel() != null ? term.getLabel().get(config.getLanguage()) : null;
+    }
+
+    private static String labelValue(Object value) {
+        return value instanceof LangString ? ((LangString) value).getValue() : value.toString();
+    }
+
     /**
      * Marks the specified term as draft.
      *
      * @param term Term to mark as draft
      */
+    @ModifiesData
     public void setAsDraft(Term term) {
         Objects.requireNonNull(term);
         setTermDraftStatusTo(term, true);
@@ -208,19 +315,46 @@ public class TermDao extends AssetDao<Term> {
      *
      * @param term Term to mark as confirmed
      */
+    @ModifiesData
     public void setAsConfirmed(Term term) {
         Objects.requireNonNull(term);
         setTermDraftStatusTo(term, false);
     }
 
-    private void evictCachedSubTerms(Set<? extends AbstractTerm> originalParents,
-                                     Set<? extends AbstractTerm> newParents) {
-        final Set<AbstractTerm> originalCopy = new HashSet<>(Utils.emptyIfNull(originalParents));
-        final Set<AbstractTerm> newCopy = new HashSet<>(Utils.emptyIfNull(newParents));
-        originalCopy.removeAll(newCopy);
-        newCopy.removeAll(originalCopy);
-        originalCopy.forEach(t -> subTermsCache.evict(t.getUri()));
-        newCopy.forEach(t -> subTermsCache.evict(t.getUri()));
+    /**
+     * Publishes invalidation of cached sub-terms of the specified parent terms.
+     *
+     * @param parents Collections of parent terms whose sub-terms are outdated
+     */
+    @SafeVarargs
+    private void invalidateCachedSubTerms(Collection<? extends AbstractTerm>... parents) {
+        final Set<URI> uris = Stream.of(parents).filter(Objects::nonNull).flatMap(Collection::stream)
+                                    .map(AbstractTerm::getUri).collect(Collectors.toSet());
+        if (!uris.isEmpty()) {
+            eventPublisher.publishEvent(CacheInvalidationEvent.terms(this, uris));
+        }
+    }
+
+    /**
+     * Evicts cached sub-terms of terms referenced by the specified event.
+     * <p>
+     * The entries are evicted immediately (so that the modification is visible in the current transaction) and once
+     * again after commit, so that values loaded concurrently before the commit do not remain in the cache.
+     *
+     * @param event Cache invalidation event
+     */
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        final Set<URI> terms = event.getTerms();
+        terms.forEach(subTermsCache::evict);
+        if (!terms.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    terms.forEach(subTermsCache::evict);
+                }
+            });
+        }
     }
 
     public List<TermDto> findAll(Vocabulary vocabulary) {
@@ -233,8 +367,7 @@ public class TermDao extends AssetDao<Term> {
                                                                             "FILTER (lang(?label) = ?labelLang) ." +
                                                                             "}" +
                                                                             "?term ?inVocabulary ?vocabulary ." +
-                                                                            " } ORDER BY " + orderSentence(
-                                                         config.getLanguage(), "?label"), TermDto.class)
+                                                                            " }", TermDto.class)
                                                  .setParameter("type", typeUri)
                                                  .setParameter("vocabulary", vocabulary)
                                                  .setParameter("hasLabel", LABEL_PROP)
@@ -254,32 +387,66 @@ public class TermDao extends AssetDao<Term> {
      *
      * @param vocabulary Vocabulary whose terms should be returned
      * @return Matching terms, ordered by label
+     * @see #streamAllFull(Vocabulary)
      */
     public List<Term> findAllFull(Vocabulary vocabulary) {
+        return streamAllFull(vocabulary).collect(Collectors.toList());
+    }
+
+    /**
+     * Gets a stream of all terms in the specified vocabulary.
+     * <p>
+     * Only term identifiers are loaded eagerly. The terms themselves are loaded lazily in batches as the stream is
+     * consumed, so that the whole vocabulary need not be held in memory at once.
+     * <p>
+     * No differences are made between root terms and terms with parents.
+     *
+     * @param vocabulary Vocabulary whose terms should be returned
+     * @return Stream of matching terms, ordered by label
+     */
+    public Stream<Term> streamAllFull(Vocabulary vocabulary) {
         Objects.requireNonNull(vocabulary);
+        try {
+            final List<URI> termIris = orderByLabel(em.createNativeQuery("SELECT DISTINCT ?term ?label WHERE {" +
+                                                                                 "GRAPH ?vocabulary { " +
+                                                                                 "?term a ?type ;" +
+                                                                                 "?hasLabel ?label ;" +
+                                                                                 "FILTER (lang(?label) = ?labelLang) ." +
+                                                                                 "}" +
+                                                                                 "?term ?inVocabulary ?vocabulary ." +
+                                                                                 " }")
+                                                      .setParameter("type", typeUri)
+                                                      .setParameter("vocabulary", vocabulary.getUri())
+                                                      .setParameter("hasLabel", LABEL_PROP)
+                                                      .setParameter("inVocabulary",
+                                                                    URI.create(
+                                                                            cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku))
+                                                      .setParameter("labelLang", config.getLanguage()));
+            return IntStream.range(0, (termIris.size() + BATCH_SIZE - 1) / BATCH_SIZE)
+                            .mapToObj(i -> termIris.subList(i * BATCH_SIZE,
+                                                            Math.min((i + 1) * BATCH_SIZE, termIris.size())))
+                            .flatMap(batch -> loadFull(batch).stream());
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    /**
+     * Loads full terms with the specified identifiers.
+     * <p>
+     * Only sub-terms and inverse relationships are loaded in bulk, using a fixed number of queries per batch. The term
+     * entities themselves are still loaded one by one, i.e., one persistence context lookup per term.
+     */
+    private List<Term> loadFull(List<URI> termIris) {
         try {
             // Load terms one by one. This works around the issue of terms being loaded in the persistence context
             // as Term and TermInfo, which results in IndividualAlreadyManagedExceptions from JOPA
             // The workaround relies on the fact that jopa-spring-transaction will create a new persistence context
             // for each find call
-            // The price for this solution is that this method performs very poorly for larger vocabularies (hundreds of terms)
-            final List<URI> termIris = em.createNativeQuery("SELECT DISTINCT ?term WHERE {" +
-                                                                    "GRAPH ?vocabulary { " +
-                                                                    "?term a ?type ;" +
-                                                                    "?hasLabel ?label ;" +
-                                                                    "FILTER (lang(?label) = ?labelLang) ." +
-                                                                    "}" +
-                                                                    "?term ?inVocabulary ?vocabulary ." +
-                                                                    " } ORDER BY " + orderSentence(config.getLanguage(),
-                                                                                                   "?label"), URI.class)
-                                         .setParameter("type", typeUri)
-                                         .setParameter("vocabulary", vocabulary.getUri())
-                                         .setParameter("hasLabel", LABEL_PROP)
-                                         .setParameter("inVocabulary",
-                                                       URI.create(
-                                                               cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku))
-                                         .setParameter("labelLang", config.getLanguage()).getResultList();
-            return termIris.stream().map(ti -> find(ti).get()).collect(Collectors.toList());
+            final List<Term> terms = termIris.stream().map(ti -> super.find(ti).get()).collect(Collectors.toList());
+            loadSubTerms(terms);
+            loadInverseRelationships(terms);
+            return terms;
         } catch (RuntimeException e) {
             throw new PersistenceException(e);
         }
@@ -312,7 +479,165 @@ public class TermDao extends AssetDao<Term> {
     }
 
     private <T extends AbstractTerm> List<T> executeQueryAndLoadSubTerms(TypedQuery<T> query) {
-        return query.getResultStream().peek(t -> t.setSubTerms(getSubTerms(t))).collect(Collectors.toList());
+        final List<T> result = sortByLabel(query.getResultList());
+        loadSubTerms(result);
+        return result;
+    }
+
+    /**
+     * Sorts the specified terms by label in the configured language.
+     * <p>
+     * Terms are sorted in memory using collation keys precomputed by the label index, so that the repository does not
+     * have to evaluate a language-specific sort expression for every row.
+     */
+    private <T extends AbstractTerm> List<T> sortByLabel(List<T> terms) {
+        return labelIndex.sortByLabel(terms, HasIdentifier::getUri, this::primaryLabel);
+    }
+
+    /**
+     * Executes the specified query selecting terms ({@code ?term}) and their labels ({@code ?label}) and returns the
+     * term identifiers ordered by label.
+     *
+     * @see #sortByLabel(List)
+     */
+    private List<URI> orderByLabel(Query query) {
+        final Map<URI, String> labels = loadLabels(query);
+        return labelIndex.sortByLabel(labels.keySet(), Function.identity(), labels::get);
+    }
+
+    private static Map<URI, String> loadLabels(Query query) {
+        final Map<URI, String> labels = new LinkedHashMap<>();
+        for (Object r : query.getResultList()) {
+            final Object[] row = (Object[]) r;
+            labels.putIfAbsent((URI) row[0], labelValue(row[1]));
+        }
+        return labels;
+    }
+
+    /**
+     * Loads the specified page of terms selected by the specified query, ordered by label.
+     * <p>
+     * Only identifiers and labels of the matching terms are retrieved from the repository, only terms on the requested
+     * page are then loaded.
+     *
+     * @see #orderByLabel(Query)
+     */
+    private List<TermDto> loadPageOrderedByLabel(Query query, Pageable pageSpec) {
+        final List<URI> ordered = orderByLabel(query);
+        final int from = (int) Math.min(pageSpec.getOffset(), ordered.size());
+        final int to = Math.min(from + pageSpec.getPageSize(), ordered.size());
+        return loadTermDtos(ordered.subList(from, to));
+    }
+
+    /**
+     * Loads the specified page of root terms of the specified vocabularies, ordered by label.
+     * <p>
+     * The page is served from the sorted root lists of the label index, so only terms on the page are loaded. If the
+     * index cannot be used, the page is selected from identifiers and labels of all the roots selected by the
+     * specified query.
+     *
+     * @param vocabularies Vocabularies whose roots to page, {@code null} for all vocabularies
+     * @param includeTerms Terms to leave out of the page (they are added to the result separately)
+     * @param pageSpec     Page specification
+     * @param fallback     Supplier of query selecting the roots ({@code ?term}) and their labels ({@code ?label})
+     */
+    private List<TermDto> loadRootsPage(Collection<URI> vocabularies, Collection<URI> includeTerms,
+                                        Pageable pageSpec, Supplier<Query> fallback) {
+        return findIndexedRoots(vocabularies, includeTerms, null, pageSpec.getOffset(), pageSpec.getPageSize())
+                .map(page -> loadTermDtos(page.stream().map(TermLabelIndex.Entry::getTerm)
+                                              .collect(Collectors.toList())))
+                .orElseGet(() -> loadPageOrderedByLabel(fallback.get(), pageSpec));
+    }
+
+    private Optional<List<TermLabelIndex.Entry>> findIndexedRoots(Collection<URI> vocabularies,
+                                                                  Collection<URI> includeTerms, TermCursor after,
+                                                                  long offset, int limit) {
+        if (!labelIndex.isReady()) {
+            rebuildLabelIndex();
+        }
+        return labelIndex.findRoots(vocabularies, includeTerms, after != null ? after.getLabel() : null,
+                                    after != null ? after.getTerm() : null, offset, limit);
+    }
+
+    /**
+     * Loads a page of root terms of the specified vocabularies, ordered by label, which starts right after the
+     * specified cursor.
+     * <p>
+     * The page is served from the sorted root lists of the label index, falling back to the specified query if the
+     * index cannot be used.
+     *
+     * @see #loadRootsPage(Collection, Collection, Pageable, Supplier)
+     */
+    private TermPage loadRootsPageAfter(Collection<URI> vocabularies, Collection<URI> includeTerms, TermCursor after,
+                                        int limit, Supplier<Query> fallback) {
+        // Select one more term to find out whether there is a next page
+        final Optional<List<TermLabelIndex.Entry>> indexed =
+                findIndexedRoots(vocabularies, includeTerms, after, 0, limit < Integer.MAX_VALUE ? limit + 1 : limit);
+        if (indexed.isEmpty()) {
+            return loadPageAfter(fallback.get(), after, limit);
+        }
+        final List<TermLabelIndex.Entry> page = indexed.get();
+        final List<URI> termUris = page.stream().limit(limit).map(TermLabelIndex.Entry::getTerm)
+                                       .collect(Collectors.toList());
+        if (page.size() <= limit) {
+            return new TermPage(loadTermDtos(termUris), null);
+        }
+        final TermLabelIndex.Entry last = page.get(limit - 1);
+        return new TermPage(loadTermDtos(termUris), new TermCursor(last.getLabel(), last.getTerm()));
+    }
+
+    private static void requirePositiveLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Page limit must be positive, got " + limit + ".");
+        }
+    }
+
+    /**
+     * Loads a page of terms selected by the specified query, ordered by label, which starts right after the specified
+     * cursor.
+     * <p>
+     * The page is selected from identifiers and labels of the matching terms without sorting all of them, only terms on
+     * the page are then loaded.
+     *
+     * @see #loadPageOrderedByLabel(Query, Pageable)
+     */
+    private TermPage loadPageAfter(Query query, TermCursor after, int limit) {
+        final Map<URI, String> labels = loadLabels(query);
+        // Select one more term to find out whether there is a next page
+        final List<URI> page = labelIndex.pageByLabel(labels.keySet(), Function.identity(), labels::get,
+                                                      after != null ? after.getLabel() : null,
+                                                      after != null ? after.getTerm() : null,
+                                                      limit < Integer.MAX_VALUE ? limit + 1 : limit);
+        if (page.size() <= limit) {
+            return new TermPage(loadTermDtos(page), null);
+        }
+        final URI last = page.get(limit - 1);
+        return new TermPage(loadTermDtos(page.subList(0, limit)), new TermCursor(labels.get(last), last));
+    }
+
+    private List<TermDto> loadTermDtos(List<URI> termUris) {
+        final List<TermDto> result = termUris.stream().map(u -> em.find(TermDto.class, u))
+                                             .filter(Objects::nonNull)
+                                             .collect(Collectors.toList());
+        loadSubTerms(result);
+        return result;
+    }
+
+    /**
+     * Loads sub-terms of all the specified terms.
+     * <p>
+     * Sub-terms of terms not yet present in the sub-terms cache are fetched in batches, so that the number of
+     * repository queries does not depend on the number of terms.
+     *
+     * @param terms Terms to load sub-terms for
+     */
+    private void loadSubTerms(Collection<? extends AbstractTerm> terms) {
+        if (terms.isEmpty()) {
+            return;
+        }
+        final Map<URI, Set<TermInfo>> subTerms = subTermsCache.getOrComputeAll(
+                terms.stream().map(HasIdentifier::getUri).collect(Collectors.toSet()), this::fetchSubTerms);
+        terms.forEach(t -> t.setSubTerms(subTerms.get(t.getUri())));
     }
 
     /**
@@ -331,8 +656,7 @@ public class TermDao extends AssetDao<Term> {
                                                                  "?inVocabulary ?parent ." +
                                                                  "?vocabulary ?imports* ?parent ." +
                                                                  "FILTER (lang(?label) = ?labelLang) ." +
-                                                                 "} ORDER BY " + orderSentence(config.getLanguage(),
-                                                                                               "?label"), TermDto.class)
+                                                                 "}", TermDto.class)
                                       .setParameter("type", typeUri)
                                       .setParameter("hasLabel", LABEL_PROP)
                                       .setParameter("inVocabulary",
@@ -352,31 +676,112 @@ public class TermDao extends AssetDao<Term> {
      * @param parent Parent term
      */
     private Set<TermInfo> getSubTerms(HasIdentifier parent) {
-        return subTermsCache.getOrCompute(parent.getUri(), this::loadSubTerms);
+        return subTermsCache.getOrCompute(parent.getUri(), uri -> fetchSubTerms(Collections.singleton(uri)).get(uri));
     }
 
     /**
-     * Actually loads sub-terms of a term with the specified identifiers.
+     * Actually loads sub-terms of terms with the specified identifiers.
+     * <p>
+     * Sub-terms are loaded using one query per {@link #BATCH_SIZE} parents.
      *
-     * @param parentUri Parent term identifier
-     * @return Set of sub-terms, sorted by label
+     * @param parentUris Parent term identifiers
+     * @return Map of parent identifiers to sets of their sub-terms, sorted by label. Contains an entry (possibly empty)
+     * for every specified parent
      */
-    private Set<TermInfo> loadSubTerms(URI parentUri) {
-        final List<?> subTerms = em.createNativeQuery("SELECT ?entity ?label ?vocabulary WHERE {" +
-                                                              "?parent ?narrower ?entity ." +
-                                                              "?entity a ?type ;" +
-                                                              "?hasLabel ?label ;" +
-                                                              "?inVocabulary ?vocabulary . } ORDER BY ?entity")
-                                   .setParameter("type", typeUri)
-                                   .setParameter("narrower", URI.create(SKOS.NARROWER))
-                                   .setParameter("parent", parentUri)
-                                   .setParameter("hasLabel", LABEL_PROP)
-                                   .setParameter("inVocabulary", URI
-                                           .create(cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku))
-                                   .getResultList();
-        final List<TermInfo> result = new SparqlResultToTermInfoMapper().map(subTerms);
-        result.sort(termInfoComparator);
-        return new LinkedHashSet<>(result);
+    private Map<URI, Set<TermInfo>> fetchSubTerms(Collection<URI> parentUris) {
+        final Map<URI, Set<TermInfo>> result = new HashMap<>(parentUris.size());
+        inBatches(parentUris, batch -> {
+            final List<?> subTerms = em.createNativeQuery("SELECT ?parent ?entity ?label ?vocabulary WHERE {" +
+                                                                  valuesClause("?parent", batch) +
+                                                                  "?parent ?narrower ?entity ." +
+                                                                  "?entity a ?type ;" +
+                                                                  "?hasLabel ?label ;" +
+                                                                  "?inVocabulary ?vocabulary . " +
+                                                                  "} ORDER BY ?parent ?entity")
+                                       .setParameter("type", typeUri)
+                                       .setParameter("narrower", URI.create(SKOS.NARROWER))
+                                       .setParameter("hasLabel", LABEL_PROP)
+                                       .setParameter("inVocabulary", URI.create(
+                                               cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku))
+                                       .getResultList();
+            return groupTermInfoByKey(batch, subTerms);
+        }).forEach((parent, subTerms) -> result.put(parent, new LinkedHashSet<>(subTerms)));
+        return result;
+    }
+
+    /**
+     * Loads terms related to the specified terms via the specified property (i.e., the specified terms are objects of
+     * statements with the property).
+     *
+     * @param termUris Identifiers of terms to load inverse related terms for
+     * @param property Relationship property
+     * @return Map of term identifiers to lists of inverse related terms, sorted by label
+     */
+    private Map<URI, List<TermInfo>> fetchInverseTermInfo(Collection<URI> termUris, String property) {
+        return inBatches(termUris, batch -> {
+            final List<?> inverse = em.createNativeQuery("SELECT ?term ?inverse ?label ?vocabulary WHERE {" +
+                                                                 valuesClause("?term", batch) +
+                                                                 "?inverse ?property ?term ;" +
+                                                                 "a ?type ;" +
+                                                                 "?hasLabel ?label ;" +
+                                                                 "?inVocabulary ?vocabulary . " +
+                                                                 "} ORDER BY ?term ?inverse")
+                                      .setParameter("property", URI.create(property))
+                                      .setParameter("type", typeUri)
+                                      .setParameter("hasLabel", labelProperty())
+                                      .setParameter("inVocabulary", URI.create(
+                                              cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku))
+                                      .getResultList();
+            return groupTermInfoByKey(batch, inverse);
+        });
+    }
+
+    /**
+     * Splits the specified identifiers into batches of at most {@link #BATCH_SIZE} and merges the results of applying
+     * the specified loader to each of them.
+     */
+    private static <V> Map<URI, V> inBatches(Collection<URI> identifiers, Function<List<URI>, Map<URI, V>> loader) {
+        final Map<URI, V> result = new HashMap<>(identifiers.size());
+        final List<URI> ids = new ArrayList<>(identifiers);
+        for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+            result.putAll(loader.apply(ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()))));
+        }
+        return result;
+    }
+
+    /**
+     * Maps rows of a query result whose first column is a key and the remaining three columns correspond to the
+     * {@link SparqlResultToTermInfoMapper} input.
+     *
+     * @param keys Keys for which the query was executed. Each of them will have an entry in the result
+     * @param rows Query result rows
+     * @return Map of keys to term info, sorted by label
+     */
+    private Map<URI, List<TermInfo>> groupTermInfoByKey(List<URI> keys, List<?> rows) {
+        final Map<URI, List<Object[]>> rowsByKey = new LinkedHashMap<>();
+        keys.forEach(k -> rowsByKey.put(k, new ArrayList<>()));
+        for (Object row : rows) {
+            final Object[] values = (Object[]) row;
+            rowsByKey.computeIfAbsent((URI) values[0], k -> new ArrayList<>())
+                     .add(Arrays.copyOfRange(values, 1, values.length));
+        }
+        final Map<URI, List<TermInfo>> result = new HashMap<>(rowsByKey.size());
+        rowsByKey.forEach((key, keyRows) -> {
+            final List<TermInfo> terms = new SparqlResultToTermInfoMapper().map(keyRows);
+            terms.sort(termInfoComparator);
+            result.put(key, terms);
+        });
+        return result;
+    }
+
+    /**
+     * Creates a SPARQL VALUES clause binding the specified variable to the specified identifiers.
+     * <p>
+     * Identifiers are valid {@link URI}s, so they cannot contain characters which would break the IRI reference.
+     */
+    private static String valuesClause(String variable, Collection<URI> values) {
+        return "VALUES " + variable + " {" + values.stream().map(u -> " <" + u + ">").collect(Collectors.joining()) +
+                " }";
     }
 
     /**
@@ -391,24 +796,9 @@ public class TermDao extends AssetDao<Term> {
     public List<TermDto> findAllRoots(Vocabulary vocabulary, Pageable pageSpec, Collection<URI> includeTerms) {
         Objects.requireNonNull(vocabulary);
         Objects.requireNonNull(pageSpec);
-        TypedQuery<TermDto> query = em.createNativeQuery("SELECT DISTINCT ?term WHERE {" +
-                                                                 "GRAPH ?vocabulary { " +
-                                                                 "?term a ?type ;" +
-                                                                 "?hasLabel ?label ." +
-                                                                 "?vocabulary ?hasGlossary/?hasTerm ?term ." +
-                                                                 "FILTER (lang(?label) = ?labelLang) ." +
-                                                                 "FILTER (?term NOT IN (?included))" +
-                                                                 "}} ORDER BY " + orderSentence(config.getLanguage(),
-                                                                                                "?label"),
-                                                         TermDto.class);
-        query = setCommonFindAllRootsQueryParams(query, false);
         try {
-            final List<TermDto> result = executeQueryAndLoadSubTerms(
-                    query.setParameter("vocabulary", vocabulary.getUri())
-                         .setParameter("labelLang", config.getLanguage())
-                         .setParameter("included", includeTerms)
-                         .setMaxResults(pageSpec.getPageSize())
-                         .setFirstResult((int) pageSpec.getOffset()));
+            final List<TermDto> result = loadRootsPage(Collections.singleton(vocabulary.getUri()), includeTerms,
+                                                       pageSpec, () -> rootsQuery(vocabulary, includeTerms));
             result.addAll(loadIncludedTerms(includeTerms));
             return result;
         } catch (RuntimeException e) {
@@ -416,30 +806,43 @@ public class TermDao extends AssetDao<Term> {
         }
     }
 
-    private String orderSentence(String lang, String var) {
-        if ("cs".equals(lang)) {
-            return
-                    r(r(r(r(r(r(r(r(r(r(r(r(r(r("lcase(" + var + ")",
-                                                "'á'", "'azz'"),
-                                              "'č'", "'czz'"),
-                                            "'ď'", "'dzz'"),
-                                          "'é'", "'ezz'"),
-                                        "'ě'", "'ezz'"),
-                                      "'í'", "'izz'"),
-                                    "'ň'", "'nzz'"),
-                                  "'ó'", "'ozz'"),
-                                "'ř'", "'rzz'"),
-                              "'š'", "'szz'"),
-                            "'ť'", "'tzz'"),
-                          "'ú'", "'uzz'"),
-                        "'ý'", "'yzz'"),
-                      "'ž'", "'zzz'");
+    /**
+     * Loads a page of root terms (terms without a parent) contained in the specified vocabulary, starting right after
+     * the specified cursor.
+     * <p>
+     * Unlike {@link #findAllRoots(Vocabulary, Pageable, Collection)}, the cost of retrieving a page does not depend on
+     * its position in the ordering.
+     *
+     * @param vocabulary   Vocabulary whose root terms should be returned
+     * @param after        Cursor after which the page starts, {@code null} for the first page
+     * @param limit        Maximum number of terms on the page
+     * @param includeTerms Identifiers of terms which should be a part of the result. Optional
+     * @return Page of matching terms, ordered by their label
+     */
+    public TermPage findAllRoots(Vocabulary vocabulary, TermCursor after, int limit, Collection<URI> includeTerms) {
+        Objects.requireNonNull(vocabulary);
+        requirePositiveLimit(limit);
+        try {
+            final TermPage result = loadRootsPageAfter(Collections.singleton(vocabulary.getUri()), includeTerms,
+                                                       after, limit, () -> rootsQuery(vocabulary, includeTerms));
+            result.getContent().addAll(loadIncludedTerms(includeTerms));
+            return result;
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
         }
-        return "lcase(" + var + ")";
     }
 
-    private String r(String string, String from, String to) {
-        return "replace(" + string + ", " + from + ", " + to + ")";
+    private Query rootsQuery(Vocabulary vocabulary, Collection<URI> includeTerms) {
+        final Query query = em.createNativeQuery("SELECT DISTINCT ?term ?label WHERE {" +
+                                                         "GRAPH ?vocabulary { " +
+                                                         "?term a ?type ;" +
+                                                         "?hasLabel ?label ." +
+                                                         "?vocabulary ?hasGlossary/?hasTerm ?term ." +
+                                                         "FILTER (lang(?label) = ?labelLang) ." +
+                                                         "FILTER (?term NOT IN (?included))" +
+                                                         "}}");
+        setCommonFindAllRootsQueryParams(query, includeTerms, false);
+        return query.setParameter("vocabulary", vocabulary.getUri());
     }
 
     /**
@@ -452,22 +855,8 @@ public class TermDao extends AssetDao<Term> {
      */
     public List<TermDto> findAllRoots(Pageable pageSpec, Collection<URI> includeTerms) {
         Objects.requireNonNull(pageSpec);
-        TypedQuery<TermDto> query = em.createNativeQuery("SELECT DISTINCT ?term WHERE {" +
-                                                                 "?term a ?type ;" +
-                                                                 "?hasLabel ?label ." +
-                                                                 "?vocabulary ?hasGlossary/?hasTerm ?term ." +
-                                                                 "FILTER (lang(?label) = ?labelLang) ." +
-                                                                 "FILTER (?term NOT IN (?included))" +
-                                                                 "} ORDER BY " + orderSentence(config.getLanguage(),
-                                                                                               "?label"),
-                                                         TermDto.class);
-        query = setCommonFindAllRootsQueryParams(query, false);
         try {
-            final List<TermDto> result = executeQueryAndLoadSubTerms(
-                    query.setParameter("labelLang", config.getLanguage())
-                         .setParameter("included", includeTerms)
-                         .setMaxResults(pageSpec.getPageSize())
-                         .setFirstResult((int) pageSpec.getOffset()));
+            final List<TermDto> result = loadRootsPage(null, includeTerms, pageSpec, () -> rootsQuery(includeTerms));
             result.addAll(loadIncludedTerms(includeTerms));
             return result;
         } catch (RuntimeException e) {
@@ -475,38 +864,79 @@ public class TermDao extends AssetDao<Term> {
         }
     }
 
-    private <T> TypedQuery<T> setCommonFindAllRootsQueryParams(TypedQuery<T> query, boolean includeImports) {
-        final TypedQuery<T> tq = query.setParameter("type", typeUri)
-                                      .setParameter("hasLabel", LABEL_PROP)
-                                      .setParameter("hasGlossary",
-                                                    URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_ma_glosar))
-                                      .setParameter("hasTerm", URI.create(SKOS.HAS_TOP_CONCEPT));
+    /**
+     * Loads a page of root terms (terms without a parent), starting right after the specified cursor.
+     *
+     * @param after        Cursor after which the page starts, {@code null} for the first page
+     * @param limit        Maximum number of terms on the page
+     * @param includeTerms Identifiers of terms which should be a part of the result. Optional
+     * @return Page of matching terms, ordered by their label
+     * @see #findAllRoots(Vocabulary, TermCursor, int, Collection)
+     */
+    public TermPage findAllRoots(TermCursor after, int limit, Collection<URI> includeTerms) {
+        requirePositiveLimit(limit);
+        try {
+            final TermPage result = loadRootsPageAfter(null, includeTerms, after, limit,
+                                                       () -> rootsQuery(includeTerms));
+            result.getContent().addAll(loadIncludedTerms(includeTerms));
+            return result;
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    private Query rootsQuery(Collection<URI> includeTerms) {
+        final Query query = em.createNativeQuery("SELECT DISTINCT ?term ?label WHERE {" +
+                                                         "?term a ?type ;" +
+                                                         "?hasLabel ?label ." +
+                                                         "?vocabulary ?hasGlossary/?hasTerm ?term ." +
+                                                         "FILTER (lang(?label) = ?labelLang) ." +
+                                                         "FILTER (?term NOT IN (?included))" +
+                                                         "}");
+        setCommonFindAllRootsQueryParams(query, includeTerms, false);
+        return query;
+    }
+
+    private void setCommonFindAllRootsQueryParams(Query query, Collection<URI> includeTerms, boolean includeImports) {
+        query.setParameter("type", typeUri)
+             .setParameter("hasLabel", LABEL_PROP)
+             .setParameter("hasGlossary", URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_ma_glosar))
+             .setParameter("hasTerm", URI.create(SKOS.HAS_TOP_CONCEPT))
+             .setParameter("labelLang", config.getLanguage())
+             .setParameter("included", includeTerms);
         if (includeImports) {
-            tq.setParameter("imports", URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_importuje_slovnik));
+            query.setParameter("imports", URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_importuje_slovnik));
         }
-        return tq;
     }
 
     private List<TermDto> loadIncludedTerms(Collection<URI> includeTerms) {
-        return includeTerms.stream().map(u -> em.find(TermDto.class, u))
-                           .filter(Objects::nonNull)
-                           .peek(this::recursivelyLoadParentTermSubTerms)
-                           .collect(Collectors.toList());
+        final List<TermDto> result = includeTerms.stream().map(u -> em.find(TermDto.class, u))
+                                                 .filter(Objects::nonNull)
+                                                 .collect(Collectors.toList());
+        loadParentSubTerms(result);
+        return result;
     }
 
     /**
-     * Recursively loads subterms for the specified term and its parents (if they exist).
+     * Loads subterms for the specified terms and, recursively, their parents (if they exist).
      * <p>
-     * This implementation ensures that the term hierarchy can be traversed both ways for the specified term. This has
+     * This implementation ensures that the term hierarchy can be traversed both ways for the specified terms. This has
      * to be done to allow the tree-select component on the frontend to work properly and display the terms.
+     * <p>
+     * The whole ancestor closure is collected first so that subterms can be loaded in one batch.
      *
-     * @param term The term to load subterms for
+     * @param terms The terms to load subterms for
      */
-    private void recursivelyLoadParentTermSubTerms(TermDto term) {
-        term.setSubTerms(getSubTerms(term));
-        if (term.hasParentTerms()) {
-            term.getParentTerms().forEach(this::recursivelyLoadParentTermSubTerms);
+    private void loadParentSubTerms(Collection<TermDto> terms) {
+        final Set<TermDto> closure = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<TermDto> toProcess = new ArrayDeque<>(terms);
+        while (!toProcess.isEmpty()) {
+            final TermDto t = toProcess.pop();
+            if (closure.add(t) && t.hasParentTerms()) {
+                toProcess.addAll(t.getParentTerms());
+            }
         }
+        loadSubTerms(closure);
     }
 
     /**
@@ -524,24 +954,9 @@ public class TermDao extends AssetDao<Term> {
                                                       Collection<URI> includeTerms) {
         Objects.requireNonNull(vocabulary);
         Objects.requireNonNull(pageSpec);
-        TypedQuery<TermDto> query = em.createNativeQuery("SELECT DISTINCT ?term WHERE {" +
-                                                                 "?term a ?type ;" +
-                                                                 "?hasLabel ?label ." +
-                                                                 "?vocabulary ?imports* ?parent ." +
-                                                                 "?parent ?hasGlossary/?hasTerm ?term ." +
-                                                                 "FILTER (lang(?label) = ?labelLang) ." +
-                                                                 "FILTER (?term NOT IN (?included))" +
-                                                                 "} ORDER BY " + orderSentence(config.getLanguage(),
-                                                                                               "?label"),
-                                                         TermDto.class);
-        query = setCommonFindAllRootsQueryParams(query, true);
         try {
-            final List<TermDto> result = executeQueryAndLoadSubTerms(
-                    query.setParameter("vocabulary", vocabulary.getUri())
-                         .setParameter("labelLang", config.getLanguage())
-                         .setParameter("included", includeTerms)
-                         .setFirstResult((int) pageSpec.getOffset())
-                         .setMaxResults(pageSpec.getPageSize()));
+            final List<TermDto> result = loadRootsPage(importClosure(vocabulary), includeTerms, pageSpec,
+                                                       () -> rootsIncludingImportsQuery(vocabulary, includeTerms));
             result.addAll(loadIncludedTerms(includeTerms));
             return result;
         } catch (RuntimeException e) {
@@ -549,6 +964,54 @@ public class TermDao extends AssetDao<Term> {
         }
     }
 
+    /**
+     * Loads a page of root terms contained in the specified vocabulary or any of its imports (transitively), starting
+     * right after the specified cursor.
+     *
+     * @param vocabulary   The last vocabulary in the vocabulary import chain
+     * @param after        Cursor after which the page starts, {@code null} for the first page
+     * @param limit        Maximum number of terms on the page
+     * @param includeTerms Identifiers of terms which should be a part of the result. Optional
+     * @return Page of matching terms, ordered by their label
+     * @see #findAllRoots(Vocabulary, TermCursor, int, Collection)
+     */
+    public TermPage findAllRootsIncludingImports(Vocabulary vocabulary, TermCursor after, int limit,
+                                                 Collection<URI> includeTerms) {
+        Objects.requireNonNull(vocabulary);
+        requirePositiveLimit(limit);
+        try {
+            final TermPage result = loadRootsPageAfter(importClosure(vocabulary), includeTerms, after, limit,
+                                                       () -> rootsIncludingImportsQuery(vocabulary, includeTerms));
+            result.getContent().addAll(loadIncludedTerms(includeTerms));
+            return result;
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    /**
+     * Gets identifiers of the specified vocabulary and all the vocabularies it (transitively) imports.
+     */
+    private List<URI> importClosure(Vocabulary vocabulary) {
+        return em.createNativeQuery("SELECT DISTINCT ?parent WHERE { ?vocabulary ?imports* ?parent . }", URI.class)
+                 .setParameter("vocabulary", vocabulary.getUri())
+                 .setParameter("imports", URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_importuje_slovnik))
+                 .getResultList();
+    }
+
+    private Query rootsIncludingImportsQuery(Vocabulary vocabulary, Collection<URI> includeTerms) {
+        final Query query = em.createNativeQuery("SELECT DISTINCT ?term ?label WHERE {" +
+                                                         "?term a ?type ;" +
+                                                         "?hasLabel ?label ." +
+                                                         "?vocabulary ?imports* ?parent ." +
+                                                         "?parent ?hasGlossary/?hasTerm ?term ." +
+                                                         "FILTER (lang(?label) = ?labelLang) ." +
+                                                         "FILTER (?term NOT IN (?included))" +
+                                                         "}");
+        setCommonFindAllRootsQueryParams(query, includeTerms, true);
+        return query.setParameter("vocabulary", vocabulary.getUri());
+    }
+
     /**
      * Finds terms whose label contains the specified search string.
      * <p>
@@ -561,6 +1024,10 @@ public class TermDao extends AssetDao<Term> {
     public List<TermDto> findAll(String searchString, Vocabulary vocabulary) {
         Objects.requireNonNull(searchString);
         Objects.requireNonNull(vocabulary);
+        final Optional<List<URI>> indexed = searchLabelIndex(searchString, vocabulary.getUri());
+        if (indexed.isPresent()) {
+            return loadIndexSearchResults(indexed.get());
+        }
         final TypedQuery<TermDto> query = em.createNativeQuery("SELECT DISTINCT ?term WHERE {" +
                                                                        "GRAPH ?vocabulary { " +
                                                                        "?term a ?type ; " +
@@ -568,8 +1035,7 @@ public class TermDao extends AssetDao<Term> {
                                                                        "FILTER CONTAINS(LCASE(?label), LCASE(?searchString)) ." +
                                                                        "}" +
                                                                        "?term ?inVocabulary ?vocabulary ." +
-                                                                       "} ORDER BY " + orderSentence(
-                                                    config.getLanguage(), "?label"), TermDto.class)
+                                                                       "}", TermDto.class)
                                             .setParameter("type", typeUri)
                                             .setParameter("hasLabel", LABEL_PROP)
                                             .setParameter("inVocabulary", URI.create(
@@ -577,8 +1043,8 @@ public class TermDao extends AssetDao<Term> {
                                             .setParameter("vocabulary", vocabulary.getUri())
                                             .setParameter("searchString", searchString, config.getLanguage());
         try {
-            final List<TermDto> terms = executeQueryAndLoadSubTerms(query);
-            terms.forEach(this::loadParentSubTerms);
+            final List<TermDto> terms = sortByLabel(query.getResultList());
+            loadParentSubTerms(terms);
             return terms;
         } catch (RuntimeException e) {
             throw new PersistenceException(e);
@@ -593,6 +1059,10 @@ public class TermDao extends AssetDao<Term> {
      */
     public List<TermDto> findAll(String searchString) {
         Objects.requireNonNull(searchString);
+        final Optional<List<URI>> indexed = searchLabelIndex(searchString, null);
+        if (indexed.isPresent()) {
+            return loadIndexSearchResults(indexed.get());
+        }
         final TypedQuery<TermDto> query = em.createNativeQuery("SELECT DISTINCT ?term WHERE {" +
                                                                        "GRAPH ?vocabulary { " +
                                                                        "?term a ?type ; " +
@@ -600,26 +1070,75 @@ public class TermDao extends AssetDao<Term> {
                                                                        "FILTER CONTAINS(LCASE(?label), LCASE(?searchString)) ." +
                                                                        "}" +
                                                                        "?term ?inVocabulary ?vocabulary ." +
-                                                                       "} ORDER BY " + orderSentence(
-                                                    config.getLanguage(), "?label"), TermDto.class)
+                                                                       "}", TermDto.class)
                                             .setParameter("type", typeUri)
                                             .setParameter("hasLabel", LABEL_PROP)
                                             .setParameter("inVocabulary", URI.create(
                                                     cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku))
                                             .setParameter("searchString", searchString, config.getLanguage());
         try {
-            final List<TermDto> terms = executeQueryAndLoadSubTerms(query);
-            terms.forEach(this::loadParentSubTerms);
+            final List<TermDto> terms = sortByLabel(query.getResultList());
+            loadParentSubTerms(terms);
             return terms;
         } catch (RuntimeException e) {
             throw new PersistenceException(e);
         }
     }
 
-    private void loadParentSubTerms(TermDto parent) {
-        parent.setSubTerms(getSubTerms(parent));
-        if (parent.getParentTerms() != null) {
-            parent.getParentTerms().forEach(this::loadParentSubTerms);
+    /**
+     * Searches the in-memory label index, building it first if necessary.
+     *
+     * @param searchString String to search for
+     * @param vocabulary   Vocabulary to search in, {@code null} to search in all vocabularies
+     * @return Identifiers of matching terms ordered by label, empty {@code Optional} if the index cannot be used
+     */
+    private Optional<List<URI>> searchLabelIndex(String searchString, URI vocabulary) {
+        if (!labelIndex.isReady()) {
+            rebuildLabelIndex();
+        }
+        return labelIndex.search(searchString, vocabulary);
+    }
+
+    private void rebuildLabelIndex() {
+        final long stamp = labelIndex.getModificationStamp();
+        try {
+            final List<?> rows = em.createNativeQuery("SELECT ?term ?vocabulary ?label ?root WHERE {" +
+                                                              "GRAPH ?vocabulary { " +
+                                                              "?term a ?type ; " +
+                                                              "      ?hasLabel ?label . " +
+                                                              "?vocabulary ?hasGlossary ?glossary . " +
+                                                              "FILTER (lang(?label) = ?labelLang) ." +
+                                                              "BIND (EXISTS { ?glossary ?hasTopConcept ?term } AS ?root)" +
+                                                              "}" +
+                                                              "}")
+                                   .setParameter("type", typeUri)
+                                   .setParameter("hasLabel", LABEL_PROP)
+                                   .setParameter("hasGlossary",
+                                                 URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_ma_glosar))
+                                   .setParameter("hasTopConcept", URI.create(SKOS.HAS_TOP_CONCEPT))
+                                   .setParameter("labelLang", config.getLanguage())
+                                   .getResultList();
+            final List<TermLabelIndex.Entry> entries = new ArrayList<>(rows.size());
+            for (Object r : rows) {
+                final Object[] row = (Object[]) r;
+                entries.add(new TermLabelIndex.Entry((URI) row[0], (URI) row[1], labelValue(row[2]),
+                                                     Boolean.TRUE.equals(row[3])));
+            }
+            labelIndex.rebuild(entries, stamp);
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    private List<TermDto> loadIndexSearchResults(List<URI> termUris) {
+        try {
+            final List<TermDto> terms = termUris.stream().map(u -> em.find(TermDto.class, u))
+                                                .filter(Objects::nonNull)
+                                                .collect(Collectors.toList());
+            loadParentSubTerms(terms);
+            return terms;
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
         }
     }
 
@@ -641,8 +1160,7 @@ public class TermDao extends AssetDao<Term> {
                                                                        "      ?hasLabel ?label ;\n" +
                                                                        "      ?inVocabulary ?vocabulary ." +
                                                                        "FILTER CONTAINS(LCASE(?label), LCASE(?searchString)) .\n" +
-                                                                       "} ORDER BY " + orderSentence(
-                                                    config.getLanguage(), "?label"), TermDto.class)
+                                                                       "}", TermDto.class)
                                             .setParameter("type", typeUri)
                                             .setParameter("hasLabel", LABEL_PROP)
                                             .setParameter("inVocabulary", URI.create(
@@ -653,8 +1171,8 @@ public class TermDao extends AssetDao<Term> {
                                             .setParameter("targetVocabulary", vocabulary.getUri())
                                             .setParameter("searchString", searchString, config.getLanguage());
         try {
-            final List<TermDto> terms = executeQueryAndLoadSubTerms(query);
-            terms.forEach(this::loadParentSubTerms);
+            final List<TermDto> terms = sortByLabel(query.getResultList());
+            loadParentSubTerms(terms);
             return terms;
         } catch (RuntimeException e) {
             throw new PersistenceException(e);
@@ -692,6 +1210,48 @@ public class TermDao extends AssetDao<Term> {
         }
     }
 
+    /**
+     * Gets preferred and alternative labels of all terms in the specified vocabularies.
+     * <p>
+     * Only labels in the configured language are returned.
+     *
+     * @param vocabularies Identifiers of vocabularies whose terms' labels should be returned
+     * @return Map of term identifiers to their labels
+     */
+    public Map<URI, Set<String>> findAllLabels(Collection<URI> vocabularies) {
+        Objects.requireNonNull(vocabularies);
+        if (vocabularies.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try {
+            final List<?> rows = em.createNativeQuery("SELECT DISTINCT ?term ?label WHERE {" +
+                                                              valuesClause("?vocabulary", vocabularies) +
+                                                              "GRAPH ?vocabulary { " +
+                                                              "?term a ?type . " +
+                                                              "{ ?term ?hasLabel ?label . } UNION " +
+                                                              "{ ?term ?hasAltLabel ?label . } " +
+                                                              "FILTER (lang(?label) = ?labelLang) ." +
+                                                              "}" +
+                                                              "?term ?inVocabulary ?vocabulary ." +
+                                                              "}")
+                                   .setParameter("type", typeUri)
+                                   .setParameter("hasLabel", LABEL_PROP)
+                                   .setParameter("hasAltLabel", URI.create(SKOS.ALT_LABEL))
+                                   .setParameter("inVocabulary", URI.create(
+                                           cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku))
+                                   .setParameter("labelLang", config.getLanguage())
+                                   .getResultList();
+            final Map<URI, Set<String>> result = new HashMap<>();
+            for (Object r : rows) {
+                final Object[] row = (Object[]) r;
+                result.computeIfAbsent((URI) row[0], k -> new HashSet<>(2)).add(labelValue(row[1]));
+            }
+            return result;
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
     /**
      * Gets identifiers of all terms in the specified vocabulary that have no occurrences (file or definitional).
      *
@@ -718,6 +1278,15 @@ public class TermDao extends AssetDao<Term> {
     @Override
     public void remove(Term entity) {
         super.remove(entity);
-        evictCachedSubTerms(entity.getParentTerms(), Collections.emptySet());
+        invalidateCachedSubTerms(entity.getParentTerms(), entity.getExternalParentTerms());
+        publishRelatedVocabulariesModified(entity.getVocabulary(), Utils.emptyIfNull(entity.getExternalParentTerms()),
+                                           Collections.emptySet());
+        labelIndex.remove(entity.getUri());
+        eventPublisher.publishEvent(new AssetRemovalEvent(entity));
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
     }
 }
@@ -34,6 +34,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 
 import java.net.URI;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 
@@ -198,6 +199,20 @@ public class TermOccurrenceDao extends BaseDao<TermOccurrence> {
         }
     }
 
+    /**
+     * Persists the specified term occurrences, including their targets.
+     * <p>
+     * The occurrences are persisted as part of the current transaction, so they are visible for the rest of it and
+     * are discarded if it is rolled back.
+     *
+     * @param occurrences Occurrences to persist
+     */
+    @ModifiesData
+    public void persistAll(Collection<? extends TermOccurrence> occurrences) {
+        Objects.requireNonNull(occurrences);
+        occurrences.forEach(this::persist);
+    }
+
     /**
      * Removes all suggested term occurrences whose target points to the specified asset.
      *
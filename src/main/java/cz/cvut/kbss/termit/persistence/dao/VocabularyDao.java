@@ -21,6 +21,9 @@ import cz.cvut.kbss.jopa.vocabulary.SKOS;
 import cz.cvut.kbss.termit.asset.provenance.ModifiesData;
 import cz.cvut.kbss.termit.asset.provenance.SupportsLastModification;
 import cz.cvut.kbss.termit.dto.AggregatedChangeInfo;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.event.AssetUpdateEvent;
+import cz.cvut.kbss.termit.event.CacheInvalidationEvent;
 import cz.cvut.kbss.termit.event.RefreshLastModifiedEvent;
 import cz.cvut.kbss.termit.exception.PersistenceException;
 import cz.cvut.kbss.termit.model.Glossary;
@@ -139,6 +142,8 @@ public class VocabularyDao extends AssetDao<Vocabulary> implements SupportsLastM
         try {
             // Evict possibly cached instance loaded from default context
             em.getEntityManagerFactory().getCache().evict(Vocabulary.class, entity.getUri(), null);
+            context.publishEvent(new AssetUpdateEvent(entity, entity.getUri()));
+            context.publishEvent(CacheInvalidationEvent.vocabulary(this, entity.getUri()));
             return em.merge(entity, descriptorFactory.vocabularyDescriptor(entity));
         } catch (RuntimeException e) {
             throw new PersistenceException(e);
@@ -151,11 +156,20 @@ public class VocabularyDao extends AssetDao<Vocabulary> implements SupportsLastM
         Objects.requireNonNull(entity);
         try {
             em.persist(entity, descriptorFactory.vocabularyDescriptor(entity));
+            context.publishEvent(new AssetUpdateEvent(entity, entity.getUri()));
+            context.publishEvent(CacheInvalidationEvent.vocabulary(this, entity.getUri()));
         } catch (RuntimeException e) {
             throw new PersistenceException(e);
         }
     }
 
+    @Override
+    public void remove(Vocabulary entity) {
+        super.remove(entity);
+        context.publishEvent(new AssetRemovalEvent(entity));
+        context.publishEvent(CacheInvalidationEvent.vocabulary(this, entity.getUri()));
+    }
+
     /**
      * Updates glossary contained in the specified vocabulary.
      * <p>
@@ -230,7 +244,7 @@ public class VocabularyDao extends AssetDao<Vocabulary> implements SupportsLastM
         final VocabularyContentValidator validator = context.getBean(VocabularyContentValidator.class);
         final Collection<URI> importClosure = getTransitivelyImportedVocabularies(voc);
         importClosure.add(voc.getUri());
-        return validator.validate(importClosure);
+        return validator.validate(voc.getUri(), importClosure);
     }
 
     /**
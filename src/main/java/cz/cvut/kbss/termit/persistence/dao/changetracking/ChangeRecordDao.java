@@ -10,6 +10,8 @@ import cz.cvut.kbss.termit.util.Vocabulary;
 import org.springframework.stereotype.Repository;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -33,13 +35,30 @@ public class ChangeRecordDao {
      */
     public void persist(AbstractChangeRecord record, Asset<?> changedAsset) {
         Objects.requireNonNull(record);
-        final EntityDescriptor descriptor = new EntityDescriptor(
-                contextResolver.resolveChangeTrackingContext(changedAsset));
-        descriptor.addAttributeDescriptor(em.getMetamodel().entity(AbstractChangeRecord.class).getAttribute("author"),
-                new EntityDescriptor());
-        descriptor.setLanguage(null);
+        persistAll(Collections.singletonList(record), changedAsset);
+    }
+
+    /**
+     * Persists the specified change records of a single asset into the asset's change tracking context.
+     * <p>
+     * The change tracking context is resolved only once for all the records.
+     *
+     * @param records      Records to save
+     * @param changedAsset The changed asset
+     */
+    public void persistAll(Collection<? extends AbstractChangeRecord> records, Asset<?> changedAsset) {
+        Objects.requireNonNull(records);
+        if (records.isEmpty()) {
+            return;
+        }
         try {
-            em.persist(record, descriptor);
+            final EntityDescriptor descriptor = new EntityDescriptor(
+                    contextResolver.resolveChangeTrackingContext(changedAsset));
+            descriptor.addAttributeDescriptor(
+                    em.getMetamodel().entity(AbstractChangeRecord.class).getAttribute("author"),
+                    new EntityDescriptor());
+            descriptor.setLanguage(null);
+            records.forEach(r -> em.persist(r, descriptor));
         } catch (RuntimeException e) {
             throw new PersistenceException(e);
         }
@@ -1,9 +1,9 @@
 package cz.cvut.kbss.termit.persistence.dao.changetracking;
 
-import cz.cvut.kbss.jopa.model.EntityManager;
 import cz.cvut.kbss.termit.model.Asset;
 import cz.cvut.kbss.termit.model.Term;
 import cz.cvut.kbss.termit.model.Vocabulary;
+import cz.cvut.kbss.termit.persistence.dao.util.VocabularyContextCache;
 import cz.cvut.kbss.termit.util.Configuration;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -17,13 +17,13 @@ import java.util.Objects;
 @Component
 public class ChangeTrackingContextResolver {
 
-    private final EntityManager em;
+    private final VocabularyContextCache vocabularyContextCache;
 
     private final String contextExtension;
 
     @Autowired
-    public ChangeTrackingContextResolver(EntityManager em, Configuration config) {
-        this.em = em;
+    public ChangeTrackingContextResolver(VocabularyContextCache vocabularyContextCache, Configuration config) {
+        this.vocabularyContextCache = vocabularyContextCache;
         this.contextExtension = config.getChangetracking().getContext().getExtension();
     }
 
@@ -41,21 +41,9 @@ public class ChangeTrackingContextResolver {
         if (changedAsset instanceof Vocabulary) {
             return URI.create(changedAsset.getUri().toString().concat(contextExtension));
         } else if (changedAsset instanceof Term) {
-            return URI.create(resolveTermVocabulary((Term) changedAsset).toString().concat(contextExtension));
+            return URI.create(
+                    vocabularyContextCache.getVocabulary((Term) changedAsset).toString().concat(contextExtension));
         }
         return URI.create(changedAsset.getUri().toString().concat(contextExtension));
     }
-
-    private URI resolveTermVocabulary(Term term) {
-        if (term.getGlossary() != null) {
-            return em.createNativeQuery("SELECT ?v WHERE { ?v ?hasGlossary ?glossary . }", URI.class)
-                     .setParameter("hasGlossary", URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_ma_glosar))
-                     .setParameter("glossary", term.getGlossary()).getSingleResult();
-        } else {
-            return em.createNativeQuery("SELECT ?v WHERE { ?t ?inVocabulary ?v . }", URI.class)
-                     .setParameter("inVocabulary",
-                                   URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku))
-                     .setParameter("t", term).getSingleResult();
-        }
-    }
 }
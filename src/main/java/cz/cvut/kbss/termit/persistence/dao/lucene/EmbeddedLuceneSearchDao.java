@@ -0,0 +1,437 @@
+package cz.cvut.kbss.termit.persistence.dao.lucene;
+
+import cz.cvut.kbss.jopa.model.EntityManager;
+import cz.cvut.kbss.jopa.vocabulary.DC;
+import cz.cvut.kbss.jopa.vocabulary.SKOS;
+import cz.cvut.kbss.ontodriver.model.LangString;
+import cz.cvut.kbss.termit.dto.FullTextSearchResult;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.event.AssetUpdateEvent;
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.exception.PersistenceException;
+import cz.cvut.kbss.termit.model.AbstractTerm;
+import cz.cvut.kbss.termit.model.Asset;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import cz.cvut.kbss.termit.persistence.dao.SearchDao;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.FieldInfo;
+import org.apache.lucene.index.FieldInfos;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleFragmenter;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static cz.cvut.kbss.termit.persistence.dao.lucene.MultilingualAnalyzer.fieldName;
+
+/**
+ * {@link SearchDao} implementation using a full text index embedded in the application.
+ * <p>
+ * Unlike {@link LuceneSearchDao}, this implementation does not require a text index in the repository, so it provides
+ * ranked search with snippet highlighting on any repository. Term labels and definitions and vocabulary titles are
+ * indexed in a local Lucene index (on disk or in memory, see {@link Configuration.FullTextIndex}), each language using
+ * its own analyzer.
+ * <p>
+ * The index is kept up to date as follows:
+ * <ul>
+ *     <li>Terms modified via DAOs are re-indexed when the transaction commits,</li>
+ *     <li>Terms of a persisted or updated vocabulary (e.g., an imported one) are re-indexed from the repository,</li>
+ *     <li>The whole index is rebuilt from the repository when empty on startup and when caches are evicted.</li>
+ * </ul>
+ * Re-indexing from the repository runs in the background.
+ * <p>
+ * Like {@link LuceneSearchDao}, search strings support the Lucene query syntax and a wildcard is added to the last
+ * token, so that results for incomplete words are returned as well.
+ */
+@Repository
+@Profile("embedded-lucene")  // Corresponds to a profile set in pom.xml
+public class EmbeddedLuceneSearchDao extends SearchDao {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EmbeddedLuceneSearchDao.class);
+
+    static final String URI_FIELD = "uri";
+    static final String TYPE_FIELD = "type";
+    static final String VOCABULARY_FIELD = "vocabulary";
+    static final String DRAFT_FIELD = "draft";
+    static final String DISPLAY_LABEL_FIELD = "displayLabel";
+    static final String LABEL_FIELD = "label";
+    static final String DEFINITION_FIELD = "definition";
+
+    /**
+     * Matches in labels are more relevant than matches in definitions.
+     */
+    private static final float LABEL_BOOST = 2.0f;
+
+    private static final int SNIPPET_SIZE = 2000;
+
+    private static final String TERM_TYPE = SKOS.CONCEPT;
+    private static final String VOCABULARY_TYPE = cz.cvut.kbss.termit.util.Vocabulary.s_c_slovnik;
+
+    private static final String INDEX_DATA_QUERY = "SELECT ?entity ?type ?vocabularyUri ?draft ?field ?value WHERE {" +
+            "{" +
+            "?entity a ?term ;" +
+            "  ?inVocabulary ?vocabularyUri ." +
+            "OPTIONAL { ?entity ?isDraft ?draft . }" +
+            "{ ?entity ?prefLabel ?value . BIND (\"" + LABEL_FIELD + "\" AS ?field) }" +
+            " UNION " +
+            "{ ?entity ?definition ?value . BIND (\"" + DEFINITION_FIELD + "\" AS ?field) }" +
+            "BIND (?term AS ?type)" +
+            "} UNION {" +
+            "?entity a ?vocabulary ;" +
+            "  ?title ?value ." +
+            "BIND (?vocabulary AS ?type)" +
+            "BIND (\"" + LABEL_FIELD + "\" AS ?field)" +
+            "}";
+
+    private final Configuration.Persistence config;
+
+    private final Configuration.FullTextIndex indexConfig;
+
+    private final MultilingualAnalyzer analyzer = new MultilingualAnalyzer();
+
+    private Directory directory;
+
+    private IndexWriter writer;
+
+    private SearcherManager searcherManager;
+
+    private ThreadPoolTaskExecutor indexer;
+
+    @Autowired
+    public EmbeddedLuceneSearchDao(EntityManager em, Configuration config) {
+        super(em);
+        this.config = config.getPersistence();
+        this.indexConfig = config.getFullTextIndex();
+    }
+
+    @PostConstruct
+    void initIndex() throws IOException {
+        openIndex();
+        if (writer.getDocStats().numDocs == 0) {
+            LOG.info("Full text index is empty, it will be built from the repository.");
+            inBackground(this::rebuildIndex);
+        }
+    }
+
+    void openIndex() throws IOException {
+        this.directory = indexConfig.getDirectory() != null ? FSDirectory.open(Paths.get(indexConfig.getDirectory())) :
+                         new ByteBuffersDirectory();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.indexer = new ThreadPoolTaskExecutor();
+        indexer.setCorePoolSize(1);
+        indexer.setMaxPoolSize(1);
+        indexer.setThreadNamePrefix("termit-fts-index-");
+        indexer.initialize();
+    }
+
+    @PreDestroy
+    void closeIndex() throws IOException {
+        indexer.shutdown();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+        analyzer.close();
+    }
+
+    /**
+     * Rebuilds the whole index from the repository.
+     */
+    public synchronized void rebuildIndex() {
+        LOG.debug("Rebuilding full text index.");
+        final Collection<Document> documents = loadDocuments(null);
+        try {
+            writer.deleteAll();
+            writer.addDocuments(documents);
+            commit();
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to rebuild full text index.", e);
+        }
+        LOG.debug("Full text index rebuilt with {} documents.", documents.size());
+    }
+
+    /**
+     * Re-indexes the specified vocabulary and all its terms from the repository.
+     *
+     * @param vocabulary Vocabulary identifier
+     */
+    public synchronized void reindexVocabulary(URI vocabulary) {
+        Objects.requireNonNull(vocabulary);
+        LOG.trace("Re-indexing vocabulary {}.", vocabulary);
+        final Collection<Document> documents = loadDocuments(vocabulary);
+        try {
+            writer.deleteDocuments(new Term(URI_FIELD, vocabulary.toString()),
+                                   new Term(VOCABULARY_FIELD, vocabulary.toString()));
+            writer.addDocuments(documents);
+            commit();
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to re-index vocabulary " + vocabulary + ".", e);
+        }
+    }
+
+    private Collection<Document> loadDocuments(URI vocabulary) {
+        final String query = INDEX_DATA_QUERY +
+                (vocabulary != null ? "FILTER (?vocabularyUri = ?target || ?entity = ?target)" : "") + "}";
+        final cz.cvut.kbss.jopa.model.query.Query q =
+                em.createNativeQuery(query)
+                  .setParameter("term", URI.create(TERM_TYPE))
+                  .setParameter("vocabulary", URI.create(VOCABULARY_TYPE))
+                  .setParameter("inVocabulary", URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku))
+                  .setParameter("isDraft", URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_je_draft))
+                  .setParameter("prefLabel", URI.create(SKOS.PREF_LABEL))
+                  .setParameter("definition", URI.create(SKOS.DEFINITION))
+                  .setParameter("title", URI.create(DC.Terms.TITLE));
+        if (vocabulary != null) {
+            q.setParameter("target", vocabulary);
+        }
+        final Map<URI, IndexedAsset> assets = new LinkedHashMap<>();
+        try {
+            for (Object r : q.getResultList()) {
+                final Object[] row = (Object[]) r;
+                final IndexedAsset asset = assets.computeIfAbsent((URI) row[0],
+                                                                  uri -> new IndexedAsset(uri, row[1].toString()));
+                asset.vocabulary = (URI) row[2];
+                asset.draft = row[3] != null ? Boolean.valueOf(row[3].toString()) : null;
+                final String language = row[5] instanceof LangString ?
+                                        ((LangString) row[5]).getLanguage().orElse(null) : null;
+                final String value = row[5] instanceof LangString ? ((LangString) row[5]).getValue() :
+                                     row[5].toString();
+                (LABEL_FIELD.equals(row[4]) ? asset.labels : asset.definitions).put(language, value);
+            }
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
+        }
+        final List<Document> documents = new ArrayList<>(assets.size());
+        assets.values().forEach(a -> documents.add(a.toDocument(config.getLanguage())));
+        return documents;
+    }
+
+    private void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetUpdate(AssetUpdateEvent event) {
+        final Asset<?> asset = event.getSource();
+        if (asset instanceof AbstractTerm) {
+            final AbstractTerm term = (AbstractTerm) asset;
+            final IndexedAsset indexed = new IndexedAsset(term.getUri(), TERM_TYPE);
+            indexed.vocabulary = event.getVocabulary() != null ? event.getVocabulary() : term.getVocabulary();
+            indexed.draft = term.isDraft();
+            if (term.getLabel() != null) {
+                indexed.labels.putAll(term.getLabel().getValue());
+            }
+            if (term.getDefinition() != null) {
+                indexed.definitions.putAll(term.getDefinition().getValue());
+            }
+            update(indexed.toDocument(config.getLanguage()));
+        } else if (asset instanceof Vocabulary) {
+            // Vocabulary content (e.g., when imported) may have been written bypassing DAOs
+            inBackground(() -> reindexVocabulary(asset.getUri()));
+        }
+    }
+
+    private synchronized void update(Document document) {
+        try {
+            writer.updateDocument(new Term(URI_FIELD, document.get(URI_FIELD)), document);
+            commit();
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to update full text index.", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onAssetRemoval(AssetRemovalEvent event) {
+        final String uri = event.getSource().getUri().toString();
+        try {
+            if (event.getSource() instanceof Vocabulary) {
+                writer.deleteDocuments(new Term(URI_FIELD, uri), new Term(VOCABULARY_FIELD, uri));
+            } else {
+                writer.deleteDocuments(new Term(URI_FIELD, uri));
+            }
+            commit();
+        } catch (IOException e) {
+            throw new PersistenceException("Unable to update full text index.", e);
+        }
+    }
+
+    @EventListener
+    public void onEvictCache(EvictCacheEvent event) {
+        inBackground(this::rebuildIndex);
+    }
+
+    private void inBackground(Runnable indexing) {
+        indexer.execute(() -> {
+            try {
+                indexing.run();
+            } catch (RuntimeException e) {
+                LOG.error("Full text index update failed.", e);
+            }
+        });
+    }
+
+    @Override
+    public List<FullTextSearchResult> fullTextSearch(String searchString) {
+        Objects.requireNonNull(searchString);
+        if (searchString.isBlank()) {
+            return Collections.emptyList();
+        }
+        LOG.trace("Running full text search for search string \"{}\" in embedded index.", searchString);
+        try {
+            final IndexSearcher searcher = searcherManager.acquire();
+            try {
+                final String[] fields = searchableFields(searcher.getIndexReader());
+                if (fields.length == 0) {
+                    return Collections.emptyList();
+                }
+                final Query query = parseQuery(searchString, fields);
+                final TopDocs hits = searcher.search(query, indexConfig.getMaxResults());
+                final List<FullTextSearchResult> result = new ArrayList<>(hits.scoreDocs.length);
+                for (ScoreDoc hit : hits.scoreDocs) {
+                    result.add(toResult(searcher.doc(hit.doc), hit.score, query));
+                }
+                return result;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException | InvalidTokenOffsetsException e) {
+            throw new PersistenceException("Unable to search full text index.", e);
+        }
+    }
+
+    private static String[] searchableFields(IndexReader reader) {
+        final List<String> fields = new ArrayList<>();
+        for (FieldInfo info : FieldInfos.getMergedFieldInfos(reader)) {
+            if (isSearchable(info.name)) {
+                fields.add(info.name);
+            }
+        }
+        return fields.toArray(new String[0]);
+    }
+
+    private static boolean isSearchable(String field) {
+        return field.startsWith(LABEL_FIELD + MultilingualAnalyzer.LANGUAGE_SEPARATOR) ||
+                field.startsWith(DEFINITION_FIELD + MultilingualAnalyzer.LANGUAGE_SEPARATOR);
+    }
+
+    private Query parseQuery(String searchString, String[] fields) {
+        final Map<String, Float> boosts = new HashMap<>();
+        for (String field : fields) {
+            boosts.put(field, field.startsWith(LABEL_FIELD) ? LABEL_BOOST : 1.0f);
+        }
+        final MultiFieldQueryParser parser = new MultiFieldQueryParser(fields, analyzer, boosts);
+        try {
+            return parser.parse(LuceneSearchDao.addWildcard(searchString));
+        } catch (ParseException e) {
+            LOG.trace("Search string \"{}\" is not a valid query, searching for it literally.", searchString);
+        }
+        try {
+            return parser.parse(LuceneSearchDao.addWildcard(QueryParser.escape(searchString)));
+        } catch (ParseException e) {
+            throw new PersistenceException("Unable to parse search string " + searchString + ".", e);
+        }
+    }
+
+    private FullTextSearchResult toResult(Document doc, float score, Query query)
+            throws IOException, InvalidTokenOffsetsException {
+        String snippetField = LABEL_FIELD;
+        String snippetText = doc.get(DISPLAY_LABEL_FIELD);
+        // Labels precede definitions in the document, so a match in label is preferred
+        for (IndexableField field : doc.getFields()) {
+            if (!isSearchable(field.name())) {
+                continue;
+            }
+            final Highlighter highlighter = new Highlighter(new SimpleHTMLFormatter("<em>", "</em>"),
+                                                            new QueryScorer(query, field.name()));
+            highlighter.setTextFragmenter(new SimpleFragmenter(SNIPPET_SIZE));
+            final String fragment = highlighter.getBestFragment(analyzer, field.name(), field.stringValue());
+            if (fragment != null) {
+                snippetField = field.name().startsWith(LABEL_FIELD) ? LABEL_FIELD : DEFINITION_FIELD;
+                snippetText = fragment;
+                break;
+            }
+        }
+        final String vocabulary = doc.get(VOCABULARY_FIELD);
+        final String draft = doc.get(DRAFT_FIELD);
+        return new FullTextSearchResult(URI.create(doc.get(URI_FIELD)), doc.get(DISPLAY_LABEL_FIELD),
+                                        vocabulary != null ? URI.create(vocabulary) : null,
+                                        draft != null ? Boolean.valueOf(draft) : null, doc.get(TYPE_FIELD),
+                                        snippetField, snippetText, (double) score);
+    }
+
+    /**
+     * Data of an asset to be indexed.
+     */
+    private static class IndexedAsset {
+        private final URI uri;
+        private final String type;
+        private URI vocabulary;
+        private Boolean draft;
+        private final Map<String, String> labels = new HashMap<>();
+        private final Map<String, String> definitions = new HashMap<>();
+
+        private IndexedAsset(URI uri, String type) {
+            this.uri = uri;
+            this.type = type;
+        }
+
+        private Document toDocument(String language) {
+            final Document doc = new Document();
+            doc.add(new StringField(URI_FIELD, uri.toString(), Field.Store.YES));
+            doc.add(new StoredField(TYPE_FIELD, type));
+            if (vocabulary != null) {
+                doc.add(new StringField(VOCABULARY_FIELD, vocabulary.toString(), Field.Store.YES));
+            }
+            if (draft != null) {
+                doc.add(new StoredField(DRAFT_FIELD, draft.toString()));
+            }
+            final String displayLabel = labels.containsKey(language) ? labels.get(language) :
+                                        labels.values().stream().findFirst().orElse(null);
+            if (displayLabel != null) {
+                doc.add(new StoredField(DISPLAY_LABEL_FIELD, displayLabel));
+            }
+            labels.forEach((lang, value) -> doc.add(new TextField(fieldName(LABEL_FIELD, lang), value,
+                                                                  Field.Store.YES)));
+            definitions.forEach((lang, value) -> doc.add(new TextField(fieldName(DEFINITION_FIELD, lang), value,
+                                                                       Field.Store.YES)));
+            return doc;
+        }
+    }
+}
@@ -76,7 +76,7 @@ public class LuceneSearchDao extends SearchDao {
                                               .getResultList();
     }
 
-    private static String addWildcard(String searchString) {
+    static String addWildcard(String searchString) {
         // Search string already contains a wildcard
         if (searchString.charAt(searchString.length() - 1) == LUCENE_WILDCARD) {
             return searchString;
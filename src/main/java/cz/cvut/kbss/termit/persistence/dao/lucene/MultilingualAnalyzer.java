@@ -0,0 +1,62 @@
+package cz.cvut.kbss.termit.persistence.dao.lucene;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.DelegatingAnalyzerWrapper;
+import org.apache.lucene.analysis.cz.CzechAnalyzer;
+import org.apache.lucene.analysis.de.GermanAnalyzer;
+import org.apache.lucene.analysis.en.EnglishAnalyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Analyzer which selects language-specific analysis (stemming, stop words) based on the language suffix of the field
+ * name.
+ * <p>
+ * Fields are expected to be named {@code <name>_<language>}, e.g., {@code label_cs}. Fields without a language suffix
+ * and fields in languages without a specific analyzer are analyzed by a {@link StandardAnalyzer}.
+ */
+class MultilingualAnalyzer extends DelegatingAnalyzerWrapper {
+
+    static final char LANGUAGE_SEPARATOR = '_';
+
+    private final Analyzer defaultAnalyzer = new StandardAnalyzer();
+
+    private final Map<String, Analyzer> analyzers = Map.of("cs", new CzechAnalyzer(),
+                                                           "en", new EnglishAnalyzer(),
+                                                           "de", new GermanAnalyzer());
+
+    MultilingualAnalyzer() {
+        super(PER_FIELD_REUSE_STRATEGY);
+    }
+
+    /**
+     * Creates name of a field containing value in the specified language.
+     *
+     * @param name     Base field name
+     * @param language Language tag, possibly {@code null}
+     * @return Field name
+     */
+    static String fieldName(String name, String language) {
+        return name + LANGUAGE_SEPARATOR + (language != null ? language : "");
+    }
+
+    @Override
+    protected Analyzer getWrappedAnalyzer(String fieldName) {
+        final int separatorIndex = fieldName.lastIndexOf(LANGUAGE_SEPARATOR);
+        if (separatorIndex < 0) {
+            return defaultAnalyzer;
+        }
+        // Use the primary language subtag, e.g., en for en-GB
+        final String language = fieldName.substring(separatorIndex + 1).split("-")[0].toLowerCase(Locale.ROOT);
+        return analyzers.getOrDefault(language, defaultAnalyzer);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        defaultAnalyzer.close();
+        analyzers.values().forEach(Analyzer::close);
+    }
+}
@@ -4,13 +4,15 @@ import cz.cvut.kbss.jopa.model.EntityManager;
 import cz.cvut.kbss.termit.model.Vocabulary;
 import cz.cvut.kbss.termit.util.Utils;
 import org.eclipse.rdf4j.model.IRI;
-import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.ValueFactory;
-import org.eclipse.rdf4j.model.impl.LinkedHashModel;
 import org.eclipse.rdf4j.model.vocabulary.*;
 import org.eclipse.rdf4j.query.*;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryResult;
 import org.eclipse.rdf4j.rio.RDFFormat;
+import org.eclipse.rdf4j.rio.RDFWriter;
 import org.eclipse.rdf4j.rio.Rio;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,15 +21,16 @@ import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Repository;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.util.Collection;
-import java.util.Objects;
-import java.util.Set;
+import java.io.OutputStream;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
  * Supports SKOS-based export of glossaries and terms.
+ * <p>
+ * The exported data are streamed from the repository directly into the target output stream as Turtle. Only
+ * identifiers necessary to resolve references to external terms and glossaries are kept in memory during the export.
  */
 @Repository
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
@@ -38,10 +41,22 @@ public class SKOSExporter {
     private static final String GLOSSARY_EXPORT_QUERY = "skos" + File.separator + "exportGlossary.rq";
     private static final String TERMS_EXPORT_QUERY = "skos" + File.separator + "exportGlossaryTerms.rq";
 
+    /**
+     * Maximum number of referenced terms exported by a single query.
+     */
+    private static final int REFERENCED_TERMS_BATCH_SIZE = 100;
+
     private final org.eclipse.rdf4j.repository.Repository repository;
     private final ValueFactory vf;
 
-    private final Model model = new LinkedHashModel();
+    private RDFWriter writer;
+
+    private final Set<String> exportedPrefixes = new HashSet<>();
+    private final Set<Resource> exportedTerms = new HashSet<>();
+    private final Set<Resource> exportedGlossaries = new HashSet<>();
+    private final Set<IRI> referencedTerms = new HashSet<>();
+    private final Set<IRI> referencedGlossaries = new HashSet<>();
+    private Set<IRI> referencingProperties = Collections.emptySet();
 
     @Autowired
     public SKOSExporter(EntityManager em) {
@@ -50,153 +65,196 @@ public class SKOSExporter {
     }
 
     /**
-     * Exports glossary and terms of the specified vocabulary as a SKOS model.
+     * Exports glossary and terms of the specified vocabulary as a SKOS model, writing it as Turtle into the specified
+     * output stream.
+     * <p>
+     * The output stream is not closed by this method.
+     *
+     * @param vocabulary Vocabulary to export
+     * @param out        Stream to write the exported data into
+     * @see #exportGlossaryWithReferences(Vocabulary, Collection, OutputStream)
+     */
+    public void exportGlossary(Vocabulary vocabulary, OutputStream out) {
+        exportGlossaryWithReferences(vocabulary, Collections.emptySet(), out);
+    }
+
+    /**
+     * Exports the glossary of the specified vocabulary and its terms, writing them as Turtle into the specified output
+     * stream.
+     * <p>
+     * In addition, terms from other vocabularies referenced via the any of the specified properties are exported as
+     * well, together with metadata of their respective glossaries.
      * <p>
-     * The exported data can be retrieved using {@link #exportAsTtl()}.
+     * The output stream is not closed by this method.
      *
      * @param vocabulary Vocabulary to export
-     * @see #exportAsTtl()
-     * @see #exportGlossaryWithReferences(Vocabulary, Collection)
+     * @param properties RDF properties representing references to other terms to take into account when exporting
+     * @param out        Stream to write the exported data into
      */
-    public void exportGlossary(Vocabulary vocabulary) {
+    public void exportGlossaryWithReferences(Vocabulary vocabulary, Collection<String> properties,
+                                             OutputStream out) {
         Objects.requireNonNull(vocabulary);
-        exportGlossaryInstance(vocabulary);
-        exportGlossaryTerms(vocabulary);
+        Objects.requireNonNull(properties);
+        Objects.requireNonNull(out);
+        this.referencingProperties = properties.stream().map(vf::createIRI).collect(Collectors.toSet());
+        this.writer = Rio.createWriter(RDFFormat.TURTLE, out);
+        writer.startRDF();
+        exportCommonPrefixes();
+        try (final RepositoryConnection conn = repository.getConnection()) {
+            exportGlossaryInstance(vocabulary, conn);
+            exportGlossaryTerms(vocabulary, conn);
+            if (!referencingProperties.isEmpty()) {
+                exportReferencedTerms(conn);
+                exportReferencedGlossaries(conn);
+            }
+        }
+        writer.endRDF();
+    }
+
+    private void exportCommonPrefixes() {
+        exportPrefix(SKOS.PREFIX, SKOS.NAMESPACE);
+        exportPrefix(RDFS.PREFIX, RDFS.NAMESPACE);
+        exportPrefix(OWL.PREFIX, OWL.NAMESPACE);
+        exportPrefix(DCTERMS.PREFIX, DCTERMS.NAMESPACE);
+    }
+
+    private void exportPrefix(String prefix, String namespace) {
+        if (exportedPrefixes.add(prefix)) {
+            writer.handleNamespace(prefix, namespace);
+        }
     }
 
     /**
      * Exports metadata of the glossary of the specified vocabulary.
      *
      * @param vocabulary Vocabulary whose glossary to export
+     * @param conn       Repository connection to use
      */
-    private void exportGlossaryInstance(Vocabulary vocabulary) {
+    private void exportGlossaryInstance(Vocabulary vocabulary, RepositoryConnection conn) {
         LOG.trace("Exporting glossary metadata of {}.", vocabulary);
-        try (final RepositoryConnection conn = repository.getConnection()) {
-            final GraphQuery gq = conn.prepareGraphQuery(Utils.loadQuery(GLOSSARY_EXPORT_QUERY));
-            gq.setBinding("vocabulary", vf.createIRI(vocabulary.getUri().toString()));
-            evaluateAndAddToModel(gq);
-            resolvePrefixes(vf.createIRI(vocabulary.getGlossary().getUri().toString()), conn);
-        }
+        resolvePrefixes(vf.createIRI(vocabulary.getGlossary().getUri().toString()), conn);
+        final GraphQuery gq = conn.prepareGraphQuery(Utils.loadQuery(GLOSSARY_EXPORT_QUERY));
+        gq.setBinding("vocabulary", vf.createIRI(vocabulary.getUri().toString()));
+        evaluateAndExport(gq);
     }
 
-    private void evaluateAndAddToModel(GraphQuery gq) {
+    /**
+     * Evaluates the specified query and writes the resulting statements into the output.
+     * <p>
+     * Identifiers of exported terms and glossaries, as well as referenced terms and glossaries are recorded, so that
+     * referenced assets can be exported later.
+     * <p>
+     * The export queries produce repeated statements (a combination of multi-valued optional properties yields every
+     * statement of the subject once per combination). The query results are ordered by subject, so duplicates are
+     * removed by remembering only statements of the current subject.
+     */
+    private void evaluateAndExport(GraphQuery gq) {
+        final Set<Statement> subjectStatements = new HashSet<>();
+        Resource subject = null;
         try (GraphQueryResult gqResult = gq.evaluate()) {
             while (gqResult.hasNext()) {
-                model.add(gqResult.next());
+                final Statement s = gqResult.next();
+                if (!s.getSubject().equals(subject)) {
+                    subject = s.getSubject();
+                    subjectStatements.clear();
+                }
+                if (subjectStatements.add(s)) {
+                    recordIdentifiers(s);
+                    writer.handleStatement(s);
+                }
             }
         }
     }
 
+    private void recordIdentifiers(Statement s) {
+        if (referencingProperties.isEmpty()) {
+            return;
+        }
+        if (RDF.TYPE.equals(s.getPredicate())) {
+            if (SKOS.CONCEPT.equals(s.getObject())) {
+                exportedTerms.add(s.getSubject());
+            } else if (SKOS.CONCEPT_SCHEME.equals(s.getObject())) {
+                exportedGlossaries.add(s.getSubject());
+            }
+        } else if (SKOS.IN_SCHEME.equals(s.getPredicate())) {
+            assert s.getObject().isIRI();
+            referencedGlossaries.add((IRI) s.getObject());
+        } else if (referencingProperties.contains(s.getPredicate())) {
+            assert s.getObject().isIRI();
+            referencedTerms.add((IRI) s.getObject());
+        }
+    }
+
     private void resolvePrefixes(IRI glossaryIri, RepositoryConnection connection) {
         final TupleQuery tq = connection.prepareTupleQuery("SELECT ?prefix ?namespace WHERE {\n" +
                 "?glossary <http://purl.org/vocab/vann/preferredNamespacePrefix> ?prefix ;\n" +
                 "<http://purl.org/vocab/vann/preferredNamespaceUri> ?namespace .\n" +
                 "}");
         tq.setBinding("glossary", glossaryIri);
-        final TupleQueryResult result = tq.evaluate();
-        while (result.hasNext()) {
-            final BindingSet binding = result.next();
-            model.setNamespace(binding.getValue("prefix").stringValue(), binding.getValue("namespace").stringValue());
+        try (final TupleQueryResult result = tq.evaluate()) {
+            while (result.hasNext()) {
+                final BindingSet binding = result.next();
+                exportPrefix(binding.getValue("prefix").stringValue(), binding.getValue("namespace").stringValue());
+            }
         }
-        model.setNamespace(SKOS.PREFIX, SKOS.NAMESPACE);
-        model.setNamespace(RDFS.PREFIX, RDFS.NAMESPACE);
-        model.setNamespace(OWL.PREFIX, OWL.NAMESPACE);
-        model.setNamespace(DCTERMS.PREFIX, DCTERMS.NAMESPACE);
     }
 
     /**
      * Exports glossary terms of the specified vocabulary.
      *
      * @param vocabulary Vocabulary to export
+     * @param conn       Repository connection to use
      */
-    private void exportGlossaryTerms(Vocabulary vocabulary) {
+    private void exportGlossaryTerms(Vocabulary vocabulary, RepositoryConnection conn) {
         LOG.trace("Exporting terms from {}.", vocabulary);
-        try (final RepositoryConnection conn = repository.getConnection()) {
-            final GraphQuery gq = conn.prepareGraphQuery(Utils.loadQuery(TERMS_EXPORT_QUERY));
-            gq.setBinding("vocabulary", vf.createIRI(vocabulary.getUri().toString()));
-            evaluateAndAddToModel(gq);
-        }
+        final GraphQuery gq = conn.prepareGraphQuery(Utils.loadQuery(TERMS_EXPORT_QUERY));
+        gq.setBinding("vocabulary", vf.createIRI(vocabulary.getUri().toString()));
+        evaluateAndExport(gq);
     }
 
     /**
-     * Exports the glossary of the specified vocabulary and its terms.
+     * Exports terms referenced by the previously exported glossary terms via one of the referencing properties.
      * <p>
-     * In addition, terms from other vocabularies referenced via the any of the specified properties are exported as
-     * well, together with metadata of their respective glossaries.
+     * Terms which have already been exported are skipped. The remaining ones are exported in batches, using a VALUES
+     * clause appended to the term export query.
      *
-     * @param vocabulary Vocabulary to export
-     * @param properties RDF properties representing references to other terms to take into account when exporting
-     * @see #exportAsTtl()
+     * @param conn Repository connection to use
      */
-    public void exportGlossaryWithReferences(Vocabulary vocabulary, Collection<String> properties) {
-        Objects.requireNonNull(properties);
-        exportGlossary(vocabulary);
-        exportReferencedTerms(properties);
-        exportReferencedGlossaries();
-    }
-
-    /**
-     * Exports terms referenced by terms from the previously exported glossary terms ({@link
-     * #exportGlossaryTerms(Vocabulary)}) via one of the specified properties.
-     *
-     * @param properties SKOS properties representing reference to external terms, e.g., skos:exactMatch
-     */
-    private void exportReferencedTerms(Collection<String> properties) {
-        if (properties.isEmpty()) {
-            return;
-        }
-        LOG.trace("Exporting terms referenced via any of {}.", properties);
-        try (final RepositoryConnection conn = repository.getConnection()) {
-            final String queryString = Utils.loadQuery(TERMS_EXPORT_QUERY);
-            properties.forEach(p -> {
-                final IRI property = vf.createIRI(p);
-                final Set<IRI> referencedTerms = model.stream().filter(s -> s.getPredicate().equals(property))
-                                                      .map(s -> {
-                                                          assert s.getObject().isIRI();
-                                                          return (IRI) s.getObject();
-                                                      }).collect(Collectors.toSet());
-                referencedTerms.forEach(referencedTerm -> {
-                    final GraphQuery gq = conn.prepareGraphQuery(queryString);
-                    gq.setBinding("term", referencedTerm);
-                    evaluateAndAddToModel(gq);
-                });
-            });
+    private void exportReferencedTerms(RepositoryConnection conn) {
+        final List<IRI> toExport = referencedTerms.stream().filter(t -> !exportedTerms.contains(t))
+                                                  .collect(Collectors.toList());
+        LOG.trace("Exporting {} terms referenced via any of {}.", toExport.size(), referencingProperties);
+        final String queryString = Utils.loadQuery(TERMS_EXPORT_QUERY);
+        for (int i = 0; i < toExport.size(); i += REFERENCED_TERMS_BATCH_SIZE) {
+            final List<IRI> batch = toExport.subList(i, Math.min(i + REFERENCED_TERMS_BATCH_SIZE, toExport.size()));
+            final GraphQuery gq = conn.prepareGraphQuery(queryString + "\nVALUES ?term {" +
+                                                                 batch.stream().map(t -> " <" + t + ">")
+                                                                      .collect(Collectors.joining()) + " }");
+            evaluateAndExport(gq);
         }
     }
 
     /**
      * Exports metadata of glossaries containing the referenced external terms as discovered by {@link
-     * #exportReferencedTerms(Collection)}.
-     */
-    private void exportReferencedGlossaries() {
-        final Set<IRI> glossariesToExport = model.stream().filter(s -> s.getPredicate().equals(SKOS.IN_SCHEME))
-                                                 .map(s -> {
-                                                     assert s.getObject().isIRI();
-                                                     return (IRI) s.getObject();
-                                                 }).filter(gIri -> !model.contains(gIri, RDF.TYPE, SKOS.CONCEPT_SCHEME))
-                                                 .collect(Collectors.toSet());
-        LOG.trace("Exporting metadata of glossaries of referenced terms: {}.", glossariesToExport);
-        try (final RepositoryConnection conn = repository.getConnection()) {
-            final String queryString = Utils.loadQuery(GLOSSARY_EXPORT_QUERY);
-            glossariesToExport.forEach(gIri -> conn.getStatements(null, vf.createIRI(cz.cvut.kbss.termit.util.Vocabulary.s_p_ma_glosar), gIri)
-                                                   .stream()
-                                                   .forEach(s -> {
-                                                       final GraphQuery gq = conn.prepareGraphQuery(queryString);
-                                                       gq.setBinding("vocabulary", s.getSubject());
-                                                       evaluateAndAddToModel(gq);
-                                                       resolvePrefixes(gIri, conn);
-                                                   }));
-        }
-    }
-
-    /**
-     * Returns the exported model as Turtle.
+     * #exportReferencedTerms(RepositoryConnection)}.
      *
-     * @return Turtle serialized into bytes
+     * @param conn Repository connection to use
      */
-    public byte[] exportAsTtl() {
-        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        Rio.write(model, bos, RDFFormat.TURTLE);
-        return bos.toByteArray();
+    private void exportReferencedGlossaries(RepositoryConnection conn) {
+        final Set<IRI> glossariesToExport = referencedGlossaries.stream().filter(g -> !exportedGlossaries.contains(g))
+                                                                .collect(Collectors.toSet());
+        LOG.trace("Exporting metadata of glossaries of referenced terms: {}.", glossariesToExport);
+        final String queryString = Utils.loadQuery(GLOSSARY_EXPORT_QUERY);
+        final IRI hasGlossary = vf.createIRI(cz.cvut.kbss.termit.util.Vocabulary.s_p_ma_glosar);
+        glossariesToExport.forEach(gIri -> {
+            resolvePrefixes(gIri, conn);
+            try (final RepositoryResult<Statement> vocabularies = conn.getStatements(null, hasGlossary, gIri)) {
+                while (vocabularies.hasNext()) {
+                    final GraphQuery gq = conn.prepareGraphQuery(queryString);
+                    gq.setBinding("vocabulary", vocabularies.next().getSubject());
+                    evaluateAndExport(gq);
+                }
+            }
+        });
     }
 }
@@ -7,10 +7,12 @@ import cz.cvut.kbss.termit.model.Glossary;
 import cz.cvut.kbss.termit.model.Vocabulary;
 import cz.cvut.kbss.termit.persistence.dao.TermDao;
 import cz.cvut.kbss.termit.persistence.dao.VocabularyDao;
+import cz.cvut.kbss.termit.persistence.dao.util.TermLabelIndex;
 import cz.cvut.kbss.termit.util.Configuration;
+import cz.cvut.kbss.termit.util.JobProgress;
 import cz.cvut.kbss.termit.util.Utils;
 import org.eclipse.rdf4j.model.*;
-import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
 import org.eclipse.rdf4j.model.vocabulary.DCTERMS;
 import org.eclipse.rdf4j.model.vocabulary.RDF;
 import org.eclipse.rdf4j.model.vocabulary.SKOS;
@@ -19,7 +21,7 @@ import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.rio.RDFFormat;
 import org.eclipse.rdf4j.rio.RDFParser;
 import org.eclipse.rdf4j.rio.Rio;
-import org.eclipse.rdf4j.rio.helpers.StatementCollector;
+import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,10 +34,10 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.*;
 import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static cz.cvut.kbss.termit.util.Utils.getLanguageTagsPerProperties;
 import static cz.cvut.kbss.termit.util.Utils.getUniqueIriFromBase;
 
 /**
@@ -43,6 +45,10 @@ import static cz.cvut.kbss.termit.util.Utils.getUniqueIriFromBase;
  * <p>
  * It takes the thesauri as a TermIt glossary and 1) creates the necessary metadata (vocabulary, model) 2) generates the
  * necessary hasTopConcept relationships based on the broader/narrower hierarchy.
+ * <p>
+ * The imported data are indexed while being parsed (concepts, concept schemes, broader/narrower links), so no
+ * full-blown RDF model is built. IRI renaming is applied to statements only when they are written into the repository,
+ * which happens in batches of configurable size ({@link Configuration.VocabularyImport#getBatchSize()}).
  */
 @Component
 @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
@@ -61,18 +67,31 @@ public class SKOSImporter {
     private final Configuration config;
     private final VocabularyDao vocabularyDao;
     private final TermDao termDao;
+    private final TermLabelIndex labelIndex;
 
     private final EntityManager em;
 
-    private final Model model = new LinkedHashModel();
+    private final List<Statement> statements = new ArrayList<>();
+    private final Set<Resource> concepts = new LinkedHashSet<>();
+    private final Set<Resource> conceptSchemes = new LinkedHashSet<>();
+    private final Map<Resource, List<Value>> broader = new HashMap<>();
+    private final Set<Value> narrower = new HashSet<>();
+    private final Map<Resource, List<Literal>> titles = new HashMap<>();
+    private boolean missingLanguageTag;
+
+    private final List<Statement> topConceptAssertions = new ArrayList<>();
+
+    private UnaryOperator<String> iriRewriter = UnaryOperator.identity();
 
     private IRI glossaryIri;
 
     @Autowired
-    public SKOSImporter(Configuration config, VocabularyDao vocabularyDao, TermDao termDao, EntityManager em) {
+    public SKOSImporter(Configuration config, VocabularyDao vocabularyDao, TermDao termDao,
+                        TermLabelIndex labelIndex, EntityManager em) {
         this.config = config;
         this.vocabularyDao = vocabularyDao;
         this.termDao = termDao;
+        this.labelIndex = labelIndex;
         this.em = em;
     }
 
@@ -97,14 +116,13 @@ public class SKOSImporter {
         }
         LOG.debug("Vocabulary import started.");
         parseDataFromStreams(mediaType, inputStreams);
-        LOG.debug("Checking that only language-tagged literals are provided.");
+        LOG.debug("Parsed {} statements for import.", statements.size());
 
-        final Set<String> languageTags = getLanguageTagsPerProperties(model, multiLingualProperties);
-        if (languageTags.contains("")) {
+        if (missingLanguageTag) {
             throw new IllegalArgumentException("Each value of the properties must have a non-empty language tag: " + multiLingualProperties);
         }
 
-        glossaryIri = resolveGlossaryIriFromImportedData(model);
+        glossaryIri = resolveGlossaryIriFromImportedData();
         LOG.trace("Importing glossary {}.", glossaryIri);
         insertTopConceptAssertions();
 
@@ -136,6 +154,8 @@ public class SKOSImporter {
         em.flush();
         persist.accept(vocabulary);
         addDataIntoRepository(vocabulary.getUri());
+        // Terms were written directly into the repository, bypassing the label index
+        labelIndex.invalidate();
         LOG.debug("Vocabulary import successfully finished.");
         return vocabulary;
     }
@@ -156,31 +176,35 @@ public class SKOSImporter {
     }
 
     private void ensureConceptIrisAreCompatibleWithTermIt() {
-        final Statement[] statements = model.filter(null, RDF.TYPE, SKOS.CONCEPT).toArray(new Statement[]{});
-        for (final Statement c : statements) {
-            String separator = config.getNamespace().getTerm().getSeparator();
-            if (c.getSubject().stringValue().contains(separator)) {
+        final String termSeparator = config.getNamespace().getTerm().getSeparator();
+        final Map<String, String> renamed = new HashMap<>();
+        for (final Resource c : concepts) {
+            final String sIri = iriRewriter.apply(c.stringValue());
+            if (sIri.contains(termSeparator)) {
                 continue;
             }
-            separator = "#";
-            if (!c.getSubject().stringValue().contains(separator)) {
-                separator = "/";
-            }
-            final String sIri = c.getSubject().stringValue();
+            final String separator = sIri.contains("#") ? "#" : "/";
             final int lastSeparator = sIri.lastIndexOf(separator);
             final String newIri = sIri.substring(0, lastSeparator)
-                    + config.getNamespace().getTerm().getSeparator() + "/"
+                    + termSeparator + "/"
                     + sIri.substring(lastSeparator + 1);
-            Utils.changeIri(c.getSubject().stringValue(), newIri, model);
+            renamed.put(sIri, newIri);
+        }
+        if (!renamed.isEmpty()) {
+            rewriteIris(iri -> renamed.getOrDefault(iri, iri));
         }
     }
 
+    private void rewriteIris(UnaryOperator<String> rewriter) {
+        final UnaryOperator<String> previous = iriRewriter;
+        this.iriRewriter = iri -> rewriter.apply(previous.apply(iri));
+    }
+
     private void parseDataFromStreams(String mediaType, InputStream... inputStreams) {
         final RDFFormat rdfFormat = Rio.getParserFormatForMIMEType(mediaType).orElseThrow(
                 () -> new UnsupportedImportMediaTypeException("Media type '" + mediaType + "' not supported."));
         final RDFParser p = Rio.createParser(rdfFormat);
-        final StatementCollector collector = new StatementCollector(model);
-        p.setRDFHandler(collector);
+        p.setRDFHandler(new IndexingHandler());
         for (InputStream is : inputStreams) {
             try {
                 p.parse(is, "");
@@ -190,10 +214,9 @@ public class SKOSImporter {
         }
     }
 
-    private IRI resolveGlossaryIriFromImportedData(final Model model) {
-        final Model glossaryRes = model.filter(null, RDF.TYPE, SKOS.CONCEPT_SCHEME);
-        if (glossaryRes.size() == 1) {
-            final Resource glossary = glossaryRes.iterator().next().getSubject();
+    private IRI resolveGlossaryIriFromImportedData() {
+        if (conceptSchemes.size() == 1) {
+            final Resource glossary = conceptSchemes.iterator().next();
             if (glossary.isIRI()) {
                 return (IRI) glossary;
             } else {
@@ -206,60 +229,86 @@ public class SKOSImporter {
 
     private String resolveVocabularyIriFromImportedData() {
         return Utils.getVocabularyIri(
-                model.filter(null, RDF.TYPE, SKOS.CONCEPT)
-                     .stream()
-                     .map(s -> s.getSubject().stringValue()).collect(Collectors.toSet()),
+                concepts.stream().map(Value::stringValue).collect(Collectors.toSet()),
                 config.getNamespace().getTerm().getSeparator());
     }
 
     private void insertTopConceptAssertions() {
         LOG.trace("Generating top concept assertions.");
-        final List<Resource> terms = model.filter(null, RDF.TYPE, SKOS.CONCEPT).stream().map
-                                                  (Statement::getSubject)
-                                          .collect(Collectors.toList());
-        terms.forEach(t -> {
-            final List<Value> broader = model.filter(t, SKOS.BROADER, null).stream().map
-                                                     (Statement::getObject)
-                                             .collect(Collectors.toList());
-            final boolean hasBroader = broader.stream()
-                                              .anyMatch(p -> model.contains((Resource) p, RDF
-                                                      .TYPE, SKOS.CONCEPT));
-            final List<Value> narrower = model.filter(null, SKOS.NARROWER, t).stream().map
-                                                      (Statement::getObject)
-                                              .collect(Collectors.toList());
-            final boolean isNarrower = narrower.stream()
-                                               .anyMatch(p -> model.contains((Resource) p, RDF
-                                                       .TYPE, SKOS.CONCEPT));
-            if (!hasBroader && !isNarrower) {
-                model.add(glossaryIri, SKOS.HAS_TOP_CONCEPT, t);
+        final ValueFactory vf = SimpleValueFactory.getInstance();
+        concepts.forEach(t -> {
+            final boolean hasBroader = broader.getOrDefault(t, Collections.emptyList()).stream()
+                                              .anyMatch(concepts::contains);
+            if (!hasBroader && !narrower.contains(t)) {
+                topConceptAssertions.add(vf.createStatement(glossaryIri, SKOS.HAS_TOP_CONCEPT, t));
             }
         });
     }
 
     private void addDataIntoRepository(URI vocabularyIri) {
         final Repository repository = em.unwrap(org.eclipse.rdf4j.repository.Repository.class);
+        final ValueFactory vf = repository.getValueFactory();
+        final IRI targetContext = vf.createIRI(vocabularyIri.toString());
+        final int batchSize = config.getVocabularyImport().getBatchSize();
+        final int total = statements.size() + topConceptAssertions.size();
+        LOG.debug("Importing vocabulary into context <{}>.", targetContext);
+        final List<Statement> batch = new ArrayList<>(Math.min(batchSize, total));
+        int imported = 0;
         try (final RepositoryConnection conn = repository.getConnection()) {
-            conn.begin();
-            final IRI targetContext = repository.getValueFactory().createIRI(vocabularyIri.toString());
-            LOG.debug("Importing vocabulary into context <{}>.", targetContext);
-            conn.add(model, targetContext);
-            conn.commit();
+            try {
+                final Iterator<Statement> it = Stream.concat(statements.stream(), topConceptAssertions.stream())
+                                                     .iterator();
+                while (it.hasNext()) {
+                    batch.add(rewrite(it.next(), vf));
+                    if (batch.size() == batchSize || !it.hasNext()) {
+                        if (JobProgress.isCancelled()) {
+                            throw new VocabularyImportException("Vocabulary import has been cancelled.");
+                        }
+                        conn.begin();
+                        conn.add(batch, targetContext);
+                        conn.commit();
+                        imported += batch.size();
+                        batch.clear();
+                        LOG.debug("Imported {}/{} statements into context <{}>.", imported, total, targetContext);
+                        JobProgress.report(imported, total);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // The target context is either new or has been cleared before the import, so it contains only the
+                // imported data
+                LOG.error("Vocabulary import failed, clearing context <{}>.", targetContext);
+                // Clear the interrupted flag of a cancelled import, so that the cleanup is not interrupted as well
+                final boolean interrupted = Thread.interrupted();
+                if (conn.isActive()) {
+                    conn.rollback();
+                }
+                conn.begin();
+                conn.clear(targetContext);
+                conn.commit();
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                throw e;
+            }
         }
     }
 
-    private Resource getGlossaryUri() {
-        Set<Resource> glossaries = model.filter(null, RDF.TYPE, SKOS.CONCEPT_SCHEME).subjects();
-        assert glossaries.size() == 1;
-        return glossaries.iterator().next();
+    private Statement rewrite(Statement s, ValueFactory vf) {
+        final Resource subject = s.getSubject().isIRI() ? rewrite((IRI) s.getSubject(), vf) : s.getSubject();
+        final Value object = s.getObject().isIRI() ? rewrite((IRI) s.getObject(), vf) : s.getObject();
+        return vf.createStatement(subject, rewrite(s.getPredicate(), vf), object);
+    }
+
+    private IRI rewrite(IRI iri, ValueFactory vf) {
+        final String newIri = iriRewriter.apply(iri.stringValue());
+        return newIri.equals(iri.stringValue()) ? iri : vf.createIRI(newIri);
     }
 
     private void setVocabularyLabelFromGlossary(final Vocabulary vocabulary) {
-        final Set<Statement> labels = model.filter(getGlossaryUri(), DCTERMS.TITLE, null);
-        labels.stream().filter(s -> {
-            assert s.getObject() instanceof Literal;
-            return Objects.equals(config.getPersistence().getLanguage(),
-                    ((Literal) s.getObject()).getLanguage().orElse(config.getPersistence().getLanguage()));
-        }).findAny().ifPresent(s -> vocabulary.setLabel(s.getObject().stringValue()));
+        final List<Literal> labels = titles.getOrDefault(glossaryIri, Collections.emptyList());
+        labels.stream().filter(l -> Objects.equals(config.getPersistence().getLanguage(),
+                                       l.getLanguage().orElse(config.getPersistence().getLanguage())))
+              .findAny().ifPresent(l -> vocabulary.setLabel(l.stringValue()));
     }
 
     private Vocabulary createVocabulary(boolean rename, final URI vocabularyIri, final String vocabularyIriFromData) {
@@ -269,7 +318,7 @@ public class SKOSImporter {
         } else {
             newVocabularyIri = vocabularyIri;
             if (rename) {
-                Utils.changeNamespace(vocabularyIriFromData, newVocabularyIri.toString(), model);
+                changeNamespace(vocabularyIriFromData, newVocabularyIri.toString());
             }
         }
         final Vocabulary vocabulary = new Vocabulary();
@@ -284,12 +333,17 @@ public class SKOSImporter {
         return vocabulary;
     }
 
+    private void changeNamespace(String originalNamespace, String newNamespace) {
+        rewriteIris(iri -> iri.startsWith(originalNamespace) ?
+                           newNamespace + iri.substring(originalNamespace.length()) : iri);
+    }
+
     private String getFreshVocabularyIri(final boolean rename, final String newVocabularyIriBase) {
         String newVocabularyIri = newVocabularyIriBase;
         if (rename) {
             newVocabularyIri = getUniqueIriFromBase(newVocabularyIriBase, r -> vocabularyDao.find(URI.create(r)));
             if (!newVocabularyIri.equals(newVocabularyIriBase)) {
-                Utils.changeNamespace(newVocabularyIriBase, newVocabularyIri, model);
+                changeNamespace(newVocabularyIriBase, newVocabularyIri);
             }
         }
 
@@ -297,15 +351,46 @@ public class SKOSImporter {
     }
 
     private String getFreshGlossaryIri(final boolean rename) {
-        final String origGlossary = getGlossaryUri().toString();
+        final String origGlossary = iriRewriter.apply(glossaryIri.stringValue());
         String newGlossaryIri = origGlossary;
         if (rename) {
             newGlossaryIri = getUniqueIriFromBase(origGlossary, r -> vocabularyDao.findGlossary(URI.create(r)));
             if (!newGlossaryIri.equals(origGlossary)) {
-                Utils.changeIri(origGlossary, newGlossaryIri, model);
+                final String glossaryIriToReplace = newGlossaryIri;
+                rewriteIris(iri -> iri.equals(origGlossary) ? glossaryIriToReplace : iri);
             }
         }
 
         return newGlossaryIri;
     }
+
+    /**
+     * Collects parsed statements and indexes the information necessary for the import as they are being parsed.
+     */
+    private class IndexingHandler extends AbstractRDFHandler {
+
+        @Override
+        public void handleStatement(Statement st) {
+            statements.add(st);
+            final IRI predicate = st.getPredicate();
+            final Value object = st.getObject();
+            if (RDF.TYPE.equals(predicate)) {
+                if (SKOS.CONCEPT.equals(object)) {
+                    concepts.add(st.getSubject());
+                } else if (SKOS.CONCEPT_SCHEME.equals(object)) {
+                    conceptSchemes.add(st.getSubject());
+                }
+            } else if (SKOS.BROADER.equals(predicate)) {
+                broader.computeIfAbsent(st.getSubject(), k -> new ArrayList<>(2)).add(object);
+            } else if (SKOS.NARROWER.equals(predicate)) {
+                narrower.add(object);
+            } else if (DCTERMS.TITLE.equals(predicate) && object.isLiteral()) {
+                titles.computeIfAbsent(st.getSubject(), k -> new ArrayList<>(2)).add((Literal) object);
+            }
+            if (object.isLiteral() && multiLingualProperties.contains(predicate.stringValue())
+                    && !((Literal) object).getLanguage().isPresent()) {
+                missingLanguageTag = true;
+            }
+        }
+    }
 }
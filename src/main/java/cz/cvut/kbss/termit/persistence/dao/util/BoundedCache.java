@@ -0,0 +1,220 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.termit.util.Configuration;
+import org.springframework.beans.factory.InjectionPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.beans.factory.config.DependencyDescriptor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * A bounded cache implementation useful for caching frequently accessed data.
+ * <p>
+ * The cache holds at most the configured number of entries, least recently used entries are evicted when the limit is
+ * reached. Entries also expire after the configured time-to-live.
+ * <p>
+ * Values are computed outside of the cache lock, so that loading does not block access to other keys and the loader
+ * may use the cache itself. Concurrent loads of the same key may thus compute the value more than once, the first
+ * stored value wins. Values whose loading overlapped with an eviction are returned, but not cached, as they may be
+ * outdated.
+ *
+ * @param <K> Cache key type
+ * @param <V> Cache value type
+ */
+@Primary
+@Component
+@Profile("!no-cache")
+@Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE) // Everyone will get their own cache instance
+public class BoundedCache<K, V> implements Cache<K, V> {
+
+    private final String name;
+
+    private final int maxSize;
+
+    /**
+     * Time-to-live in nanoseconds, non-positive value means no expiration.
+     */
+    private final long ttl;
+
+    private final LongSupplier ticker;
+
+    private final Map<K, Entry<V>> cache;
+
+    /**
+     * Number of explicit evictions, used to detect loads overlapping with an eviction. Guarded by {@link #cache}.
+     */
+    private long invalidations;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Autowired
+    public BoundedCache(Configuration config, CacheRegistry registry, InjectionPoint injectionPoint) {
+        this(resolveName(injectionPoint), config.getCache().getMaxSize(),
+             Duration.ofSeconds(config.getCache().getTtl()), System::nanoTime);
+        registry.register(this);
+    }
+
+    BoundedCache(String name, int maxSize, Duration ttl, LongSupplier ticker) {
+        this.name = name;
+        this.maxSize = maxSize;
+        this.ttl = ttl.toNanos();
+        this.ticker = ticker;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    private static String resolveName(InjectionPoint injectionPoint) {
+        final String owner = injectionPoint.getMember().getDeclaringClass().getSimpleName();
+        if (injectionPoint instanceof DependencyDescriptor) {
+            final String dependencyName = ((DependencyDescriptor) injectionPoint).getDependencyName();
+            if (dependencyName != null) {
+                return owner + "." + dependencyName;
+            }
+        }
+        return owner;
+    }
+
+    @Override
+    public V getOrCompute(K key, Function<K, V> supplier) {
+        final long generation;
+        synchronized (cache) {
+            final V value = getIfPresent(key);
+            if (value != null) {
+                return value;
+            }
+            generation = invalidations;
+        }
+        final V computed = supplier.apply(key);
+        synchronized (cache) {
+            return store(key, computed, generation);
+        }
+    }
+
+    @Override
+    public Map<K, V> getOrComputeAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> supplier) {
+        final Map<K, V> result = new HashMap<>(keys.size());
+        final List<K> missing = new ArrayList<>();
+        final long generation;
+        synchronized (cache) {
+            keys.forEach(k -> {
+                final V value = getIfPresent(k);
+                if (value != null) {
+                    result.put(k, value);
+                } else {
+                    missing.add(k);
+                }
+            });
+            generation = invalidations;
+        }
+        if (!missing.isEmpty()) {
+            final Map<K, V> computed = supplier.apply(missing);
+            synchronized (cache) {
+                computed.forEach((k, v) -> result.put(k, store(k, v, generation)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets a live value for the specified key, updating statistics.
+     * <p>
+     * Must be called while holding the cache lock.
+     */
+    private V getIfPresent(K key) {
+        final Entry<V> entry = cache.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (isExpired(entry)) {
+            cache.remove(key);
+            evictions.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value;
+    }
+
+    private boolean isExpired(Entry<V> entry) {
+        return ttl > 0 && ticker.getAsLong() - entry.loaded >= ttl;
+    }
+
+    /**
+     * Stores the specified computed value, unless a value has been stored concurrently or the cache has been evicted
+     * since the computation started.
+     * <p>
+     * Must be called while holding the cache lock.
+     *
+     * @return The value to return to the caller
+     */
+    private V store(K key, V computed, long generation) {
+        if (computed == null || generation != invalidations) {
+            return computed;
+        }
+        final Entry<V> existing = cache.get(key);
+        if (existing != null && !isExpired(existing)) {
+            return existing.value;
+        }
+        cache.put(key, new Entry<>(computed, ticker.getAsLong()));
+        return computed;
+    }
+
+    @Override
+    public void evict(K key) {
+        synchronized (cache) {
+            invalidations++;
+            cache.remove(key);
+        }
+    }
+
+    @Override
+    public void evictAll() {
+        synchronized (cache) {
+            invalidations++;
+            cache.clear();
+        }
+    }
+
+    /**
+     * Gets current statistics of this cache.
+     *
+     * @return Cache statistics snapshot
+     */
+    public CacheStatistics getStatistics() {
+        final int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        return new CacheStatistics(name, size, maxSize, hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long loaded;
+
+        private Entry(V value, long loaded) {
+            this.value = value;
+            this.loaded = loaded;
+        }
+    }
+}
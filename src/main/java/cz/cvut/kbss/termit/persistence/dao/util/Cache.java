@@ -1,5 +1,7 @@
 package cz.cvut.kbss.termit.persistence.dao.util;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -21,6 +23,18 @@ public interface Cache<K, V> {
      */
     V getOrCompute(K key, Function<K, V> supplier);
 
+    /**
+     * Gets values associated with the specified keys, computing the missing ones in bulk using the specified function.
+     * <p>
+     * The supplier is invoked at most once, with keys for which there is no value in the cache. It is expected to
+     * return a value for each of the keys it is passed. The computed values are stored in the cache.
+     *
+     * @param keys     Cache keys
+     * @param supplier Bulk value calculator
+     * @return Map of keys to values, either existing or computed using the specified supplier
+     */
+    Map<K, V> getOrComputeAll(Collection<K> keys, Function<Collection<K>, Map<K, V>> supplier);
+
     /**
      * Evicts value for the specified key.
      *
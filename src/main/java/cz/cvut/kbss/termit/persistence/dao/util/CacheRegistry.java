@@ -0,0 +1,44 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps track of application data caches, so that they can be monitored and cleared.
+ * <p>
+ * The caches are prototype-scoped beans, which do not receive application events themselves, so the registry clears
+ * them on {@link EvictCacheEvent}.
+ */
+@Component
+public class CacheRegistry {
+
+    private final List<BoundedCache<?, ?>> caches = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers the specified cache.
+     *
+     * @param cache Cache to register
+     */
+    public void register(BoundedCache<?, ?> cache) {
+        caches.add(cache);
+    }
+
+    /**
+     * Gets statistics of all the registered caches.
+     *
+     * @return List of cache statistics
+     */
+    public List<CacheStatistics> getStatistics() {
+        return caches.stream().map(BoundedCache::getStatistics).collect(Collectors.toList());
+    }
+
+    @EventListener
+    public void onEvictCache(EvictCacheEvent evt) {
+        caches.forEach(BoundedCache::evictAll);
+    }
+}
@@ -0,0 +1,84 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+/**
+ * Snapshot of statistics of a {@link BoundedCache}.
+ */
+public class CacheStatistics {
+
+    private final String name;
+
+    private final int size;
+
+    private final int maxSize;
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    public CacheStatistics(String name, int size, int maxSize, long hitCount, long missCount, long evictionCount) {
+        this.name = name;
+        this.size = size;
+        this.maxSize = maxSize;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the current number of entries in the cache.
+     *
+     * @return Number of entries
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Gets the number of entries evicted due to size limit or expiration.
+     * <p>
+     * Explicit evictions (on data modification) are not counted.
+     *
+     * @return Number of evicted entries
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Gets the ratio of lookups which found a value in the cache.
+     *
+     * @return Hit rate, {@code 1.0} if there have been no lookups
+     */
+    public double getHitRate() {
+        final long total = hitCount + missCount;
+        return total == 0 ? 1.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return name + "{size=" + size + "/" + maxSize +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", evictions=" + evictionCount +
+                ", hitRate=" + String.format("%.3f", getHitRate()) +
+                '}';
+    }
+}
@@ -0,0 +1,609 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URI;
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory index of term labels allowing to quickly find terms whose label contains a search string.
+ * <p>
+ * Labels (in the configured language) are normalized to lower case and split into trigrams, so that a substring search
+ * has to examine only labels sharing a trigram with the search string. Collation keys of the labels (using rules of the
+ * configured language) are precomputed as well, so that terms can be ordered by label without comparing the labels
+ * themselves.
+ * <p>
+ * Root terms of each vocabulary (and of all vocabularies) are additionally kept in lists ordered by label, so that
+ * pages of root terms can be served by a binary search and a walk over the page, without sorting all the roots per
+ * request.
+ * <p>
+ * The index is built lazily from the repository by {@link cz.cvut.kbss.termit.persistence.dao.TermDao} and kept up to
+ * date incrementally as terms are persisted, updated and removed. Incremental changes are applied after the surrounding
+ * transaction commits. Bulk modifications (e.g., vocabulary import) are expected to {@link #invalidate()} the index.
+ * Until it is rebuilt, searches fall back to the repository.
+ */
+@Component
+public class TermLabelIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TermLabelIndex.class);
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final Collator collator;
+
+    private final Map<URI, Entry> entries = new HashMap<>();
+    private final Map<URI, Set<Entry>> byVocabulary = new HashMap<>();
+    private final Map<String, Set<Entry>> grams = new HashMap<>();
+    private final Map<URI, List<Entry>> rootsByVocabulary = new HashMap<>();
+    private final List<Entry> roots = new ArrayList<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean ready;
+
+    private long modificationStamp;
+
+    @Autowired
+    public TermLabelIndex(Configuration config) {
+        this.collator = Collator.getInstance(Locale.forLanguageTag(config.getPersistence().getLanguage()));
+    }
+
+    /**
+     * Whether the index is built and can be used for searching.
+     *
+     * @return Index readiness status
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Gets a stamp representing the current state of the index modifications.
+     * <p>
+     * The stamp should be retrieved before loading data for {@link #rebuild(Collection, long)}.
+     *
+     * @return Modification stamp
+     */
+    public long getModificationStamp() {
+        lock.readLock().lock();
+        try {
+            return modificationStamp;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the index from the specified entries.
+     * <p>
+     * If the index has been modified since {@code stamp} was retrieved, the entries may be outdated and the index is
+     * not rebuilt.
+     *
+     * @param allEntries All label entries
+     * @param stamp      Modification stamp retrieved before the entries were loaded
+     * @return Whether the index was rebuilt
+     */
+    public boolean rebuild(Collection<Entry> allEntries, long stamp) {
+        lock.writeLock().lock();
+        try {
+            if (stamp != modificationStamp) {
+                return false;
+            }
+            clear();
+            allEntries.forEach(this::add);
+            this.ready = true;
+            LOG.debug("Term label index rebuilt with {} entries.", entries.size());
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Invalidates the index, so that searches fall back to the repository until it is rebuilt.
+     * <p>
+     * If a transaction is active, the index is invalidated again when it commits, so that it is not rebuilt from data
+     * loaded before the transaction changes became visible.
+     */
+    public void invalidate() {
+        doInvalidate();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            afterCommit(this::doInvalidate);
+        }
+    }
+
+    private void doInvalidate() {
+        lock.writeLock().lock();
+        try {
+            modificationStamp++;
+            this.ready = false;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onEvictCache(EvictCacheEvent evt) {
+        invalidate();
+    }
+
+    private void clear() {
+        entries.clear();
+        byVocabulary.clear();
+        grams.clear();
+        rootsByVocabulary.clear();
+        roots.clear();
+    }
+
+    /**
+     * Sets label of the specified term.
+     * <p>
+     * If a transaction is active, the change is applied when it commits.
+     *
+     * @param term       Term identifier
+     * @param vocabulary Identifier of the vocabulary containing the term
+     * @param label      Term label in the configured language, possibly {@code null}
+     */
+    public void put(URI term, URI vocabulary, String label) {
+        put(term, vocabulary, label, false);
+    }
+
+    /**
+     * Sets label and root status of the specified term.
+     * <p>
+     * If a transaction is active, the change is applied when it commits.
+     *
+     * @param term       Term identifier
+     * @param vocabulary Identifier of the vocabulary containing the term
+     * @param label      Term label in the configured language, possibly {@code null}
+     * @param root       Whether the term is a root term of the vocabulary
+     */
+    public void put(URI term, URI vocabulary, String label, boolean root) {
+        Objects.requireNonNull(term);
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                modificationStamp++;
+                if (ready) {
+                    removeEntry(entries.get(term));
+                    if (label != null && vocabulary != null) {
+                        add(new Entry(term, vocabulary, label, root));
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes the specified term from the index.
+     * <p>
+     * If a transaction is active, the change is applied when it commits.
+     *
+     * @param term Term identifier
+     */
+    public void remove(URI term) {
+        Objects.requireNonNull(term);
+        put(term, null, null);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void add(Entry entry) {
+        // A term may have been loaded with multiple labels, keep the first one
+        if (entries.containsKey(entry.term)) {
+            return;
+        }
+        entry.sortKey = collator.getCollationKey(entry.label);
+        entries.put(entry.term, entry);
+        byVocabulary.computeIfAbsent(entry.vocabulary, k -> new HashSet<>()).add(entry);
+        grams(entry.normalized).forEach(g -> grams.computeIfAbsent(g, k -> new HashSet<>()).add(entry));
+        if (entry.root) {
+            insertSorted(roots, entry);
+            insertSorted(rootsByVocabulary.computeIfAbsent(entry.vocabulary, k -> new ArrayList<>()), entry);
+        }
+    }
+
+    private static void insertSorted(List<Entry> list, Entry entry) {
+        final int index = Collections.binarySearch(list, entry, Entry.ORDER);
+        if (index < 0) {
+            list.add(-index - 1, entry);
+        }
+    }
+
+    private static void removeSorted(List<Entry> list, Entry entry) {
+        if (list == null) {
+            return;
+        }
+        final int index = Collections.binarySearch(list, entry, Entry.ORDER);
+        if (index >= 0) {
+            list.remove(index);
+        }
+    }
+
+    private void removeEntry(Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        entries.remove(entry.term);
+        final Set<Entry> inVocabulary = byVocabulary.get(entry.vocabulary);
+        if (inVocabulary != null) {
+            inVocabulary.remove(entry);
+        }
+        grams(entry.normalized).forEach(g -> {
+            final Set<Entry> withGram = grams.get(g);
+            if (withGram != null) {
+                withGram.remove(entry);
+                if (withGram.isEmpty()) {
+                    grams.remove(g);
+                }
+            }
+        });
+        if (entry.root) {
+            removeSorted(roots, entry);
+            removeSorted(rootsByVocabulary.get(entry.vocabulary), entry);
+        }
+    }
+
+    private static Stream<String> grams(String normalized) {
+        if (normalized.length() < GRAM_LENGTH) {
+            return Stream.empty();
+        }
+        return Stream.iterate(0, i -> i + 1).limit(normalized.length() - GRAM_LENGTH + 1L)
+                     .map(i -> normalized.substring(i, i + GRAM_LENGTH)).distinct();
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Finds terms whose label contains the specified search string, ignoring case.
+     *
+     * @param searchString String to search for
+     * @param vocabulary   Identifier of the vocabulary to search in, {@code null} to search in all vocabularies
+     * @return Identifiers of matching terms ordered by label, empty {@code Optional} if the index is not ready
+     */
+    public Optional<List<URI>> search(String searchString, URI vocabulary) {
+        Objects.requireNonNull(searchString);
+        final String normalizedSearch = normalize(searchString);
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            final List<URI> result = candidates(normalizedSearch, vocabulary)
+                    .stream()
+                    .filter(e -> vocabulary == null || vocabulary.equals(e.vocabulary))
+                    .filter(e -> e.normalized.contains(normalizedSearch))
+                    .sorted(Comparator.comparing((Entry e) -> e.sortKey))
+                    .map(e -> e.term)
+                    .collect(Collectors.toList());
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Entry> candidates(String normalizedSearch, URI vocabulary) {
+        final Collection<Entry> scope = vocabulary != null ?
+                                        byVocabulary.getOrDefault(vocabulary, Collections.emptySet()) :
+                                        entries.values();
+        // Pick the smallest of the posting lists of the search string trigrams (or the whole scope for short strings)
+        return grams(normalizedSearch).map(g -> (Collection<Entry>) grams.getOrDefault(g, Collections.emptySet()))
+                                      .reduce(scope, (a, b) -> a.size() <= b.size() ? a : b);
+    }
+
+    /**
+     * Gets a page of root terms of the specified vocabularies, ordered by label.
+     * <p>
+     * The ordering is the same as in {@link #sortByLabel(Collection, Function, Function)}. The page starts either at
+     * {@code offset} or right after the specified position (label and identifier of the last term of the previous
+     * page). Excluded terms are skipped and do not count into the offset.
+     *
+     * @param vocabularies Identifiers of vocabularies whose root terms to page, {@code null} for all vocabularies
+     * @param exclude      Identifiers of terms to leave out of the result
+     * @param afterLabel   Label of the term preceding the page, {@code null} to start from the beginning
+     * @param after        Identifier of the term preceding the page, {@code null} to start from the beginning
+     * @param offset       Number of terms to skip
+     * @param limit        Maximum number of terms to return
+     * @return Index entries of the page, empty {@code Optional} if the index is not ready
+     */
+    public Optional<List<Entry>> findRoots(Collection<URI> vocabularies, Collection<URI> exclude, String afterLabel,
+                                           URI after, long offset, int limit) {
+        final Set<URI> excluded = exclude != null ? new HashSet<>(exclude) : Collections.emptySet();
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            if (limit <= 0 || after != null && afterLabel == null) {
+                // Terms without label are not indexed, so nothing follows such a position
+                return Optional.of(new ArrayList<>());
+            }
+            final List<List<Entry>> lists = vocabularies == null ? Collections.singletonList(roots) :
+                                            vocabularies.stream().distinct().map(rootsByVocabulary::get)
+                                                        .filter(Objects::nonNull).collect(Collectors.toList());
+            final Entry position = after != null ? new Entry(after, collator.getCollationKey(afterLabel)) : null;
+            final List<Entry> result = lists.size() == 1 ?
+                                       pageOf(lists.get(0), position, excluded, offset, limit) :
+                                       mergedPageOf(lists, position, excluded, offset, limit);
+            return Optional.of(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int startIndex(List<Entry> list, Entry position) {
+        if (position == null) {
+            return 0;
+        }
+        final int index = Collections.binarySearch(list, position, Entry.ORDER);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private List<Entry> pageOf(List<Entry> list, Entry position, Set<URI> excluded, long offset, int limit) {
+        final int from = startIndex(list, position);
+        // Skip the offset directly, shifting it by the excluded terms which precede the page start
+        long start = from + offset;
+        if (!excluded.isEmpty()) {
+            final int[] excludedIndices = excluded.stream().map(u -> indexOf(list, u)).filter(i -> i >= from)
+                                                  .sorted().mapToInt(Integer::intValue).toArray();
+            for (int i : excludedIndices) {
+                if (i > start) {
+                    break;
+                }
+                start++;
+            }
+        }
+        if (start >= list.size()) {
+            return new ArrayList<>();
+        }
+        if (excluded.isEmpty()) {
+            return new ArrayList<>(list.subList((int) start, (int) Math.min(list.size(), start + limit)));
+        }
+        final List<Entry> result = new ArrayList<>(Math.min(limit, list.size() - (int) start));
+        for (Entry e : list.subList((int) start, list.size())) {
+            if (result.size() >= limit) {
+                break;
+            }
+            if (!excluded.contains(e.term)) {
+                result.add(e);
+            }
+        }
+        return result;
+    }
+
+    private int indexOf(List<Entry> list, URI term) {
+        final Entry entry = entries.get(term);
+        if (entry == null || !entry.root) {
+            return -1;
+        }
+        return Math.max(Collections.binarySearch(list, entry, Entry.ORDER), -1);
+    }
+
+    private static List<Entry> mergedPageOf(List<List<Entry>> lists, Entry position, Set<URI> excluded, long offset,
+                                            int limit) {
+        // K-way merge of the sorted lists, starting right after the position in each of them
+        final List<Entry> result = new ArrayList<>();
+        final PriorityQueue<Head> queue = new PriorityQueue<>(Comparator.comparing((Head h) -> h.entry, Entry.ORDER));
+        for (List<Entry> list : lists) {
+            final int start = startIndex(list, position);
+            if (start < list.size()) {
+                queue.add(new Head(list, start));
+            }
+        }
+        long toSkip = offset;
+        while (!queue.isEmpty() && result.size() < limit) {
+            final Head head = queue.poll();
+            if (!excluded.contains(head.entry.term)) {
+                if (toSkip > 0) {
+                    toSkip--;
+                } else {
+                    result.add(head.entry);
+                }
+            }
+            if (head.advance()) {
+                queue.add(head);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the specified items by label, using collation rules of the configured language.
+     * <p>
+     * Precomputed collation keys are used for items corresponding to indexed terms with the same label, keys of the
+     * other items are computed once per item. Items without label are placed at the end, items with the same label are
+     * ordered by their identifier.
+     *
+     * @param items      Items to sort
+     * @param identifier Function extracting term identifier from an item
+     * @param label      Function extracting label in the configured language from an item
+     * @param <T>        Item type
+     * @return New list of the items, ordered by label
+     */
+    public <T> List<T> sortByLabel(Collection<T> items, Function<T, URI> identifier, Function<T, String> label) {
+        final List<Keyed<T>> keyed = keyed(items, identifier, label);
+        keyed.sort(Keyed.ORDER);
+        return keyed.stream().map(k -> k.item).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    /**
+     * Gets a page of the specified items ordered by label, starting right after the specified position.
+     * <p>
+     * The ordering is the same as in {@link #sortByLabel(Collection, Function, Function)}. Instead of sorting all the
+     * items, only the {@code limit} items following the position are selected, so that the cost does not depend on how
+     * far in the ordering the page is.
+     *
+     * @param items      Items to get the page from
+     * @param identifier Function extracting term identifier from an item
+     * @param label      Function extracting label in the configured language from an item
+     * @param afterLabel Label of the item preceding the page, {@code null} to start from the beginning
+     * @param after      Identifier of the item preceding the page, {@code null} to start from the beginning
+     * @param limit      Maximum number of items to return
+     * @param <T>        Item type
+     * @return New list of at most {@code limit} items, ordered by label
+     */
+    public <T> List<T> pageByLabel(Collection<T> items, Function<T, URI> identifier, Function<T, String> label,
+                                   String afterLabel, URI after, int limit) {
+        final Keyed<T> position = after != null ?
+                                  new Keyed<>(afterLabel != null ? collator.getCollationKey(afterLabel) : null,
+                                              after, null) : null;
+        // Max-heap holding the first limit items following the position
+        final PriorityQueue<Keyed<T>> page = new PriorityQueue<>(Keyed.ORDER.reversed());
+        for (Keyed<T> k : keyed(items, identifier, label)) {
+            if (limit <= 0 || position != null && Keyed.ORDER.compare(k, position) <= 0) {
+                continue;
+            }
+            if (page.size() < limit) {
+                page.add(k);
+            } else if (Keyed.ORDER.compare(k, page.peek()) < 0) {
+                page.poll();
+                page.add(k);
+            }
+        }
+        final List<Keyed<T>> result = new ArrayList<>(page);
+        result.sort(Keyed.ORDER);
+        return result.stream().map(k -> k.item).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private <T> List<Keyed<T>> keyed(Collection<T> items, Function<T, URI> identifier, Function<T, String> label) {
+        final List<Keyed<T>> keyed = new ArrayList<>(items.size());
+        lock.readLock().lock();
+        try {
+            for (T item : items) {
+                final URI id = identifier.apply(item);
+                final String itemLabel = label.apply(item);
+                final Entry entry = ready ? entries.get(id) : null;
+                final CollationKey key;
+                if (entry != null && entry.label.equals(itemLabel)) {
+                    key = entry.sortKey;
+                } else {
+                    key = itemLabel != null ? collator.getCollationKey(itemLabel) : null;
+                }
+                keyed.add(new Keyed<>(key, id, item));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return keyed;
+    }
+
+    /**
+     * Item with its sort key.
+     */
+    private static class Keyed<T> {
+        private static final Comparator<Keyed<?>> ORDER = Comparator
+                .comparing((Keyed<?> k) -> k.key, Comparator.nullsLast(Comparator.<CollationKey>naturalOrder()))
+                .thenComparing(k -> k.id.toString());
+
+        private final CollationKey key;
+        private final URI id;
+        private final T item;
+
+        private Keyed(CollationKey key, URI id, T item) {
+            this.key = key;
+            this.id = id;
+            this.item = item;
+        }
+    }
+
+    /**
+     * Current position in a sorted list of root entries.
+     */
+    private static class Head {
+        private final List<Entry> list;
+        private int index;
+        private Entry entry;
+
+        private Head(List<Entry> list, int index) {
+            this.list = list;
+            this.index = index;
+            this.entry = list.get(index);
+        }
+
+        private boolean advance() {
+            if (++index >= list.size()) {
+                return false;
+            }
+            this.entry = list.get(index);
+            return true;
+        }
+    }
+
+    /**
+     * Label of a term in the index.
+     */
+    public static class Entry {
+        private static final Comparator<Entry> ORDER = Comparator.comparing((Entry e) -> e.sortKey)
+                                                                 .thenComparing(e -> e.term.toString());
+
+        private final URI term;
+        private final URI vocabulary;
+        private final String label;
+        private final String normalized;
+        private final boolean root;
+        private CollationKey sortKey;
+
+        public Entry(URI term, URI vocabulary, String label) {
+            this(term, vocabulary, label, false);
+        }
+
+        public Entry(URI term, URI vocabulary, String label, boolean root) {
+            this.term = Objects.requireNonNull(term);
+            this.vocabulary = Objects.requireNonNull(vocabulary);
+            this.label = Objects.requireNonNull(label);
+            this.normalized = normalize(label);
+            this.root = root;
+        }
+
+        /**
+         * Creates a search key representing a position in the ordering.
+         */
+        private Entry(URI term, CollationKey sortKey) {
+            this.term = term;
+            this.vocabulary = null;
+            this.label = null;
+            this.normalized = null;
+            this.root = false;
+            this.sortKey = sortKey;
+        }
+
+        public URI getTerm() {
+            return term;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+}
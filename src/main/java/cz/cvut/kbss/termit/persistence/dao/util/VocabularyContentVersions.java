@@ -0,0 +1,139 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.termit.aspect.VocabularyContentModificationAspect;
+import cz.cvut.kbss.termit.asset.provenance.ModifiesData;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.event.VocabularyContentModified;
+import cz.cvut.kbss.termit.model.AbstractTerm;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of versions of vocabulary content.
+ * <p>
+ * Each vocabulary has a counter which is incremented whenever content of the vocabulary is modified (see {@link
+ * ModifiesData} and {@link VocabularyContentModificationAspect}). Besides that, a global counter is incremented on
+ * modification of content of any vocabulary. The versions are suitable for use as entity tags in conditional requests,
+ * allowing to determine that content has not been modified without querying the repository.
+ * <p>
+ * Versions are incremented only after the modifying transaction commits, so that a version read before data is loaded
+ * never corresponds to content older than the loaded data.
+ */
+@Component
+public class VocabularyContentVersions {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VocabularyContentVersions.class);
+
+    private volatile Versions versions = new Versions(System.currentTimeMillis());
+
+    /**
+     * Gets the current version of content of the specified vocabulary.
+     *
+     * @param vocabulary Vocabulary identifier
+     * @return Content version
+     */
+    public String getVersion(URI vocabulary) {
+        Objects.requireNonNull(vocabulary);
+        final Versions current = versions;
+        final AtomicLong version = current.vocabularies.get(vocabulary);
+        return current.epoch + "-" + (version != null ? version.get() : 0);
+    }
+
+    /**
+     * Gets the current version of content of all vocabularies.
+     *
+     * @return Global content version
+     */
+    public String getVersion() {
+        final Versions current = versions;
+        return current.epoch + "-g" + current.global.get();
+    }
+
+    @EventListener
+    public void onVocabularyContentModified(VocabularyContentModified event) {
+        final URI vocabulary = event.getVocabularyIri();
+        afterCommit(() -> contentModified(vocabulary));
+    }
+
+    /**
+     * Increments version of the specified vocabulary, or invalidates versions of all vocabularies if it is not known.
+     */
+    private void contentModified(URI vocabulary) {
+        if (vocabulary != null) {
+            increment(vocabulary);
+        } else {
+            reset();
+        }
+    }
+
+    private void increment(URI vocabulary) {
+        LOG.trace("Incrementing content version of vocabulary {}.", vocabulary);
+        final Versions current = versions;
+        current.vocabularies.computeIfAbsent(vocabulary, k -> new AtomicLong()).incrementAndGet();
+        current.global.incrementAndGet();
+    }
+
+    /**
+     * Invalidates versions of all vocabularies.
+     */
+    private synchronized void reset() {
+        LOG.trace("Resetting vocabulary content versions.");
+        this.versions = new Versions(versions.epoch + 1);
+    }
+
+    @EventListener
+    public void onAssetRemoval(AssetRemovalEvent event) {
+        if (event.getSource() instanceof Vocabulary) {
+            afterCommit(() -> increment(event.getSource().getUri()));
+        } else if (event.getSource() instanceof AbstractTerm) {
+            final URI vocabulary = ((AbstractTerm) event.getSource()).getVocabulary();
+            afterCommit(() -> contentModified(vocabulary));
+        }
+    }
+
+    @EventListener
+    public void onEvictCache(EvictCacheEvent event) {
+        reset();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static class Versions {
+
+        /**
+         * Distinguishes versions between application restarts and resets.
+         */
+        private final long epoch;
+
+        private final AtomicLong global = new AtomicLong();
+
+        private final Map<URI, AtomicLong> vocabularies = new ConcurrentHashMap<>();
+
+        private Versions(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
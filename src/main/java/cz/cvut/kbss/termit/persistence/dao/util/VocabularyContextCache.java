@@ -0,0 +1,174 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.jopa.model.EntityManager;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.exception.NotFoundException;
+import cz.cvut.kbss.termit.exception.PersistenceException;
+import cz.cvut.kbss.termit.model.AbstractTerm;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caches identifiers of vocabularies (which are also identifiers of their repository contexts) containing glossaries
+ * and terms.
+ * <p>
+ * The glossary to vocabulary mapping changes only when vocabularies are created or removed, so it is loaded completely
+ * by a single query on first use. Glossaries of vocabularies created afterwards are looked up (and cached) one by one.
+ * Lookup of vocabularies of terms without a glossary is cached in a bounded least-recently-used map.
+ * <p>
+ * Entries of removed vocabularies and terms are evicted, the whole cache is evicted on {@link EvictCacheEvent}.
+ */
+@Component
+public class VocabularyContextCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VocabularyContextCache.class);
+
+    /**
+     * Maximum number of cached term to vocabulary mappings.
+     */
+    static final int MAX_TERM_ENTRIES = 10000;
+
+    private final EntityManager em;
+
+    private final Map<URI, URI> glossaryToVocabulary = new ConcurrentHashMap<>();
+
+    private final Map<URI, URI> termToVocabulary = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<URI, URI> eldest) {
+            return size() > MAX_TERM_ENTRIES;
+        }
+    };
+
+    private volatile boolean glossariesLoaded;
+
+    @Autowired
+    public VocabularyContextCache(EntityManager em) {
+        this.em = em;
+    }
+
+    /**
+     * Gets identifier of the vocabulary containing the specified term.
+     * <p>
+     * If the term specifies its vocabulary, it is returned without any lookup.
+     *
+     * @param term Term whose vocabulary to get
+     * @return Vocabulary identifier
+     * @throws NotFoundException If the vocabulary cannot be found
+     */
+    public URI getVocabulary(AbstractTerm term) {
+        Objects.requireNonNull(term);
+        if (term.getVocabulary() != null) {
+            return term.getVocabulary();
+        }
+        if (term.getGlossary() != null) {
+            return getVocabularyOfGlossary(term.getGlossary());
+        }
+        synchronized (termToVocabulary) {
+            final URI cached = termToVocabulary.get(term.getUri());
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final URI result = querySingle("SELECT ?v WHERE { ?t ?inVocabulary ?v . }", "inVocabulary",
+                                       cz.cvut.kbss.termit.util.Vocabulary.s_p_je_pojmem_ze_slovniku, "t",
+                                       term.getUri())
+                .orElseThrow(() -> NotFoundException.create("Vocabulary of term", term.getUri()));
+        synchronized (termToVocabulary) {
+            termToVocabulary.put(term.getUri(), result);
+        }
+        return result;
+    }
+
+    /**
+     * Gets identifier of the vocabulary containing the specified glossary.
+     *
+     * @param glossary Glossary identifier
+     * @return Vocabulary identifier
+     * @throws NotFoundException If the vocabulary cannot be found
+     */
+    public URI getVocabularyOfGlossary(URI glossary) {
+        Objects.requireNonNull(glossary);
+        if (!glossariesLoaded) {
+            loadGlossaries();
+        }
+        final URI cached = glossaryToVocabulary.get(glossary);
+        if (cached != null) {
+            return cached;
+        }
+        final URI result = querySingle("SELECT ?v WHERE { ?v ?hasGlossary ?glossary . }", "hasGlossary",
+                                       cz.cvut.kbss.termit.util.Vocabulary.s_p_ma_glosar, "glossary", glossary)
+                .orElseThrow(() -> NotFoundException.create("Vocabulary with glossary", glossary));
+        glossaryToVocabulary.put(glossary, result);
+        return result;
+    }
+
+    private synchronized void loadGlossaries() {
+        if (glossariesLoaded) {
+            return;
+        }
+        try {
+            final List<?> rows = em.createNativeQuery("SELECT ?v ?g WHERE { ?v ?hasGlossary ?g . }")
+                                   .setParameter("hasGlossary",
+                                                 URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_ma_glosar))
+                                   .getResultList();
+            rows.forEach(row -> {
+                final Object[] values = (Object[]) row;
+                glossaryToVocabulary.put(URI.create(values[1].toString()), URI.create(values[0].toString()));
+            });
+            this.glossariesLoaded = true;
+            LOG.debug("Loaded glossaries of {} vocabularies.", rows.size());
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    private Optional<URI> querySingle(String query, String property, String propertyIri, String subject,
+                                      URI subjectValue) {
+        try {
+            final List<URI> result = em.createNativeQuery(query, URI.class)
+                                       .setParameter(property, URI.create(propertyIri))
+                                       .setParameter(subject, subjectValue)
+                                       .setMaxResults(1).getResultList();
+            return result.stream().findFirst();
+        } catch (RuntimeException e) {
+            throw new PersistenceException(e);
+        }
+    }
+
+    @EventListener
+    public void onAssetRemoval(AssetRemovalEvent evt) {
+        if (evt.getSource() instanceof Vocabulary) {
+            final URI vocabulary = evt.getSource().getUri();
+            glossaryToVocabulary.values().removeIf(vocabulary::equals);
+            synchronized (termToVocabulary) {
+                termToVocabulary.values().removeIf(vocabulary::equals);
+            }
+        } else if (evt.getSource() instanceof AbstractTerm) {
+            synchronized (termToVocabulary) {
+                termToVocabulary.remove(evt.getSource().getUri());
+            }
+        }
+    }
+
+    @EventListener
+    public void onEvictCache(EvictCacheEvent evt) {
+        this.glossariesLoaded = false;
+        glossaryToVocabulary.clear();
+        synchronized (termToVocabulary) {
+            termToVocabulary.clear();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package cz.cvut.kbss.termit.persistence.validation;
 
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
 import cz.cvut.kbss.termit.event.VocabularyContentModified;
+import cz.cvut.kbss.termit.model.Vocabulary;
 import cz.cvut.kbss.termit.model.validation.ValidationResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,12 +10,27 @@ import org.springframework.beans.factory.annotation.Lookup;
 import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
 import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.net.URI;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Caches validation results of vocabularies.
+ * <p>
+ * Results are cached per vocabulary. When content of a vocabulary is modified, results of all the vocabularies which
+ * import it (including itself) become outdated and are re-validated in the background. Until the re-validation
+ * finishes, the outdated results are returned, so that validation does not block the caller. Only vocabularies which
+ * have not been validated yet (or whose imports changed) are validated synchronously.
+ */
 @Component("cachingValidator")
 @Primary
 @Profile("!no-cache")
@@ -21,12 +38,36 @@ public class ResultCachingValidator implements VocabularyContentValidator {
 
     private static final Logger LOG = LoggerFactory.getLogger(ResultCachingValidator.class);
 
-    private final Map<Collection<URI>, List<ValidationResult>> validationCache = new ConcurrentHashMap<>();
+    private final Map<URI, CachedResult> validationCache = new ConcurrentHashMap<>();
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void initExecutor() {
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("termit-validation-");
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
 
     @Override
-    public List<ValidationResult> validate(Collection<URI> vocabularyIris) {
-        final Set<URI> copy = new HashSet<>(vocabularyIris);    // Defensive copy
-        return new ArrayList<>(validationCache.computeIfAbsent(copy, uris -> getValidator().validate(vocabularyIris)));
+    public List<ValidationResult> validate(URI vocabulary, Collection<URI> importClosure) {
+        final Set<URI> closure = new HashSet<>(importClosure);    // Defensive copy
+        CachedResult cached = validationCache.get(vocabulary);
+        if (cached == null || !cached.importClosure.equals(closure)) {
+            cached = new CachedResult(vocabulary, closure);
+            cached.validate();
+            validationCache.put(vocabulary, cached);
+        } else if (cached.isOutdated()) {
+            cached.scheduleValidation();
+        }
+        return new ArrayList<>(cached.results);
     }
 
     @Lookup
@@ -36,7 +77,100 @@ public class ResultCachingValidator implements VocabularyContentValidator {
 
     @EventListener
     public void evictCache(VocabularyContentModified event) {
-        LOG.debug("Vocabulary content modified, evicting validation result cache.");
-        validationCache.clear();
+        final URI vocabulary = event.getVocabularyIri();
+        if (vocabulary == null) {
+            LOG.debug("Content of an unknown vocabulary modified, evicting validation result cache.");
+            validationCache.clear();
+            return;
+        }
+        // Re-validate only after the modification is committed, so that it is visible to the validation
+        afterCommit(() -> validationCache.values().stream().filter(r -> r.importClosure.contains(vocabulary))
+                                         .forEach(CachedResult::invalidate));
+    }
+
+    @EventListener
+    public void onAssetRemoval(AssetRemovalEvent event) {
+        if (event.getSource() instanceof Vocabulary) {
+            validationCache.remove(event.getSource().getUri());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Validation results of a vocabulary.
+     */
+    private class CachedResult {
+
+        private final URI vocabulary;
+
+        private final Set<URI> importClosure;
+
+        private volatile List<ValidationResult> results = Collections.emptyList();
+
+        /**
+         * Number of modifications of the vocabulary content (including imported vocabularies).
+         */
+        private final AtomicLong modifications = new AtomicLong();
+
+        /**
+         * Number of modifications reflected in the current results.
+         */
+        private volatile long validatedModifications;
+
+        private final AtomicBoolean validationScheduled = new AtomicBoolean();
+
+        private CachedResult(URI vocabulary, Set<URI> importClosure) {
+            this.vocabulary = vocabulary;
+            this.importClosure = importClosure;
+        }
+
+        private boolean isOutdated() {
+            return validatedModifications != modifications.get();
+        }
+
+        private void invalidate() {
+            modifications.incrementAndGet();
+            scheduleValidation();
+        }
+
+        private void validate() {
+            final long validating = modifications.get();
+            this.results = getValidator().validate(vocabulary, importClosure);
+            this.validatedModifications = validating;
+        }
+
+        private void scheduleValidation() {
+            if (!validationScheduled.compareAndSet(false, true)) {
+                return;
+            }
+            LOG.trace("Scheduling re-validation of vocabulary {}.", vocabulary);
+            executor.execute(() -> {
+                boolean validated = false;
+                try {
+                    validate();
+                    validated = true;
+                } catch (RuntimeException e) {
+                    LOG.error("Unable to validate vocabulary {}.", vocabulary, e);
+                } finally {
+                    validationScheduled.set(false);
+                }
+                // Modified while being validated
+                if (validated && isOutdated() && validationCache.get(vocabulary) == this) {
+                    scheduleValidation();
+                }
+            });
+        }
     }
 }
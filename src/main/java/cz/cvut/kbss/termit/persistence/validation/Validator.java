@@ -5,14 +5,20 @@ import cz.cvut.kbss.jopa.model.EntityManager;
 import cz.cvut.kbss.jopa.model.MultilingualString;
 import cz.cvut.kbss.termit.exception.TermItException;
 import cz.cvut.kbss.termit.model.validation.ValidationResult;
+import org.apache.jena.datatypes.RDFDatatype;
+import org.apache.jena.datatypes.TypeMapper;
+import org.apache.jena.rdf.model.AnonId;
 import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.rdf.model.RDFNode;
-import org.eclipse.rdf4j.model.IRI;
+import org.eclipse.rdf4j.model.BNode;
+import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
-import org.eclipse.rdf4j.rio.turtle.TurtleWriter;
+import org.eclipse.rdf4j.repository.RepositoryResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,13 +27,9 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
 import java.net.URI;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -46,26 +48,46 @@ public class Validator implements VocabularyContentValidator {
         vf = repository.getValueFactory();
     }
 
-    private Model getModelFromRdf4jRepository(final Collection<URI> vocabularyIris)
-            throws IOException {
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        final OutputStreamWriter writer = new OutputStreamWriter(baos, StandardCharsets.UTF_8);
-        final RepositoryConnection c = repository.getConnection();
-        final List<IRI> iris = new ArrayList<>();
-        vocabularyIris.forEach(i -> iris.add(vf.createIRI(i.toString())));
-        c.export(new TurtleWriter(writer), iris.toArray(new IRI[]{}));
-        writer.close();
-        final byte[] savedData = baos.toByteArray();
-        final ByteArrayInputStream bais = new ByteArrayInputStream(savedData);
-        org.apache.jena.rdf.model.Model model = ModelFactory.createDefaultModel();
-        model.read(bais, null, "TURTLE");
+    /**
+     * Loads explicit statements of the specified vocabularies into a Jena model.
+     * <p>
+     * The statements are converted one by one, without serializing them into an intermediate format.
+     */
+    private Model getModelFromRdf4jRepository(final Collection<URI> vocabularyIris) {
+        final Model model = ModelFactory.createDefaultModel();
+        final Resource[] contexts = vocabularyIris.stream().map(i -> vf.createIRI(i.toString()))
+                                                  .toArray(Resource[]::new);
+        try (final RepositoryConnection c = repository.getConnection();
+             final RepositoryResult<Statement> statements = c.getStatements(null, null, null, false, contexts)) {
+            statements.forEach(st -> model.add(toJenaResource(model, st.getSubject()),
+                                               model.createProperty(st.getPredicate().stringValue()),
+                                               toJenaNode(model, st.getObject())));
+        }
         return model;
     }
 
+    private static org.apache.jena.rdf.model.Resource toJenaResource(Model model, Resource resource) {
+        return resource instanceof BNode ? model.createResource(AnonId.create(((BNode) resource).getID())) :
+               model.createResource(resource.stringValue());
+    }
+
+    private static RDFNode toJenaNode(Model model, Value value) {
+        if (value instanceof org.eclipse.rdf4j.model.Literal) {
+            final org.eclipse.rdf4j.model.Literal literal = (org.eclipse.rdf4j.model.Literal) value;
+            if (literal.getLanguage().isPresent()) {
+                return model.createLiteral(literal.getLabel(), literal.getLanguage().get());
+            }
+            final RDFDatatype datatype = TypeMapper.getInstance()
+                                                   .getSafeTypeByName(literal.getDatatype().stringValue());
+            return model.createTypedLiteral(literal.getLabel(), datatype);
+        }
+        return toJenaResource(model, (Resource) value);
+    }
+
     @Transactional(readOnly = true)
     @Override
-    public List<ValidationResult> validate(final Collection<URI> vocabularyIris) {
-        LOG.debug("Validating {}", vocabularyIris);
+    public List<ValidationResult> validate(final URI vocabulary, final Collection<URI> importClosure) {
+        LOG.debug("Validating {} (import closure {})", vocabulary, importClosure);
         final com.github.sgov.server.Validator validator = new com.github.sgov.server.Validator();
         final Set<URL> rules = new HashSet<>();
         rules.addAll(validator.getGlossaryRules());
@@ -77,7 +99,7 @@ public class Validator implements VocabularyContentValidator {
         );
 
         try {
-            final Model model = getModelFromRdf4jRepository(vocabularyIris);
+            final Model model = getModelFromRdf4jRepository(importClosure);
             org.topbraid.shacl.validation.ValidationReport report = validator.validate(model, rules);
             LOG.debug("Done.");
             return report.results().stream()
@@ -100,7 +122,7 @@ public class Validator implements VocabularyContentValidator {
                                 .setResultPath(resultPath);
                     }).collect(Collectors.toList());
         } catch (IOException e) {
-            throw new TermItException("Validation of vocabularies " + vocabularyIris + " failed.", e);
+            throw new TermItException("Validation of vocabulary " + vocabulary + " failed.", e);
         }
     }
 }
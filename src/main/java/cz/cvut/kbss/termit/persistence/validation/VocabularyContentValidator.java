@@ -12,12 +12,13 @@ import java.util.List;
 public interface VocabularyContentValidator {
 
     /**
-     * Validates the content of vocabularies with the specified identifiers.
+     * Validates the content of the specified vocabulary.
      * <p>
-     * The vocabularies are validated together, as a single unit.
+     * The vocabulary is validated together with the vocabularies it imports, as a single unit.
      *
-     * @param vocabularyIris Vocabulary identifiers
+     * @param vocabulary    Identifier of the vocabulary to validate
+     * @param importClosure Identifiers of the vocabulary and all the vocabularies it (transitively) imports
      * @return List of violations of validation rules. Empty list if there are not violations
      */
-    List<ValidationResult> validate(final Collection<URI> vocabularyIris);
+    List<ValidationResult> validate(final URI vocabulary, final Collection<URI> importClosure);
 }
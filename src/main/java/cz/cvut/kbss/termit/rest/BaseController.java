@@ -22,7 +22,9 @@ import cz.cvut.kbss.termit.service.IdentifierResolver;
 import cz.cvut.kbss.termit.util.Configuration;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.context.request.WebRequest;
 
 import java.net.URI;
 import java.util.Objects;
@@ -62,6 +64,24 @@ public class BaseController {
         return PageRequest.of(pageNo, pageSize);
     }
 
+    /**
+     * Checks whether the requested content has been modified, using the specified content version as entity tag.
+     * <p>
+     * The entity tag also reflects the media type accepted by the client, as the same content may be requested in
+     * different representations.
+     *
+     * @param webRequest     Current request
+     * @param contentVersion Version of the requested content
+     * @return {@code true} if the content has not been modified (and response status has been set accordingly), {@code
+     * false} otherwise
+     * @see WebRequest#checkNotModified(String)
+     */
+    protected static boolean checkNotModified(WebRequest webRequest, String contentVersion) {
+        final String accept = webRequest.getHeader(HttpHeaders.ACCEPT);
+        return webRequest.checkNotModified(
+                accept != null ? contentVersion + "-" + Integer.toHexString(accept.hashCode()) : contentVersion);
+    }
+
     /**
      * Resolves identifier based on the specified resource (if provided) or the namespace loaded from application
      * configuration.
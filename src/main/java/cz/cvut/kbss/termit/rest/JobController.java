@@ -0,0 +1,94 @@
+package cz.cvut.kbss.termit.rest;
+
+import cz.cvut.kbss.termit.exception.NotFoundException;
+import cz.cvut.kbss.termit.rest.util.RestUtils;
+import cz.cvut.kbss.termit.service.IdentifierResolver;
+import cz.cvut.kbss.termit.service.job.Job;
+import cz.cvut.kbss.termit.service.job.JobService;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Provides access to background jobs (imports, exports, text analysis) submitted by the current user.
+ * <p>
+ * Jobs are submitted via the endpoints of the respective assets (e.g., vocabularies).
+ */
+@RestController
+@RequestMapping("/jobs")
+public class JobController extends BaseController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobController.class);
+
+    private final JobService jobService;
+
+    @Autowired
+    public JobController(IdentifierResolver idResolver, Configuration config, JobService jobService) {
+        super(idResolver, config);
+        this.jobService = jobService;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<Job> getAll() {
+        return jobService.findAll();
+    }
+
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Job getById(@PathVariable String id) {
+        return jobService.findRequired(id);
+    }
+
+    /**
+     * Downloads the file produced by the job with the specified identifier (e.g., a vocabulary export).
+     *
+     * @param id Job identifier
+     * @return Result file
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Resource> getResult(@PathVariable String id) {
+        final Job job = jobService.findRequired(id);
+        final Path result = job.getResultFile().orElseThrow(() -> NotFoundException.create("Result of job", id));
+        return ResponseEntity.ok()
+                             .contentType(MediaType.parseMediaType(job.getResultMediaType()))
+                             .header(HttpHeaders.CONTENT_DISPOSITION,
+                                     "attachment; filename=\"" + job.getResultFileName() + "\"")
+                             .body(new FileSystemResource(result));
+    }
+
+    /**
+     * Cancels the job with the specified identifier.
+     * <p>
+     * Cancelling an already finished job has no effect.
+     *
+     * @param id Job identifier
+     * @return The job
+     */
+    @DeleteMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Job cancel(@PathVariable String id) {
+        final Job job = jobService.cancel(id);
+        LOG.debug("Cancellation of job {} requested.", job);
+        return job;
+    }
+
+    /**
+     * Creates a response informing the client that the specified job has been accepted for execution.
+     *
+     * @param job Submitted job
+     * @return Response with status 202 and location of the job
+     */
+    static ResponseEntity<Job> jobAccepted(Job job) {
+        return ResponseEntity.accepted()
+                             .location(RestUtils.createLocationFromCurrentContextWithPath("/jobs/{id}", job.getId()))
+                             .body(job);
+    }
+}
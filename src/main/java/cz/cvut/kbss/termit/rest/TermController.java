@@ -2,7 +2,10 @@ package cz.cvut.kbss.termit.rest;
 
 import cz.cvut.kbss.jsonld.JsonLd;
 import cz.cvut.kbss.termit.dto.TermStatus;
+import cz.cvut.kbss.termit.dto.listing.TermCursor;
 import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.dto.listing.TermPage;
+import cz.cvut.kbss.termit.exception.InvalidParameterException;
 import cz.cvut.kbss.termit.exception.NotFoundException;
 import cz.cvut.kbss.termit.exception.TermItException;
 import cz.cvut.kbss.termit.model.Term;
@@ -15,6 +18,7 @@ import cz.cvut.kbss.termit.rest.util.RestUtils;
 import cz.cvut.kbss.termit.security.SecurityConstants;
 import cz.cvut.kbss.termit.service.IdentifierResolver;
 import cz.cvut.kbss.termit.service.business.TermService;
+import cz.cvut.kbss.termit.service.export.util.TypeAwareStreamingResource;
 import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.Constants;
 import cz.cvut.kbss.termit.util.Constants.Excel;
@@ -31,6 +35,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
 import java.net.URI;
@@ -74,6 +80,7 @@ public class TermController extends BaseController {
      * @param properties           A set of properties representing references to terms from other vocabularies to take
      *                             into account in export. Relevant only for term export. Optional
      * @param acceptType           MIME type accepted by the client, relevant only for term export
+     * @param webRequest           Current request, used to check whether the terms have been modified
      * @return List of terms of the specific vocabulary
      */
     @GetMapping(value = "/vocabularies/{vocabularyIdFragment}/terms",
@@ -91,8 +98,13 @@ public class TermController extends BaseController {
                                     @RequestParam(name = "property", required = false,
                                                   defaultValue = "[]") Set<String> properties,
                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false,
-                                                   defaultValue = MediaType.ALL_VALUE) String acceptType) {
+                                                   defaultValue = MediaType.ALL_VALUE) String acceptType,
+                                    ServletWebRequest webRequest) {
         final URI vocabularyUri = getVocabularyUri(namespace, vocabularyIdFragment);
+        if (checkNotModified(webRequest, includeImported || withReferences ? termService.getContentVersion() :
+                                         termService.getContentVersion(vocabularyUri))) {
+            return null;
+        }
         final Vocabulary vocabulary = getVocabulary(vocabularyUri);
         if (searchString != null) {
             return ResponseEntity.ok(includeImported ?
@@ -111,20 +123,27 @@ public class TermController extends BaseController {
                                                     termService.exportGlossaryWithReferences(vocabulary, properties,
                                                                                              mediaType) :
                                                     termService.exportGlossary(vocabulary, mediaType);
-        return content.map(r -> {
-            try {
-                return ResponseEntity.ok()
-                                     .contentLength(r.contentLength())
-                                     .contentType(MediaType.parseMediaType(mediaType))
-                                     .header(HttpHeaders.CONTENT_DISPOSITION,
-                                             "attachment; filename=\"" + IdentifierResolver.extractIdentifierFragment(
-                                                     vocabulary.getUri()) +
-                                                     r.getFileExtension().orElse("") + "\"")
-                                     .body(r);
-            } catch (IOException e) {
-                throw new TermItException("Unable to export terms.", e);
-            }
-        });
+        return content.map(r -> exportResponse(vocabulary, r, mediaType));
+    }
+
+    private static ResponseEntity<?> exportResponse(Vocabulary vocabulary, TypeAwareResource content,
+                                                    String mediaType) {
+        final String fileName = IdentifierResolver.extractIdentifierFragment(vocabulary.getUri()) +
+                content.getFileExtension().orElse("");
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                                                                 .contentType(MediaType.parseMediaType(mediaType))
+                                                                 .header(HttpHeaders.CONTENT_DISPOSITION,
+                                                                         "attachment; filename=\"" + fileName + "\"");
+        if (content instanceof TypeAwareStreamingResource) {
+            // Write the export directly into the response, without buffering it
+            final StreamingResponseBody body = ((TypeAwareStreamingResource) content)::writeTo;
+            return builder.body(body);
+        }
+        try {
+            return builder.contentLength(content.contentLength()).body(content);
+        } catch (IOException e) {
+            throw new TermItException("Unable to export terms.", e);
+        }
     }
 
     /**
@@ -171,25 +190,67 @@ public class TermController extends BaseController {
      * @param namespace            Vocabulary namespace. Optional
      * @param pageSize             Limit the number of elements in the returned page. Optional
      * @param pageNo               Number of the page to return. Optional
+     * @param cursor               Cursor after which the returned page starts, empty for the first page. Optional, if
+     *                             specified, {@code pageNo} is ignored and cursor of the next page is returned in the
+     *                             {@link Constants#X_NEXT_CURSOR_HEADER} header
      * @param includeImported      Whether a transitive closure of vocabulary imports should be used when getting the
      *                             root terms. Optional, defaults to {@code false}
+     * @param webRequest           Current request, used to check whether the terms have been modified
      * @return List of root terms of the specific vocabulary
      */
     @GetMapping(value = "/vocabularies/{vocabularyIdFragment}/terms/roots",
                 produces = {MediaType.APPLICATION_JSON_VALUE, JsonLd.MEDIA_TYPE})
-    public List<TermDto> getAllRoots(@PathVariable String vocabularyIdFragment,
-                                     @RequestParam(name = QueryParams.NAMESPACE,
-                                                   required = false) Optional<String> namespace,
-                                     @RequestParam(name = QueryParams.PAGE_SIZE, required = false) Integer pageSize,
-                                     @RequestParam(name = QueryParams.PAGE, required = false) Integer pageNo,
-                                     @RequestParam(name = "includeImported", required = false) boolean includeImported,
-                                     @RequestParam(name = "includeTerms", required = false,
-                                                   defaultValue = "") List<URI> includeTerms) {
-        final Vocabulary vocabulary = getVocabulary(getVocabularyUri(namespace, vocabularyIdFragment));
-        return includeImported ?
-               termService
-                       .findAllRootsIncludingImported(vocabulary, createPageRequest(pageSize, pageNo), includeTerms) :
-               termService.findAllRoots(vocabulary, createPageRequest(pageSize, pageNo), includeTerms);
+    public ResponseEntity<List<TermDto>> getAllRoots(@PathVariable String vocabularyIdFragment,
+                                                     @RequestParam(name = QueryParams.NAMESPACE,
+                                                                   required = false) Optional<String> namespace,
+                                                     @RequestParam(name = QueryParams.PAGE_SIZE,
+                                                                   required = false) Integer pageSize,
+                                                     @RequestParam(name = QueryParams.PAGE,
+                                                                   required = false) Integer pageNo,
+                                                     @RequestParam(name = QueryParams.CURSOR,
+                                                                   required = false) String cursor,
+                                                     @RequestParam(name = "includeImported",
+                                                                   required = false) boolean includeImported,
+                                                     @RequestParam(name = "includeTerms", required = false,
+                                                                   defaultValue = "") List<URI> includeTerms,
+                                                     ServletWebRequest webRequest) {
+        final URI vocabularyUri = getVocabularyUri(namespace, vocabularyIdFragment);
+        // Included terms may come from other vocabularies
+        if (checkNotModified(webRequest, includeImported || !includeTerms.isEmpty() ? termService.getContentVersion() :
+                                         termService.getContentVersion(vocabularyUri))) {
+            return null;
+        }
+        final Vocabulary vocabulary = getVocabulary(vocabularyUri);
+        if (cursor != null) {
+            return toResponse(termService.findAllRoots(vocabulary, decodeCursor(cursor), pageLimit(pageSize),
+                                                       includeImported, includeTerms));
+        }
+        return ResponseEntity.ok(includeImported ?
+                                 termService.findAllRootsIncludingImported(vocabulary,
+                                                                           createPageRequest(pageSize, pageNo),
+                                                                           includeTerms) :
+                                 termService.findAllRoots(vocabulary, createPageRequest(pageSize, pageNo),
+                                                          includeTerms));
+    }
+
+    private static TermCursor decodeCursor(String cursor) {
+        return cursor.isEmpty() ? null : TermCursor.decode(cursor);
+    }
+
+    private static int pageLimit(Integer pageSize) {
+        if (pageSize == null) {
+            return Constants.DEFAULT_PAGE_SIZE;
+        }
+        if (pageSize < 1) {
+            throw new InvalidParameterException("Page size must be positive, got " + pageSize + ".");
+        }
+        return pageSize;
+    }
+
+    private static ResponseEntity<List<TermDto>> toResponse(TermPage page) {
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        page.getNext().ifPresent(next -> builder.header(Constants.X_NEXT_CURSOR_HEADER, next.encode()));
+        return builder.body(page.getContent());
     }
 
     /**
@@ -221,6 +282,7 @@ public class TermController extends BaseController {
      * @param vocabularyIdFragment Vocabulary identifier fragment
      * @param termIdFragment       Term identifier fragment
      * @param namespace            Vocabulary identifier namespace. Optional
+     * @param webRequest           Current request, used to check whether the term has been modified
      * @return Matching term
      * @throws NotFoundException If term does not exist
      */
@@ -228,9 +290,17 @@ public class TermController extends BaseController {
                 produces = {MediaType.APPLICATION_JSON_VALUE, JsonLd.MEDIA_TYPE})
     public Term getById(@PathVariable("vocabularyIdFragment") String vocabularyIdFragment,
                         @PathVariable("termIdFragment") String termIdFragment,
-                        @RequestParam(name = QueryParams.NAMESPACE, required = false) Optional<String> namespace) {
-        final URI termUri = getTermUri(vocabularyIdFragment, termIdFragment, namespace);
-        return termService.findRequired(termUri);
+                        @RequestParam(name = QueryParams.NAMESPACE, required = false) Optional<String> namespace,
+                        ServletWebRequest webRequest) {
+        // Term contains also relationships to terms from other vocabularies
+        if (checkNotModified(webRequest, termService.getContentVersion())) {
+            return null;
+        }
+        return findTerm(vocabularyIdFragment, termIdFragment, namespace);
+    }
+
+    private Term findTerm(String vocabularyIdFragment, String termIdFragment, Optional<String> namespace) {
+        return termService.findRequired(getTermUri(vocabularyIdFragment, termIdFragment, namespace));
     }
 
     /**
@@ -238,13 +308,20 @@ public class TermController extends BaseController {
      * <p>
      * This is a convenience method for accessing a Term without using its Vocabulary.
      *
-     * @see #getById(String, String)
+     * @see #getById(String, String, Optional, ServletWebRequest)
      */
     @GetMapping(value = "/terms/{termIdFragment}", produces = {MediaType.APPLICATION_JSON_VALUE, JsonLd.MEDIA_TYPE})
     public Term getById(@PathVariable("termIdFragment") String termIdFragment,
-                        @RequestParam(name = QueryParams.NAMESPACE) String namespace) {
-        final URI termUri = idResolver.resolveIdentifier(namespace, termIdFragment);
-        return termService.findRequired(termUri);
+                        @RequestParam(name = QueryParams.NAMESPACE) String namespace,
+                        ServletWebRequest webRequest) {
+        if (checkNotModified(webRequest, termService.getContentVersion())) {
+            return null;
+        }
+        return findTerm(termIdFragment, namespace);
+    }
+
+    private Term findTerm(String termIdFragment, String namespace) {
+        return termService.findRequired(idResolver.resolveIdentifier(namespace, termIdFragment));
     }
 
     private URI getTermUri(String vocabIdFragment, String termIdFragment, Optional<String> namespace) {
@@ -333,8 +410,13 @@ public class TermController extends BaseController {
     public List<Term> getSubTerms(@PathVariable("vocabularyIdFragment") String vocabularyIdFragment,
                                   @PathVariable("termIdFragment") String termIdFragment,
                                   @RequestParam(name = QueryParams.NAMESPACE,
-                                                required = false) Optional<String> namespace) {
-        final Term parent = getById(vocabularyIdFragment, termIdFragment, namespace);
+                                                required = false) Optional<String> namespace,
+                                  ServletWebRequest webRequest) {
+        // Sub-terms may come from other vocabularies
+        if (checkNotModified(webRequest, termService.getContentVersion())) {
+            return null;
+        }
+        final Term parent = findTerm(vocabularyIdFragment, termIdFragment, namespace);
         return termService.findSubTerms(parent);
     }
 
@@ -344,8 +426,12 @@ public class TermController extends BaseController {
     @GetMapping(value = "/terms/{termIdFragment}/subterms",
                 produces = {MediaType.APPLICATION_JSON_VALUE, JsonLd.MEDIA_TYPE})
     public List<Term> getSubTerms(@PathVariable("termIdFragment") String termIdFragment,
-                                  @RequestParam(name = QueryParams.NAMESPACE) String namespace) {
-        final Term parent = getById(termIdFragment, namespace);
+                                  @RequestParam(name = QueryParams.NAMESPACE) String namespace,
+                                  ServletWebRequest webRequest) {
+        if (checkNotModified(webRequest, termService.getContentVersion())) {
+            return null;
+        }
+        final Term parent = findTerm(termIdFragment, namespace);
         return termService.findSubTerms(parent);
     }
 
@@ -367,7 +453,7 @@ public class TermController extends BaseController {
                                               @RequestParam(name = QueryParams.NAMESPACE,
                                                             required = false) Optional<String> namespace,
                                               @RequestBody Term newTerm) {
-        final Term parent = getById(vocabularyIdFragment, parentIdFragment, namespace);
+        final Term parent = findTerm(vocabularyIdFragment, parentIdFragment, namespace);
         termService.persistChild(newTerm, parent);
         LOG.debug("Child term {} of parent {} created.", newTerm, parent);
         return ResponseEntity.created(createSubTermLocation(newTerm.getUri(), parentIdFragment)).build();
@@ -390,7 +476,7 @@ public class TermController extends BaseController {
                                               @RequestParam(name = QueryParams.NAMESPACE,
                                                             required = false) String namespace,
                                               @RequestBody Term newTerm) {
-        final Term parent = getById(parentIdFragment, namespace);
+        final Term parent = findTerm(parentIdFragment, namespace);
         termService.persistChild(newTerm, parent);
         LOG.debug("Child term {} of parent {} created.", newTerm, parent);
         return ResponseEntity.created(createSubTermLocation(newTerm.getUri(), parentIdFragment)).build();
@@ -433,7 +519,7 @@ public class TermController extends BaseController {
                                       @PathVariable String termIdFragment,
                                       @RequestParam(name = QueryParams.NAMESPACE, required = false)
                                               Optional<String> namespace) {
-        termService.analyzeTermDefinition(getById(vocabularyIdFragment, termIdFragment, namespace),
+        termService.analyzeTermDefinition(findTerm(vocabularyIdFragment, termIdFragment, namespace),
                                           getVocabularyUri(namespace, vocabularyIdFragment));
     }
 
@@ -586,16 +672,28 @@ public class TermController extends BaseController {
      *
      * @param pageSize     Limit the number of elements in the returned page. Optional
      * @param pageNo       Number of the page to return. Optional
+     * @param cursor       Cursor after which the returned page starts, empty for the first page. Optional, if
+     *                     specified, {@code pageNo} is ignored and cursor of the next page is returned in the {@link
+     *                     Constants#X_NEXT_CURSOR_HEADER} header
      * @param includeTerms List of terms to include in the results. Optional
+     * @param webRequest   Current request, used to check whether the terms have been modified
      * @return List of root terms across all vocabularies
      */
     @GetMapping(value = "/terms/roots",
                 produces = {MediaType.APPLICATION_JSON_VALUE, JsonLd.MEDIA_TYPE})
-    public List<TermDto> getAllRoots(
+    public ResponseEntity<List<TermDto>> getAllRoots(
             @RequestParam(name = Constants.QueryParams.PAGE_SIZE, required = false) Integer pageSize,
             @RequestParam(name = Constants.QueryParams.PAGE, required = false) Integer pageNo,
-            @RequestParam(name = "includeTerms", required = false, defaultValue = "") List<URI> includeTerms) {
-        return termService.findAllRoots(createPageRequest(pageSize, pageNo), includeTerms);
+            @RequestParam(name = Constants.QueryParams.CURSOR, required = false) String cursor,
+            @RequestParam(name = "includeTerms", required = false, defaultValue = "") List<URI> includeTerms,
+            ServletWebRequest webRequest) {
+        if (checkNotModified(webRequest, termService.getContentVersion())) {
+            return null;
+        }
+        if (cursor != null) {
+            return toResponse(termService.findAllRoots(decodeCursor(cursor), pageLimit(pageSize), includeTerms));
+        }
+        return ResponseEntity.ok(termService.findAllRoots(createPageRequest(pageSize, pageNo), includeTerms));
     }
 
     /**
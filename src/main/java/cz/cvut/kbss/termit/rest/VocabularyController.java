@@ -22,6 +22,8 @@ import cz.cvut.kbss.termit.model.validation.ValidationResult;
 import cz.cvut.kbss.termit.security.SecurityConstants;
 import cz.cvut.kbss.termit.service.IdentifierResolver;
 import cz.cvut.kbss.termit.service.business.VocabularyService;
+import cz.cvut.kbss.termit.service.job.Job;
+import cz.cvut.kbss.termit.service.job.VocabularyJobService;
 import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.Constants.QueryParams;
 import org.slf4j.Logger;
@@ -48,11 +50,14 @@ public class VocabularyController extends BaseController {
 
     private final VocabularyService vocabularyService;
 
+    private final VocabularyJobService jobService;
+
     @Autowired
-    public VocabularyController(VocabularyService vocabularyService, IdentifierResolver idResolver,
-                                Configuration config) {
+    public VocabularyController(VocabularyService vocabularyService, VocabularyJobService jobService,
+                                IdentifierResolver idResolver, Configuration config) {
         super(idResolver, config);
         this.vocabularyService = vocabularyService;
+        this.jobService = jobService;
     }
 
     @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, JsonLd.MEDIA_TYPE})
@@ -131,6 +136,84 @@ public class VocabularyController extends BaseController {
         return ResponseEntity.created(URI.create(adjustedLocation)).build();
     }
 
+    /**
+     * Submits import of a vocabulary from the specified file as a background job.
+     *
+     * @param file   File containing data to import
+     * @param rename true if the IRIs should be renamed
+     * @return Response with the submitted job
+     * @see JobController
+     */
+    @PostMapping("/jobs/import")
+    @PreAuthorize("hasRole('" + SecurityConstants.ROLE_FULL_USER + "')")
+    public ResponseEntity<Job> submitVocabularyImport(@RequestParam(name = "file") MultipartFile file,
+                                                      @RequestParam(name = "rename") boolean rename) {
+        final Job job = jobService.importVocabulary(rename, null, file);
+        LOG.debug("Import of new vocabulary submitted as {}.", job);
+        return JobController.jobAccepted(job);
+    }
+
+    /**
+     * Submits re-import of a SKOS glossary from the specified file as a background job.
+     *
+     * @param fragment  vocabulary name
+     * @param namespace (optional) vocabulary namespace
+     * @param file      File containing data to import
+     * @return Response with the submitted job
+     * @see JobController
+     */
+    @PostMapping("/{fragment}/jobs/import")
+    @PreAuthorize("hasRole('" + SecurityConstants.ROLE_FULL_USER + "')")
+    public ResponseEntity<Job> submitVocabularyImport(@PathVariable String fragment,
+                                                      @RequestParam(name = QueryParams.NAMESPACE,
+                                                                    required = false) Optional<String> namespace,
+                                                      @RequestParam(name = "rename", required = false,
+                                                                    defaultValue = "false") boolean rename,
+                                                      @RequestParam(name = "file") MultipartFile file) {
+        final Job job = jobService.importVocabulary(rename, resolveVocabularyUri(fragment, namespace), file);
+        LOG.debug("Re-import of vocabulary submitted as {}.", job);
+        return JobController.jobAccepted(job);
+    }
+
+    /**
+     * Submits export of glossary of the specified vocabulary as a background job.
+     * <p>
+     * The exported file can be downloaded as the job result when the job is finished.
+     *
+     * @param fragment  vocabulary name
+     * @param namespace (optional) vocabulary namespace
+     * @param mediaType media type of the export
+     * @return Response with the submitted job
+     * @see JobController
+     */
+    @PostMapping("/{fragment}/jobs/export")
+    public ResponseEntity<Job> submitGlossaryExport(@PathVariable String fragment,
+                                                    @RequestParam(name = QueryParams.NAMESPACE,
+                                                                  required = false) Optional<String> namespace,
+                                                    @RequestParam(name = "mediaType") String mediaType) {
+        final Job job = jobService.exportGlossary(getById(fragment, namespace), mediaType);
+        LOG.debug("Glossary export submitted as {}.", job);
+        return JobController.jobAccepted(job);
+    }
+
+    /**
+     * Submits text analysis of definitions of all terms in the specified vocabulary as a background job.
+     *
+     * @param fragment  vocabulary name
+     * @param namespace (optional) vocabulary namespace
+     * @return Response with the submitted job
+     * @see JobController
+     */
+    @PostMapping("/{fragment}/jobs/text-analysis")
+    @PreAuthorize("hasRole('" + SecurityConstants.ROLE_FULL_USER + "')")
+    public ResponseEntity<Job> submitTextAnalysis(@PathVariable String fragment,
+                                                  @RequestParam(name = QueryParams.NAMESPACE,
+                                                                required = false) Optional<String> namespace) {
+        final Job job = jobService.runTextAnalysisOnAllTerms(getById(fragment, namespace));
+        LOG.debug("Text analysis submitted as {}.", job);
+        return JobController.jobAccepted(job);
+    }
+
     private URI resolveVocabularyUri(String fragment, Optional<String> namespace) {
         return resolveIdentifier(namespace.orElse(config.getNamespace().getVocabulary()), fragment);
     }
@@ -149,6 +149,12 @@ public class RestExceptionHandler {
         return new ResponseEntity<>(errorInfo(request, e), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(JobRejectedException.class)
+    public ResponseEntity<ErrorInfo> jobRejectedException(HttpServletRequest request, JobRejectedException e) {
+        logException(e);
+        return new ResponseEntity<>(errorInfo(request, e), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(VocabularyImportException.class)
     public ResponseEntity<ErrorInfo> vocabularyImportException(HttpServletRequest request,
                                                                VocabularyImportException e) {
@@ -15,6 +15,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
 import java.net.URI;
 import java.util.List;
@@ -40,7 +41,12 @@ public class ReadOnlyTermController extends BaseController {
     public List<?> getTerms(@PathVariable String vocabularyIdFragment,
                             @RequestParam(name = Constants.QueryParams.NAMESPACE, required = false) Optional<String> namespace,
                             @RequestParam(name = "searchString", required = false) String searchString,
-                            @RequestParam(name = "includeImported", required = false) boolean includeImported) {
+                            @RequestParam(name = "includeImported", required = false) boolean includeImported,
+                            ServletWebRequest webRequest) {
+        if (checkNotModified(webRequest, includeImported ? termService.getContentVersion() :
+                                         termService.getContentVersion(getVocabularyUri(vocabularyIdFragment, namespace)))) {
+            return null;
+        }
         final Vocabulary vocabulary = getVocabulary(vocabularyIdFragment, namespace);
         if (searchString != null) {
             return includeImported ? termService.findAllIncludingImported(searchString, vocabulary) :
@@ -50,8 +56,11 @@ public class ReadOnlyTermController extends BaseController {
     }
 
     private Vocabulary getVocabulary(String fragment, Optional<String> namespace) {
-        final URI uri = resolveIdentifier(namespace.orElse(config.getNamespace().getVocabulary()), fragment);
-        return termService.findVocabularyRequired(uri);
+        return termService.findVocabularyRequired(getVocabularyUri(fragment, namespace));
+    }
+
+    private URI getVocabularyUri(String fragment, Optional<String> namespace) {
+        return resolveIdentifier(namespace.orElse(config.getNamespace().getVocabulary()), fragment);
     }
 
     @GetMapping(value = "/vocabularies/{vocabularyIdFragment}/terms/roots",
@@ -60,7 +69,12 @@ public class ReadOnlyTermController extends BaseController {
                                      @RequestParam(name = Constants.QueryParams.NAMESPACE, required = false) Optional<String> namespace,
                                      @RequestParam(name = Constants.QueryParams.PAGE_SIZE, required = false) Integer pageSize,
                                      @RequestParam(name = Constants.QueryParams.PAGE, required = false) Integer pageNo,
-                                     @RequestParam(name = "includeImported", required = false) boolean includeImported) {
+                                     @RequestParam(name = "includeImported", required = false) boolean includeImported,
+                                     ServletWebRequest webRequest) {
+        if (checkNotModified(webRequest, includeImported ? termService.getContentVersion() :
+                                         termService.getContentVersion(getVocabularyUri(vocabularyIdFragment, namespace)))) {
+            return null;
+        }
         final Vocabulary vocabulary = getVocabulary(vocabularyIdFragment, namespace);
         final Pageable pageSpec = createPageRequest(pageSize, pageNo);
         return includeImported ? termService.findAllRootsIncludingImported(vocabulary, pageSpec) :
@@ -71,9 +85,17 @@ public class ReadOnlyTermController extends BaseController {
                 produces = {MediaType.APPLICATION_JSON_VALUE, JsonLd.MEDIA_TYPE})
     public ReadOnlyTerm getById(@PathVariable("vocabularyIdFragment") String vocabularyIdFragment,
                                 @PathVariable("termIdFragment") String termIdFragment,
-                                @RequestParam(name = Constants.QueryParams.NAMESPACE, required = false) Optional<String> namespace) {
-        final URI termUri = getTermUri(vocabularyIdFragment, termIdFragment, namespace);
-        return termService.findRequired(termUri);
+                                @RequestParam(name = Constants.QueryParams.NAMESPACE, required = false) Optional<String> namespace,
+                                ServletWebRequest webRequest) {
+        // Term contains also relationships to terms from other vocabularies
+        if (checkNotModified(webRequest, termService.getContentVersion())) {
+            return null;
+        }
+        return findTerm(vocabularyIdFragment, termIdFragment, namespace);
+    }
+
+    private ReadOnlyTerm findTerm(String vocabularyIdFragment, String termIdFragment, Optional<String> namespace) {
+        return termService.findRequired(getTermUri(vocabularyIdFragment, termIdFragment, namespace));
     }
 
     private URI getTermUri(String vocabIdFragment, String termIdFragment, Optional<String> namespace) {
@@ -85,7 +107,11 @@ public class ReadOnlyTermController extends BaseController {
 
     @GetMapping(value = "/terms/{termIdFragment}", produces = {MediaType.APPLICATION_JSON_VALUE, JsonLd.MEDIA_TYPE})
     public ReadOnlyTerm getById(@PathVariable("termIdFragment") String termIdFragment,
-                                @RequestParam(name = Constants.QueryParams.NAMESPACE) String namespace) {
+                                @RequestParam(name = Constants.QueryParams.NAMESPACE) String namespace,
+                                ServletWebRequest webRequest) {
+        if (checkNotModified(webRequest, termService.getContentVersion())) {
+            return null;
+        }
         final URI termUri = idResolver.resolveIdentifier(namespace, termIdFragment);
         return termService.findRequired(termUri);
     }
@@ -94,8 +120,13 @@ public class ReadOnlyTermController extends BaseController {
                 produces = {MediaType.APPLICATION_JSON_VALUE, JsonLd.MEDIA_TYPE})
     public List<ReadOnlyTerm> getSubTerms(@PathVariable("vocabularyIdFragment") String vocabularyIdFragment,
                                           @PathVariable("termIdFragment") String termIdFragment,
-                                          @RequestParam(name = Constants.QueryParams.NAMESPACE, required = false) Optional<String> namespace) {
-        final ReadOnlyTerm parent = getById(vocabularyIdFragment, termIdFragment, namespace);
+                                          @RequestParam(name = Constants.QueryParams.NAMESPACE, required = false) Optional<String> namespace,
+                                          ServletWebRequest webRequest) {
+        // Sub-terms may come from other vocabularies
+        if (checkNotModified(webRequest, termService.getContentVersion())) {
+            return null;
+        }
+        final ReadOnlyTerm parent = findTerm(vocabularyIdFragment, termIdFragment, namespace);
         return termService.findSubTerms(parent);
     }
 
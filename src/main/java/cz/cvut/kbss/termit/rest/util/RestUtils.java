@@ -99,6 +99,21 @@ public class RestUtils {
                                           .path(path).buildAndExpand(pathValues).toUri();
     }
 
+    /**
+     * Creates location URI with the specified path appended to the current context URI.
+     * <p>
+     * The {@code pathValues} are used to replace path variables.
+     *
+     * @param path       Path string, may contain path variables
+     * @param pathValues Path variable values
+     * @return location {@code URI}
+     * @see #createLocationFromCurrentContextWithPathAndQuery(String, String, String, Object...)
+     */
+    public static URI createLocationFromCurrentContextWithPath(String path, Object... pathValues) {
+        Objects.requireNonNull(path);
+        return ServletUriComponentsBuilder.fromCurrentContextPath().path(path).buildAndExpand(pathValues).toUri();
+    }
+
     /**
      * Creates location URI with the specified path and query parameter appended to the current context URI.
      * <p>
@@ -19,8 +19,8 @@ import cz.cvut.kbss.termit.exception.JwtException;
 import cz.cvut.kbss.termit.rest.ConfigurationController;
 import cz.cvut.kbss.termit.rest.handler.ErrorInfo;
 import cz.cvut.kbss.termit.security.model.TermItUserDetails;
+import cz.cvut.kbss.termit.service.security.PrincipalCache;
 import cz.cvut.kbss.termit.service.security.SecurityUtils;
-import cz.cvut.kbss.termit.service.security.TermItUserDetailsService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -56,17 +56,17 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 
     private final SecurityUtils securityUtils;
 
-    private final TermItUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     private final ObjectMapper objectMapper;
 
     public JwtAuthorizationFilter(AuthenticationManager authenticationManager, JwtUtils jwtUtils,
-                                  SecurityUtils securityUtils, TermItUserDetailsService userDetailsService,
+                                  SecurityUtils securityUtils, PrincipalCache principalCache,
                                   ObjectMapper objectMapper) {
         super(authenticationManager);
         this.jwtUtils = jwtUtils;
         this.securityUtils = securityUtils;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
         this.objectMapper = objectMapper;
     }
 
@@ -81,7 +81,8 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
         final String authToken = authHeader.substring(SecurityConstants.JWT_TOKEN_PREFIX.length());
         try {
             final TermItUserDetails userDetails = jwtUtils.extractUserInfo(authToken);
-            final TermItUserDetails existingDetails = userDetailsService.loadUserByUsername(userDetails.getUsername());
+            final TermItUserDetails existingDetails = principalCache.getUserDetails(userDetails.getUser().getUri(),
+                                                                                    userDetails.getUsername());
             SecurityUtils.verifyAccountStatus(existingDetails.getUser());
             securityUtils.setCurrentUser(existingDetails);
             refreshToken(authToken, response);
@@ -105,6 +106,9 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
     }
 
     private void refreshToken(String authToken, HttpServletResponse response) {
+        if (!jwtUtils.isRefreshRequired(authToken)) {
+            return;
+        }
         final String newToken = jwtUtils.refreshToken(authToken);
         response.setHeader(HttpHeaders.AUTHORIZATION, SecurityConstants.JWT_TOKEN_PREFIX + newToken);
     }
@@ -17,6 +17,7 @@ package cz.cvut.kbss.termit.security;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import cz.cvut.kbss.termit.exception.IncompleteJwtException;
 import cz.cvut.kbss.termit.exception.JwtException;
+import cz.cvut.kbss.termit.exception.TermItException;
 import cz.cvut.kbss.termit.exception.TokenExpiredException;
 import cz.cvut.kbss.termit.model.AbstractUser;
 import cz.cvut.kbss.termit.model.UserAccount;
@@ -36,6 +37,8 @@ import org.springframework.stereotype.Component;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -48,10 +51,35 @@ public class JwtUtils {
 
     private final Key key;
 
+    /**
+     * Age (in milliseconds) after which a token is refreshed.
+     */
+    private final long refreshAfter;
+
+    /**
+     * How long (in milliseconds) are claims of a verified token reused without verifying the token again.
+     */
+    private final long verifiedTokenTtl;
+
+    /**
+     * Claims of recently verified tokens, keyed by token hash.
+     */
+    private final Map<String, VerifiedToken> verifiedTokens;
+
     @Autowired
     public JwtUtils(@Qualifier("objectMapper") ObjectMapper objectMapper, Configuration config) {
         this.objectMapper = objectMapper;
-        this.key = Keys.hmacShaKeyFor(config.getJwt().getSecretKey().getBytes(StandardCharsets.UTF_8));
+        final Configuration.Jwt jwtConfig = config.getJwt();
+        this.key = Keys.hmacShaKeyFor(jwtConfig.getSecretKey().getBytes(StandardCharsets.UTF_8));
+        this.refreshAfter = (long) (jwtConfig.getRefreshThreshold() * SecurityConstants.SESSION_TIMEOUT);
+        this.verifiedTokenTtl = jwtConfig.getVerifiedTokenCacheTtl() * 1000L;
+        final int maxVerifiedTokens = jwtConfig.getVerifiedTokenCacheSize();
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > maxVerifiedTokens;
+            }
+        };
     }
 
     /**
@@ -100,7 +128,42 @@ public class JwtUtils {
         }
     }
 
+    /**
+     * Gets claims from the specified token.
+     * <p>
+     * Claims of tokens verified recently are reused, so that the signature need not be verified on every request.
+     */
     private Claims getClaimsFromToken(String token) {
+        final String tokenHash = hash(token);
+        final long now = System.currentTimeMillis();
+        synchronized (verifiedTokens) {
+            final VerifiedToken verified = verifiedTokens.get(tokenHash);
+            if (verified != null && now - verified.verifiedAt < verifiedTokenTtl) {
+                final Date expiration = verified.claims.getExpiration();
+                if (expiration != null && expiration.getTime() <= now) {
+                    verifiedTokens.remove(tokenHash);
+                    throw new TokenExpiredException("JWT expired at " + expiration + ".");
+                }
+                return verified.claims;
+            }
+        }
+        final Claims claims = verifyAndParse(token);
+        synchronized (verifiedTokens) {
+            verifiedTokens.put(tokenHash, new VerifiedToken(claims, now));
+        }
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new TermItException("Unable to compute JWT hash.", e);
+        }
+    }
+
+    private Claims verifyAndParse(String token) {
         try {
             return Jwts.parserBuilder().setSigningKey(key)
                        .deserializeJsonWith(new JacksonDeserializer<>(objectMapper))
@@ -138,6 +201,22 @@ public class JwtUtils {
         return authorities;
     }
 
+    /**
+     * Checks whether the specified token should be refreshed.
+     * <p>
+     * A token is refreshed only after a configured fraction of the session timeout passed since it was issued, so that
+     * a new token need not be generated on every request.
+     *
+     * @param token The token to check
+     * @return {@code true} if the token should be refreshed, {@code false} otherwise
+     * @see #refreshToken(String)
+     */
+    public boolean isRefreshRequired(String token) {
+        Objects.requireNonNull(token);
+        final Date issuedAt = getClaimsFromToken(token).getIssuedAt();
+        return issuedAt == null || System.currentTimeMillis() - issuedAt.getTime() >= refreshAfter;
+    }
+
     /**
      * Updates issuing and expiration date of the specified token, generating a new one.
      *
@@ -146,7 +225,8 @@ public class JwtUtils {
      */
     public String refreshToken(String token) {
         Objects.requireNonNull(token);
-        final Claims claims = getClaimsFromToken(token);
+        // Copy, claims may be cached
+        final Claims claims = Jwts.claims(getClaimsFromToken(token));
         final Date issuedAt = new Date();
         claims.setIssuedAt(issuedAt);
         claims.setExpiration(new Date(issuedAt.getTime() + SecurityConstants.SESSION_TIMEOUT));
@@ -155,4 +235,14 @@ public class JwtUtils {
                    .serializeToJsonWith(new JacksonSerializer<>(objectMapper))
                    .compact();
     }
+
+    private static class VerifiedToken {
+        private final Claims claims;
+        private final long verifiedAt;
+
+        private VerifiedToken(Claims claims, long verifiedAt) {
+            this.claims = claims;
+            this.verifiedAt = verifiedAt;
+        }
+    }
 }
@@ -17,6 +17,7 @@ package cz.cvut.kbss.termit.service.business;
 import cz.cvut.kbss.termit.dto.RecentlyCommentedAsset;
 import cz.cvut.kbss.termit.dto.RecentlyModifiedAsset;
 import cz.cvut.kbss.termit.model.User;
+import cz.cvut.kbss.termit.service.changetracking.RecentlyModifiedAssets;
 import cz.cvut.kbss.termit.service.repository.ResourceRepositoryService;
 import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
 import cz.cvut.kbss.termit.service.repository.VocabularyRepositoryService;
@@ -36,27 +37,38 @@ public class AssetService {
 
     private final VocabularyRepositoryService vocabularyRepositoryService;
 
+    private final RecentlyModifiedAssets recentlyModifiedAssets;
+
     private final SecurityUtils securityUtils;
 
     @Autowired
     public AssetService(ResourceRepositoryService resourceRepositoryService,
                         TermRepositoryService termRepositoryService,
                         VocabularyRepositoryService vocabularyRepositoryService,
+                        RecentlyModifiedAssets recentlyModifiedAssets,
                         SecurityUtils securityUtils) {
         this.resourceRepositoryService = resourceRepositoryService;
         this.termRepositoryService = termRepositoryService;
         this.vocabularyRepositoryService = vocabularyRepositoryService;
+        this.recentlyModifiedAssets = recentlyModifiedAssets;
         this.securityUtils = securityUtils;
     }
 
     /**
      * Finds the specified number of most recently added/edited assets.
+     * <p>
+     * The assets are retrieved from {@link RecentlyModifiedAssets}, the repository is queried only if they are not
+     * available there.
      *
      * @param limit Maximum number of assets to retrieve
      * @return List of recently added/edited assets
      */
     public List<RecentlyModifiedAsset> findLastEdited(int limit) {
         ensureValidLimitForLastEdited(limit);
+        return recentlyModifiedAssets.findLastEdited(limit).orElseGet(() -> loadLastEdited(limit));
+    }
+
+    private List<RecentlyModifiedAsset> loadLastEdited(int limit) {
         final List<RecentlyModifiedAsset> resources = resourceRepositoryService.findLastEdited(limit);
         final List<RecentlyModifiedAsset> terms = termRepositoryService.findLastEdited(limit);
         final List<RecentlyModifiedAsset> vocabularies = vocabularyRepositoryService.findLastEdited(limit);
@@ -104,6 +116,9 @@ public class AssetService {
 
     /**
      * Finds the specified number of the current user's most recently added/edited assets.
+     * <p>
+     * The assets are retrieved from {@link RecentlyModifiedAssets}, the repository is queried only if they are not
+     * available there.
      *
      * @param limit Maximum number of assets to retrieve
      * @return List of recently added/edited assets
@@ -111,6 +126,10 @@ public class AssetService {
     public List<RecentlyModifiedAsset> findMyLastEdited(int limit) {
         ensureValidLimitForLastEdited(limit);
         final User me = securityUtils.getCurrentUser().toUser();
+        return recentlyModifiedAssets.findLastEditedBy(me, limit).orElseGet(() -> loadLastEditedBy(me, limit));
+    }
+
+    private List<RecentlyModifiedAsset> loadLastEditedBy(User me, int limit) {
         final List<RecentlyModifiedAsset> resources = resourceRepositoryService.findLastEditedBy(me, limit);
         final List<RecentlyModifiedAsset> terms = termRepositoryService.findLastEditedBy(me, limit);
         final List<RecentlyModifiedAsset> vocabularies = vocabularyRepositoryService.findLastEditedBy(me, limit);
@@ -1,8 +1,12 @@
 package cz.cvut.kbss.termit.service.business;
 
+import cz.cvut.kbss.termit.persistence.dao.util.VocabularyContentVersions;
 import cz.cvut.kbss.termit.dto.TermStatus;
 import cz.cvut.kbss.termit.dto.assignment.TermOccurrences;
+import cz.cvut.kbss.termit.dto.listing.TermCursor;
 import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.dto.listing.TermPage;
+import cz.cvut.kbss.termit.event.VocabularyContentModified;
 import cz.cvut.kbss.termit.exception.NotFoundException;
 import cz.cvut.kbss.termit.model.AbstractTerm;
 import cz.cvut.kbss.termit.model.Term;
@@ -13,6 +17,7 @@ import cz.cvut.kbss.termit.model.changetracking.AbstractChangeRecord;
 import cz.cvut.kbss.termit.model.comment.Comment;
 import cz.cvut.kbss.termit.service.changetracking.ChangeRecordProvider;
 import cz.cvut.kbss.termit.service.comment.CommentService;
+import cz.cvut.kbss.termit.service.document.TermDefinitionAnalysisQueue;
 import cz.cvut.kbss.termit.service.document.TextAnalysisService;
 import cz.cvut.kbss.termit.service.export.VocabularyExporters;
 import cz.cvut.kbss.termit.service.repository.ChangeRecordService;
@@ -22,6 +27,8 @@ import cz.cvut.kbss.termit.util.TypeAwareResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationEventPublisherAware;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,7 +41,7 @@ import java.util.stream.Collectors;
  * Service for term-related business logic.
  */
 @Service
-public class TermService implements RudService<Term>, ChangeRecordProvider<Term> {
+public class TermService implements RudService<Term>, ChangeRecordProvider<Term>, ApplicationEventPublisherAware {
 
     private static final Logger LOG = LoggerFactory.getLogger(TermService.class);
 
@@ -46,26 +53,35 @@ public class TermService implements RudService<Term>, ChangeRecordProvider<Term>
 
     private final TextAnalysisService textAnalysisService;
 
+    private final TermDefinitionAnalysisQueue analysisQueue;
+
     private final TermOccurrenceService termOccurrenceService;
 
     private final ChangeRecordService changeRecordService;
 
     private final CommentService commentService;
 
+    private final VocabularyContentVersions contentVersions;
+
     private final Configuration config;
 
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     public TermService(VocabularyExporters exporters, VocabularyService vocabularyService,
                        TermRepositoryService repositoryService, TextAnalysisService textAnalysisService,
-                       TermOccurrenceService termOccurrenceService, ChangeRecordService changeRecordService,
-                       CommentService commentService, Configuration config) {
+                       TermDefinitionAnalysisQueue analysisQueue, TermOccurrenceService termOccurrenceService,
+                       ChangeRecordService changeRecordService, CommentService commentService,
+                       VocabularyContentVersions contentVersions, Configuration config) {
         this.exporters = exporters;
         this.vocabularyService = vocabularyService;
         this.repositoryService = repositoryService;
         this.textAnalysisService = textAnalysisService;
+        this.analysisQueue = analysisQueue;
         this.termOccurrenceService = termOccurrenceService;
         this.changeRecordService = changeRecordService;
         this.commentService = commentService;
+        this.contentVersions = contentVersions;
         this.config = config;
     }
 
@@ -183,6 +199,39 @@ public class TermService implements RudService<Term>, ChangeRecordProvider<Term>
         return repositoryService.findAllRootsIncludingImported(vocabulary, pageSpec, includeTerms);
     }
 
+    /**
+     * Retrieves a page of root terms (terms without parent) from the specified vocabulary, starting right after the
+     * specified cursor.
+     * <p>
+     * Unlike offset-based paging, the cost of retrieving a page does not depend on its position.
+     *
+     * @param vocabulary      Vocabulary whose terms will be returned
+     * @param after           Cursor after which the page starts, {@code null} for the first page
+     * @param limit           Maximum number of terms on the page
+     * @param includeImported Whether root terms of the vocabulary imports (transitive) should be included as well
+     * @param includeTerms    Identifiers of terms which should be a part of the result. Optional
+     * @return Page of matching terms
+     */
+    public TermPage findAllRoots(Vocabulary vocabulary, TermCursor after, int limit, boolean includeImported,
+                                 Collection<URI> includeTerms) {
+        Objects.requireNonNull(vocabulary);
+        return includeImported ?
+               repositoryService.findAllRootsIncludingImported(vocabulary, after, limit, includeTerms) :
+               repositoryService.findAllRoots(vocabulary, after, limit, includeTerms);
+    }
+
+    /**
+     * Retrieves a page of root terms (terms without parent), starting right after the specified cursor.
+     *
+     * @param after        Cursor after which the page starts, {@code null} for the first page
+     * @param limit        Maximum number of terms on the page
+     * @param includeTerms Identifiers of terms which should be a part of the result. Optional
+     * @return Page of matching terms
+     */
+    public TermPage findAllRoots(TermCursor after, int limit, Collection<URI> includeTerms) {
+        return repositoryService.findAllRoots(after, limit, includeTerms);
+    }
+
     /**
      * Finds out whether the given vocabulary contains any terms or not.
      *
@@ -339,6 +388,8 @@ public class TermService implements RudService<Term>, ChangeRecordProvider<Term>
 
     /**
      * Persists the specified term as a root term in the specified vocabulary's glossary.
+     * <p>
+     * Text analysis of definitions of terms in the vocabulary (including the new one) is scheduled.
      *
      * @param term  Term to persist
      * @param owner Vocabulary to add the term to
@@ -347,12 +398,14 @@ public class TermService implements RudService<Term>, ChangeRecordProvider<Term>
         Objects.requireNonNull(term);
         Objects.requireNonNull(owner);
         repositoryService.addRootTermToVocabulary(term, owner);
-        analyzeTermDefinition(term, owner.getUri());
-        vocabularyService.runTextAnalysisOnAllTerms(owner);
+        analysisQueue.scheduleTerm(term.getUri(), owner.getUri());
+        analysisQueue.scheduleVocabulary(owner.getUri());
     }
 
     /**
      * Persists the specified term as a child of the specified parent term.
+     * <p>
+     * Text analysis of definitions of terms in the parent's vocabulary (including the new one) is scheduled.
      *
      * @param child  The child to persist
      * @param parent Existing parent term
@@ -361,12 +414,15 @@ public class TermService implements RudService<Term>, ChangeRecordProvider<Term>
         Objects.requireNonNull(child);
         Objects.requireNonNull(parent);
         repositoryService.addChildTerm(child, parent);
-        analyzeTermDefinition(child, parent.getVocabulary());
-        vocabularyService.runTextAnalysisOnAllTerms(getRequiredVocabularyReference(parent.getVocabulary()));
+        analysisQueue.scheduleTerm(child.getUri(), parent.getVocabulary());
+        analysisQueue.scheduleVocabulary(parent.getVocabulary());
     }
 
     /**
      * Updates the specified term.
+     * <p>
+     * If the term definition has changed, its text analysis is scheduled. If the term label has changed, text analysis
+     * of definitions of all terms in the vocabulary is scheduled.
      *
      * @param term Term update data
      * @return The updated term
@@ -375,13 +431,15 @@ public class TermService implements RudService<Term>, ChangeRecordProvider<Term>
     public Term update(Term term) {
         Objects.requireNonNull(term);
         final Term original = repositoryService.findRequired(term.getUri());
-        if (!Objects.equals(original.getDefinition(), term.getDefinition())) {
-            analyzeTermDefinition(term, term.getVocabulary());
-        }
+        final boolean definitionChanged = !Objects.equals(original.getDefinition(), term.getDefinition());
+        final boolean labelChanged = !Objects.equals(original.getLabel(), term.getLabel());
         final Term result = repositoryService.update(term);
-        // Ensure the change is merged into the repo before analyzing other terms
-        if (!Objects.equals(original.getLabel(), term.getLabel())) {
-            vocabularyService.runTextAnalysisOnAllTerms(getRequiredVocabularyReference(original.getVocabulary()));
+        // Analyses are scheduled after the transaction commits, so they work with the updated data
+        if (definitionChanged) {
+            analysisQueue.scheduleTerm(term.getUri(), term.getVocabulary());
+        }
+        if (labelChanged) {
+            analysisQueue.scheduleVocabulary(original.getVocabulary());
         }
         return result;
     }
@@ -452,6 +510,7 @@ public class TermService implements RudService<Term>, ChangeRecordProvider<Term>
             termOccurrenceService.remove(existingTerm.getDefinitionSource());
         }
         termOccurrenceService.persist(definitionSource);
+        eventPublisher.publishEvent(new VocabularyContentModified(this, existingTerm.getVocabulary()));
     }
 
     /**
@@ -469,6 +528,7 @@ public class TermService implements RudService<Term>, ChangeRecordProvider<Term>
         Objects.requireNonNull(term);
         if (term.getDefinitionSource() != null) {
             termOccurrenceService.remove(term.getDefinitionSource());
+            eventPublisher.publishEvent(new VocabularyContentModified(this, term.getVocabulary()));
         }
     }
 
@@ -519,4 +579,34 @@ public class TermService implements RudService<Term>, ChangeRecordProvider<Term>
         Objects.requireNonNull(target);
         commentService.addToAsset(comment, target);
     }
+
+    /**
+     * Gets version of content of the specified vocabulary.
+     * <p>
+     * The version changes whenever terms of the vocabulary (or vocabulary metadata) are modified, so it can be used to
+     * determine whether the vocabulary content has changed without querying the repository.
+     *
+     * @param vocabularyUri Vocabulary identifier
+     * @return Content version
+     */
+    public String getContentVersion(URI vocabularyUri) {
+        return contentVersions.getVersion(vocabularyUri) + "-" + vocabularyService.getLastModified();
+    }
+
+    /**
+     * Gets version of content of all vocabularies.
+     * <p>
+     * This version should be used for content which may comprise terms from multiple vocabularies.
+     *
+     * @return Content version
+     * @see #getContentVersion(URI)
+     */
+    public String getContentVersion() {
+        return contentVersions.getVersion() + "-" + vocabularyService.getLastModified();
+    }
+
+    @Override
+    public void setApplicationEventPublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
 }
@@ -19,6 +19,7 @@ import cz.cvut.kbss.termit.dto.AggregatedChangeInfo;
 import cz.cvut.kbss.termit.model.Vocabulary;
 import cz.cvut.kbss.termit.model.validation.ValidationResult;
 import cz.cvut.kbss.termit.service.changetracking.ChangeRecordProvider;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.net.URI;
@@ -51,6 +52,22 @@ public interface VocabularyService
      */
     Vocabulary importVocabulary(boolean rename, URI vocabularyIri, MultipartFile file);
 
+    /**
+     * Imports vocabulary from the specified data.
+     * <p>
+     * This variant allows importing data which are not (or no longer) available as an uploaded file, e.g., in a
+     * background job.
+     *
+     * @param rename        true, if the IRIs should be modified in order to prevent clashes with existing data.
+     * @param vocabularyIri IRI of the vocabulary to be created.
+     * @param fileName      Name of the imported file, used to detect its media type
+     * @param contentType   Declared media type of the imported data, optional
+     * @param data          Source of the data to import
+     * @return The imported vocabulary metadata
+     */
+    Vocabulary importVocabulary(boolean rename, URI vocabularyIri, String fileName, String contentType,
+                                InputStreamSource data);
+
     /**
      * Gets aggregated information about changes in the specified vocabulary.
      *
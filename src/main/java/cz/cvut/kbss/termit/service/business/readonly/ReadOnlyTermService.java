@@ -103,4 +103,12 @@ public class ReadOnlyTermService {
     public List<TermOccurrence> getDefinitionallyRelatedTargeting(Term instance) {
         return termService.getDefinitionallyRelatedTargeting(instance);
     }
+
+    public String getContentVersion(URI vocabularyUri) {
+        return termService.getContentVersion(vocabularyUri);
+    }
+
+    public String getContentVersion() {
+        return termService.getContentVersion();
+    }
 }
@@ -0,0 +1,172 @@
+package cz.cvut.kbss.termit.service.changetracking;
+
+import cz.cvut.kbss.termit.model.Asset;
+import cz.cvut.kbss.termit.model.changetracking.AbstractChangeRecord;
+import cz.cvut.kbss.termit.persistence.dao.changetracking.ChangeRecordDao;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes change records in batches.
+ * <p>
+ * Change records created in a transaction are buffered and written together when the transaction commits, so that
+ * bulk changes do not write each record separately. The records are written asynchronously, by a single background
+ * thread (so that the order of batches is preserved) in a separate transaction, after the transaction which made the
+ * changes commits. Change records of a rolled back transaction are discarded.
+ * <p>
+ * If asynchronous writing is disabled by configuration, the buffered records are written just before the transaction
+ * commits, as part of it.
+ * <p>
+ * Records created outside of a transaction are written immediately.
+ */
+@Component
+public class ChangeRecordWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeRecordWriter.class);
+
+    private final ChangeRecordDao changeRecordDao;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean asynchronous;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    public ChangeRecordWriter(ChangeRecordDao changeRecordDao, PlatformTransactionManager transactionManager,
+                              Configuration config) {
+        this.changeRecordDao = changeRecordDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.asynchronous = config.getChangetracking().isAsynchronous();
+    }
+
+    @PostConstruct
+    void initExecutor() {
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setThreadNamePrefix("termit-change-records-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Writes the specified change record of the specified asset.
+     * <p>
+     * If a transaction is active, the record is buffered and written when the transaction commits.
+     *
+     * @param record       Change record to write
+     * @param changedAsset The changed asset
+     */
+    public void write(AbstractChangeRecord record, Asset<?> changedAsset) {
+        Objects.requireNonNull(record);
+        Objects.requireNonNull(changedAsset);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            changeRecordDao.persist(record, changedAsset);
+            return;
+        }
+        Batch batch = (Batch) TransactionSynchronizationManager.getResource(this);
+        if (batch == null) {
+            batch = new Batch();
+            TransactionSynchronizationManager.bindResource(this, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        batch.add(record, changedAsset);
+    }
+
+    private void persist(Batch batch) {
+        batch.records.values().forEach(r -> changeRecordDao.persistAll(r.records, r.asset));
+    }
+
+    private void persistInNewTransaction(Batch batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch));
+            LOG.trace("Written {} change records.", batch.size);
+        } catch (RuntimeException e) {
+            LOG.error("Unable to write {} change records.", batch.size, e);
+        }
+    }
+
+    /**
+     * Change records buffered in a single transaction.
+     */
+    private class Batch implements TransactionSynchronization {
+
+        /**
+         * Buffered records grouped by changed asset identifier.
+         */
+        private final Map<URI, AssetRecords> records = new LinkedHashMap<>();
+
+        private int size;
+
+        private void add(AbstractChangeRecord record, Asset<?> changedAsset) {
+            records.computeIfAbsent(changedAsset.getUri(), k -> new AssetRecords(changedAsset)).records.add(record);
+            size++;
+        }
+
+        /**
+         * Unbinds the batch, so that records written in a new (e.g., {@code REQUIRES_NEW}) transaction do not end up in
+         * the batch of the suspended one.
+         */
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(ChangeRecordWriter.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(ChangeRecordWriter.this, this);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (!asynchronous) {
+                LOG.trace("Writing {} change records.", size);
+                persist(this);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (asynchronous) {
+                executor.execute(() -> persistInNewTransaction(this));
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ChangeRecordWriter.this);
+        }
+    }
+
+    private static class AssetRecords {
+        private final Asset<?> asset;
+        private final List<AbstractChangeRecord> records = new ArrayList<>();
+
+        private AssetRecords(Asset<?> asset) {
+            this.asset = asset;
+        }
+    }
+}
@@ -5,7 +5,6 @@ import cz.cvut.kbss.termit.model.User;
 import cz.cvut.kbss.termit.model.changetracking.AbstractChangeRecord;
 import cz.cvut.kbss.termit.model.changetracking.PersistChangeRecord;
 import cz.cvut.kbss.termit.model.changetracking.UpdateChangeRecord;
-import cz.cvut.kbss.termit.persistence.dao.changetracking.ChangeRecordDao;
 import cz.cvut.kbss.termit.service.security.SecurityUtils;
 import cz.cvut.kbss.termit.util.Utils;
 import org.slf4j.Logger;
@@ -21,6 +20,9 @@ import java.util.stream.Collectors;
 
 /**
  * Tracks changes to assets.
+ * <p>
+ * Change records are written by {@link ChangeRecordWriter}, i.e., in batches when the current transaction commits.
+ * The changes are also added to {@link RecentlyModifiedAssets}.
  */
 @Service
 public class ChangeTracker {
@@ -29,12 +31,16 @@ public class ChangeTracker {
 
     private final ChangeCalculator changeCalculator;
 
-    private final ChangeRecordDao changeRecordDao;
+    private final ChangeRecordWriter changeRecordWriter;
+
+    private final RecentlyModifiedAssets recentlyModifiedAssets;
 
     @Autowired
-    public ChangeTracker(ChangeCalculator changeCalculator, ChangeRecordDao changeRecordDao) {
+    public ChangeTracker(ChangeCalculator changeCalculator, ChangeRecordWriter changeRecordWriter,
+                         RecentlyModifiedAssets recentlyModifiedAssets) {
         this.changeCalculator = changeCalculator;
-        this.changeRecordDao = changeRecordDao;
+        this.changeRecordWriter = changeRecordWriter;
+        this.recentlyModifiedAssets = recentlyModifiedAssets;
     }
 
     /**
@@ -48,7 +54,8 @@ public class ChangeTracker {
         final AbstractChangeRecord changeRecord = new PersistChangeRecord(added);
         changeRecord.setAuthor(SecurityUtils.currentUser().toUser());
         changeRecord.setTimestamp(Utils.timestamp());
-        changeRecordDao.persist(changeRecord, added);
+        changeRecordWriter.write(changeRecord, added);
+        recentlyModifiedAssets.add(changeRecord, added);
     }
 
     /**
@@ -73,7 +80,9 @@ public class ChangeTracker {
         changes.forEach(ch -> {
             ch.setAuthor(user);
             ch.setTimestamp(now);
-            changeRecordDao.persist(ch, update);
+            changeRecordWriter.write(ch, update);
         });
+        // One entry in recently modified assets per update is enough
+        changes.stream().findFirst().ifPresent(ch -> recentlyModifiedAssets.add(ch, update));
     }
 }
@@ -0,0 +1,280 @@
+package cz.cvut.kbss.termit.service.changetracking;
+
+import cz.cvut.kbss.jopa.model.MultilingualString;
+import cz.cvut.kbss.termit.dto.RecentlyModifiedAsset;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.model.AbstractTerm;
+import cz.cvut.kbss.termit.model.Asset;
+import cz.cvut.kbss.termit.model.Term;
+import cz.cvut.kbss.termit.model.User;
+import cz.cvut.kbss.termit.model.changetracking.AbstractChangeRecord;
+import cz.cvut.kbss.termit.model.changetracking.PersistChangeRecord;
+import cz.cvut.kbss.termit.model.resource.Resource;
+import cz.cvut.kbss.termit.model.util.EntityToOwlClassMapper;
+import cz.cvut.kbss.termit.persistence.dao.ResourceDao;
+import cz.cvut.kbss.termit.persistence.dao.TermDao;
+import cz.cvut.kbss.termit.persistence.dao.VocabularyDao;
+import cz.cvut.kbss.termit.util.Configuration;
+import cz.cvut.kbss.termit.util.Vocabulary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory feed of the most recent changes of assets.
+ * <p>
+ * The changes are kept in a ring buffer of configured size, so that recently modified assets can be retrieved without
+ * querying the repository. The buffer is filled from the repository on application startup (or on first access) and
+ * then kept up to date by {@link ChangeTracker}, which adds changes when the transaction making them commits.
+ * <p>
+ * If the buffer is not able to provide the requested number of assets because older changes have been dropped from it,
+ * an empty result is returned and the caller is expected to fall back to the repository.
+ */
+@Component
+public class RecentlyModifiedAssets {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RecentlyModifiedAssets.class);
+
+    private static final String TERM_TYPE = EntityToOwlClassMapper.getOwlClassForEntity(Term.class);
+    private static final String VOCABULARY_TYPE =
+            EntityToOwlClassMapper.getOwlClassForEntity(cz.cvut.kbss.termit.model.Vocabulary.class);
+    private static final String RESOURCE_TYPE = EntityToOwlClassMapper.getOwlClassForEntity(Resource.class);
+
+    private final ResourceDao resourceDao;
+
+    private final TermDao termDao;
+
+    private final VocabularyDao vocabularyDao;
+
+    private final String language;
+
+    private final RecentlyModifiedAsset[] buffer;
+
+    /**
+     * Index at which the next change will be stored.
+     */
+    private int head;
+
+    private int size;
+
+    /**
+     * Whether the buffer contains all changes recorded in the repository.
+     */
+    private boolean complete;
+
+    private volatile boolean loaded;
+
+    @Autowired
+    public RecentlyModifiedAssets(ResourceDao resourceDao, TermDao termDao, VocabularyDao vocabularyDao,
+                                  Configuration config) {
+        this.resourceDao = resourceDao;
+        this.termDao = termDao;
+        this.vocabularyDao = vocabularyDao;
+        this.language = config.getPersistence().getLanguage();
+        this.buffer = new RecentlyModifiedAsset[config.getChangetracking().getRecentChanges()];
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            load();
+        } catch (RuntimeException e) {
+            LOG.error("Unable to load recent changes from the repository.", e);
+        }
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        final int capacity = buffer.length;
+        final List<RecentlyModifiedAsset> resources = resourceDao.findRecentChanges(capacity);
+        final List<RecentlyModifiedAsset> terms = termDao.findRecentChanges(capacity);
+        final List<RecentlyModifiedAsset> vocabularies = vocabularyDao.findRecentChanges(capacity);
+        // Changes added before the feed was loaded need not be written into the repository yet
+        final List<RecentlyModifiedAsset> changes = Stream.of(resources, terms, vocabularies, snapshot())
+                                                          .flatMap(List::stream).distinct()
+                                                          .sorted(Comparator.comparing(
+                                                                  RecentlyModifiedAsset::getModified))
+                                                          .collect(Collectors.toList());
+        this.head = 0;
+        this.size = 0;
+        changes.subList(Math.max(0, changes.size() - capacity), changes.size()).forEach(this::push);
+        this.complete = changes.size() <= capacity && resources.size() < capacity && terms.size() < capacity &&
+                vocabularies.size() < capacity;
+        this.loaded = true;
+        LOG.debug("Loaded {} recent changes.", size);
+    }
+
+    /**
+     * Gets changes in the buffer, from the oldest.
+     */
+    private List<RecentlyModifiedAsset> snapshot() {
+        final List<RecentlyModifiedAsset> result = new ArrayList<>(size);
+        for (int i = size; i > 0; i--) {
+            result.add(buffer[index(i)]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets index of the i-th most recent change in the buffer (starting from 1).
+     */
+    private int index(int i) {
+        return (head - i + buffer.length) % buffer.length;
+    }
+
+    private void push(RecentlyModifiedAsset change) {
+        buffer[head] = change;
+        this.head = (head + 1) % buffer.length;
+        if (size < buffer.length) {
+            size++;
+        } else {
+            this.complete = false;
+        }
+    }
+
+    /**
+     * Adds the specified change of the specified asset to the feed.
+     * <p>
+     * If a transaction is active, the change is added after it commits.
+     *
+     * @param record       Change record
+     * @param changedAsset The changed asset
+     */
+    public void add(AbstractChangeRecord record, Asset<?> changedAsset) {
+        Objects.requireNonNull(record);
+        Objects.requireNonNull(changedAsset);
+        final String type = resolveType(changedAsset);
+        if (type == null) {
+            return;
+        }
+        final User author = record.getAuthor();
+        final URI vocabulary = changedAsset instanceof AbstractTerm ? ((AbstractTerm) changedAsset).getVocabulary() :
+                               null;
+        final String changeType = record instanceof PersistChangeRecord ? Vocabulary.s_c_vytvoreni_entity :
+                                  Vocabulary.s_c_uprava_entity;
+        final RecentlyModifiedAsset change = new RecentlyModifiedAsset(changedAsset.getUri(),
+                                                                       resolveLabel(changedAsset),
+                                                                       record.getTimestamp(), author.getUri(),
+                                                                       vocabulary, type, changeType);
+        change.setEditor(author);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addChange(change);
+                }
+            });
+        } else {
+            addChange(change);
+        }
+    }
+
+    private synchronized void addChange(RecentlyModifiedAsset change) {
+        push(change);
+    }
+
+    private static String resolveType(Asset<?> asset) {
+        if (asset instanceof AbstractTerm) {
+            return TERM_TYPE;
+        } else if (asset instanceof cz.cvut.kbss.termit.model.Vocabulary) {
+            return VOCABULARY_TYPE;
+        } else if (asset instanceof Resource) {
+            return RESOURCE_TYPE;
+        }
+        return null;
+    }
+
+    private String resolveLabel(Asset<?> asset) {
+        final Object label = asset.getLabel();
+        if (label instanceof MultilingualString) {
+            final MultilingualString str = (MultilingualString) label;
+            return str.contains(language) ? str.get(language) : str.get();
+        }
+        return label != null ? label.toString() : null;
+    }
+
+    /**
+     * Gets the specified number of most recently added/edited assets.
+     *
+     * @param limit Maximum number of assets to return
+     * @return List of recently added/edited assets, empty {@code Optional} if the feed is not able to provide them
+     */
+    public Optional<List<RecentlyModifiedAsset>> findLastEdited(int limit) {
+        return find(limit, change -> true);
+    }
+
+    /**
+     * Gets the specified number of assets most recently added/edited by the specified user.
+     *
+     * @param author Author of the modifications
+     * @param limit  Maximum number of assets to return
+     * @return List of recently added/edited assets, empty {@code Optional} if the feed is not able to provide them
+     */
+    public Optional<List<RecentlyModifiedAsset>> findLastEditedBy(User author, int limit) {
+        Objects.requireNonNull(author);
+        return find(limit, change -> author.getUri().equals(change.getModifiedBy()));
+    }
+
+    private synchronized Optional<List<RecentlyModifiedAsset>> find(int limit,
+                                                                    Predicate<RecentlyModifiedAsset> filter) {
+        if (!loaded) {
+            load();
+        }
+        final List<RecentlyModifiedAsset> result = new ArrayList<>(Math.min(limit, size));
+        final Set<URI> assets = new HashSet<>();
+        for (int i = 1; i <= size && result.size() < limit; i++) {
+            final RecentlyModifiedAsset change = buffer[index(i)];
+            if (filter.test(change) && assets.add(change.getUri())) {
+                result.add(change);
+            }
+        }
+        return result.size() < limit && !complete ? Optional.empty() : Optional.of(result);
+    }
+
+    @EventListener
+    public synchronized void onAssetRemoval(AssetRemovalEvent evt) {
+        final URI removed = evt.getSource().getUri();
+        final boolean vocabulary = evt.getSource() instanceof cz.cvut.kbss.termit.model.Vocabulary;
+        final List<RecentlyModifiedAsset> retained = snapshot().stream().filter(
+                change -> !removed.equals(change.getUri()) && !(vocabulary && removed.equals(change.getVocabulary())))
+                                                               .collect(Collectors.toList());
+        if (retained.size() == size) {
+            return;
+        }
+        final boolean wasComplete = complete;
+        this.head = 0;
+        this.size = 0;
+        retained.forEach(this::push);
+        this.complete = wasComplete;
+    }
+
+    @EventListener
+    public synchronized void onEvictCache(EvictCacheEvent evt) {
+        this.loaded = false;
+        Arrays.fill(buffer, null);
+        this.head = 0;
+        this.size = 0;
+        this.complete = false;
+    }
+}
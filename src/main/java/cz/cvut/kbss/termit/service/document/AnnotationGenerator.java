@@ -32,7 +32,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.InputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -74,7 +80,7 @@ public class AnnotationGenerator {
         occurrenceResolver.parseContent(content, source);
         final List<TermOccurrence> occurrences = occurrenceResolver.findTermOccurrences();
         saveOccurrences(occurrences, source);
-        saveAnnotatedContent(source, occurrenceResolver.getContent());
+        saveAnnotatedContent(source, occurrenceResolver);
         LOG.trace("Finished generating annotations for file {}.", source);
     }
 
@@ -90,12 +96,24 @@ public class AnnotationGenerator {
 
     private void saveOccurrences(List<TermOccurrence> occurrences, Asset<?> source) {
         LOG.trace("Saving term occurrences for asset {}.", source);
-        final List<TermOccurrence> existing = termOccurrenceDao.findAllTargeting(source);
-        occurrences.stream().filter(o -> isNew(o, existing))
-                   .filter(o -> !o.getTerm().equals(source.getUri())).forEach(o -> {
+        final Map<URI, Set<Selector>> existing = indexSelectorsByTerm(termOccurrenceDao.findAllTargeting(source));
+        final List<TermOccurrence> toSave = new ArrayList<>(occurrences.size());
+        occurrences.stream().filter(o -> !o.getTerm().equals(source.getUri()))
+                   .filter(o -> isNew(o, existing)).forEach(o -> {
                        o.addType(cz.cvut.kbss.termit.util.Vocabulary.s_c_navrzeny_vyskyt_termu);
-                       termOccurrenceDao.persist(o);
+                       toSave.add(o);
                    });
+        LOG.trace("Persisting {} new term occurrences for asset {}.", toSave.size(), source);
+        termOccurrenceDao.persistAll(toSave);
+    }
+
+    private static Map<URI, Set<Selector>> indexSelectorsByTerm(List<TermOccurrence> occurrences) {
+        final Map<URI, Set<Selector>> index = new HashMap<>();
+        occurrences.forEach(o -> {
+            assert o.getTarget() != null;
+            index.computeIfAbsent(o.getTerm(), k -> new HashSet<>()).addAll(o.getTarget().getSelectors());
+        });
+        return index;
     }
 
     /**
@@ -105,32 +123,24 @@ public class AnnotationGenerator {
      * source file, and the target contains at least one equal selector.
      *
      * @param occurrence The supposedly new occurrence to check
-     * @param existing   Existing occurrences relevant to the specified file
+     * @param existing   Selectors of existing occurrences relevant to the specified file, indexed by term
      * @return Whether the occurrence is truly new
      */
-    private static boolean isNew(TermOccurrence occurrence, List<TermOccurrence> existing) {
+    private static boolean isNew(TermOccurrence occurrence, Map<URI, Set<Selector>> existing) {
         final OccurrenceTarget target = occurrence.getTarget();
         assert target != null;
-        final Set<Selector> selectors = target.getSelectors();
-        for (TermOccurrence to : existing) {
-            if (!to.getTerm().equals(occurrence.getTerm())) {
-                continue;
-            }
-            final OccurrenceTarget fileTarget = to.getTarget();
-            assert fileTarget != null;
-            assert fileTarget.getSource().equals(target.getSource());
-            // Same term, contains at least one identical selector
-            if (fileTarget.getSelectors().stream().anyMatch(selectors::contains)) {
-                LOG.trace("Skipping occurrence {} because another one with matching term and selectors exists.",
-                        occurrence);
-                return false;
-            }
+        final Set<Selector> termSelectors = existing.getOrDefault(occurrence.getTerm(), Collections.emptySet());
+        // Same term, contains at least one identical selector
+        if (target.getSelectors().stream().anyMatch(termSelectors::contains)) {
+            LOG.trace("Skipping occurrence {} because another one with matching term and selectors exists.",
+                    occurrence);
+            return false;
         }
         return true;
     }
 
-    private void saveAnnotatedContent(File file, InputStream input) {
-        documentManager.saveFileContent(file, input);
+    private void saveAnnotatedContent(File file, TermOccurrenceResolver occurrenceResolver) {
+        documentManager.writeFileContent(file, occurrenceResolver::writeContent);
     }
 
     /**
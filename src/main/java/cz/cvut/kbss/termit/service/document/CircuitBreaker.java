@@ -0,0 +1,80 @@
+package cz.cvut.kbss.termit.service.document;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Simple circuit breaker guarding invocations of a remote service.
+ * <p>
+ * After the configured number of consecutive failures, the circuit opens and invocations are not permitted for the
+ * configured duration. Then a single trial invocation is permitted (the circuit is half-open). If it succeeds, the
+ * circuit closes again, otherwise it reopens.
+ */
+class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final long openDuration;
+
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long openedAt;
+
+    /**
+     * @param failureThreshold Number of consecutive failures which open the circuit
+     * @param openDuration     How long (in milliseconds) the circuit stays open
+     * @param clock            Source of the current time in milliseconds
+     */
+    CircuitBreaker(int failureThreshold, long openDuration, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether an invocation is permitted.
+     * <p>
+     * When the circuit is half-open, only the first caller is permitted to make the trial invocation.
+     *
+     * @return {@code true} if the invocation may proceed, {@code false} otherwise
+     */
+    synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.getAsLong() - openedAt < openDuration) {
+                    return false;
+                }
+                this.state = State.HALF_OPEN;
+                return true;
+            default:
+                // Trial invocation is already running
+                return false;
+        }
+    }
+
+    synchronized void recordSuccess() {
+        this.consecutiveFailures = 0;
+        this.state = State.CLOSED;
+    }
+
+    synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            this.state = State.OPEN;
+            this.openedAt = clock.getAsLong();
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+}
@@ -34,9 +34,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
@@ -101,13 +105,49 @@ public class DefaultDocumentManager implements DocumentManager {
 
     @Override
     public void saveFileContent(File file, InputStream content) {
+        Objects.requireNonNull(content);
+        writeFileContent(file, content::transferTo);
+    }
+
+    @Override
+    public void writeFileContent(File file, ContentWriter writer) {
+        Objects.requireNonNull(writer);
+        Path temp = null;
         try {
-            final java.io.File target = resolveFile(file, false);
+            final Path target = resolveFile(file, false).toPath();
             LOG.debug("Saving file content to {}.", target);
-            Files.createDirectories(target.getParentFile().toPath());
-            Files.copy(content, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.createDirectories(target.getParent());
+            // Write into a temporary file next to the target so that it can be atomically moved over the target
+            temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+            try (final OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp))) {
+                writer.write(out);
+            }
+            moveReplacing(temp, target);
+            temp = null;
         } catch (IOException e) {
             throw new DocumentManagerException("Unable to write out file content.", e);
+        } finally {
+            deleteIfExists(temp);
+        }
+    }
+
+    private static void moveReplacing(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            LOG.trace("Atomic move not supported by file system, replacing {} non-atomically.", target);
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void deleteIfExists(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            LOG.warn("Unable to delete temporary file {}.", path, e);
         }
     }
 
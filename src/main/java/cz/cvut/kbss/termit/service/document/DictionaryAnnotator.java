@@ -0,0 +1,305 @@
+package cz.cvut.kbss.termit.service.document;
+
+import cz.cvut.kbss.termit.dto.TextAnalysisInput;
+import cz.cvut.kbss.termit.event.CacheInvalidationEvent;
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.event.VocabularyContentModified;
+import cz.cvut.kbss.termit.exception.AnnotationGenerationException;
+import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
+import cz.cvut.kbss.termit.util.Constants;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Annotates occurrences of term labels in HTML content without invoking the remote text analysis service.
+ * <p>
+ * Preferred and alternative labels of terms from the vocabularies specified in the input are matched (see {@link
+ * LabelMatcher}) in text of the content and each match is wrapped in an RDFa term occurrence annotation of the same
+ * form as produced by the text analysis service. The result can thus be processed by the regular term occurrence
+ * resolution.
+ * <p>
+ * Text inside existing term occurrence annotations, scripts and styles is not annotated.
+ * <p>
+ * Label matchers are cached per set of vocabularies. A cached matcher is evicted when content of any of its
+ * vocabularies is modified, once the modifying transaction commits.
+ */
+@Component
+public class DictionaryAnnotator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DictionaryAnnotator.class);
+
+    /**
+     * Score of generated occurrences. Matches are exact (modulo normalization).
+     */
+    static final String SCORE = "1.0";
+
+    private static final Set<String> SKIPPED_ELEMENTS = Set.of("script", "style", "head", "title");
+
+    /**
+     * Maximum number of cached matchers. Each matcher holds labels of all terms of its vocabularies.
+     */
+    private static final int MAX_CACHED_MATCHERS = 16;
+
+    private final TermRepositoryService termService;
+
+    private final Map<Set<URI>, LabelMatcher<URI>> matchers = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Set<URI>, LabelMatcher<URI>> eldest) {
+            return size() > MAX_CACHED_MATCHERS;
+        }
+    };
+
+    /**
+     * Number of matcher evictions, used to detect matchers built from possibly outdated labels. Guarded by {@link
+     * #matchers}.
+     */
+    private long invalidations;
+
+    @Autowired
+    public DictionaryAnnotator(TermRepositoryService termService) {
+        this.termService = termService;
+    }
+
+    /**
+     * Annotates occurrences of terms from the input vocabularies in the input content.
+     *
+     * @param input Text analysis input
+     * @return Annotated content
+     */
+    public Resource annotate(TextAnalysisInput input) {
+        Objects.requireNonNull(input);
+        final Document document = Jsoup.parse(input.getContent());
+        annotate(document, input.getVocabularyContexts());
+        return new ByteArrayResource(document.outerHtml().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Annotates occurrences of terms from the input vocabularies in the specified content, passing the annotated
+     * content to the specified handler.
+     * <p>
+     * The annotated content is not held in memory as a string, it is passed to the handler via a temporary file.
+     * {@link TextAnalysisInput#getContent()} of the specified input is ignored.
+     *
+     * @param input   Text analysis input specifying the vocabularies to use
+     * @param content Content to annotate
+     * @param handler Handler of the annotated content
+     */
+    public void annotate(TextAnalysisInput input, Resource content, TextAnalysisClient.ResultHandler handler) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(content);
+        Objects.requireNonNull(handler);
+        Path result = null;
+        try {
+            result = Files.createTempFile("termit-annotated", ".html");
+            annotate(content, input.getVocabularyContexts(), result);
+            // The annotated document is no longer referenced, so it can be collected while the handler processes it
+            try (final InputStream is = Files.newInputStream(result)) {
+                handler.handle(is);
+            }
+        } catch (IOException e) {
+            throw new AnnotationGenerationException("Unable to annotate content.", e);
+        } finally {
+            if (result != null) {
+                deleteTempFile(result);
+            }
+        }
+    }
+
+    private void annotate(Resource content, Set<URI> vocabularies, Path target) throws IOException {
+        final Document document;
+        try (final InputStream is = content.getInputStream()) {
+            document = Jsoup.parse(is, StandardCharsets.UTF_8.name(), "");
+        }
+        annotate(document, vocabularies);
+        try (final Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            document.html(writer);
+        }
+    }
+
+    private void annotate(Document document, Set<URI> vocabularies) {
+        final LabelMatcher<URI> matcher = getMatcher(vocabularies);
+        document.outputSettings().prettyPrint(false);
+        final List<TextNode> textNodes = new ArrayList<>();
+        NodeTraversor.traverse(new NodeVisitor() {
+            @Override
+            public void head(Node node, int depth) {
+                if (node instanceof TextNode && !isSkipped(node.parent())) {
+                    textNodes.add((TextNode) node);
+                }
+            }
+
+            @Override
+            public void tail(Node node, int depth) {
+                // Do nothing
+            }
+        }, document);
+        int count = 0;
+        for (TextNode node : textNodes) {
+            count += annotate(node, matcher);
+        }
+        LOG.debug("Annotated {} term occurrences.", count);
+    }
+
+    private static void deleteTempFile(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            LOG.warn("Unable to delete temporary file {}.", file, e);
+        }
+    }
+
+    private LabelMatcher<URI> getMatcher(Set<URI> vocabularies) {
+        final Set<URI> key = Set.copyOf(vocabularies);
+        final long generation;
+        synchronized (matchers) {
+            final LabelMatcher<URI> cached = matchers.get(key);
+            if (cached != null) {
+                return cached;
+            }
+            generation = invalidations;
+        }
+        // Build outside of the lock, so that annotation with other vocabularies is not blocked
+        final LabelMatcher<URI> matcher = buildMatcher(key);
+        synchronized (matchers) {
+            // Labels may have changed while the matcher was being built, do not cache it then
+            if (generation == invalidations) {
+                matchers.putIfAbsent(key, matcher);
+            }
+        }
+        return matcher;
+    }
+
+    private LabelMatcher<URI> buildMatcher(Set<URI> vocabularies) {
+        final Map<URI, Set<String>> labels = termService.findAllLabels(vocabularies);
+        final LabelMatcher<URI> matcher = new LabelMatcher<>();
+        labels.forEach((term, termLabels) -> termLabels.forEach(label -> matcher.add(label, term)));
+        matcher.build();
+        LOG.trace("Built label matcher for {} terms.", labels.size());
+        return matcher;
+    }
+
+    @EventListener
+    public void onVocabularyContentModified(VocabularyContentModified event) {
+        final URI vocabulary = event.getVocabularyIri();
+        afterCommit(() -> evictMatchers(vocabulary));
+    }
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        event.getVocabularies().forEach(v -> afterCommit(() -> evictMatchers(v)));
+    }
+
+    @EventListener
+    public void onEvictCache(EvictCacheEvent event) {
+        evictMatchers(null);
+    }
+
+    /**
+     * Evicts matchers using labels from the specified vocabulary, or all matchers if the vocabulary is not known.
+     */
+    private void evictMatchers(URI vocabulary) {
+        synchronized (matchers) {
+            invalidations++;
+            if (vocabulary != null) {
+                matchers.keySet().removeIf(vocabularies -> vocabularies.contains(vocabulary));
+            } else {
+                matchers.clear();
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static boolean isSkipped(Node node) {
+        for (Node n = node; n instanceof Element; n = n.parent()) {
+            final Element elem = (Element) n;
+            if (SKIPPED_ELEMENTS.contains(elem.normalName()) ||
+                    (elem.hasAttr(Constants.RDFa.ABOUT) && elem.hasAttr(Constants.RDFa.TYPE))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int annotate(TextNode node, LabelMatcher<URI> matcher) {
+        final String text = node.getWholeText();
+        final List<LabelMatcher.Match<URI>> matches = matcher.findAll(text);
+        if (matches.isEmpty()) {
+            return 0;
+        }
+        final List<Node> replacement = new ArrayList<>(matches.size() * 2 + 1);
+        int last = 0;
+        for (LabelMatcher.Match<URI> m : matches) {
+            if (m.start > last) {
+                replacement.add(new TextNode(text.substring(last, m.start)));
+            }
+            replacement.add(occurrence(text.substring(m.start, m.end), m.values));
+            last = m.end;
+        }
+        if (last < text.length()) {
+            replacement.add(new TextNode(text.substring(last)));
+        }
+        final Node first = replacement.get(0);
+        node.replaceWith(first);
+        Node previous = first;
+        for (Node n : replacement.subList(1, replacement.size())) {
+            previous.after(n);
+            previous = n;
+        }
+        return matches.size();
+    }
+
+    private static Element occurrence(String text, Set<URI> terms) {
+        // Homonyms are resolved deterministically, the user may reassign the occurrence when reviewing it
+        final URI term = terms.stream().min(Comparator.comparing(URI::toString)).orElseThrow();
+        final Element span = new Element("span");
+        span.attr(Constants.RDFa.ABOUT, "_:" + UUID.randomUUID());
+        span.attr(Constants.RDFa.PROPERTY, cz.cvut.kbss.termit.util.Vocabulary.s_p_je_prirazenim_termu);
+        span.attr(Constants.RDFa.RESOURCE, term.toString());
+        span.attr(Constants.RDFa.TYPE, cz.cvut.kbss.termit.util.Vocabulary.s_c_vyskyt_termu);
+        span.attr("score", SCORE);
+        span.text(text);
+        return span;
+    }
+}
@@ -22,7 +22,9 @@ import cz.cvut.kbss.termit.model.resource.File;
 import cz.cvut.kbss.termit.model.resource.Resource;
 import cz.cvut.kbss.termit.util.TypeAwareResource;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Optional;
 
 /**
@@ -68,6 +70,19 @@ public interface DocumentManager {
      */
     void saveFileContent(File file, InputStream content);
 
+    /**
+     * Saves content produced by the specified writer to a physical location represented by the specified file.
+     * <p>
+     * The content is streamed to the storage as it is being written, it is not buffered in memory. The existing
+     * content is replaced only after the writer successfully finishes, so a failure during writing does not leave the
+     * file with partially written content.
+     *
+     * @param file   File representing the physical item
+     * @param writer Writer producing the content to save
+     * @see #saveFileContent(File, InputStream)
+     */
+    void writeFileContent(File file, ContentWriter writer);
+
     /**
      * Creates backup of the specified file.
      * <p>
@@ -104,4 +119,21 @@ public interface DocumentManager {
      * @param resource The resource to remove
      */
     void remove(Resource resource);
+
+    /**
+     * Writes content to a stream provided by the {@link DocumentManager}.
+     */
+    @FunctionalInterface
+    interface ContentWriter {
+
+        /**
+         * Writes content to the specified output stream.
+         * <p>
+         * The stream is managed by the caller, the writer should not close it.
+         *
+         * @param out Stream to write the content to
+         * @throws IOException If writing fails
+         */
+        void write(OutputStream out) throws IOException;
+    }
 }
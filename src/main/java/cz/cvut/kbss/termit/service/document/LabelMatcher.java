@@ -0,0 +1,215 @@
+package cz.cvut.kbss.termit.service.document;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * Finds occurrences of labels in text.
+ * <p>
+ * The matcher is an Aho-Corasick automaton, so text is scanned in time linear to its length (plus the number of
+ * matches), regardless of the number of labels.
+ * <p>
+ * Labels and text are normalized by {@link #normalize(CharSequence)} before matching, so matching is case-insensitive
+ * and any sequence of whitespace matches any other sequence of whitespace. Only whole-word matches are returned and
+ * overlapping matches are resolved in favor of the leftmost longest one.
+ * <p>
+ * Once built, the matcher is not modified and can be shared by concurrent searches.
+ *
+ * @param <T> Type of values associated with labels
+ */
+class LabelMatcher<T> {
+
+    private final Node<T> root = new Node<>(0);
+
+    private boolean built;
+
+    /**
+     * Adds the specified label to the matcher.
+     *
+     * @param label Label to match
+     * @param value Value associated with the label (e.g., identifier of the labeled term)
+     */
+    void add(String label, T value) {
+        Objects.requireNonNull(label);
+        Objects.requireNonNull(value);
+        if (built) {
+            throw new IllegalStateException("Labels cannot be added to an already built matcher.");
+        }
+        final String normalized = normalize(label).text;
+        if (normalized.isEmpty()) {
+            return;
+        }
+        Node<T> node = root;
+        for (int i = 0; i < normalized.length(); i++) {
+            final int depth = i + 1;
+            node = node.next.computeIfAbsent(normalized.charAt(i), c -> new Node<>(depth));
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * Computes failure links of the automaton.
+     * <p>
+     * Must be called after all labels are added and before the matcher is used.
+     */
+    void build() {
+        final Queue<Node<T>> queue = new ArrayDeque<>();
+        root.next.values().forEach(child -> {
+            child.fail = root;
+            queue.add(child);
+        });
+        while (!queue.isEmpty()) {
+            final Node<T> node = queue.remove();
+            for (Map.Entry<Character, Node<T>> e : node.next.entrySet()) {
+                final Node<T> child = e.getValue();
+                Node<T> fail = node.fail;
+                while (fail != root && !fail.next.containsKey(e.getKey())) {
+                    fail = fail.fail;
+                }
+                final Node<T> target = fail.next.get(e.getKey());
+                child.fail = target != null && target != child ? target : root;
+                child.output = !child.fail.values.isEmpty() ? child.fail : child.fail.output;
+                queue.add(child);
+            }
+        }
+        this.built = true;
+    }
+
+    /**
+     * Finds non-overlapping whole-word occurrences of labels in the specified text.
+     *
+     * @param text Text to search
+     * @return Matches ordered by their position in the text
+     */
+    List<Match<T>> findAll(CharSequence text) {
+        if (!built) {
+            throw new IllegalStateException("Matcher has not been built.");
+        }
+        final Normalized normalized = normalize(text);
+        final String input = normalized.text;
+        final List<Match<T>> candidates = new ArrayList<>();
+        Node<T> node = root;
+        for (int i = 0; i < input.length(); i++) {
+            final char c = input.charAt(i);
+            while (node != root && !node.next.containsKey(c)) {
+                node = node.fail;
+            }
+            node = node.next.getOrDefault(c, root);
+            for (Node<T> out = node.values.isEmpty() ? node.output : node; out != null; out = out.output) {
+                final int start = i + 1 - out.depth;
+                if (isWordBoundary(input, start) && isWordBoundary(input, i + 1)) {
+                    candidates.add(new Match<>(normalized.offsets[start], normalized.offsets[i] + 1, out.values));
+                }
+            }
+        }
+        return selectLeftmostLongest(candidates);
+    }
+
+    private static boolean isWordBoundary(String text, int index) {
+        return index == 0 || index == text.length() || !Character.isLetterOrDigit(text.charAt(index - 1)) ||
+                !Character.isLetterOrDigit(text.charAt(index));
+    }
+
+    private static <T> List<Match<T>> selectLeftmostLongest(List<Match<T>> candidates) {
+        candidates.sort(Comparator.comparingInt((Match<T> m) -> m.start).thenComparingInt(m -> -m.end));
+        final List<Match<T>> result = new ArrayList<>();
+        int end = 0;
+        for (Match<T> m : candidates) {
+            if (m.start >= end) {
+                result.add(m);
+                end = m.end;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Normalizes the specified text for matching.
+     * <p>
+     * Characters are lower-cased and each whitespace sequence is replaced with a single space. Leading and trailing
+     * whitespace is removed. Offsets of the normalized characters in the original text are retained.
+     */
+    static Normalized normalize(CharSequence text) {
+        final StringBuilder sb = new StringBuilder(text.length());
+        final int[] offsets = new int[text.length()];
+        boolean whitespace = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char c = text.charAt(i);
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                whitespace = sb.length() > 0;
+                continue;
+            }
+            if (whitespace) {
+                offsets[sb.length()] = i - 1;
+                sb.append(' ');
+                whitespace = false;
+            }
+            offsets[sb.length()] = i;
+            sb.append(Character.toLowerCase(c));
+        }
+        return new Normalized(sb.toString(), offsets);
+    }
+
+    static class Normalized {
+        final String text;
+        final int[] offsets;
+
+        private Normalized(String text, int[] offsets) {
+            this.text = text;
+            this.offsets = offsets;
+        }
+    }
+
+    /**
+     * Label occurrence in text.
+     *
+     * @param <T> Type of the values associated with the label
+     */
+    static class Match<T> {
+
+        /**
+         * Index of the first character of the match in the original text.
+         */
+        final int start;
+
+        /**
+         * Index after the last character of the match in the original text.
+         */
+        final int end;
+
+        /**
+         * Values associated with the matched label.
+         */
+        final Set<T> values;
+
+        private Match(int start, int end, Set<T> values) {
+            this.start = start;
+            this.end = end;
+            this.values = Collections.unmodifiableSet(values);
+        }
+    }
+
+    private static class Node<T> {
+        private final int depth;
+        private final Map<Character, Node<T>> next = new HashMap<>(4);
+        private final Set<T> values = new LinkedHashSet<>(1);
+        private Node<T> fail;
+        /**
+         * Nearest node on the failure chain which represents a complete label.
+         */
+        private Node<T> output;
+
+        private Node(int depth) {
+            this.depth = depth;
+        }
+    }
+}
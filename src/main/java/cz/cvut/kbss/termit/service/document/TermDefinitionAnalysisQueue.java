@@ -0,0 +1,464 @@
+package cz.cvut.kbss.termit.service.document;
+
+import cz.cvut.kbss.jopa.model.MultilingualString;
+import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.model.AbstractTerm;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
+import cz.cvut.kbss.termit.service.repository.VocabularyRepositoryService;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queue of term definitions waiting for text analysis.
+ * <p>
+ * Term modifications schedule analysis of the modified term's definition or, when the set of term labels in a
+ * vocabulary changes, of definitions of all the terms analyzed in the context of the vocabulary. Scheduled analyses are
+ * not executed immediately, they are coalesced until no further analysis is scheduled for the configured delay. Pending
+ * analyses are deduplicated per term, so that, for example, bulk creation of terms in a vocabulary leads to every
+ * definition being analyzed once, not once per created term.
+ * <p>
+ * Moreover, a definition is analyzed only if its text or the label set of the vocabulary used for the analysis changed
+ * since its last analysis. Pending definitions are analyzed in batches (grouped by the vocabulary used for analysis) by a
+ * bounded pool of workers.
+ * <p>
+ * Scheduled analyses are recorded in a journal file in the file storage directory, which is removed once all of them
+ * are processed. Analyses left in the journal (e.g., because the application was shut down before processing them) are
+ * scheduled again when the application starts.
+ * <p>
+ * Explicitly requested analyses (e.g., from the REST API) bypass this queue.
+ */
+@Component
+public class TermDefinitionAnalysisQueue {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TermDefinitionAnalysisQueue.class);
+
+    /**
+     * Maximum time (as a multiple of the configured delay) for which pending analyses may be postponed by a continuous
+     * burst of changes.
+     */
+    private static final int MAX_DELAY_FACTOR = 10;
+
+    /**
+     * Name of the journal of scheduled analyses, stored in the file storage directory.
+     */
+    static final String JOURNAL_FILE = ".definition-analysis-queue";
+
+    private static final String TERM_RECORD = "T";
+    private static final String VOCABULARY_RECORD = "V";
+
+    private final TextAnalysisService textAnalysisService;
+
+    private final TermRepositoryService termService;
+
+    private final VocabularyRepositoryService vocabularyService;
+
+    private final Configuration.TextAnalysis config;
+
+    private final String language;
+
+    /**
+     * Pending term analyses, keyed by term identifier.
+     */
+    private final Map<URI, Analysis> pendingTerms = new ConcurrentHashMap<>();
+
+    /**
+     * Vocabularies whose label set has changed and all terms analyzed in their context are to be analyzed.
+     */
+    private final Set<URI> pendingVocabularies = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Versions of vocabulary label sets, incremented with each change of the label set.
+     */
+    private final Map<URI, Long> labelSetVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Fingerprints of the last successful analysis of term definitions.
+     */
+    private final Map<URI, Fingerprint> analyzed = new ConcurrentHashMap<>();
+
+    /**
+     * Journal of scheduled analyses, {@code null} if file storage is not configured.
+     */
+    private final Path journal;
+
+    /**
+     * Guards the journal. Records are added to the journal together with the corresponding pending analyses, so that
+     * the journal is not removed while there are any.
+     */
+    private final Object journalLock = new Object();
+
+    /**
+     * Number of running drains and analysis batches. The journal is kept while there are any.
+     */
+    private final AtomicInteger inProgress = new AtomicInteger();
+
+    private ThreadPoolTaskScheduler scheduler;
+
+    private ThreadPoolTaskExecutor workers;
+
+    private ScheduledFuture<?> scheduledDrain;
+
+    private long firstScheduled;
+
+    private long lastScheduled;
+
+    @Autowired
+    public TermDefinitionAnalysisQueue(TextAnalysisService textAnalysisService, TermRepositoryService termService,
+                                       VocabularyRepositoryService vocabularyService, Configuration config) {
+        this.textAnalysisService = textAnalysisService;
+        this.termService = termService;
+        this.vocabularyService = vocabularyService;
+        this.config = config.getTextAnalysis();
+        this.language = config.getPersistence().getLanguage();
+        final String storage = config.getFile().getStorage();
+        this.journal = storage != null ? Paths.get(storage, JOURNAL_FILE) : null;
+    }
+
+    @PostConstruct
+    void initExecutors() {
+        this.scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("termit-definition-analysis-scheduler-");
+        scheduler.initialize();
+        this.workers = new ThreadPoolTaskExecutor();
+        workers.setCorePoolSize(config.getDefinitionAnalysisWorkers());
+        workers.setMaxPoolSize(config.getDefinitionAnalysisWorkers());
+        workers.setThreadNamePrefix("termit-definition-analysis-");
+        workers.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+        workers.shutdown();
+    }
+
+    /**
+     * Schedules analyses left in the journal by the previous run of the application.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (journal == null || !Files.exists(journal)) {
+            return;
+        }
+        final List<String> records;
+        try {
+            records = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOG.error("Unable to read journal of pending term definition analyses {}.", journal, e);
+            return;
+        }
+        synchronized (journalLock) {
+            records.forEach(this::recover);
+        }
+        LOG.debug("Recovered {} pending term definition analyses and {} pending vocabulary analyses.",
+                  pendingTerms.size(), pendingVocabularies.size());
+        if (!pendingTerms.isEmpty() || !pendingVocabularies.isEmpty()) {
+            requestDrain();
+        } else {
+            clearJournalIfIdle();
+        }
+    }
+
+    /**
+     * Schedules analysis of definition of the specified term.
+     * <p>
+     * If a transaction is active, the analysis is scheduled when it commits.
+     *
+     * @param term       Identifier of the term whose definition is to be analyzed
+     * @param vocabulary Identifier of the vocabulary used for the analysis
+     */
+    public void scheduleTerm(URI term, URI vocabulary) {
+        Objects.requireNonNull(term);
+        Objects.requireNonNull(vocabulary);
+        afterCommit(() -> {
+            synchronized (journalLock) {
+                appendToJournal(TERM_RECORD + " " + term + " " + vocabulary);
+                pendingTerms.merge(term, new Analysis(vocabulary, null), (existing, added) -> existing);
+            }
+            requestDrain();
+        });
+    }
+
+    /**
+     * Schedules analysis of definitions of all terms in the specified vocabulary and the vocabularies it imports,
+     * because the set of labels of terms in the vocabulary has changed.
+     * <p>
+     * If a transaction is active, the analysis is scheduled when it commits.
+     *
+     * @param vocabulary Identifier of the vocabulary whose label set has changed
+     */
+    public void scheduleVocabulary(URI vocabulary) {
+        Objects.requireNonNull(vocabulary);
+        afterCommit(() -> {
+            labelSetVersions.merge(vocabulary, 1L, Long::sum);
+            synchronized (journalLock) {
+                appendToJournal(VOCABULARY_RECORD + " " + vocabulary);
+                pendingVocabularies.add(vocabulary);
+            }
+            requestDrain();
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private void recover(String record) {
+        final String[] parts = record.split(" ");
+        try {
+            if (TERM_RECORD.equals(parts[0]) && parts.length == 3) {
+                pendingTerms.putIfAbsent(URI.create(parts[1]), new Analysis(URI.create(parts[2]), null));
+            } else if (VOCABULARY_RECORD.equals(parts[0]) && parts.length == 2) {
+                pendingVocabularies.add(URI.create(parts[1]));
+            } else if (!record.isBlank()) {
+                LOG.warn("Skipping invalid journal record '{}'.", record);
+            }
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Skipping invalid journal record '{}'.", record);
+        }
+    }
+
+    /**
+     * Appends the specified record to the journal.
+     * <p>
+     * Must be called while holding the journal lock.
+     */
+    private void appendToJournal(String record) {
+        if (journal == null) {
+            return;
+        }
+        try {
+            Files.write(journal, (record + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            LOG.warn("Unable to record scheduled term definition analysis in journal {}.", journal, e);
+        }
+    }
+
+    /**
+     * Removes the journal if there are no pending or running analyses.
+     */
+    private void clearJournalIfIdle() {
+        if (journal == null) {
+            return;
+        }
+        synchronized (journalLock) {
+            if (inProgress.get() > 0 || !pendingTerms.isEmpty() || !pendingVocabularies.isEmpty()) {
+                return;
+            }
+            try {
+                Files.deleteIfExists(journal);
+            } catch (IOException e) {
+                LOG.warn("Unable to remove journal of term definition analyses {}.", journal, e);
+            }
+        }
+    }
+
+    private synchronized void requestDrain() {
+        this.lastScheduled = System.currentTimeMillis();
+        if (scheduledDrain == null) {
+            this.firstScheduled = lastScheduled;
+            this.scheduledDrain = scheduler.schedule(this::drainWhenQuiet,
+                                                     Instant.ofEpochMilli(lastScheduled + delay()));
+        }
+    }
+
+    private long delay() {
+        return config.getDefinitionAnalysisDelay();
+    }
+
+    private void drainWhenQuiet() {
+        synchronized (this) {
+            final long now = System.currentTimeMillis();
+            if (now - lastScheduled < delay() && now - firstScheduled < MAX_DELAY_FACTOR * delay()) {
+                this.scheduledDrain = scheduler.schedule(this::drainWhenQuiet,
+                                                         Instant.ofEpochMilli(lastScheduled + delay()));
+                return;
+            }
+            this.scheduledDrain = null;
+        }
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            LOG.error("Unable to process pending term definition analyses.", e);
+        }
+    }
+
+    private void drain() {
+        inProgress.incrementAndGet();
+        try {
+            submitPending();
+        } finally {
+            inProgress.decrementAndGet();
+            clearJournalIfIdle();
+        }
+    }
+
+    private void submitPending() {
+        for (URI vocabulary : new ArrayList<>(pendingVocabularies)) {
+            pendingVocabularies.remove(vocabulary);
+            try {
+                loadTermsAnalyzedIn(vocabulary).stream().filter(t -> t.getDefinition() != null)
+                                               .forEach(t -> pendingTerms.put(t.getUri(), new Analysis(vocabulary, t)));
+            } catch (RuntimeException e) {
+                // E.g., the vocabulary has been removed in the meantime
+                LOG.error("Unable to load terms analyzed in the context of vocabulary {}.", vocabulary, e);
+            }
+        }
+        LOG.debug("Analyzing {} pending term definitions.", pendingTerms.size());
+        final Map<URI, List<Map.Entry<URI, Analysis>>> byVocabulary = new HashMap<>();
+        for (Map.Entry<URI, Analysis> e : new ArrayList<>(pendingTerms.entrySet())) {
+            if (pendingTerms.remove(e.getKey(), e.getValue())) {
+                byVocabulary.computeIfAbsent(e.getValue().vocabulary, k -> new ArrayList<>()).add(e);
+            }
+        }
+        // Batches are analyzed in the context of a single vocabulary, so that they can be sent in one request
+        final int batchSize = Math.max(config.getDefinitionBatchSize(), 1);
+        byVocabulary.forEach((vocabulary, analyses) -> {
+            for (int i = 0; i < analyses.size(); i += batchSize) {
+                final List<Map.Entry<URI, Analysis>> batch = analyses.subList(i, Math.min(i + batchSize,
+                                                                                          analyses.size()));
+                inProgress.incrementAndGet();
+                workers.execute(() -> {
+                    try {
+                        analyze(batch, vocabulary);
+                    } finally {
+                        inProgress.decrementAndGet();
+                        clearJournalIfIdle();
+                    }
+                });
+            }
+        });
+    }
+
+    private List<TermDto> loadTermsAnalyzedIn(URI vocabularyUri) {
+        final Vocabulary vocabulary = vocabularyService.getRequiredReference(vocabularyUri);
+        final List<TermDto> terms = termService.findAll(vocabulary);
+        vocabularyService.getTransitivelyImportedVocabularies(vocabulary).forEach(
+                imported -> terms.addAll(termService.findAll(vocabularyService.getRequiredReference(imported))));
+        return terms;
+    }
+
+    private void analyze(List<Map.Entry<URI, Analysis>> batch, URI vocabulary) {
+        final List<AbstractTerm> toAnalyze = new ArrayList<>(batch.size());
+        final Map<URI, Fingerprint> fingerprints = new HashMap<>();
+        try {
+            for (Map.Entry<URI, Analysis> e : batch) {
+                final URI termUri = e.getKey();
+                final AbstractTerm term = e.getValue().term != null ? e.getValue().term :
+                                          termService.find(termUri).orElse(null);
+                if (term == null) {
+                    // The term has been removed in the meantime
+                    analyzed.remove(termUri);
+                    continue;
+                }
+                final Fingerprint fingerprint = fingerprint(term.getDefinition(), vocabulary);
+                if (fingerprint == null || fingerprint.equals(analyzed.get(termUri))) {
+                    LOG.trace("Definition of term {} has not changed since its last analysis, skipping it.", term);
+                    continue;
+                }
+                toAnalyze.add(term);
+                fingerprints.put(termUri, fingerprint);
+            }
+            if (!toAnalyze.isEmpty()) {
+                textAnalysisService.analyzeTermDefinitions(toAnalyze, vocabulary);
+                analyzed.putAll(fingerprints);
+            }
+        } catch (RuntimeException e) {
+            LOG.error("Analysis of definitions of {} terms in vocabulary {} failed.", toAnalyze.size(), vocabulary, e);
+        }
+    }
+
+    private Fingerprint fingerprint(MultilingualString definition, URI vocabulary) {
+        if (definition == null || !definition.contains(language)) {
+            return null;
+        }
+        return new Fingerprint(vocabulary, labelSetVersions.getOrDefault(vocabulary, 0L),
+                               definition.get(language).hashCode());
+    }
+
+    /**
+     * Pending analysis of a term definition.
+     */
+    private static class Analysis {
+        private final URI vocabulary;
+        private final AbstractTerm term;
+
+        private Analysis(URI vocabulary, AbstractTerm term) {
+            this.vocabulary = vocabulary;
+            this.term = term;
+        }
+    }
+
+    /**
+     * Identifies input of a term definition analysis.
+     */
+    private static class Fingerprint {
+        private final URI vocabulary;
+        private final long labelSetVersion;
+        private final int definitionHash;
+
+        private Fingerprint(URI vocabulary, long labelSetVersion, int definitionHash) {
+            this.vocabulary = vocabulary;
+            this.labelSetVersion = labelSetVersion;
+            this.definitionHash = definitionHash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Fingerprint)) {
+                return false;
+            }
+            final Fingerprint that = (Fingerprint) o;
+            return labelSetVersion == that.labelSetVersion && definitionHash == that.definitionHash &&
+                    vocabulary.equals(that.vocabulary);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(vocabulary, labelSetVersion, definitionHash);
+        }
+    }
+}
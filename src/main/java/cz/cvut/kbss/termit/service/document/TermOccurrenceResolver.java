@@ -23,7 +23,9 @@ import cz.cvut.kbss.termit.model.assignment.*;
 import cz.cvut.kbss.termit.model.resource.File;
 import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
 import java.util.List;
 
@@ -59,6 +61,21 @@ public abstract class TermOccurrenceResolver {
      */
     public abstract InputStream getContent();
 
+    /**
+     * Writes the content which was previously parsed and processed by this instance to the specified stream.
+     * <p>
+     * This is equivalent to {@link #getContent()}, but implementations may write the content directly, without
+     * creating an intermediate in-memory copy of it.
+     *
+     * @param out Stream to write the content to
+     * @throws IOException If writing fails
+     */
+    public void writeContent(OutputStream out) throws IOException {
+        try (final InputStream content = getContent()) {
+            content.transferTo(out);
+        }
+    }
+
     /**
      * Finds term occurrences in the input stream.
      * <p>
@@ -0,0 +1,399 @@
+package cz.cvut.kbss.termit.service.document;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import cz.cvut.kbss.termit.dto.TextAnalysisInput;
+import cz.cvut.kbss.termit.exception.WebServiceIntegrationException;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Client of the remote text analysis service.
+ * <p>
+ * The number of concurrently executed requests is limited, further requests wait for a running request to finish.
+ * Requests failing because the service is temporarily unavailable (connection errors, timeouts, 502, 503 and 504
+ * responses) are retried with exponential backoff and random jitter. A circuit breaker stops invoking the service
+ * after repeated failures or slow responses, so that callers fail fast instead of piling up while the service is
+ * down.
+ * <p>
+ * Content of files can be analyzed without loading it into memory, both the request and the response are streamed.
+ * <p>
+ * Request statistics are exposed via JMX.
+ */
+@Component
+@ManagedResource(objectName = "bean:name=TermItTextAnalysisClient",
+                 description = "Statistics of the text analysis service client.")
+public class TextAnalysisClient {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TextAnalysisClient.class);
+
+    /**
+     * Weight of the latest request in the average latency.
+     */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    /**
+     * Name of the {@link TextAnalysisInput} property holding the content to analyze.
+     */
+    private static final String CONTENT_PROPERTY = "content";
+
+    private final RestTemplate restClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final Configuration.TextAnalysis config;
+
+    private final Semaphore permits;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile double averageLatency;
+
+    private volatile long maxLatency;
+
+    @Autowired
+    public TextAnalysisClient(RestTemplate restClient, Configuration config) {
+        this.restClient = restClient;
+        // Use the same mapper which serializes inputs sent without streaming
+        this.objectMapper = restClient.getMessageConverters().stream()
+                                      .filter(MappingJackson2HttpMessageConverter.class::isInstance)
+                                      .map(c -> ((MappingJackson2HttpMessageConverter) c).getObjectMapper())
+                                      .findFirst().orElseGet(ObjectMapper::new);
+        this.config = config.getTextAnalysis();
+        this.permits = new Semaphore(this.config.getMaxConcurrentRequests(), true);
+        this.circuitBreaker = new CircuitBreaker(this.config.getFailureThreshold(),
+                                                 this.config.getCircuitOpenDuration(), System::currentTimeMillis);
+    }
+
+    /**
+     * Invokes the text analysis service on the specified input.
+     *
+     * @param input Text analysis input
+     * @return Text analysis result
+     * @throws WebServiceIntegrationException If the invocation fails or the service is not available
+     */
+    public Resource analyze(TextAnalysisInput input) {
+        Objects.requireNonNull(input);
+        acquirePermit();
+        try {
+            return invokeWithRetries(() -> invoke(input));
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Invokes the text analysis service on the specified content, passing the result to the specified handler.
+     * <p>
+     * The content is streamed from the specified resource into the request and the response is streamed into the
+     * handler, so neither of them is loaded into memory as a whole. {@link TextAnalysisInput#getContent()} of the
+     * specified input is ignored.
+     * <p>
+     * The handler is invoked only with the result of a successful invocation. Invocations whose result handling fails
+     * are not retried.
+     *
+     * @param input   Text analysis input specifying the analysis parameters
+     * @param content Content to analyze
+     * @param handler Handler of the text analysis result
+     * @throws WebServiceIntegrationException If the invocation fails or the service is not available
+     */
+    public void analyze(TextAnalysisInput input, Resource content, ResultHandler handler) {
+        Objects.requireNonNull(input);
+        Objects.requireNonNull(content);
+        Objects.requireNonNull(handler);
+        acquirePermit();
+        try {
+            invokeWithRetries(() -> invoke(input, content, handler));
+        } catch (UncheckedIOException e) {
+            throw new WebServiceIntegrationException("Unable to read text analysis result from response.",
+                                                     e.getCause());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void acquirePermit() {
+        waiting.incrementAndGet();
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebServiceIntegrationException("Interrupted while waiting for text analysis service.", e);
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    private <T> T invokeWithRetries(Supplier<T> invocation) {
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                rejected.incrementAndGet();
+                throw new WebServiceIntegrationException(
+                        "Text analysis service is not available, requests are suspended after repeated failures.");
+            }
+            try {
+                return invocation.get();
+            } catch (RestClientException e) {
+                if (!isRetryable(e) || attempt >= config.getMaxAttempts()) {
+                    throw new WebServiceIntegrationException("Text analysis invocation failed.", e);
+                }
+                LOG.warn("Text analysis invocation failed (attempt {} of {}), retrying. Error: {}", attempt,
+                         config.getMaxAttempts(), e.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private Resource invoke(TextAnalysisInput input) {
+        final HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.ACCEPT, MediaType.APPLICATION_XML_VALUE);
+        return track(input, call -> {
+            final ResponseEntity<Resource> resp = restClient.exchange(config.getUrl(), HttpMethod.POST,
+                                                                      new HttpEntity<>(input, headers),
+                                                                      Resource.class);
+            call.responded();
+            if (!resp.hasBody()) {
+                throw new WebServiceIntegrationException("Text analysis service returned empty response.");
+            }
+            assert resp.getBody() != null;
+            return resp.getBody();
+        });
+    }
+
+    private Void invoke(TextAnalysisInput input, Resource content, ResultHandler handler) {
+        return track(input, call -> restClient.execute(config.getUrl(), HttpMethod.POST, request -> {
+            request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            request.getHeaders().setAccept(Collections.singletonList(MediaType.APPLICATION_XML));
+            writeInput(input, content, request.getBody());
+        }, response -> {
+            call.responded();
+            handleResult(response.getBody(), handler);
+            return null;
+        }));
+    }
+
+    /**
+     * Writes the specified input as JSON, streaming the content from the specified resource.
+     * <p>
+     * The result is the same as if the input with the content was serialized by the object mapper.
+     */
+    private void writeInput(TextAnalysisInput input, Resource content, OutputStream out) throws IOException {
+        final ObjectNode parameters = objectMapper.valueToTree(input);
+        parameters.remove(CONTENT_PROPERTY);
+        try (final Reader reader = new InputStreamReader(content.getInputStream(), StandardCharsets.UTF_8);
+             final JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            // Content is the first property of TextAnalysisInput
+            generator.writeFieldName(CONTENT_PROPERTY);
+            generator.writeString(reader, -1);
+            final Iterator<Map.Entry<String, JsonNode>> it = parameters.fields();
+            while (it.hasNext()) {
+                final Map.Entry<String, JsonNode> parameter = it.next();
+                generator.writeFieldName(parameter.getKey());
+                objectMapper.writeTree(generator, parameter.getValue());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private static void handleResult(InputStream body, ResultHandler handler) throws IOException {
+        final PushbackInputStream result = new PushbackInputStream(body);
+        final int first = result.read();
+        if (first < 0) {
+            throw new WebServiceIntegrationException("Text analysis service returned empty response.");
+        }
+        result.unread(first);
+        try {
+            handler.handle(result);
+        } catch (IOException e) {
+            // Prevent the rest client from treating failure of result processing as an I/O error of the request
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> T track(TextAnalysisInput input, Function<Call, T> invocation) {
+        LOG.debug("Invoking text analysis service on input: {}", input);
+        requests.incrementAndGet();
+        final Call call = new Call();
+        try {
+            return invocation.apply(call);
+        } catch (HttpClientErrorException e) {
+            // The service is up, it just rejected the input
+            call.responded();
+            throw e;
+        } finally {
+            final long latency = call.latency();
+            recordLatency(latency);
+            if (call.hasResponded() && latency <= config.getSlowCallThreshold()) {
+                circuitBreaker.recordSuccess();
+            } else {
+                failures.incrementAndGet();
+                circuitBreaker.recordFailure();
+            }
+        }
+    }
+
+    private static boolean isRetryable(RestClientException e) {
+        if (e instanceof ResourceAccessException) {
+            // I/O error, including timeouts
+            return true;
+        }
+        if (e instanceof HttpServerErrorException) {
+            final HttpStatus status = ((HttpServerErrorException) e).getStatusCode();
+            return status == HttpStatus.BAD_GATEWAY || status == HttpStatus.SERVICE_UNAVAILABLE ||
+                    status == HttpStatus.GATEWAY_TIMEOUT;
+        }
+        return false;
+    }
+
+    private void backoff(int attempt) {
+        final long base = (long) config.getRetryBackoff() << Math.min(attempt - 1, 10);
+        final long delay = base + ThreadLocalRandom.current().nextLong(config.getRetryBackoff() + 1L);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebServiceIntegrationException("Interrupted while waiting to retry text analysis.", e);
+        }
+    }
+
+    private synchronized void recordLatency(long latency) {
+        this.averageLatency = requests.get() <= 1 ? latency :
+                              LATENCY_SMOOTHING * latency + (1 - LATENCY_SMOOTHING) * averageLatency;
+        this.maxLatency = Math.max(maxLatency, latency);
+    }
+
+    @ManagedAttribute(description = "Number of requests waiting for a free connection slot.")
+    public int getQueueDepth() {
+        return waiting.get();
+    }
+
+    @ManagedAttribute(description = "Number of requests being executed.")
+    public int getActiveRequests() {
+        return config.getMaxConcurrentRequests() - permits.availablePermits();
+    }
+
+    @ManagedAttribute(description = "Total number of requests sent to the text analysis service.")
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    @ManagedAttribute(description = "Number of failed or slow requests.")
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    @ManagedAttribute(description = "Number of requests rejected because the circuit breaker was open.")
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    @ManagedAttribute(description = "Exponential moving average of request latency in milliseconds.")
+    public double getAverageLatency() {
+        return averageLatency;
+    }
+
+    @ManagedAttribute(description = "Maximum request latency in milliseconds.")
+    public long getMaxLatency() {
+        return maxLatency;
+    }
+
+    @ManagedAttribute(description = "State of the circuit breaker (CLOSED, OPEN, HALF_OPEN).")
+    public String getCircuitState() {
+        return circuitBreaker.getState().name();
+    }
+
+    /**
+     * Tracks duration of a single request.
+     * <p>
+     * Only the time until the service responds counts towards latency of the request, processing of the response does
+     * not.
+     */
+    private static final class Call {
+
+        private final long start = System.nanoTime();
+
+        private long end = -1;
+
+        void responded() {
+            if (end < 0) {
+                this.end = System.nanoTime();
+            }
+        }
+
+        boolean hasResponded() {
+            return end >= 0;
+        }
+
+        long latency() {
+            return TimeUnit.NANOSECONDS.toMillis((hasResponded() ? end : System.nanoTime()) - start);
+        }
+    }
+
+    /**
+     * Processes text analysis result streamed from the service.
+     */
+    @FunctionalInterface
+    public interface ResultHandler {
+
+        /**
+         * Processes the specified text analysis result.
+         * <p>
+         * The stream is valid only during the execution of this method and is closed by the client.
+         *
+         * @param result Text analysis result
+         * @throws IOException If reading the result fails
+         */
+        void handle(InputStream result) throws IOException;
+    }
+}
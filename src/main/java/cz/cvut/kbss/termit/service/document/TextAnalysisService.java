@@ -23,29 +23,43 @@ import cz.cvut.kbss.termit.model.resource.File;
 import cz.cvut.kbss.termit.persistence.dao.TextAnalysisRecordDao;
 import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.Utils;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
-import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.HtmlUtils;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class TextAnalysisService {
 
     private static final Logger LOG = LoggerFactory.getLogger(TextAnalysisService.class);
 
-    private final RestTemplate restClient;
+    /**
+     * Prefix of identifiers of elements wrapping individual term definitions in a batch analysis input.
+     */
+    private static final String DEFINITION_ID_PREFIX = "termit-definition-";
+
+    private final TextAnalysisClient client;
+
+    private final DictionaryAnnotator dictionaryAnnotator;
 
     private final Configuration config;
 
@@ -56,9 +70,11 @@ public class TextAnalysisService {
     private final TextAnalysisRecordDao recordDao;
 
     @Autowired
-    public TextAnalysisService(RestTemplate restClient, Configuration config, DocumentManager documentManager,
+    public TextAnalysisService(TextAnalysisClient client, DictionaryAnnotator dictionaryAnnotator,
+                               Configuration config, DocumentManager documentManager,
                                AnnotationGenerator annotationGenerator, TextAnalysisRecordDao recordDao) {
-        this.restClient = restClient;
+        this.client = client;
+        this.dictionaryAnnotator = dictionaryAnnotator;
         this.config = config;
         this.documentManager = documentManager;
         this.annotationGenerator = annotationGenerator;
@@ -69,7 +85,10 @@ public class TextAnalysisService {
      * Passes the content of the specified file to the remote text analysis service, letting it find occurrences of
      * terms from the vocabularies specified by their repository contexts.
      * <p>
-     * The analysis result is passed to the term occurrence generator.
+     * If the embedded annotator is configured, it is used instead of the remote service.
+     * <p>
+     * The file content is streamed to the service and the analysis result is streamed to the term occurrence
+     * generator, so that large files are not loaded into memory as strings.
      *
      * @param file               File whose content shall be analyzed
      * @param vocabularyContexts Identifiers of repository contexts containing vocabularies intended for text analysis
@@ -77,14 +96,14 @@ public class TextAnalysisService {
     @Transactional
     public void analyzeFile(File file, Set<URI> vocabularyContexts) {
         Objects.requireNonNull(file);
-        final TextAnalysisInput input = createAnalysisInput(file);
+        final Resource content = documentManager.getAsResource(file);
+        final TextAnalysisInput input = createAnalysisInput();
         input.setVocabularyContexts(vocabularyContexts);
-        invokeTextAnalysisOnFile(file, input);
+        invokeTextAnalysisOnFile(file, content, input);
     }
 
-    private TextAnalysisInput createAnalysisInput(File file) {
+    private TextAnalysisInput createAnalysisInput() {
         final TextAnalysisInput input = new TextAnalysisInput();
-        input.setContent(documentManager.loadFileContent(file));
         final Optional<String> publicUrl = config.getRepository().getPublicUrl();
         URI repositoryUrl = URI.create(
             !publicUrl.isPresent() || publicUrl.get().isEmpty() ? config.getRepository().getUrl() : publicUrl.get()
@@ -94,35 +113,30 @@ public class TextAnalysisService {
         return input;
     }
 
-    private void invokeTextAnalysisOnFile(File file, TextAnalysisInput input) {
-        try {
-            final Resource result = invokeTextAnalysisService(input);
+    private void invokeTextAnalysisOnFile(File file, Resource content, TextAnalysisInput input) {
+        final TextAnalysisClient.ResultHandler handler = result -> {
             documentManager.createBackup(file);
-            try (final InputStream is = result.getInputStream()) {
-                annotationGenerator.generateAnnotations(is, file);
+            annotationGenerator.generateAnnotations(result, file);
+        };
+        try {
+            if (config.getTextAnalysis().isEmbedded()) {
+                dictionaryAnnotator.annotate(input, content, handler);
+            } else {
+                client.analyze(input, content, handler);
             }
             storeTextAnalysisRecord(file, input);
         } catch (WebServiceIntegrationException e) {
             throw e;
         } catch (RuntimeException e) {
             throw new WebServiceIntegrationException("Text analysis invocation failed.", e);
-        } catch (IOException e) {
-            throw new WebServiceIntegrationException("Unable to read text analysis result from response.", e);
         }
     }
 
     private Resource invokeTextAnalysisService(TextAnalysisInput input) {
-        final HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.ACCEPT, MediaType.APPLICATION_XML_VALUE);
-        LOG.debug("Invoking text analysis service on input: {}", input);
-        final ResponseEntity<Resource> resp = restClient
-                .exchange(config.getTextAnalysis().getUrl(), HttpMethod.POST,
-                        new HttpEntity<>(input, headers), Resource.class);
-        if (!resp.hasBody()) {
-            throw new WebServiceIntegrationException("Text analysis service returned empty response.");
+        if (config.getTextAnalysis().isEmbedded()) {
+            return dictionaryAnnotator.annotate(input);
         }
-        assert resp.getBody() != null;
-        return resp.getBody();
+        return client.analyze(input);
     }
 
     private void storeTextAnalysisRecord(File file, TextAnalysisInput config) {
@@ -178,4 +192,63 @@ public class TextAnalysisService {
             throw new WebServiceIntegrationException("Unable to read text analysis result from response.", e);
         }
     }
+
+    /**
+     * Invokes text analysis on definitions of the specified terms.
+     * <p>
+     * Definitions are sent to the text analysis service in batches, each batch in a single request. Analysis results
+     * are stored as definitional term occurrences.
+     *
+     * @param terms             Terms whose definitions are to be analyzed
+     * @param vocabularyContext Identifier of the vocabulary used for analysis
+     * @see #analyzeTermDefinition(AbstractTerm, URI)
+     */
+    public void analyzeTermDefinitions(Collection<? extends AbstractTerm> terms, URI vocabularyContext) {
+        Objects.requireNonNull(terms);
+        final String language = config.getPersistence().getLanguage();
+        final List<AbstractTerm> toAnalyze = terms.stream()
+                                                  .filter(t -> t.getDefinition() != null &&
+                                                          t.getDefinition().contains(language))
+                                                  .collect(Collectors.toList());
+        final int batchSize = Math.max(config.getTextAnalysis().getDefinitionBatchSize(), 1);
+        for (int i = 0; i < toAnalyze.size(); i += batchSize) {
+            final List<AbstractTerm> batch = toAnalyze.subList(i, Math.min(i + batchSize, toAnalyze.size()));
+            if (batch.size() == 1) {
+                analyzeTermDefinition(batch.get(0), vocabularyContext);
+            } else {
+                analyzeTermDefinitionBatch(batch, vocabularyContext, language);
+            }
+        }
+    }
+
+    private void analyzeTermDefinitionBatch(List<AbstractTerm> batch, URI vocabularyContext, String language) {
+        final StringBuilder content = new StringBuilder("<html><body>");
+        for (int i = 0; i < batch.size(); i++) {
+            content.append("<div id=\"").append(DEFINITION_ID_PREFIX).append(i).append("\">")
+                   .append(HtmlUtils.htmlEscape(batch.get(i).getDefinition().get(language))).append("</div>");
+        }
+        content.append("</body></html>");
+        final TextAnalysisInput input = new TextAnalysisInput(content.toString(), language,
+                                                              URI.create(config.getRepository().getUrl()));
+        input.addVocabularyContext(vocabularyContext);
+        LOG.debug("Analyzing definitions of {} terms in a single request.", batch.size());
+        final Document result;
+        try (final InputStream is = invokeTextAnalysisService(input).getInputStream()) {
+            result = Jsoup.parse(is, StandardCharsets.UTF_8.name(), "");
+        } catch (IOException e) {
+            throw new WebServiceIntegrationException("Unable to read text analysis result from response.", e);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            final Element definition = result.getElementById(DEFINITION_ID_PREFIX + i);
+            if (definition == null) {
+                // The service did not preserve the document structure, fall back to analysis of the single definition
+                LOG.warn("Definition of {} not found in batch analysis result, analyzing it separately.",
+                         batch.get(i));
+                analyzeTermDefinition(batch.get(i), vocabularyContext);
+                continue;
+            }
+            annotationGenerator.generateAnnotations(
+                    new ByteArrayInputStream(definition.html().getBytes(StandardCharsets.UTF_8)), batch.get(i));
+        }
+    }
 }
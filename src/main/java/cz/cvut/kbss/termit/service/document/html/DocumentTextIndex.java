@@ -0,0 +1,106 @@
+package cz.cvut.kbss.termit.service.document.html;
+
+import org.jsoup.nodes.Element;
+import org.jsoup.nodes.Node;
+import org.jsoup.nodes.TextNode;
+import org.jsoup.select.NodeTraversor;
+import org.jsoup.select.NodeVisitor;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Text content of an HTML document with offsets of its elements.
+ * <p>
+ * The text content is the concatenation of all text nodes of the document in document order (the same as {@link
+ * Element#wholeText()} of the document root). The index is computed in a single pass over the document, after which
+ * offsets and surrounding text of any element are available in constant time.
+ * <p>
+ * The index reflects the state of the document at the time of its creation, it does not follow subsequent
+ * modifications of the document.
+ */
+public class DocumentTextIndex {
+
+    private final String text;
+
+    private final Map<Node, int[]> ranges = new IdentityHashMap<>();
+
+    /**
+     * Creates index of the specified document.
+     *
+     * @param root Root of the document (or any subtree to index)
+     */
+    public DocumentTextIndex(Node root) {
+        Objects.requireNonNull(root);
+        final StringBuilder sb = new StringBuilder();
+        NodeTraversor.traverse(new NodeVisitor() {
+            @Override
+            public void head(Node node, int depth) {
+                if (node instanceof TextNode) {
+                    sb.append(((TextNode) node).getWholeText());
+                } else if (node instanceof Element) {
+                    ranges.put(node, new int[]{sb.length(), sb.length()});
+                }
+            }
+
+            @Override
+            public void tail(Node node, int depth) {
+                if (node instanceof Element) {
+                    ranges.get(node)[1] = sb.length();
+                }
+            }
+        }, root);
+        this.text = sb.toString();
+    }
+
+    private int[] range(Element element) {
+        final int[] range = ranges.get(element);
+        if (range == null) {
+            throw new IllegalArgumentException("Element " + element + " is not a part of the indexed document.");
+        }
+        return range;
+    }
+
+    /**
+     * Gets offset of the beginning of the specified element's text content in the document text.
+     *
+     * @param element Element from the indexed document
+     * @return Start offset
+     */
+    public int start(Element element) {
+        return range(element)[0];
+    }
+
+    /**
+     * Gets offset of the end (exclusive) of the specified element's text content in the document text.
+     *
+     * @param element Element from the indexed document
+     * @return End offset
+     */
+    public int end(Element element) {
+        return range(element)[1];
+    }
+
+    /**
+     * Gets at most the specified number of characters of document text immediately preceding the specified offset.
+     *
+     * @param offset Offset in the document text
+     * @param length Maximum length of the result
+     * @return Document text
+     */
+    public String textBefore(int offset, int length) {
+        return text.substring(Math.max(0, offset - length), offset);
+    }
+
+    /**
+     * Gets at most the specified number of characters of document text starting at the specified offset.
+     *
+     * @param offset Offset in the document text
+     * @param length Maximum length of the result
+     * @return Document text
+     */
+    public String textAfter(int offset, int length) {
+        return text.substring(offset, Math.min(text.length(), offset + length));
+    }
+}
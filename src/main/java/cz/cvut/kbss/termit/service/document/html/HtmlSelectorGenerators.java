@@ -45,8 +45,23 @@ public class HtmlSelectorGenerators {
      *
      * @param elements Elements to generate selectors for
      * @return Set of generated selectors
+     * @see #generateSelectors(DocumentTextIndex, Element...)
      */
     public Set<Selector> generateSelectors(Element... elements) {
-        return generators.stream().map(g -> g.generateSelector(elements)).collect(Collectors.toSet());
+        assert elements.length > 0;
+        return generateSelectors(new DocumentTextIndex(elements[0].root()), elements);
+    }
+
+    /**
+     * Generates selectors for the specified HTML/XML elements, using the specified text index of their document.
+     * <p>
+     * This allows generating selectors for many elements of a document without repeatedly traversing the document.
+     *
+     * @param index    Text index of the document containing the elements
+     * @param elements Elements to generate selectors for
+     * @return Set of generated selectors
+     */
+    public Set<Selector> generateSelectors(DocumentTextIndex index, Element... elements) {
+        return generators.stream().map(g -> g.generateSelector(index, elements)).collect(Collectors.toSet());
     }
 }
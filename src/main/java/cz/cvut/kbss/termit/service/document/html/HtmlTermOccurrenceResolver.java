@@ -37,10 +37,14 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
@@ -67,6 +71,8 @@ public class HtmlTermOccurrenceResolver extends TermOccurrenceResolver {
 
     private Map<String, List<Element>> annotatedElements;
 
+    private DocumentTextIndex textIndex;
+
     @Autowired
     HtmlTermOccurrenceResolver(TermRepositoryService termService, HtmlSelectorGenerators selectorGenerators,
                                DocumentManager documentManager, Configuration config) {
@@ -82,6 +88,8 @@ public class HtmlTermOccurrenceResolver extends TermOccurrenceResolver {
             this.source = source;
             this.document = Jsoup.parse(input, StandardCharsets.UTF_8.name(), "");
             this.prefixes = resolvePrefixes(document);
+            this.annotatedElements = null;
+            this.textIndex = null;
         } catch (IOException e) {
             throw new AnnotationGenerationException("Unable to read RDFa document.", e);
         }
@@ -97,6 +105,15 @@ public class HtmlTermOccurrenceResolver extends TermOccurrenceResolver {
         }
     }
 
+    @Override
+    public void writeContent(OutputStream out) throws IOException {
+        assert document != null;
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // Same serialization as Document.toString(), written without building the whole HTML string
+        document.html(writer);
+        writer.flush();
+    }
+
     private static Map<String, String> resolvePrefixes(Document document) {
         final Map<String, String> map = new HashMap<>(4);
         final Elements prefixElements = document.getElementsByAttribute(Constants.RDFa.PREFIX);
@@ -160,6 +177,9 @@ public class HtmlTermOccurrenceResolver extends TermOccurrenceResolver {
         if (annotatedElements == null) {
             mapRDFaTermOccurrenceAnnotations();
         }
+        if (textIndex == null) {
+            this.textIndex = new DocumentTextIndex(document);
+        }
         final List<TermOccurrence> result = new ArrayList<>(annotatedElements.size());
         final Double scoreThreshold = Double.parseDouble(config.getTextAnalysis().getTermOccurrenceMinScore());
         for (List<Element> elements : annotatedElements.values()) {
@@ -190,7 +210,8 @@ public class HtmlTermOccurrenceResolver extends TermOccurrenceResolver {
                     "Term with id " + termId + " denoted by RDFa element " + rdfaElem + " not found.");
         }
         final TermOccurrence occurrence = createOccurrence(termUri, source);
-        occurrence.getTarget().setSelectors(selectorGenerators.generateSelectors(rdfaElem.toArray(new Element[0])));
+        occurrence.getTarget().setSelectors(selectorGenerators.generateSelectors(textIndex,
+                                                                                rdfaElem.toArray(new Element[0])));
         final String strScore = rdfaElem.get(0).attr("score");
         if (!strScore.isEmpty()) {
             try {
@@ -16,8 +16,6 @@ package cz.cvut.kbss.termit.service.document.html;
 
 import cz.cvut.kbss.termit.model.selector.Selector;
 import org.jsoup.nodes.Element;
-import org.jsoup.nodes.Node;
-import org.jsoup.nodes.TextNode;
 
 /**
  * Generator of HTML/XML selectors.
@@ -37,6 +35,20 @@ interface SelectorGenerator {
      */
     Selector generateSelector(Element... elements);
 
+    /**
+     * Generates selector for the specified elements' content, using the specified index of the elements' document.
+     * <p>
+     * Callers generating selectors for multiple elements of the same document should prefer this method, as it avoids
+     * repeated traversal of the document.
+     *
+     * @param index    Text index of the document containing the elements
+     * @param elements Elements to generate selector for. At least one must be provided
+     * @return Selector for the text content of the specified elements
+     */
+    default Selector generateSelector(DocumentTextIndex index, Element... elements) {
+        return generateSelector(elements);
+    }
+
     /**
      * Extracts text content of the specified elements, joining them into one string.
      *
@@ -50,15 +62,4 @@ interface SelectorGenerator {
         }
         return sb.toString();
     }
-
-    default StringBuilder extractNodeText(Iterable<Node> nodes) {
-        final StringBuilder sb = new StringBuilder();
-        for (Node node : nodes) {
-            if (!(node instanceof TextNode) && !(node instanceof Element)) {
-                continue;
-            }
-            sb.append(node instanceof TextNode ? ((TextNode) node).getWholeText() : ((Element) node).wholeText());
-        }
-        return sb;
-    }
 }
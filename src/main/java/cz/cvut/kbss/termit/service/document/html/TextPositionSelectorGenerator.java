@@ -19,10 +19,6 @@ package cz.cvut.kbss.termit.service.document.html;
 
 import cz.cvut.kbss.termit.model.selector.TextPositionSelector;
 import org.jsoup.nodes.Element;
-import org.jsoup.nodes.Node;
-import org.jsoup.select.Elements;
-
-import java.util.List;
 
 /**
  * Generates a {@link TextPositionSelector} for the specified elements.
@@ -40,22 +36,19 @@ class TextPositionSelectorGenerator implements SelectorGenerator {
     @Override
     public TextPositionSelector generateSelector(Element... elements) {
         assert elements.length > 0;
-        final String textContent = extractExactText(elements);
-        final TextPositionSelector selector = new TextPositionSelector();
-        selector.setStart(resolveStartPosition(elements[0]));
-        selector.setEnd(selector.getStart() + textContent.length());
-        return selector;
+        return generateSelector(new DocumentTextIndex(elements[0].root()), elements);
     }
 
-    private int resolveStartPosition(Element element) {
-        final Elements ancestors = element.parents();
-        Element previous = element;
-        int counter = 0;
-        for (Element parent : ancestors) {
-            final List<Node> previousSiblings = parent.childNodes().subList(0, previous.siblingIndex());
-            counter += extractNodeText(previousSiblings).length();
-            previous = parent;
+    @Override
+    public TextPositionSelector generateSelector(DocumentTextIndex index, Element... elements) {
+        assert elements.length > 0;
+        int length = 0;
+        for (Element element : elements) {
+            length += index.end(element) - index.start(element);
         }
-        return counter;
+        final TextPositionSelector selector = new TextPositionSelector();
+        selector.setStart(index.start(elements[0]));
+        selector.setEnd(selector.getStart() + length);
+        return selector;
     }
 }
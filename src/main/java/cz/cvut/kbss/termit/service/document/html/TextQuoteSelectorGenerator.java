@@ -19,10 +19,6 @@ package cz.cvut.kbss.termit.service.document.html;
 
 import cz.cvut.kbss.termit.model.selector.TextQuoteSelector;
 import org.jsoup.nodes.Element;
-import org.jsoup.nodes.Node;
-
-import java.util.List;
-import java.util.Optional;
 
 /**
  * Generates a {@link TextQuoteSelector} for the specified elements' content.
@@ -41,43 +37,21 @@ class TextQuoteSelectorGenerator implements SelectorGenerator {
     @Override
     public TextQuoteSelector generateSelector(Element... elements) {
         assert elements.length > 0;
-        final TextQuoteSelector selector = new TextQuoteSelector(extractExactText(elements));
-        extractPrefix(elements[0]).ifPresent(selector::setPrefix);
-        extractSuffix(elements[elements.length - 1]).ifPresent(selector::setSuffix);
-        return selector;
+        return generateSelector(new DocumentTextIndex(elements[0].root()), elements);
     }
 
-    private Optional<String> extractPrefix(Element start) {
-        Element current = start;
-        Element previous = current;
-        StringBuilder sb = new StringBuilder();
-        while (current.hasParent()) {
-            current = current.parent();
-            final List<Node> previousSiblings = current.childNodes().subList(0, previous.siblingIndex());
-            sb = extractNodeText(previousSiblings).append(sb);
-            if (sb.length() >= CONTEXT_LENGTH) {
-                break;
-            }
-            previous = current;
+    @Override
+    public TextQuoteSelector generateSelector(DocumentTextIndex index, Element... elements) {
+        assert elements.length > 0;
+        final TextQuoteSelector selector = new TextQuoteSelector(extractExactText(elements));
+        final String prefix = index.textBefore(index.start(elements[0]), CONTEXT_LENGTH);
+        if (!prefix.isEmpty()) {
+            selector.setPrefix(prefix);
         }
-        return sb.length() > 0 ? Optional.of(sb.substring(Math.max(0, sb.length() - CONTEXT_LENGTH))) :
-               Optional.empty();
-    }
-
-    private Optional<String> extractSuffix(Element end) {
-        Element current = end;
-        Element previous = current;
-        StringBuilder sb = new StringBuilder();
-        while (current.hasParent()) {
-            current = current.parent();
-            final List<Node> previousSiblings = current.childNodes()
-                                                       .subList(previous.siblingIndex() + 1, current.childNodeSize());
-            sb.append(extractNodeText(previousSiblings));
-            if (sb.length() >= CONTEXT_LENGTH) {
-                break;
-            }
-            previous = current;
+        final String suffix = index.textAfter(index.end(elements[elements.length - 1]), CONTEXT_LENGTH);
+        if (!suffix.isEmpty()) {
+            selector.setSuffix(suffix);
         }
-        return sb.length() > 0 ? Optional.of(sb.substring(0, Math.min(sb.length(), CONTEXT_LENGTH))) : Optional.empty();
+        return selector;
     }
 }
@@ -19,15 +19,18 @@ package cz.cvut.kbss.termit.service.export;
 
 import cz.cvut.kbss.termit.model.Term;
 import cz.cvut.kbss.termit.model.Vocabulary;
-import cz.cvut.kbss.termit.service.export.util.TypeAwareByteArrayResource;
+import cz.cvut.kbss.termit.service.export.util.TypeAwareStreamingResource;
 import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
 import cz.cvut.kbss.termit.util.TypeAwareResource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import static cz.cvut.kbss.termit.util.CsvUtils.FILE_EXTENSION;
 import static cz.cvut.kbss.termit.util.CsvUtils.MEDIA_TYPE;
@@ -45,10 +48,24 @@ public class CsvVocabularyExporter implements VocabularyExporter {
     @Override
     public TypeAwareResource exportGlossary(Vocabulary vocabulary) {
         Objects.requireNonNull(vocabulary);
-        final StringBuilder export = new StringBuilder(String.join(",", Term.EXPORT_COLUMNS));
-        final List<Term> terms = termService.findAllFull(vocabulary);
-        terms.forEach(t -> export.append('\n').append(t.toCsv()));
-        return new TypeAwareByteArrayResource(export.toString().getBytes(), MEDIA_TYPE, FILE_EXTENSION);
+        return new TypeAwareStreamingResource(out -> writeGlossary(vocabulary, out), MEDIA_TYPE, FILE_EXTENSION);
+    }
+
+    /**
+     * Writes the glossary as CSV row by row into the specified stream, loading terms lazily.
+     */
+    private void writeGlossary(Vocabulary vocabulary, OutputStream out) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", Term.EXPORT_COLUMNS));
+        try (final Stream<Term> terms = termService.streamAllFull(vocabulary)) {
+            final Iterator<Term> it = terms.iterator();
+            while (it.hasNext()) {
+                writer.write('\n');
+                writer.write(it.next().toCsv());
+            }
+        }
+        // Flush, but do not close, the target stream is managed by the caller
+        writer.flush();
     }
 
     @Override
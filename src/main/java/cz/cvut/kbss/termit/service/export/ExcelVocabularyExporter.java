@@ -20,20 +20,21 @@ package cz.cvut.kbss.termit.service.export;
 import cz.cvut.kbss.termit.exception.TermItException;
 import cz.cvut.kbss.termit.model.Term;
 import cz.cvut.kbss.termit.model.Vocabulary;
-import cz.cvut.kbss.termit.service.export.util.TypeAwareByteArrayResource;
+import cz.cvut.kbss.termit.service.export.util.TypeAwareStreamingResource;
 import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
 import cz.cvut.kbss.termit.util.TypeAwareResource;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Collection;
-import java.util.List;
+import java.util.Iterator;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import static cz.cvut.kbss.termit.util.Constants.Excel.FILE_EXTENSION;
 import static cz.cvut.kbss.termit.util.Constants.Excel.MEDIA_TYPE;
@@ -49,6 +50,11 @@ public class ExcelVocabularyExporter implements VocabularyExporter {
      */
     static final String SHEET_NAME = "Glossary";
 
+    /**
+     * Number of rows kept in memory when generating the workbook
+     */
+    private static final int ROW_WINDOW_SIZE = 100;
+
     private final TermRepositoryService termService;
 
     @Autowired
@@ -59,13 +65,25 @@ public class ExcelVocabularyExporter implements VocabularyExporter {
     @Override
     public TypeAwareResource exportGlossary(Vocabulary vocabulary) {
         Objects.requireNonNull(vocabulary);
-        try (final XSSFWorkbook wb = new XSSFWorkbook()) {
-            final Sheet sheet = wb.createSheet(SHEET_NAME);
-            generateHeaderRow(sheet);
-            generateTermRows(termService.findAllFull(vocabulary), sheet);
-            final ByteArrayOutputStream bos = new ByteArrayOutputStream();
-            wb.write(bos);
-            return new TypeAwareByteArrayResource(bos.toByteArray(), MEDIA_TYPE, FILE_EXTENSION);
+        return new TypeAwareStreamingResource(out -> writeGlossary(vocabulary, out), MEDIA_TYPE, FILE_EXTENSION);
+    }
+
+    /**
+     * Generates the glossary using a streaming workbook, which keeps only a window of rows in memory and flushes the
+     * rest to a temporary file, and writes it into the specified stream.
+     */
+    private void writeGlossary(Vocabulary vocabulary, OutputStream out) {
+        try (final SXSSFWorkbook wb = new SXSSFWorkbook(ROW_WINDOW_SIZE);
+             final Stream<Term> terms = termService.streamAllFull(vocabulary)) {
+            try {
+                final Sheet sheet = wb.createSheet(SHEET_NAME);
+                generateHeaderRow(sheet);
+                generateTermRows(terms.iterator(), sheet);
+                wb.write(out);
+            } finally {
+                // Remove temporary files backing the flushed rows
+                wb.dispose();
+            }
         } catch (IOException e) {
             throw new TermItException("Unable to generate excel file from glossary of " + vocabulary, e);
         }
@@ -78,11 +96,12 @@ public class ExcelVocabularyExporter implements VocabularyExporter {
         }
     }
 
-    private static void generateTermRows(List<Term> terms, Sheet sheet) {
+    private static void generateTermRows(Iterator<Term> terms, Sheet sheet) {
         // Row no. 0 is the header
-        for (int i = 0; i < terms.size(); i++) {
-            final Row row = sheet.createRow(i + 1);
-            terms.get(i).toExcel(row);
+        int i = 1;
+        while (terms.hasNext()) {
+            final Row row = sheet.createRow(i++);
+            terms.next().toExcel(row);
         }
     }
 
@@ -2,14 +2,13 @@ package cz.cvut.kbss.termit.service.export;
 
 import cz.cvut.kbss.termit.model.Vocabulary;
 import cz.cvut.kbss.termit.persistence.dao.skos.SKOSExporter;
-import cz.cvut.kbss.termit.service.export.util.TypeAwareByteArrayResource;
+import cz.cvut.kbss.termit.service.export.util.TypeAwareStreamingResource;
 import cz.cvut.kbss.termit.util.TypeAwareResource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Objects;
@@ -39,30 +38,26 @@ public class SKOSVocabularyExporter implements VocabularyExporter {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public TypeAwareResource exportGlossary(Vocabulary vocabulary) {
         Objects.requireNonNull(vocabulary);
-        LOG.debug("Exporting glossary of vocabulary {} to SKOS.", vocabulary);
-        final SKOSExporter skosExporter = getSKOSExporter();
-        skosExporter.exportGlossary(vocabulary);
-        final TypeAwareResource res = new TypeAwareByteArrayResource(skosExporter.exportAsTtl(), Turtle.MEDIA_TYPE, Turtle.FILE_EXTENSION);
-        LOG.trace("Export finished successfully.");
-        return res;
+        return new TypeAwareStreamingResource(out -> {
+            LOG.debug("Exporting glossary of vocabulary {} to SKOS.", vocabulary);
+            getSKOSExporter().exportGlossary(vocabulary, out);
+            LOG.trace("Export finished successfully.");
+        }, Turtle.MEDIA_TYPE, Turtle.FILE_EXTENSION);
     }
 
-    @Transactional(readOnly = true)
     @Override
     public TypeAwareResource exportGlossaryWithReferences(Vocabulary vocabulary,
                                                           Collection<String> properties) {
         Objects.requireNonNull(vocabulary);
         Objects.requireNonNull(properties);
-        LOG.debug("Exporting glossary of vocabulary {} to SKOS, " +
-                "including any external terms referenced via one of the following properties: {}.", vocabulary, properties);
-        final SKOSExporter skosExporter = getSKOSExporter();
-        skosExporter.exportGlossaryWithReferences(vocabulary, properties);
-        final TypeAwareResource res = new TypeAwareByteArrayResource(skosExporter.exportAsTtl(), Turtle.MEDIA_TYPE, Turtle.FILE_EXTENSION);
-        LOG.trace("Export finished successfully.");
-        return res;
+        return new TypeAwareStreamingResource(out -> {
+            LOG.debug("Exporting glossary of vocabulary {} to SKOS, " +
+                    "including any external terms referenced via one of the following properties: {}.", vocabulary, properties);
+            getSKOSExporter().exportGlossaryWithReferences(vocabulary, properties, out);
+            LOG.trace("Export finished successfully.");
+        }, Turtle.MEDIA_TYPE, Turtle.FILE_EXTENSION);
     }
 
     @Override
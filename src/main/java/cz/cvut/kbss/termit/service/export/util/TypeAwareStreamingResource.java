@@ -0,0 +1,109 @@
+/**
+ * TermIt
+ * Copyright (C) 2019 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.termit.service.export.util;
+
+import cz.cvut.kbss.termit.util.TypeAwareResource;
+import org.springframework.core.io.AbstractResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@link TypeAwareResource} whose content is generated on demand by writing it directly into an output stream.
+ * <p>
+ * The content is never held in memory as a whole when transferred using {@link #writeTo(OutputStream)}, so this
+ * resource is suitable for large exports written straight into an HTTP response. {@link #getInputStream()} is supported
+ * for compatibility with generic {@link org.springframework.core.io.Resource} consumers, but it buffers the whole
+ * content.
+ */
+public class TypeAwareStreamingResource extends AbstractResource implements TypeAwareResource {
+
+    private final ContentWriter writer;
+    private final String mediaType;
+    private final String fileExtension;
+
+    public TypeAwareStreamingResource(ContentWriter writer, String mediaType, String fileExtension) {
+        this.writer = Objects.requireNonNull(writer);
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Writes content of this resource into the specified output stream.
+     * <p>
+     * The output stream is not closed by this method.
+     *
+     * @param out Stream to write the content into
+     * @throws IOException When writing the content fails
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        writer.write(out);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        writeTo(bos);
+        return new ByteArrayInputStream(bos.toByteArray());
+    }
+
+    @Override
+    public String getDescription() {
+        return "Streaming resource [" + mediaType + "]";
+    }
+
+    @Override
+    public Optional<String> getMediaType() {
+        return Optional.ofNullable(mediaType);
+    }
+
+    @Override
+    public Optional<String> getFileExtension() {
+        return Optional.ofNullable(fileExtension);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * Generates resource content into an output stream.
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+
+        /**
+         * Writes the content into the specified output stream, without closing it.
+         *
+         * @param out Target stream
+         * @throws IOException When writing fails
+         */
+        void write(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * TermIt Copyright (C) 2019 Czech Technical University in Prague
+ * <p>
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.termit.service.jmx;
+
+import cz.cvut.kbss.termit.persistence.dao.util.CacheRegistry;
+import cz.cvut.kbss.termit.persistence.dao.util.CacheStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToLongFunction;
+
+@Component
+@ManagedResource(objectName = "bean:name=TermItCacheStatisticsBean",
+                 description = "Statistics of TermIt application data caches.")
+@Profile("!test")
+public class CacheStatisticsBean {
+
+    private final CacheRegistry cacheRegistry;
+
+    @Autowired
+    public CacheStatisticsBean(CacheRegistry cacheRegistry) {
+        this.cacheRegistry = cacheRegistry;
+    }
+
+    @ManagedAttribute(description = "Statistics of individual caches.")
+    public String[] getStatistics() {
+        return cacheRegistry.getStatistics().stream().map(CacheStatistics::toString).toArray(String[]::new);
+    }
+
+    @ManagedAttribute(description = "Total number of entries in the caches.")
+    public long getSize() {
+        return sum(CacheStatistics::getSize);
+    }
+
+    @ManagedAttribute(description = "Total number of cache hits.")
+    public long getHitCount() {
+        return sum(CacheStatistics::getHitCount);
+    }
+
+    @ManagedAttribute(description = "Total number of cache misses.")
+    public long getMissCount() {
+        return sum(CacheStatistics::getMissCount);
+    }
+
+    @ManagedAttribute(description = "Total number of entries evicted due to size limit or expiration.")
+    public long getEvictionCount() {
+        return sum(CacheStatistics::getEvictionCount);
+    }
+
+    private long sum(ToLongFunction<CacheStatistics> attribute) {
+        return cacheRegistry.getStatistics().stream().mapToLong(attribute).sum();
+    }
+}
@@ -0,0 +1,254 @@
+package cz.cvut.kbss.termit.service.job;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import cz.cvut.kbss.termit.service.export.util.TypeAwareStreamingResource;
+import cz.cvut.kbss.termit.util.TypeAwareResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.Future;
+
+/**
+ * Background job, e.g., vocabulary import, export or text analysis.
+ * <p>
+ * Besides its state and progress, a job may hold a result. The result is either an identifier of the asset created or
+ * modified by the job (e.g., the imported vocabulary), or a file produced by the job (e.g., an export).
+ */
+public class Job {
+
+    private final String id;
+
+    private final String type;
+
+    private final URI subject;
+
+    private final URI owner;
+
+    private final Instant created = Instant.now();
+
+    private volatile Instant started;
+
+    private volatile Instant finished;
+
+    private volatile JobStatus status = JobStatus.PENDING;
+
+    private volatile long processed;
+
+    private volatile long total;
+
+    private volatile String message;
+
+    private volatile URI result;
+
+    private volatile Path resultFile;
+
+    private volatile String resultMediaType;
+
+    private volatile String resultFileName;
+
+    private volatile Future<?> future;
+
+    private volatile boolean cancelRequested;
+
+    public Job(String id, String type, URI subject, URI owner) {
+        this.id = id;
+        this.type = type;
+        this.subject = subject;
+        this.owner = owner;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Kind of the job, e.g., vocabulary import.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Identifier of the asset the job concerns, if known.
+     */
+    public URI getSubject() {
+        return subject;
+    }
+
+    @JsonIgnore
+    public URI getOwner() {
+        return owner;
+    }
+
+    public Instant getCreated() {
+        return created;
+    }
+
+    public Instant getStarted() {
+        return started;
+    }
+
+    public Instant getFinished() {
+        return finished;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Number of items (e.g., statements, terms) already processed by the job.
+     */
+    public long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * Total number of items to be processed by the job, 0 if not known (yet).
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Error message in case the job failed.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Identifier of the asset created or modified by the job.
+     */
+    public URI getResult() {
+        return result;
+    }
+
+    public void setResult(URI result) {
+        this.result = result;
+    }
+
+    /**
+     * Whether the job produced a file which can be downloaded.
+     */
+    public boolean isResultFileAvailable() {
+        return resultFile != null;
+    }
+
+    @JsonIgnore
+    public Optional<Path> getResultFile() {
+        return Optional.ofNullable(resultFile);
+    }
+
+    @JsonIgnore
+    public String getResultMediaType() {
+        return resultMediaType;
+    }
+
+    @JsonIgnore
+    public String getResultFileName() {
+        return resultFileName;
+    }
+
+    /**
+     * Writes the specified resource into a temporary file which becomes the result of this job.
+     *
+     * @param resource  Resource to store
+     * @param mediaType Media type of the resource
+     * @param fileName  Name of the file under which the result should be provided to the client
+     * @throws IOException When the resource cannot be written
+     */
+    public void storeResult(TypeAwareResource resource, String mediaType, String fileName) throws IOException {
+        final Path file = Files.createTempFile("termit-job-" + id, resource.getFileExtension().orElse(""));
+        try {
+            if (resource instanceof TypeAwareStreamingResource) {
+                try (final OutputStream out = Files.newOutputStream(file)) {
+                    ((TypeAwareStreamingResource) resource).writeTo(out);
+                }
+            } else {
+                try (final InputStream in = resource.getInputStream()) {
+                    Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        this.resultMediaType = mediaType;
+        this.resultFileName = fileName;
+        this.resultFile = file;
+    }
+
+    void progress(long processed, long total) {
+        this.processed = processed;
+        this.total = total;
+    }
+
+    void setFuture(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * Marks this job as running, unless it has been cancelled before execution.
+     *
+     * @return {@code true} if the job can be executed, {@code false} otherwise
+     */
+    synchronized boolean start() {
+        if (status != JobStatus.PENDING) {
+            return false;
+        }
+        this.started = Instant.now();
+        this.status = JobStatus.RUNNING;
+        return true;
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    void finish(JobStatus status, String message) {
+        this.message = message;
+        this.finished = Instant.now();
+        this.status = status;
+    }
+
+    /**
+     * Cancels execution of this job.
+     *
+     * @return {@code true} if the job was cancelled, {@code false} if it has already finished
+     */
+    synchronized boolean cancel() {
+        if (status.isDone()) {
+            return false;
+        }
+        this.cancelRequested = true;
+        if (future != null) {
+            future.cancel(true);
+        }
+        if (status == JobStatus.PENDING) {
+            // The job will never start, so it has to be marked as finished here
+            finish(JobStatus.CANCELLED, null);
+        }
+        return true;
+    }
+
+    void deleteResult() throws IOException {
+        final Path file = resultFile;
+        this.resultFile = null;
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Job{" + type + " <" + id + ">, status=" + status + '}';
+    }
+}
@@ -0,0 +1,193 @@
+package cz.cvut.kbss.termit.service.job;
+
+import cz.cvut.kbss.termit.exception.JobRejectedException;
+import cz.cvut.kbss.termit.exception.NotFoundException;
+import cz.cvut.kbss.termit.model.UserAccount;
+import cz.cvut.kbss.termit.service.security.SecurityUtils;
+import cz.cvut.kbss.termit.util.Configuration;
+import cz.cvut.kbss.termit.util.JobProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Executes long-running operations (imports, exports, text analysis) as background jobs.
+ * <p>
+ * Jobs are executed by a dedicated bounded thread pool, so that the number of concurrently running heavy operations is
+ * limited. Information about finished jobs (and their results) is kept for a configurable time.
+ * <p>
+ * Jobs are available only to the user who submitted them (and administrators).
+ */
+@Service
+public class JobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobService.class);
+
+    private final Configuration.Jobs config;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private ThreadPoolTaskExecutor executor;
+
+    private DelegatingSecurityContextAsyncTaskExecutor securedExecutor;
+
+    @Autowired
+    public JobService(Configuration config) {
+        this.config = config.getJobs();
+    }
+
+    @PostConstruct
+    void initExecutor() {
+        this.executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(config.getMaxConcurrent());
+        executor.setMaxPoolSize(config.getMaxConcurrent());
+        executor.setQueueCapacity(config.getQueueCapacity());
+        executor.setThreadNamePrefix("termit-job-");
+        executor.initialize();
+        // Jobs run on behalf of the user who submitted them
+        this.securedExecutor = new DelegatingSecurityContextAsyncTaskExecutor(executor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+        jobs.values().forEach(this::deleteResult);
+    }
+
+    /**
+     * Submits the specified task for background execution.
+     *
+     * @param type    Type of the job
+     * @param subject Identifier of the asset the job concerns, optional
+     * @param task    Work to execute
+     * @return The submitted job
+     * @throws JobRejectedException If the job cannot be accepted because too many jobs are waiting for execution
+     */
+    public Job submit(String type, URI subject, JobTask task) {
+        Objects.requireNonNull(type);
+        Objects.requireNonNull(task);
+        final Job job = new Job(UUID.randomUUID().toString(), type, subject, SecurityUtils.currentUser().getUri());
+        jobs.put(job.getId(), job);
+        try {
+            job.setFuture(securedExecutor.submit(() -> execute(job, task)));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getId());
+            throw new JobRejectedException("Too many jobs are waiting for execution, try again later.", e);
+        }
+        LOG.debug("Submitted {}.", job);
+        return job;
+    }
+
+    private static void execute(Job job, JobTask task) {
+        if (!job.start()) {
+            return;
+        }
+        LOG.debug("Executing {}.", job);
+        JobProgress.bind(job::progress);
+        try {
+            task.execute(job);
+            job.finish(job.isCancelRequested() ? JobStatus.CANCELLED : JobStatus.FINISHED, null);
+        } catch (Exception e) {
+            if (job.isCancelRequested()) {
+                job.finish(JobStatus.CANCELLED, null);
+            } else {
+                LOG.error("Execution of {} failed.", job, e);
+                job.finish(JobStatus.FAILED, e.getMessage());
+            }
+        } finally {
+            JobProgress.unbind();
+            // Clear possible interruption caused by cancellation before the thread is reused
+            Thread.interrupted();
+        }
+        LOG.debug("{} done.", job);
+    }
+
+    /**
+     * Gets all jobs accessible to the current user, ordered by creation time (the latest first).
+     *
+     * @return List of jobs
+     */
+    public List<Job> findAll() {
+        final UserAccount user = SecurityUtils.currentUser();
+        return jobs.values().stream().filter(j -> isAccessible(j, user))
+                   .sorted(Comparator.comparing(Job::getCreated).reversed())
+                   .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets job with the specified identifier.
+     *
+     * @param id Job identifier
+     * @return Matching job
+     * @throws NotFoundException If no such job exists or it is not accessible to the current user
+     */
+    public Job findRequired(String id) {
+        final Job job = jobs.get(id);
+        if (job == null || !isAccessible(job, SecurityUtils.currentUser())) {
+            throw NotFoundException.create(Job.class.getSimpleName(), id);
+        }
+        return job;
+    }
+
+    private static boolean isAccessible(Job job, UserAccount user) {
+        return user.isAdmin() || Objects.equals(job.getOwner(), user.getUri());
+    }
+
+    /**
+     * Cancels job with the specified identifier.
+     * <p>
+     * Cancelling an already finished job has no effect.
+     *
+     * @param id Job identifier
+     * @return The cancelled job
+     */
+    public Job cancel(String id) {
+        final Job job = findRequired(id);
+        if (job.cancel()) {
+            LOG.debug("Cancelled {}.", job);
+        }
+        return job;
+    }
+
+    /**
+     * Removes finished jobs older than the configured retention period, including their results.
+     */
+    @Scheduled(fixedDelay = 60 * 1000)
+    public void evictExpiredJobs() {
+        final Instant threshold = Instant.now().minus(Duration.ofMinutes(config.getRetention()));
+        jobs.values().removeIf(j -> {
+            if (j.getStatus().isDone() && j.getFinished() != null && j.getFinished().isBefore(threshold)) {
+                deleteResult(j);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void deleteResult(Job job) {
+        try {
+            job.deleteResult();
+        } catch (IOException e) {
+            LOG.warn("Unable to delete result of {}.", job, e);
+        }
+    }
+}
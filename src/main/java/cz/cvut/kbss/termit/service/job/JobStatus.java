@@ -0,0 +1,36 @@
+package cz.cvut.kbss.termit.service.job;
+
+/**
+ * Lifecycle states of a background {@link Job}.
+ */
+public enum JobStatus {
+    /**
+     * Job is waiting for execution.
+     */
+    PENDING,
+    /**
+     * Job is being executed.
+     */
+    RUNNING,
+    /**
+     * Job finished successfully.
+     */
+    FINISHED,
+    /**
+     * Job execution failed.
+     */
+    FAILED,
+    /**
+     * Job was cancelled before it finished.
+     */
+    CANCELLED;
+
+    /**
+     * Whether this status represents a final state of a job.
+     *
+     * @return {@code true} if the job is no longer running nor waiting for execution
+     */
+    public boolean isDone() {
+        return this != PENDING && this != RUNNING;
+    }
+}
@@ -0,0 +1,19 @@
+package cz.cvut.kbss.termit.service.job;
+
+/**
+ * Work executed by a background {@link Job}.
+ * <p>
+ * Tasks report progress via {@link cz.cvut.kbss.termit.util.JobProgress} and should check {@link
+ * cz.cvut.kbss.termit.util.JobProgress#isCancelled()} regularly, so that they can be stopped when the job is cancelled.
+ */
+@FunctionalInterface
+public interface JobTask {
+
+    /**
+     * Executes the task.
+     *
+     * @param job The job executing this task, used to store the result
+     * @throws Exception When the task fails
+     */
+    void execute(Job job) throws Exception;
+}
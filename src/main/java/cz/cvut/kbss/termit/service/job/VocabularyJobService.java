@@ -0,0 +1,144 @@
+package cz.cvut.kbss.termit.service.job;
+
+import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.exception.TermItException;
+import cz.cvut.kbss.termit.exception.UnsupportedOperationException;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import cz.cvut.kbss.termit.service.IdentifierResolver;
+import cz.cvut.kbss.termit.service.business.TermService;
+import cz.cvut.kbss.termit.service.business.VocabularyService;
+import cz.cvut.kbss.termit.util.JobProgress;
+import cz.cvut.kbss.termit.util.TypeAwareResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Submits vocabulary-related operations (import, export, text analysis) as background jobs.
+ */
+@Service
+public class VocabularyJobService {
+
+    public static final String IMPORT_JOB = "vocabulary-import";
+    public static final String EXPORT_JOB = "vocabulary-export";
+    public static final String TEXT_ANALYSIS_JOB = "text-analysis";
+
+    private final JobService jobService;
+
+    private final VocabularyService vocabularyService;
+
+    private final TermService termService;
+
+    @Autowired
+    public VocabularyJobService(JobService jobService, VocabularyService vocabularyService, TermService termService) {
+        this.jobService = jobService;
+        this.vocabularyService = vocabularyService;
+        this.termService = termService;
+    }
+
+    /**
+     * Submits import of a vocabulary from the specified file.
+     * <p>
+     * The uploaded file is copied into a temporary file, because it is not available after the request is processed.
+     * When finished, the job result is the identifier of the imported vocabulary.
+     *
+     * @param rename        Whether IRIs should be modified in order to prevent clashes with existing data
+     * @param vocabularyIri Identifier of the vocabulary to re-import, optional
+     * @param file          File containing data to import
+     * @return The submitted job
+     * @see VocabularyService#importVocabulary(boolean, URI, MultipartFile)
+     */
+    public Job importVocabulary(boolean rename, URI vocabularyIri, MultipartFile file) {
+        Objects.requireNonNull(file);
+        final String fileName = file.getName();
+        final String contentType = file.getContentType();
+        final Path data = copyToTemporaryFile(file);
+        try {
+            return jobService.submit(IMPORT_JOB, vocabularyIri, job -> {
+                try {
+                    final Vocabulary vocabulary = vocabularyService.importVocabulary(rename, vocabularyIri, fileName,
+                                                                                     contentType,
+                                                                                     new FileSystemResource(data));
+                    job.setResult(vocabulary.getUri());
+                } finally {
+                    Files.deleteIfExists(data);
+                }
+            });
+        } catch (RuntimeException e) {
+            deleteQuietly(data);
+            throw e;
+        }
+    }
+
+    private static Path copyToTemporaryFile(MultipartFile file) {
+        try {
+            final Path data = Files.createTempFile("termit-import-", null);
+            file.transferTo(data);
+            return data;
+        } catch (IOException e) {
+            throw new TermItException("Unable to store imported file.", e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // Nothing to do, the file resides in a temporary directory anyway
+        }
+    }
+
+    /**
+     * Submits export of glossary of the specified vocabulary into the specified media type.
+     * <p>
+     * When finished, the exported file is available as the job result.
+     *
+     * @param vocabulary Vocabulary to export
+     * @param mediaType  Media type of the export
+     * @return The submitted job
+     * @throws UnsupportedOperationException If export into the specified media type is not supported
+     */
+    public Job exportGlossary(Vocabulary vocabulary, String mediaType) {
+        Objects.requireNonNull(vocabulary);
+        final TypeAwareResource export = termService.exportGlossary(vocabulary, mediaType).orElseThrow(
+                () -> new UnsupportedOperationException("Export to media type " + mediaType + " is not supported."));
+        final String fileName = IdentifierResolver.extractIdentifierFragment(vocabulary.getUri()) +
+                export.getFileExtension().orElse("");
+        return jobService.submit(EXPORT_JOB, vocabulary.getUri(),
+                                 job -> job.storeResult(export, mediaType, fileName));
+    }
+
+    /**
+     * Submits text analysis of definitions of all terms in the specified vocabulary, including terms in the
+     * transitively imported vocabularies.
+     * <p>
+     * Progress of the job is the number of analyzed terms.
+     *
+     * @param vocabulary Vocabulary to analyze
+     * @return The submitted job
+     * @see VocabularyService#runTextAnalysisOnAllTerms(Vocabulary)
+     */
+    public Job runTextAnalysisOnAllTerms(Vocabulary vocabulary) {
+        Objects.requireNonNull(vocabulary);
+        return jobService.submit(TEXT_ANALYSIS_JOB, vocabulary.getUri(), job -> {
+            final List<TermDto> allTerms = termService.findAll(vocabulary);
+            vocabularyService.getTransitivelyImportedVocabularies(vocabulary).forEach(
+                    imported -> allTerms.addAll(termService.findAll(vocabularyService.getRequiredReference(imported))));
+            final List<TermDto> toAnalyze = allTerms.stream().filter(t -> t.getDefinition() != null)
+                                                    .collect(Collectors.toList());
+            for (int i = 0; i < toAnalyze.size() && !JobProgress.isCancelled(); i++) {
+                termService.analyzeTermDefinition(toAnalyze.get(i), vocabulary.getUri());
+                JobProgress.report(i + 1, toAnalyze.size());
+            }
+        });
+    }
+}
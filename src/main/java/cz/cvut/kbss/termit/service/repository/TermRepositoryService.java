@@ -18,7 +18,9 @@ import cz.cvut.kbss.jopa.model.MultilingualString;
 import cz.cvut.kbss.termit.dto.TermInfo;
 import cz.cvut.kbss.termit.dto.TermStatus;
 import cz.cvut.kbss.termit.dto.assignment.TermOccurrences;
+import cz.cvut.kbss.termit.dto.listing.TermCursor;
 import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.dto.listing.TermPage;
 import cz.cvut.kbss.termit.exception.DisabledOperationException;
 import cz.cvut.kbss.termit.exception.NotFoundException;
 import cz.cvut.kbss.termit.exception.TermRemovalException;
@@ -42,8 +44,10 @@ import javax.validation.Validator;
 import java.net.URI;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
@@ -212,6 +216,21 @@ public class TermRepositoryService extends BaseAssetRepositoryService<Term> {
         return termDao.findAllFull(vocabulary).stream().map(this::postLoad).collect(toList());
     }
 
+    /**
+     * Gets a stream of all terms from a vocabulary, regardless of their position in the term hierarchy.
+     * <p>
+     * This is a lazy variant of {@link #findAllFull(Vocabulary)}. Terms are loaded from the repository in batches as
+     * the stream is consumed, so it is suitable for processing large vocabularies (e.g., export) with memory footprint
+     * independent of the vocabulary size.
+     *
+     * @param vocabulary Vocabulary whose terms should be returned
+     * @return Stream of full terms ordered by label
+     * @see #findAllFull(Vocabulary)
+     */
+    public Stream<Term> streamAllFull(Vocabulary vocabulary) {
+        return termDao.streamAllFull(vocabulary).map(this::postLoad);
+    }
+
     /**
      * Checks whether the vocabulary contains any terms or not.
      *
@@ -284,6 +303,50 @@ public class TermRepositoryService extends BaseAssetRepositoryService<Term> {
         return termDao.findAllRootsIncludingImports(vocabulary, pageSpec, includeTerms);
     }
 
+    /**
+     * Finds a page of root terms (terms without parent term) in the specified vocabulary, starting right after the
+     * specified cursor.
+     *
+     * @param vocabulary   Vocabulary whose terms should be returned
+     * @param after        Cursor after which the page starts, {@code null} for the first page
+     * @param limit        Maximum number of terms on the page
+     * @param includeTerms Identifiers of terms which should be a part of the result. Optional
+     * @return Page of matching root terms
+     */
+    @Transactional(readOnly = true)
+    public TermPage findAllRoots(Vocabulary vocabulary, TermCursor after, int limit, Collection<URI> includeTerms) {
+        return termDao.findAllRoots(vocabulary, after, limit, includeTerms);
+    }
+
+    /**
+     * Finds a page of root terms (terms without parent term), starting right after the specified cursor.
+     *
+     * @param after        Cursor after which the page starts, {@code null} for the first page
+     * @param limit        Maximum number of terms on the page
+     * @param includeTerms Identifiers of terms which should be a part of the result. Optional
+     * @return Page of matching root terms
+     */
+    @Transactional(readOnly = true)
+    public TermPage findAllRoots(TermCursor after, int limit, Collection<URI> includeTerms) {
+        return termDao.findAllRoots(after, limit, includeTerms);
+    }
+
+    /**
+     * Finds a page of root terms (terms without parent term) in the specified vocabulary or any of its imported
+     * vocabularies, starting right after the specified cursor.
+     *
+     * @param vocabulary   Base vocabulary for the vocabulary import closure
+     * @param after        Cursor after which the page starts, {@code null} for the first page
+     * @param limit        Maximum number of terms on the page
+     * @param includeTerms Identifiers of terms which should be a part of the result. Optional
+     * @return Page of matching root terms
+     */
+    @Transactional(readOnly = true)
+    public TermPage findAllRootsIncludingImported(Vocabulary vocabulary, TermCursor after, int limit,
+                                                  Collection<URI> includeTerms) {
+        return termDao.findAllRootsIncludingImports(vocabulary, after, limit, includeTerms);
+    }
+
     /**
      * Finds all terms which match the specified search string in the specified vocabulary.
      *
@@ -333,6 +396,17 @@ public class TermRepositoryService extends BaseAssetRepositoryService<Term> {
         return termDao.existsInVocabulary(label, vocabulary, language);
     }
 
+    /**
+     * Gets preferred and alternative labels (in the configured language) of all terms in the specified vocabularies.
+     *
+     * @param vocabularies Identifiers of vocabularies whose terms' labels should be returned
+     * @return Map of term identifiers to their labels
+     */
+    @Transactional(readOnly = true)
+    public Map<URI, Set<String>> findAllLabels(Collection<URI> vocabularies) {
+        return termDao.findAllLabels(vocabularies);
+    }
+
     /**
      * Retrieves aggregated information about the specified Term's occurrences in Resources and other Terms
      * definitions.
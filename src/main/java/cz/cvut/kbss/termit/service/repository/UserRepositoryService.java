@@ -14,6 +14,7 @@
  */
 package cz.cvut.kbss.termit.service.repository;
 
+import cz.cvut.kbss.termit.event.UserAccountUpdateEvent;
 import cz.cvut.kbss.termit.exception.NotFoundException;
 import cz.cvut.kbss.termit.model.UserAccount;
 import cz.cvut.kbss.termit.persistence.dao.GenericDao;
@@ -21,6 +22,7 @@ import cz.cvut.kbss.termit.persistence.dao.UserAccountDao;
 import cz.cvut.kbss.termit.service.IdentifierResolver;
 import cz.cvut.kbss.termit.util.Configuration;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -35,16 +37,19 @@ public class UserRepositoryService extends BaseRepositoryService<UserAccount> {
 
     private final PasswordEncoder passwordEncoder;
 
+    private final ApplicationEventPublisher eventPublisher;
+
     private Configuration.Namespace cfgNamespace;
 
     @Autowired
     public UserRepositoryService(UserAccountDao userAccountDao, IdentifierResolver idResolver,
                                  PasswordEncoder passwordEncoder, Validator validator,
-                                 Configuration config) {
+                                 Configuration config, ApplicationEventPublisher eventPublisher) {
         super(validator);
         this.userAccountDao = userAccountDao;
         this.idResolver = idResolver;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
         this.cfgNamespace = config.getNamespace();
     }
 
@@ -93,6 +98,11 @@ public class UserRepositoryService extends BaseRepositoryService<UserAccount> {
         validate(instance);
     }
 
+    @Override
+    protected void postUpdate(UserAccount instance) {
+        eventPublisher.publishEvent(new UserAccountUpdateEvent(instance));
+    }
+
     /**
      * Checks whether an admin account exists in the system.
      *
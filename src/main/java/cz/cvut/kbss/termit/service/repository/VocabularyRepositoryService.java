@@ -2,6 +2,7 @@ package cz.cvut.kbss.termit.service.repository;
 
 import cz.cvut.kbss.termit.dto.AggregatedChangeInfo;
 import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.event.CacheInvalidationEvent;
 import cz.cvut.kbss.termit.exception.AssetRemovalException;
 import cz.cvut.kbss.termit.exception.VocabularyImportException;
 import cz.cvut.kbss.termit.model.Glossary;
@@ -28,9 +29,11 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.validation.Validator;
@@ -88,7 +91,20 @@ public class VocabularyRepositoryService extends BaseAssetRepositoryService<Voca
         return super.findAll();
     }
 
+    /**
+     * Evicts the cached list of vocabularies when data of a vocabulary are modified.
+     * <p>
+     * Modifications of vocabulary content (terms) do not affect the list. Eviction happens only after the modification
+     * is committed, so that concurrently loaded list does not get cached with the outdated data.
+     *
+     * @param event Cache invalidation event
+     */
     @CacheEvict(allEntries = true)
+    @TransactionalEventListener(condition = "!#root.event.vocabularies.empty", fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        LOG.trace("Vocabularies {} modified, evicting vocabulary list cache.", event.getVocabularies());
+    }
+
     @Override
     public void persist(Vocabulary instance) {
         super.persist(instance);
@@ -119,7 +135,6 @@ public class VocabularyRepositoryService extends BaseAssetRepositoryService<Voca
         verifyVocabularyImports(instance);
     }
 
-    @CacheEvict(allEntries = true)
     @Override
     @Transactional
     public Vocabulary update(Vocabulary instance) {
@@ -161,21 +176,28 @@ public class VocabularyRepositoryService extends BaseAssetRepositoryService<Voca
         return vocabularyDao.getChangesOfContent(vocabulary);
     }
 
-    @CacheEvict(allEntries = true)
     @Transactional
     @Override
     public Vocabulary importVocabulary(boolean rename, URI vocabularyIri, MultipartFile file) {
         Objects.requireNonNull(file);
+        return importVocabulary(rename, vocabularyIri, file.getName(), file.getContentType(), file);
+    }
+
+    @Transactional
+    @Override
+    public Vocabulary importVocabulary(boolean rename, URI vocabularyIri, String fileName, String contentType,
+                                       InputStreamSource data) {
+        Objects.requireNonNull(data);
         try {
             Metadata metadata = new Metadata();
-            metadata.add(TikaCoreProperties.RESOURCE_NAME_KEY, file.getName());
-            metadata.add(Metadata.CONTENT_TYPE, file.getContentType());
-            String contentType = new Tika().detect(file.getInputStream(), metadata);
+            metadata.add(TikaCoreProperties.RESOURCE_NAME_KEY, fileName);
+            metadata.add(Metadata.CONTENT_TYPE, contentType);
+            String detectedContentType = new Tika().detect(data.getInputStream(), metadata);
             return getSKOSImporter().importVocabulary(rename,
                     vocabularyIri,
-                    contentType,
+                    detectedContentType,
                     this::persist,
-                    file.getInputStream()
+                    data.getInputStream()
             );
         } catch (VocabularyImportException e) {
             throw e;
@@ -189,7 +211,6 @@ public class VocabularyRepositoryService extends BaseAssetRepositoryService<Voca
         return vocabularyDao.getLastModified();
     }
 
-    @CacheEvict(allEntries = true)
     @Override
     public void remove(Vocabulary instance) {
         if (instance.getDocument() != null) {
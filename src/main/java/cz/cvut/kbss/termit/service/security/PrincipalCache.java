@@ -0,0 +1,134 @@
+/**
+ * TermIt
+ * Copyright (C) 2019 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.termit.service.security;
+
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.event.UserAccountUpdateEvent;
+import cz.cvut.kbss.termit.security.model.TermItUserDetails;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches details of authenticated users, so that they need not be loaded from the repository on every request.
+ * <p>
+ * Entries expire after a configured time and the cache is bounded in size (least recently used entries are evicted).
+ * Entry of a user is evicted when their account is updated (e.g., locked, disabled or password changed).
+ */
+@Component
+public class PrincipalCache {
+
+    private final TermItUserDetailsService userDetailsService;
+
+    private final long ttl;
+
+    private final Map<URI, Entry> cache;
+
+    @Autowired
+    public PrincipalCache(TermItUserDetailsService userDetailsService, Configuration config) {
+        this.userDetailsService = userDetailsService;
+        this.ttl = TimeUnit.SECONDS.toNanos(config.getJwt().getPrincipalCacheTtl());
+        final int maxSize = config.getJwt().getPrincipalCacheSize();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<URI, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets details of the user with the specified identifier and username.
+     * <p>
+     * If the details are not cached (or the cached entry expired), they are loaded from the repository.
+     *
+     * @param uri      User identifier
+     * @param username Username of the user
+     * @return User details
+     * @throws UsernameNotFoundException If no user with the specified username exists
+     */
+    public TermItUserDetails getUserDetails(URI uri, String username) {
+        Objects.requireNonNull(uri);
+        Objects.requireNonNull(username);
+        final long now = System.nanoTime();
+        synchronized (cache) {
+            final Entry entry = cache.get(uri);
+            if (entry != null && now - entry.loaded < ttl && entry.details.getUsername().equals(username)) {
+                return entry.details;
+            }
+        }
+        final TermItUserDetails details = userDetailsService.loadUserByUsername(username);
+        synchronized (cache) {
+            cache.put(details.getUser().getUri(), new Entry(details, now));
+        }
+        return details;
+    }
+
+    /**
+     * Evicts details of the user with the specified identifier.
+     *
+     * @param uri User identifier
+     */
+    public void evict(URI uri) {
+        synchronized (cache) {
+            cache.remove(uri);
+        }
+    }
+
+    @EventListener
+    public void onUserAccountUpdate(UserAccountUpdateEvent event) {
+        final URI uri = event.getUser().getUri();
+        evict(uri);
+        // Details loaded concurrently before the update is committed would be outdated
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(uri);
+                }
+            });
+        }
+    }
+
+    @EventListener
+    public void onEvictCache(EvictCacheEvent event) {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static class Entry {
+        private final TermItUserDetails details;
+        private final long loaded;
+
+        private Entry(TermItUserDetails details, long loaded) {
+            this.details = details;
+            this.loaded = loaded;
+        }
+    }
+}
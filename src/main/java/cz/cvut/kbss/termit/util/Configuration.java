@@ -42,6 +42,10 @@ public class Configuration {
     private TextAnalysis textAnalysis = new TextAnalysis();
     private Glossary glossary = new Glossary();
     private PublicView publicView = new PublicView();
+    private VocabularyImport vocabularyImport = new VocabularyImport();
+    private Jobs jobs = new Jobs();
+    private FullTextIndex fullTextIndex = new FullTextIndex();
+    private Cache cache = new Cache();
 
     public Persistence getPersistence() {
         return persistence;
@@ -131,6 +135,38 @@ public class Configuration {
         this.publicView = publicView;
     }
 
+    public VocabularyImport getVocabularyImport() {
+        return vocabularyImport;
+    }
+
+    public void setVocabularyImport(VocabularyImport vocabularyImport) {
+        this.vocabularyImport = vocabularyImport;
+    }
+
+    public Jobs getJobs() {
+        return jobs;
+    }
+
+    public void setJobs(Jobs jobs) {
+        this.jobs = jobs;
+    }
+
+    public FullTextIndex getFullTextIndex() {
+        return fullTextIndex;
+    }
+
+    public void setFullTextIndex(FullTextIndex fullTextIndex) {
+        this.fullTextIndex = fullTextIndex;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
     @org.springframework.context.annotation.Configuration
     @ConfigurationProperties(prefix = "persistence")
     public static class Persistence {
@@ -221,6 +257,18 @@ public class Configuration {
     public static class ChangeTracking {
         Context context = new Context();
 
+        /**
+         * Whether change records are written asynchronously after the transaction which made the changes commits.
+         * <p>
+         * If disabled, change records are written in one batch just before the transaction commits.
+         */
+        boolean asynchronous = true;
+
+        /**
+         * Maximum number of most recent changes kept in memory to serve the recently modified assets.
+         */
+        int recentChanges = 1000;
+
         public Context getContext() {
             return context;
         }
@@ -229,6 +277,22 @@ public class Configuration {
             this.context = context;
         }
 
+        public boolean isAsynchronous() {
+            return asynchronous;
+        }
+
+        public void setAsynchronous(boolean asynchronous) {
+            this.asynchronous = asynchronous;
+        }
+
+        public int getRecentChanges() {
+            return recentChanges;
+        }
+
+        public void setRecentChanges(int recentChanges) {
+            this.recentChanges = recentChanges;
+        }
+
         public static class Context {
             /**
              * Extension appended to asset identifier (presumably a vocabulary ID) to denote its change tracking context
@@ -420,6 +484,34 @@ public class Configuration {
         @NotNull
         String secretKey;
 
+        /**
+         * How long (in seconds) are details of users authorized by JWT cached, so that they need not be loaded from
+         * the repository on every request.
+         */
+        int principalCacheTtl = 30;
+
+        /**
+         * Maximum number of users whose details are cached.
+         */
+        int principalCacheSize = 1000;
+
+        /**
+         * Fraction of session timeout after which a JWT is refreshed (a new token with updated expiration is issued).
+         * <p>
+         * Until then, the token is left as is, so that a new token need not be signed on every request.
+         */
+        double refreshThreshold = 0.1;
+
+        /**
+         * How long (in seconds) are claims of a verified JWT reused without verifying its signature again.
+         */
+        int verifiedTokenCacheTtl = 10;
+
+        /**
+         * Maximum number of verified JWTs whose claims are cached.
+         */
+        int verifiedTokenCacheSize = 1000;
+
         public String getSecretKey() {
             return secretKey;
         }
@@ -427,6 +519,46 @@ public class Configuration {
         public void setSecretKey(String secretKey) {
             this.secretKey = secretKey;
         }
+
+        public int getPrincipalCacheTtl() {
+            return principalCacheTtl;
+        }
+
+        public void setPrincipalCacheTtl(int principalCacheTtl) {
+            this.principalCacheTtl = principalCacheTtl;
+        }
+
+        public int getPrincipalCacheSize() {
+            return principalCacheSize;
+        }
+
+        public void setPrincipalCacheSize(int principalCacheSize) {
+            this.principalCacheSize = principalCacheSize;
+        }
+
+        public double getRefreshThreshold() {
+            return refreshThreshold;
+        }
+
+        public void setRefreshThreshold(double refreshThreshold) {
+            this.refreshThreshold = refreshThreshold;
+        }
+
+        public int getVerifiedTokenCacheTtl() {
+            return verifiedTokenCacheTtl;
+        }
+
+        public void setVerifiedTokenCacheTtl(int verifiedTokenCacheTtl) {
+            this.verifiedTokenCacheTtl = verifiedTokenCacheTtl;
+        }
+
+        public int getVerifiedTokenCacheSize() {
+            return verifiedTokenCacheSize;
+        }
+
+        public void setVerifiedTokenCacheSize(int verifiedTokenCacheSize) {
+            this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+        }
     }
 
     @org.springframework.context.annotation.Configuration
@@ -453,6 +585,80 @@ public class Configuration {
         @NotNull
         String termOccurrenceMinScore;
 
+        /**
+         * How long (in milliseconds) to wait for further changes before term definitions scheduled for analysis are
+         * analyzed.
+         * <p>
+         * Changes made during the waiting period (e.g., bulk term creation) are coalesced, so that each affected
+         * definition is analyzed only once.
+         */
+        int definitionAnalysisDelay = 2000;
+
+        /**
+         * Maximum number of term definitions analyzed concurrently.
+         */
+        int definitionAnalysisWorkers = 2;
+
+        /**
+         * Timeout (in milliseconds) for establishing connection to the text analysis service.
+         */
+        int connectTimeout = 10000;
+
+        /**
+         * Timeout (in milliseconds) for waiting for the text analysis service response.
+         */
+        int readTimeout = 300000;
+
+        /**
+         * Maximum number of concurrently executed requests to the text analysis service.
+         * <p>
+         * Further requests wait until a running request finishes.
+         */
+        int maxConcurrentRequests = 4;
+
+        /**
+         * Maximum number of attempts to invoke the text analysis service when it is temporarily unavailable.
+         */
+        int maxAttempts = 3;
+
+        /**
+         * Base delay (in milliseconds) before retrying a failed text analysis request.
+         * <p>
+         * The delay doubles with each attempt and a random jitter is added to it.
+         */
+        int retryBackoff = 500;
+
+        /**
+         * Duration (in milliseconds) of a text analysis request above which the request is considered slow.
+         * <p>
+         * Slow requests count as failures for the purpose of the circuit breaker.
+         */
+        int slowCallThreshold = 120000;
+
+        /**
+         * Number of consecutive failed (or slow) text analysis requests after which the circuit breaker opens and
+         * further requests fail immediately.
+         */
+        int failureThreshold = 5;
+
+        /**
+         * How long (in milliseconds) the circuit breaker stays open before a trial request is let through.
+         */
+        int circuitOpenDuration = 30000;
+
+        /**
+         * Maximum number of term definitions sent to the text analysis service in a single request.
+         */
+        int definitionBatchSize = 50;
+
+        /**
+         * Whether to annotate content using the embedded dictionary-based annotator instead of the remote text analysis
+         * service.
+         * <p>
+         * The embedded annotator matches term labels exactly (case-insensitively), without any linguistic processing.
+         */
+        boolean embedded = false;
+
         public String getUrl() {
             return url;
         }
@@ -476,6 +682,102 @@ public class Configuration {
         public void setTermOccurrenceMinScore(String termOccurrenceMinScore) {
             this.termOccurrenceMinScore = termOccurrenceMinScore;
         }
+
+        public int getDefinitionAnalysisDelay() {
+            return definitionAnalysisDelay;
+        }
+
+        public void setDefinitionAnalysisDelay(int definitionAnalysisDelay) {
+            this.definitionAnalysisDelay = definitionAnalysisDelay;
+        }
+
+        public int getDefinitionAnalysisWorkers() {
+            return definitionAnalysisWorkers;
+        }
+
+        public void setDefinitionAnalysisWorkers(int definitionAnalysisWorkers) {
+            this.definitionAnalysisWorkers = definitionAnalysisWorkers;
+        }
+
+        public int getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        public void setConnectTimeout(int connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        public int getReadTimeout() {
+            return readTimeout;
+        }
+
+        public void setReadTimeout(int readTimeout) {
+            this.readTimeout = readTimeout;
+        }
+
+        public int getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public int getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(int retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public int getSlowCallThreshold() {
+            return slowCallThreshold;
+        }
+
+        public void setSlowCallThreshold(int slowCallThreshold) {
+            this.slowCallThreshold = slowCallThreshold;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public int getCircuitOpenDuration() {
+            return circuitOpenDuration;
+        }
+
+        public void setCircuitOpenDuration(int circuitOpenDuration) {
+            this.circuitOpenDuration = circuitOpenDuration;
+        }
+
+        public int getDefinitionBatchSize() {
+            return definitionBatchSize;
+        }
+
+        public void setDefinitionBatchSize(int definitionBatchSize) {
+            this.definitionBatchSize = definitionBatchSize;
+        }
+
+        public boolean isEmbedded() {
+            return embedded;
+        }
+
+        public void setEmbedded(boolean embedded) {
+            this.embedded = embedded;
+        }
     }
 
     @org.springframework.context.annotation.Configuration
@@ -512,4 +814,131 @@ public class Configuration {
             this.whiteListProperties = whiteListProperties;
         }
     }
+
+    @org.springframework.context.annotation.Configuration
+    @ConfigurationProperties(prefix = "vocabularyimport")
+    public static class VocabularyImport {
+        /**
+         * Maximum number of statements written into the repository in one transaction when importing a SKOS vocabulary.
+         */
+        private int batchSize = 10000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    @ConfigurationProperties(prefix = "jobs")
+    public static class Jobs {
+        /**
+         * Maximum number of background jobs (imports, exports, text analysis) executed concurrently.
+         */
+        private int maxConcurrent = 2;
+
+        /**
+         * Maximum number of background jobs waiting for execution. Further jobs are rejected.
+         */
+        private int queueCapacity = 20;
+
+        /**
+         * How long (in minutes) information about a finished job and its result are kept.
+         */
+        private int retention = 60;
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getRetention() {
+            return retention;
+        }
+
+        public void setRetention(int retention) {
+            this.retention = retention;
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    @ConfigurationProperties(prefix = "fulltextindex")
+    public static class FullTextIndex {
+        /**
+         * Directory in which the embedded full text index is stored (used only with the embedded-lucene profile).
+         * <p>
+         * If not set, the index is kept in memory and rebuilt on every start.
+         */
+        private String directory;
+
+        /**
+         * Maximum number of results returned by full text search using the embedded index.
+         */
+        private int maxResults = 100;
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+    }
+
+    @org.springframework.context.annotation.Configuration
+    @ConfigurationProperties(prefix = "cache")
+    public static class Cache {
+        /**
+         * Maximum number of entries in each of the application data caches (e.g., sub-terms cache).
+         * <p>
+         * Least recently used entries are evicted when the limit is reached.
+         */
+        private int maxSize = 10000;
+
+        /**
+         * How long (in seconds) an entry is kept in an application data cache after being loaded.
+         * <p>
+         * Entries are evicted on modification of the corresponding data anyway, the expiration only limits the impact
+         * of modifications made outside of the application. Non-positive value means entries do not expire.
+         */
+        private int ttl = 3600;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(int ttl) {
+            this.ttl = ttl;
+        }
+    }
 }
@@ -57,6 +57,14 @@ public class Constants {
      */
     public static final String X_TOTAL_COUNT_HEADER = "X-Total-Count";
 
+    /**
+     * Represents the X-Next-Cursor HTTP header used to convey the cursor of the next page in responses paged using
+     * cursors.
+     *
+     * @see QueryParams#CURSOR
+     */
+    public static final String X_NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     /**
      * Score threshold for term occurrence.
      */
@@ -178,6 +186,17 @@ public class Constants {
          */
         public static final String PAGE_SIZE = "size";
 
+        /**
+         * HTTP request query parameter denoting page cursor.
+         * <p>
+         * Used for cursor-based paging in collections of results. The page starts right after the position represented
+         * by the cursor, an empty cursor denotes the first page.
+         *
+         * @see #PAGE_SIZE
+         * @see Constants#X_NEXT_CURSOR_HEADER
+         */
+        public static final String CURSOR = "cursor";
+
         private QueryParams() {
             throw new AssertionError();
         }
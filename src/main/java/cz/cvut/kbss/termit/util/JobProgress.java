@@ -0,0 +1,72 @@
+/**
+ * TermIt Copyright (C) 2019 Czech Technical University in Prague
+ * <p>
+ * This program is free software: you can redistribute it and/or modify it under the terms of the GNU General Public
+ * License as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later
+ * version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied
+ * warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more
+ * details.
+ * <p>
+ * You should have received a copy of the GNU General Public License along with this program.  If not, see
+ * <https://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.termit.util;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Allows long-running operations to report their progress to the background job (if any) executing them.
+ * <p>
+ * The listener is bound to the current thread, so operations do not need to know whether they are running as part of a
+ * job. If no listener is bound, reporting does nothing.
+ */
+public final class JobProgress {
+
+    private static final ThreadLocal<BiConsumer<Long, Long>> LISTENER = new ThreadLocal<>();
+
+    private JobProgress() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Binds the specified progress listener to the current thread.
+     *
+     * @param listener Consumer of the number of processed items and the total number of items
+     */
+    public static void bind(BiConsumer<Long, Long> listener) {
+        LISTENER.set(listener);
+    }
+
+    /**
+     * Removes progress listener bound to the current thread.
+     */
+    public static void unbind() {
+        LISTENER.remove();
+    }
+
+    /**
+     * Reports progress of the operation executed by the current thread.
+     *
+     * @param processed Number of already processed items
+     * @param total     Total number of items to process
+     */
+    public static void report(long processed, long total) {
+        final BiConsumer<Long, Long> listener = LISTENER.get();
+        if (listener != null) {
+            listener.accept(processed, total);
+        }
+    }
+
+    /**
+     * Checks whether the operation executed by the current thread has been cancelled.
+     * <p>
+     * Cancellation is signalled by interrupting the executing thread.
+     *
+     * @return {@code true} if the current operation should stop, {@code false} otherwise
+     */
+    public static boolean isCancelled() {
+        return Thread.currentThread().isInterrupted();
+    }
+}
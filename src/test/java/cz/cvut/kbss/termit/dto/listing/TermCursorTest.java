@@ -0,0 +1,28 @@
+package cz.cvut.kbss.termit.dto.listing;
+
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.exception.InvalidParameterException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TermCursorTest {
+
+    @Test
+    void decodeReturnsEncodedCursor() {
+        final TermCursor cursor = new TermCursor("Stavební objekt / úprava", Generator.generateUri());
+        assertEquals(cursor, TermCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decodeThrowsInvalidParameterExceptionForMalformedToken() {
+        assertThrows(InvalidParameterException.class, () -> TermCursor.decode("not a cursor"));
+        final String withoutLabel = Base64.getUrlEncoder().encodeToString(
+                "http://example.org/term".getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidParameterException.class, () -> TermCursor.decode(withoutLabel));
+    }
+}
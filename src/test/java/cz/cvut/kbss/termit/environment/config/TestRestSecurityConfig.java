@@ -22,6 +22,7 @@ import cz.cvut.kbss.termit.security.AuthenticationFailure;
 import cz.cvut.kbss.termit.security.AuthenticationSuccess;
 import cz.cvut.kbss.termit.security.JwtUtils;
 import cz.cvut.kbss.termit.service.security.SecurityUtils;
+import cz.cvut.kbss.termit.service.security.PrincipalCache;
 import cz.cvut.kbss.termit.service.security.TermItUserDetailsService;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.context.TestConfiguration;
@@ -67,4 +68,10 @@ public class TestRestSecurityConfig {
     public TermItUserDetailsService userDetailsService() {
         return mock(TermItUserDetailsService.class);
     }
+
+    @Bean
+    public PrincipalCache principalCache(TermItUserDetailsService userDetailsService,
+                                         cz.cvut.kbss.termit.util.Configuration configuration) {
+        return new PrincipalCache(userDetailsService, configuration);
+    }
 }
@@ -15,6 +15,7 @@ import cz.cvut.kbss.termit.aspect.ChangeTrackingAspect;
 import cz.cvut.kbss.termit.aspect.VocabularyContentModificationAspect;
 import cz.cvut.kbss.termit.environment.Environment;
 import cz.cvut.kbss.termit.model.selector.Selector;
+import cz.cvut.kbss.termit.service.document.html.DocumentTextIndex;
 import cz.cvut.kbss.termit.service.document.html.DummySelectorGenerator;
 import cz.cvut.kbss.termit.service.document.html.HtmlSelectorGenerators;
 import org.aspectj.lang.Aspects;
@@ -70,7 +71,7 @@ public class TestServiceConfig {
     public HtmlSelectorGenerators htmlSelectorGenerators() {
         return new HtmlSelectorGenerators() {
             @Override
-            public Set<Selector> generateSelectors(Element... elements) {
+            public Set<Selector> generateSelectors(DocumentTextIndex index, Element... elements) {
                 return Collections.singleton(new DummySelectorGenerator().generateSelector(elements));
             }
         };
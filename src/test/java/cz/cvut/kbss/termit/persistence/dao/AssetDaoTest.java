@@ -29,6 +29,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import java.net.URI;
 import java.time.Instant;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -149,4 +150,25 @@ class AssetDaoTest extends BaseDaoTestRunner {
         assertTrue(
                 mineUris.containsAll(result.stream().map(RecentlyModifiedAsset::getUri).collect(Collectors.toList())));
     }
+
+    @Test
+    void findRecentChangesReturnsAllRecentChangesOfAssetsWithTheirEditors() {
+        enableRdfsInference(em);
+        final Resource resource = Generator.generateResourceWithId();
+        transactional(() -> em.persist(resource));
+        final PersistChangeRecord persistRecord = Generator.generatePersistChange(resource);
+        setOldCreated(Collections.singletonList(persistRecord));
+        final UpdateChangeRecord updateRecord = Generator.generateUpdateChange(resource);
+        transactional(() -> {
+            em.persist(persistRecord);
+            em.persist(updateRecord);
+        });
+
+        final List<RecentlyModifiedAsset> result = sut.findRecentChanges(10);
+        assertEquals(2, result.size());
+        assertEquals(resource.getUri(), result.get(0).getUri());
+        assertThat(result.get(0).getTypes(), hasItem(Vocabulary.s_c_uprava_entity));
+        assertThat(result.get(1).getTypes(), hasItem(Vocabulary.s_c_vytvoreni_entity));
+        result.forEach(rma -> assertEquals(user, rma.getEditor()));
+    }
 }
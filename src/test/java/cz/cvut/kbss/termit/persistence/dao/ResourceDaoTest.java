@@ -17,6 +17,7 @@ package cz.cvut.kbss.termit.persistence.dao;
 import cz.cvut.kbss.jopa.model.EntityManager;
 import cz.cvut.kbss.termit.environment.Environment;
 import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
 import cz.cvut.kbss.termit.event.RefreshLastModifiedEvent;
 import cz.cvut.kbss.termit.model.Glossary;
 import cz.cvut.kbss.termit.model.Model;
@@ -29,8 +30,11 @@ import cz.cvut.kbss.termit.persistence.DescriptorFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.test.annotation.DirtiesContext;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -53,6 +57,9 @@ class ResourceDaoTest extends BaseDaoTestRunner {
     @Autowired
     private ResourceDao sut;
 
+    @Autowired
+    private ConfigurableApplicationContext context;
+
     private User user;
 
     @BeforeEach
@@ -307,6 +314,22 @@ class ResourceDaoTest extends BaseDaoTestRunner {
         assertThat(after, greaterThan(before));
     }
 
+    @Test
+    void removePublishesAssetRemovalEvent() {
+        final Resource resource = generateResource();
+        final List<AssetRemovalEvent> events = new ArrayList<>();
+        context.addApplicationListener(new ApplicationListener<AssetRemovalEvent>() {
+            @Override
+            public void onApplicationEvent(AssetRemovalEvent event) {
+                events.add(event);
+            }
+        });
+
+        transactional(() -> sut.remove(resource));
+        assertEquals(1, events.size());
+        assertEquals(resource.getUri(), events.get(0).getSource().getUri());
+    }
+
     @Test
     void updateRefreshesLastModifiedValue() throws Exception {
         final Resource resource = generateResource();
@@ -62,6 +62,54 @@ public class TermDaoRelatedTermsTest extends BaseDaoTestRunner {
         related.forEach(rt -> assertThat(result.get().getInverseRelated(), hasItem(new TermInfo(rt))));
     }
 
+    @Test
+    void findAllFullLoadsInferredInverseRelatedTermsOfAllTerms() {
+        final Term term = Generator.generateTermWithId(vocabulary.getUri());
+        final List<Term> related = Arrays.asList(Generator.generateTermWithId(vocabulary.getUri()), Generator.generateTermWithId(vocabulary.getUri()));
+        final Term termTwo = Generator.generateTermWithId(vocabulary.getUri());
+        transactional(() -> {
+            em.persist(term, descriptorFactory.termDescriptor(vocabulary));
+            Generator.addTermInVocabularyRelationship(term, vocabulary.getUri(), em);
+            em.persist(termTwo, descriptorFactory.termDescriptor(vocabulary));
+            Generator.addTermInVocabularyRelationship(termTwo, vocabulary.getUri(), em);
+            related.forEach(t -> {
+                em.persist(t, descriptorFactory.termDescriptor(vocabulary));
+                Generator.addTermInVocabularyRelationship(t, vocabulary.getUri(), em);
+            });
+            generateRelatedRelationships(term, related, SKOS.RELATED);
+            generateRelatedRelationships(termTwo, Collections.singleton(term), SKOS.RELATED);
+        });
+
+        final List<Term> result = sut.findAllFull(vocabulary);
+        final Term termResult = result.stream().filter(t -> t.equals(term)).findFirst().get();
+        assertEquals(related.size(), termResult.getInverseRelated().size());
+        related.forEach(rt -> assertThat(termResult.getInverseRelated(), hasItem(new TermInfo(rt))));
+        final Term termTwoResult = result.stream().filter(t -> t.equals(termTwo)).findFirst().get();
+        assertEquals(Collections.singleton(new TermInfo(term)), termTwoResult.getInverseRelated());
+    }
+
+    @Test
+    void findAllFullExcludesInverseRelatedAssertedFromSubject() {
+        final Term term = Generator.generateTermWithId(vocabulary.getUri());
+        final List<Term> related = Arrays.asList(Generator.generateTermWithId(vocabulary.getUri()), Generator.generateTermWithId(vocabulary.getUri()));
+        final List<Term> inverseRelated = new ArrayList<>(Collections.singletonList(Generator.generateTermWithId(vocabulary.getUri())));
+        inverseRelated.addAll(related);
+        transactional(() -> {
+            em.persist(term, descriptorFactory.termDescriptor(vocabulary));
+            Generator.addTermInVocabularyRelationship(term, vocabulary.getUri(), em);
+            inverseRelated.forEach(t -> {
+                em.persist(t, descriptorFactory.termDescriptor(vocabulary));
+                Generator.addTermInVocabularyRelationship(t, vocabulary.getUri(), em);
+            });
+            generateRelatedRelationships(term, inverseRelated, SKOS.RELATED);
+        });
+        term.setRelated(related.stream().map(TermInfo::new).collect(Collectors.toSet()));
+        transactional(() -> em.merge(term, descriptorFactory.termDescriptor(term)));
+
+        final Term result = sut.findAllFull(vocabulary).stream().filter(t -> t.equals(term)).findFirst().get();
+        assertEquals(Collections.singleton(new TermInfo(inverseRelated.get(0))), result.getInverseRelated());
+    }
+
     private void generateRelatedRelationships(Term term, Collection<Term> related, String relationship) {
         final Repository repo = em.unwrap(Repository.class);
         try (final RepositoryConnection conn = repo.getConnection()) {
@@ -7,7 +7,9 @@ import cz.cvut.kbss.jopa.vocabulary.DC;
 import cz.cvut.kbss.jopa.vocabulary.SKOS;
 import cz.cvut.kbss.termit.dto.RecentlyModifiedAsset;
 import cz.cvut.kbss.termit.dto.TermInfo;
+import cz.cvut.kbss.termit.dto.listing.TermCursor;
 import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.dto.listing.TermPage;
 import cz.cvut.kbss.termit.environment.Environment;
 import cz.cvut.kbss.termit.environment.Generator;
 import cz.cvut.kbss.termit.model.Asset;
@@ -21,6 +23,7 @@ import cz.cvut.kbss.termit.model.resource.Document;
 import cz.cvut.kbss.termit.model.resource.File;
 import cz.cvut.kbss.termit.model.selector.TextQuoteSelector;
 import cz.cvut.kbss.termit.persistence.DescriptorFactory;
+import cz.cvut.kbss.termit.persistence.dao.util.TermLabelIndex;
 import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.Constants;
 import org.eclipse.rdf4j.common.iteration.Iterations;
@@ -61,10 +64,15 @@ class TermDaoTest extends BaseDaoTestRunner {
     @Autowired
     private Configuration configuration;
 
+    @Autowired
+    private TermLabelIndex labelIndex;
+
     private Vocabulary vocabulary;
 
     @BeforeEach
     void setUp() {
+        // Tests write terms directly, bypassing incremental index updates
+        labelIndex.invalidate();
         this.vocabulary = Generator.generateVocabulary();
         vocabulary.setUri(Generator.generateUri());
         transactional(() -> em.persist(vocabulary, descriptorFactory.vocabularyDescriptor(vocabulary)));
@@ -117,6 +125,39 @@ class TermDaoTest extends BaseDaoTestRunner {
         assertEquals(toDtos(subList), result);
     }
 
+    @Test
+    void findAllRootsWithCursorReturnsConsecutivePagesWithNextPageCursor() {
+        final List<Term> terms = generateTerms(10);
+        addTermsAndSave(new HashSet<>(terms), vocabulary);
+
+        final TermPage first = sut.findAllRoots(vocabulary, null, 4, Collections.emptyList());
+        assertEquals(toDtos(terms.subList(0, 4)), first.getContent());
+        assertTrue(first.getNext().isPresent());
+        final TermPage second = sut.findAllRoots(vocabulary, first.getNext().get(), 4, Collections.emptyList());
+        assertEquals(toDtos(terms.subList(4, 8)), second.getContent());
+        final TermPage last = sut.findAllRoots(vocabulary, second.getNext().get(), 4, Collections.emptyList());
+        assertEquals(toDtos(terms.subList(8, 10)), last.getContent());
+        assertFalse(last.getNext().isPresent());
+    }
+
+    @Test
+    void findAllRootsWithCursorStartsAfterCursorPositionEvenWhenCursorTermWasRemoved() {
+        final List<Term> terms = generateTerms(6);
+        addTermsAndSave(new HashSet<>(terms), vocabulary);
+        final Term removed = terms.get(2);
+        final TermCursor cursor = new TermCursor(removed.getLabel().get(Environment.LANGUAGE), removed.getUri());
+        transactional(() -> sut.remove(removed));
+
+        final TermPage result = sut.findAllRoots(vocabulary, cursor, 10, Collections.emptyList());
+        assertEquals(toDtos(terms.subList(3, 6)), result.getContent());
+    }
+
+    @Test
+    void findAllRootsWithCursorThrowsIllegalArgumentExceptionForNonPositiveLimit() {
+        assertThrows(IllegalArgumentException.class,
+                     () -> sut.findAllRoots(vocabulary, null, 0, Collections.emptyList()));
+    }
+
     @Test
     void findAllRootsReturnsOnlyTermsInSpecifiedVocabulary() {
         final List<Term> terms = generateTerms(10);
@@ -270,6 +311,21 @@ class TermDaoTest extends BaseDaoTestRunner {
     }
 
 
+    @Test
+    void findAllLabelsReturnsPreferredAndAlternativeLabelsInConfiguredLanguage() {
+        final Term term = Generator.generateTermWithId();
+        term.getLabel().set("cs", "Czech label");
+        final String altLabel = "Alternative label";
+        term.setAltLabels(new HashSet<>(Arrays.asList(MultilingualString.create(altLabel, Environment.LANGUAGE),
+                                                      MultilingualString.create("Jiný název", "cs"))));
+        addTermsAndSave(Collections.singleton(term), vocabulary);
+
+        final Map<URI, Set<String>> result = sut.findAllLabels(Collections.singleton(vocabulary.getUri()));
+        assertEquals(Collections.singleton(term.getUri()), result.keySet());
+        assertEquals(new HashSet<>(Arrays.asList(term.getLabel().get(Environment.LANGUAGE), altLabel)),
+                     result.get(term.getUri()));
+    }
+
     @Test
     void findAllFullGetsAllTermsInVocabulary() {
         final List<Term> terms = generateTerms(10);
@@ -679,6 +735,20 @@ class TermDaoTest extends BaseDaoTestRunner {
         assertEquals(parent.getSubTerms(), result.get(0).getSubTerms());
     }
 
+    @Test
+    void findAllRootsLoadsSubTermsForAllResultsOnPage() {
+        enableRdfsInference(em);
+        final List<Term> parents = IntStream.range(0, 5).mapToObj(i -> persistParentWithChild())
+                                            .collect(Collectors.toList());
+        final List<TermDto> result = sut.findAllRoots(vocabulary, Constants.DEFAULT_PAGE_SPEC, Collections.emptyList());
+        assertEquals(parents.size(), result.size());
+        parents.forEach(p -> {
+            final Optional<TermDto> dto = result.stream().filter(r -> r.getUri().equals(p.getUri())).findFirst();
+            assertTrue(dto.isPresent());
+            assertEquals(p.getSubTerms(), dto.get().getSubTerms());
+        });
+    }
+
     @Test
     void findAllRootsIncludingImportsLoadsSubTermsForResults() {
         enableRdfsInference(em);
@@ -701,6 +771,43 @@ class TermDaoTest extends BaseDaoTestRunner {
         assertEquals(parent.getSubTerms(), result.get(0).getSubTerms());
     }
 
+    @Test
+    void findAllBySearchStringFindsTermPersistedAfterPreviousSearch() {
+        final List<Term> terms = generateTerms(5);
+        addTermsAndSave(new HashSet<>(terms), vocabulary);
+        assertTrue(sut.findAll("Metropolitan plan", vocabulary).isEmpty());
+
+        final Term term = Generator.generateTermWithId(vocabulary.getUri());
+        term.setPrimaryLabel("Metropolitan plan");
+        transactional(() -> sut.persist(term, vocabulary));
+
+        final List<TermDto> result = sut.findAll("plan", vocabulary);
+        assertEquals(1, result.size());
+        assertEquals(term.getUri(), result.get(0).getUri());
+    }
+
+    @Test
+    void findAllBySearchStringReflectsTermLabelUpdate() {
+        final Term term = Generator.generateTermWithId(vocabulary.getUri());
+        transactional(() -> {
+            vocabulary.getGlossary().addRootTerm(term);
+            term.setGlossary(vocabulary.getGlossary().getUri());
+            em.merge(vocabulary.getGlossary(), descriptorFactory.glossaryDescriptor(vocabulary));
+            em.persist(term, descriptorFactory.termDescriptor(vocabulary));
+            addTermInVocabularyRelationship(term, vocabulary.getUri());
+        });
+        final String oldLabel = term.getLabel().get(Environment.LANGUAGE);
+        assertEquals(1, sut.findAll(oldLabel).size());
+
+        term.setPrimaryLabel("Updated label");
+        transactional(() -> sut.update(term));
+
+        assertTrue(sut.findAll(oldLabel).isEmpty());
+        final List<TermDto> result = sut.findAll("updated");
+        assertEquals(1, result.size());
+        assertEquals(term.getUri(), result.get(0).getUri());
+    }
+
     @Test
     void findAllIncludingImportsBySearchStringLoadsSubTermsForResults() {
         enableRdfsInference(em);
@@ -1128,6 +1235,37 @@ class TermDaoTest extends BaseDaoTestRunner {
         roots.forEach(r -> assertThat(r.getSubTerms(), anyOf(nullValue(), emptyCollectionOf(TermInfo.class))));
     }
 
+    @Test
+    void updateOfLabelEvictsUnchangedParentsSubTermsCache() {
+        enableRdfsInference(em);
+        final Term term = Generator.generateTermWithId(vocabulary.getUri());
+        term.setGlossary(vocabulary.getGlossary().getUri());
+        final Term parent = Generator.generateTermWithId(vocabulary.getUri());
+        transactional(() -> {
+            vocabulary.getGlossary().addRootTerm(parent);
+            parent.setGlossary(vocabulary.getGlossary().getUri());
+            term.addParentTerm(parent);
+            em.persist(parent, descriptorFactory.termDescriptor(vocabulary));
+            em.persist(term, descriptorFactory.termDescriptor(vocabulary));
+            em.merge(vocabulary.getGlossary(), descriptorFactory.glossaryDescriptor(vocabulary));
+        });
+        final List<TermDto> rootsBefore = sut.findAllRoots(vocabulary, Constants.DEFAULT_PAGE_SPEC,
+                                                           Collections.emptyList());
+        assertEquals(1, rootsBefore.size());
+        assertEquals(1, rootsBefore.get(0).getSubTerms().size());
+
+        final Term toUpdate = sut.find(term.getUri()).get();
+        final String newLabel = "Updated label";
+        toUpdate.getLabel().set(Environment.LANGUAGE, newLabel);
+        transactional(() -> sut.update(toUpdate));
+
+        final List<TermDto> roots = sut.findAllRoots(vocabulary, Constants.DEFAULT_PAGE_SPEC, Collections.emptyList());
+        assertEquals(1, roots.size());
+        final TermInfo subTerm = roots.get(0).getSubTerms().iterator().next();
+        assertEquals(term.getUri(), subTerm.getUri());
+        assertEquals(newLabel, subTerm.getLabel().get(Environment.LANGUAGE));
+    }
+
     @Test
     void persistWithParentEvictsParentsSubTermsCache() {
         enableRdfsInference(em);
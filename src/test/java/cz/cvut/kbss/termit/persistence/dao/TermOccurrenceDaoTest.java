@@ -27,6 +27,7 @@ import cz.cvut.kbss.termit.model.User;
 import cz.cvut.kbss.termit.model.assignment.*;
 import cz.cvut.kbss.termit.model.resource.Document;
 import cz.cvut.kbss.termit.model.resource.File;
+import cz.cvut.kbss.termit.model.selector.TextPositionSelector;
 import cz.cvut.kbss.termit.model.selector.TextQuoteSelector;
 import cz.cvut.kbss.termit.util.Vocabulary;
 import org.eclipse.rdf4j.model.ValueFactory;
@@ -37,6 +38,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.net.URI;
 import java.util.*;
@@ -192,6 +194,71 @@ class TermOccurrenceDaoTest extends BaseDaoTestRunner {
         }
     }
 
+    @Test
+    void persistAllSavesOccurrencesWithTargetsAndSelectors() {
+        enableRdfsInference(em);
+        final File file = new File();
+        file.setLabel(FILE_LABEL);
+        file.setUri(Generator.generateUri());
+        final Term term = new Term();
+        term.setUri(Generator.generateUri());
+        term.setPrimaryLabel("Term one");
+        transactional(() -> {
+            em.persist(file);
+            em.persist(term);
+        });
+        final List<TermOccurrence> occurrences = IntStream.range(0, 5).mapToObj(i -> {
+            final TermOccurrence to = generateTermOccurrence(true, file, term);
+            final Set<cz.cvut.kbss.termit.model.selector.Selector> selectors = new HashSet<>(
+                    to.getTarget().getSelectors());
+            selectors.add(new TextPositionSelector(i * 10, i * 10 + 4));
+            to.getTarget().setSelectors(selectors);
+            return to;
+        }).collect(Collectors.toList());
+
+        transactional(() -> sut.persistAll(occurrences));
+        occurrences.forEach(to -> {
+            assertNotNull(to.getUri());
+            assertNotNull(to.getTarget().getUri());
+        });
+        em.getEntityManagerFactory().getCache().evictAll();
+        final List<TermOccurrence> result = sut.findAllTargeting(file);
+        assertEquals(occurrences.size(), result.size());
+        for (TermOccurrence expected : occurrences) {
+            final TermOccurrence actual = result.stream().filter(to -> to.getUri().equals(expected.getUri()))
+                                                .findFirst().orElseThrow();
+            assertEquals(term.getUri(), actual.getTerm());
+            assertThat(actual.getTypes(), hasItem(Vocabulary.s_c_navrzeny_vyskyt_termu));
+            assertEquals(expected.getTarget().getUri(), actual.getTarget().getUri());
+            assertEquals(expected.getTarget().getSelectors(), actual.getTarget().getSelectors());
+        }
+    }
+
+    @Test
+    void persistAllDoesNotWriteOccurrencesWhenTransactionIsRolledBack() {
+        enableRdfsInference(em);
+        final File file = new File();
+        file.setLabel(FILE_LABEL);
+        file.setUri(Generator.generateUri());
+        final Term term = new Term();
+        term.setUri(Generator.generateUri());
+        term.setPrimaryLabel("Term one");
+        transactional(() -> {
+            em.persist(file);
+            em.persist(term);
+        });
+        final List<TermOccurrence> occurrences = IntStream.range(0, 5)
+                                                          .mapToObj(i -> generateTermOccurrence(true, file, term))
+                                                          .collect(Collectors.toList());
+
+        new TransactionTemplate(txManager).executeWithoutResult(status -> {
+            sut.persistAll(occurrences);
+            status.setRollbackOnly();
+        });
+        em.getEntityManagerFactory().getCache().evictAll();
+        assertTrue(sut.findAllTargeting(file).isEmpty());
+    }
+
     @Test
     void findAllReturnsEmptyListWhenNoOccurrencesAreFound() {
         enableRdfsInference(em);
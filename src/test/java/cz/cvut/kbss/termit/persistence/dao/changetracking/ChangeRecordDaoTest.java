@@ -63,6 +63,20 @@ class ChangeRecordDaoTest extends BaseDaoTestRunner {
                      .getSingleResult());
     }
 
+    @Test
+    void persistAllSavesAllChangeRecordsIntoContextOfChangedAsset() {
+        final List<AbstractChangeRecord> records = Arrays.asList(
+                generateUpdateRecord(Instant.now(), vocabulary.getUri()),
+                generateUpdateRecord(Instant.now(), vocabulary.getUri()));
+        transactional(() -> sut.persistAll(records, vocabulary));
+
+        records.forEach(record -> assertTrue(
+                em.createNativeQuery("ASK WHERE { GRAPH ?g { ?x a ?changeRecord . } }", Boolean.class)
+                  .setParameter("g", contextResolver.resolveChangeTrackingContext(vocabulary))
+                  .setParameter("x", record.getUri())
+                  .getSingleResult()));
+    }
+
     private PersistChangeRecord generatePersistRecord(Instant timestamp, URI changedObject) {
         final PersistChangeRecord record = new PersistChangeRecord();
         record.setAuthor(author);
@@ -1,11 +1,10 @@
 package cz.cvut.kbss.termit.persistence.dao.changetracking;
 
-import cz.cvut.kbss.jopa.model.EntityManager;
-import cz.cvut.kbss.jopa.model.query.TypedQuery;
 import cz.cvut.kbss.termit.environment.Generator;
 import cz.cvut.kbss.termit.model.Term;
 import cz.cvut.kbss.termit.model.Vocabulary;
 import cz.cvut.kbss.termit.model.resource.Resource;
+import cz.cvut.kbss.termit.persistence.dao.util.VocabularyContextCache;
 import cz.cvut.kbss.termit.util.Configuration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,8 +17,6 @@ import java.net.URI;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,7 +25,7 @@ class ChangeTrackingContextResolverTest {
     private static final String CHANGE_CONTEXT_EXTENSION = "/changes";
 
     @Mock
-    private EntityManager em;
+    private VocabularyContextCache vocabularyContextCache;
 
     @Mock(answer = Answers.RETURNS_DEEP_STUBS)
     private Configuration config;
@@ -38,7 +35,7 @@ class ChangeTrackingContextResolverTest {
     @BeforeEach
     void setUp() {
         when(config.getChangetracking().getContext().getExtension()).thenReturn(CHANGE_CONTEXT_EXTENSION);
-        this.sut = new ChangeTrackingContextResolver(em, config);
+        this.sut = new ChangeTrackingContextResolver(vocabularyContextCache, config);
     }
 
     @Test
@@ -55,10 +52,7 @@ class ChangeTrackingContextResolverTest {
         vocabulary.getGlossary().setUri(Generator.generateUri());
         final Term term = Generator.generateTermWithId();
         term.setGlossary(vocabulary.getGlossary().getUri());
-        final TypedQuery<URI> q = mock(TypedQuery.class);
-        when(q.setParameter(any(String.class), any(Object.class))).thenReturn(q);
-        when(q.getSingleResult()).thenReturn(vocabulary.getUri());
-        when(em.createNativeQuery(anyString(), eq(URI.class))).thenReturn(q);
+        when(vocabularyContextCache.getVocabulary(term)).thenReturn(vocabulary.getUri());
         final URI result = sut.resolveChangeTrackingContext(term);
         assertNotNull(result);
         assertEquals(vocabulary.getUri().toString().concat(CHANGE_CONTEXT_EXTENSION), result.toString());
@@ -0,0 +1,163 @@
+package cz.cvut.kbss.termit.persistence.dao.lucene;
+
+import cz.cvut.kbss.jopa.model.EntityManager;
+import cz.cvut.kbss.jopa.model.MultilingualString;
+import cz.cvut.kbss.termit.dto.FullTextSearchResult;
+import cz.cvut.kbss.termit.environment.Environment;
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.event.AssetUpdateEvent;
+import cz.cvut.kbss.termit.model.Term;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import cz.cvut.kbss.termit.persistence.dao.BaseDaoTestRunner;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static cz.cvut.kbss.termit.model.util.EntityToOwlClassMapper.getOwlClassForEntity;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class EmbeddedLuceneSearchDaoTest extends BaseDaoTestRunner {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private Configuration config;
+
+    private Vocabulary vocabulary;
+
+    private EmbeddedLuceneSearchDao sut;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        this.vocabulary = Generator.generateVocabularyWithId();
+        vocabulary.setLabel("Metropolitan planning vocabulary");
+        transactional(() -> em.persist(vocabulary));
+        this.sut = new EmbeddedLuceneSearchDao(em, config);
+        sut.openIndex();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        sut.closeIndex();
+    }
+
+    private Term persistTerm(String label, String definition) {
+        final Term term = Generator.generateTermWithId(vocabulary.getUri());
+        term.setPrimaryLabel(label);
+        term.setDefinition(MultilingualString.create(definition, Environment.LANGUAGE));
+        term.setDraft(false);
+        transactional(() -> em.persist(term));
+        return term;
+    }
+
+    @Test
+    void fullTextSearchFindsTermsWithMatchingLabelAfterIndexRebuild() {
+        final Term matching = persistTerm("Building", "Structure with a roof and walls");
+        persistTerm("Road", "Way leading from one place to another");
+        sut.rebuildIndex();
+
+        final List<FullTextSearchResult> result = sut.fullTextSearch("building");
+        assertEquals(1, result.size());
+        assertEquals(matching.getUri(), result.get(0).getUri());
+        assertEquals("Building", result.get(0).getLabel());
+        assertEquals(vocabulary.getUri(), result.get(0).getVocabulary());
+        assertFalse(result.get(0).isDraft());
+        assertTrue(result.get(0).getTypes().contains(getOwlClassForEntity(Term.class)));
+        assertEquals(EmbeddedLuceneSearchDao.LABEL_FIELD, result.get(0).getSnippetField());
+        assertEquals("<em>Building</em>", result.get(0).getSnippetText());
+    }
+
+    @Test
+    void fullTextSearchFindsTermsWithMatchingDefinitionAndRanksThemBelowLabelMatches() {
+        final Term labelMatch = persistTerm("Roof", "Top part of a building");
+        final Term definitionMatch = persistTerm("Wall", "Vertical structure separating roof from ground");
+        sut.rebuildIndex();
+
+        final List<FullTextSearchResult> result = sut.fullTextSearch("roof");
+        assertEquals(2, result.size());
+        assertEquals(labelMatch.getUri(), result.get(0).getUri());
+        assertEquals(definitionMatch.getUri(), result.get(1).getUri());
+        assertEquals(EmbeddedLuceneSearchDao.DEFINITION_FIELD, result.get(1).getSnippetField());
+        assertTrue(result.get(1).getSnippetText().contains("<em>roof</em>"));
+    }
+
+    @Test
+    void fullTextSearchFindsResultsForIncompleteLastWord() {
+        final Term matching = persistTerm("Building permit", "Permission to construct a building");
+        sut.rebuildIndex();
+
+        final List<FullTextSearchResult> result = sut.fullTextSearch("building perm");
+        assertFalse(result.isEmpty());
+        assertEquals(matching.getUri(), result.get(0).getUri());
+    }
+
+    @Test
+    void fullTextSearchFindsVocabulariesWithMatchingLabel() {
+        sut.rebuildIndex();
+
+        final List<FullTextSearchResult> result = sut.fullTextSearch("metropolitan");
+        assertEquals(1, result.size());
+        assertEquals(vocabulary.getUri(), result.get(0).getUri());
+        assertTrue(result.get(0).getTypes().contains(getOwlClassForEntity(Vocabulary.class)));
+    }
+
+    @Test
+    void fullTextSearchHandlesSearchStringWhichIsNotValidQuery() {
+        persistTerm("Building", "Structure with a roof and walls");
+        sut.rebuildIndex();
+
+        final List<FullTextSearchResult> result = sut.fullTextSearch("building (");
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void fullTextSearchReturnsEmptyListForEmptyInputString() {
+        persistTerm("Building", "Structure with a roof and walls");
+        sut.rebuildIndex();
+
+        assertTrue(sut.fullTextSearch("").isEmpty());
+    }
+
+    @Test
+    void onAssetUpdateIndexesUpdatedTerm() {
+        final Term term = persistTerm("Building", "Structure with a roof and walls");
+        sut.rebuildIndex();
+
+        term.setPrimaryLabel("Construction");
+        sut.onAssetUpdate(new AssetUpdateEvent(term, vocabulary.getUri()));
+        assertTrue(sut.fullTextSearch("building").isEmpty());
+        final List<FullTextSearchResult> result = sut.fullTextSearch("construction");
+        assertEquals(1, result.size());
+        assertEquals(term.getUri(), result.get(0).getUri());
+        assertEquals(vocabulary.getUri(), result.get(0).getVocabulary());
+    }
+
+    @Test
+    void onAssetRemovalRemovesTermFromIndex() {
+        final Term term = persistTerm("Building", "Structure with a roof and walls");
+        sut.rebuildIndex();
+
+        sut.onAssetRemoval(new AssetRemovalEvent(term));
+        assertTrue(sut.fullTextSearch("building").isEmpty());
+    }
+
+    @Test
+    void reindexVocabularyIndexesTermsWrittenBypassingDao() {
+        sut.rebuildIndex();
+        final Term term = persistTerm("Building", "Structure with a roof and walls");
+        assertTrue(sut.fullTextSearch("building").isEmpty());
+
+        sut.reindexVocabulary(vocabulary.getUri());
+        final List<FullTextSearchResult> result = sut.fullTextSearch("building");
+        assertEquals(1, result.size());
+        assertEquals(term.getUri(), result.get(0).getUri());
+    }
+}
@@ -9,7 +9,9 @@ import cz.cvut.kbss.termit.model.User;
 import cz.cvut.kbss.termit.persistence.DescriptorFactory;
 import cz.cvut.kbss.termit.persistence.dao.BaseDaoTestRunner;
 import cz.cvut.kbss.termit.persistence.dao.VocabularyDao;
+import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.Constants;
+import cz.cvut.kbss.termit.util.JobProgress;
 import cz.cvut.kbss.termit.util.Vocabulary;
 import org.eclipse.rdf4j.common.iteration.Iterations;
 import org.eclipse.rdf4j.model.Resource;
@@ -61,6 +63,9 @@ class SKOSImporterTest extends BaseDaoTestRunner {
     @Autowired
     private ApplicationContext context;
 
+    @Autowired
+    private Configuration config;
+
     private final Consumer<cz.cvut.kbss.termit.model.Vocabulary> persister = (cz.cvut.kbss.termit.model.Vocabulary v) -> vocabularyDao.persist(v);
 
     private final ValueFactory vf = SimpleValueFactory.getInstance();
@@ -309,4 +314,47 @@ class SKOSImporterTest extends BaseDaoTestRunner {
                             Environment.loadFile("data/test-glossary-with-definition-with-empty-language-tag.ttl")));
         });
     }
+
+    @Test
+    void importWritesAllDataWhenTheyAreInsertedInMultipleBatches() {
+        config.getVocabularyImport().setBatchSize(2);
+        transactional(() -> {
+            final SKOSImporter sut = context.getBean(SKOSImporter.class);
+            sut.importVocabulary(true, VOCABULARY_IRI, Constants.Turtle.MEDIA_TYPE, persister, Environment.loadFile("data/test-glossary.ttl"),
+                Environment.loadFile("data/test-vocabulary.ttl"));
+        });
+        transactional(() -> {
+            try (final RepositoryConnection conn = em.unwrap(Repository.class).getConnection()) {
+                final List<Value> terms = Iterations.stream(conn.getStatements(null, SKOS.HAS_TOP_CONCEPT, null))
+                    .map(Statement::getObject).collect(Collectors.toList());
+                assertEquals(1, terms.size());
+                final List<Resource> concepts = Iterations.stream(conn.getStatements(null, RDF.TYPE, SKOS.CONCEPT))
+                    .map(Statement::getSubject).collect(Collectors.toList());
+                assertEquals(3, concepts.size());
+            }
+        });
+    }
+
+    @Test
+    void importRemovesAlreadyWrittenBatchesWhenItFails() {
+        config.getVocabularyImport().setBatchSize(2);
+        JobProgress.bind((processed, total) -> {
+            throw new VocabularyImportException("Simulated failure after the first batch.");
+        });
+        try {
+            assertThrows(VocabularyImportException.class, () -> transactional(() -> {
+                final SKOSImporter sut = context.getBean(SKOSImporter.class);
+                sut.importVocabulary(true, null, Constants.Turtle.MEDIA_TYPE, persister,
+                                     Environment.loadFile("data/test-glossary.ttl"));
+            }));
+        } finally {
+            JobProgress.unbind();
+        }
+        transactional(() -> {
+            try (final RepositoryConnection conn = em.unwrap(Repository.class).getConnection()) {
+                assertFalse(conn.hasStatement(null, RDF.TYPE, SKOS.CONCEPT, false));
+                assertEquals(0, conn.size(vf.createIRI(VOCABULARY_IRI_S + "-0")));
+            }
+        });
+    }
 }
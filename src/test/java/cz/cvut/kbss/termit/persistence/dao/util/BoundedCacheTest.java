@@ -0,0 +1,223 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.termit.dto.TermInfo;
+import cz.cvut.kbss.termit.environment.Generator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedCacheTest {
+
+    private static final int MAX_SIZE = 10;
+
+    @Mock
+    Function<URI, Set<TermInfo>> supplier;
+
+    private long time;
+
+    private final BoundedCache<URI, Set<TermInfo>> sut = new BoundedCache<>("test", MAX_SIZE, Duration.ofSeconds(60),
+                                                                            () -> time);
+
+    @Test
+    void getOrComputeReturnsValueComputedUsingSpecifiedSupplierWhenKeyIsNotPresent() {
+        final Set<TermInfo> data = generateData();
+        final URI key = Generator.generateUri();
+        when(supplier.apply(any(URI.class))).thenReturn(data);
+
+        final Set<TermInfo> result = sut.getOrCompute(key, supplier);
+        assertEquals(data, result);
+        verify(supplier).apply(key);
+    }
+
+    private Set<TermInfo> generateData() {
+        return IntStream.range(0, 5).mapToObj(i -> Generator.generateTermInfoWithId()).collect(Collectors.toSet());
+    }
+
+    @Test
+    void getOrComputeReturnsCachedValue() {
+        final Set<TermInfo> data = generateData();
+        final URI key = Generator.generateUri();
+        when(supplier.apply(any(URI.class))).thenReturn(data);
+
+        final Set<TermInfo> resultOne = sut.getOrCompute(key, supplier);
+        assertEquals(data, resultOne);
+        final Set<TermInfo> resultTwo = sut.getOrCompute(key, supplier);
+        assertEquals(data, resultTwo);
+        // Expect one invocation only
+        verify(supplier).apply(key);
+    }
+
+    @Test
+    void getOrComputeAllComputesValuesOfMissingKeysInOneSupplierInvocation() {
+        final Set<TermInfo> cached = generateData();
+        final URI cachedKey = Generator.generateUri();
+        when(supplier.apply(any(URI.class))).thenReturn(cached);
+        sut.getOrCompute(cachedKey, supplier);
+        final URI keyOne = Generator.generateUri();
+        final URI keyTwo = Generator.generateUri();
+        final Map<URI, Set<TermInfo>> computed = new HashMap<>();
+        computed.put(keyOne, generateData());
+        computed.put(keyTwo, generateData());
+        final List<Collection<URI>> invocations = new ArrayList<>();
+
+        final Map<URI, Set<TermInfo>> result = sut.getOrComputeAll(Arrays.asList(cachedKey, keyOne, keyTwo), keys -> {
+            invocations.add(new HashSet<>(keys));
+            return computed;
+        });
+        assertEquals(3, result.size());
+        assertEquals(cached, result.get(cachedKey));
+        assertEquals(computed.get(keyOne), result.get(keyOne));
+        assertEquals(computed.get(keyTwo), result.get(keyTwo));
+        assertEquals(Collections.singletonList(new HashSet<>(Arrays.asList(keyOne, keyTwo))), invocations);
+    }
+
+    @Test
+    void getOrComputeAllStoresComputedValuesInCache() {
+        final URI key = Generator.generateUri();
+        final Set<TermInfo> data = generateData();
+        sut.getOrComputeAll(Collections.singleton(key), keys -> Collections.singletonMap(key, data));
+
+        assertEquals(data, sut.getOrCompute(key, supplier));
+        verify(supplier, never()).apply(any());
+    }
+
+    @Test
+    void evictRemovesCachedValueForSpecifiedKey() {
+        final Set<TermInfo> data = generateData();
+        final URI key = Generator.generateUri();
+        when(supplier.apply(any(URI.class))).thenReturn(data);
+
+        final Set<TermInfo> resultOne = sut.getOrCompute(key, supplier);
+        assertEquals(data, resultOne);
+        sut.evict(key);
+        final Set<TermInfo> resultTwo = sut.getOrCompute(key, supplier);
+        assertEquals(data, resultTwo);
+        verify(supplier, times(2)).apply(key);
+    }
+
+    @Test
+    void evictRemovesCachedValueOnlyForSpecifiedKey() {
+        final Set<TermInfo> data = generateData();
+        final URI key = Generator.generateUri();
+        final URI keyTwo = Generator.generateUri();
+        when(supplier.apply(any(URI.class))).thenReturn(data);
+
+        assertEquals(data, sut.getOrCompute(key, supplier));
+        assertEquals(data, sut.getOrCompute(keyTwo, supplier));
+        sut.evict(key);
+        assertEquals(data, sut.getOrCompute(key, supplier));
+        assertEquals(data, sut.getOrCompute(keyTwo, supplier));
+        verify(supplier, times(2)).apply(key);
+        // Key two was not evicted
+        verify(supplier).apply(keyTwo);
+    }
+
+    @Test
+    void evictAllClearsWholeCache() {
+        final Set<TermInfo> data = generateData();
+        final URI key = Generator.generateUri();
+        final URI keyTwo = Generator.generateUri();
+        when(supplier.apply(any(URI.class))).thenReturn(data);
+
+        assertEquals(data, sut.getOrCompute(key, supplier));
+        assertEquals(data, sut.getOrCompute(keyTwo, supplier));
+        sut.evictAll();
+        assertEquals(data, sut.getOrCompute(key, supplier));
+        assertEquals(data, sut.getOrCompute(keyTwo, supplier));
+        verify(supplier, times(2)).apply(key);
+        verify(supplier, times(2)).apply(keyTwo);
+    }
+
+    @Test
+    void getOrComputeEvictsLeastRecentlyUsedEntryWhenMaxSizeIsExceeded() {
+        final List<URI> keys = IntStream.range(0, MAX_SIZE).mapToObj(i -> Generator.generateUri())
+                                        .collect(Collectors.toList());
+        when(supplier.apply(any(URI.class))).thenAnswer(inv -> generateData());
+        keys.forEach(k -> sut.getOrCompute(k, supplier));
+        // Access the first key, so that the second one is the least recently used
+        sut.getOrCompute(keys.get(0), supplier);
+
+        sut.getOrCompute(Generator.generateUri(), supplier);
+        assertEquals(MAX_SIZE, sut.getStatistics().getSize());
+        sut.getOrCompute(keys.get(0), supplier);
+        sut.getOrCompute(keys.get(1), supplier);
+        verify(supplier).apply(keys.get(0));
+        verify(supplier, times(2)).apply(keys.get(1));
+    }
+
+    @Test
+    void getOrComputeRecomputesExpiredValue() {
+        final URI key = Generator.generateUri();
+        when(supplier.apply(any(URI.class))).thenAnswer(inv -> generateData());
+        sut.getOrCompute(key, supplier);
+        this.time += Duration.ofSeconds(30).toNanos();
+        sut.getOrCompute(key, supplier);
+        verify(supplier).apply(key);
+
+        this.time += Duration.ofSeconds(30).toNanos();
+        sut.getOrCompute(key, supplier);
+        verify(supplier, times(2)).apply(key);
+    }
+
+    @Test
+    void getOrComputeAllowsSupplierToAccessCache() {
+        final URI key = Generator.generateUri();
+        final URI nestedKey = Generator.generateUri();
+        final Set<TermInfo> data = generateData();
+        when(supplier.apply(nestedKey)).thenReturn(data);
+
+        final Set<TermInfo> result = sut.getOrCompute(key, k -> sut.getOrCompute(nestedKey, supplier));
+        assertEquals(data, result);
+        assertEquals(data, sut.getOrCompute(key, supplier));
+        verify(supplier, never()).apply(key);
+    }
+
+    @Test
+    void getOrComputeDoesNotCacheValueWhoseComputationOverlappedWithEviction() {
+        final URI key = Generator.generateUri();
+        final Set<TermInfo> data = generateData();
+        when(supplier.apply(any(URI.class))).thenReturn(data);
+
+        final Set<TermInfo> result = sut.getOrCompute(key, k -> {
+            sut.evict(k);
+            return data;
+        });
+        assertEquals(data, result);
+        assertEquals(0, sut.getStatistics().getSize());
+        sut.getOrCompute(key, supplier);
+        verify(supplier).apply(key);
+    }
+
+    @Test
+    void getStatisticsReturnsHitMissAndEvictionCounts() {
+        final URI key = Generator.generateUri();
+        when(supplier.apply(any(URI.class))).thenAnswer(inv -> generateData());
+        sut.getOrCompute(key, supplier);
+        sut.getOrCompute(key, supplier);
+        sut.getOrCompute(key, supplier);
+        this.time += Duration.ofSeconds(60).toNanos();
+        sut.getOrCompute(key, supplier);
+
+        final CacheStatistics result = sut.getStatistics();
+        assertEquals("test", result.getName());
+        assertEquals(1, result.getSize());
+        assertEquals(MAX_SIZE, result.getMaxSize());
+        assertEquals(2, result.getHitCount());
+        assertEquals(2, result.getMissCount());
+        assertEquals(1, result.getEvictionCount());
+        assertEquals(0.5, result.getHitRate());
+    }
+}
@@ -0,0 +1,45 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CacheRegistryTest {
+
+    private final CacheRegistry sut = new CacheRegistry();
+
+    private static BoundedCache<URI, String> cache(String name) {
+        return new BoundedCache<>(name, 10, Duration.ofMinutes(1), System::nanoTime);
+    }
+
+    @Test
+    void evictCacheEventEvictsAllRegisteredCaches() {
+        final BoundedCache<URI, String> cacheOne = cache("one");
+        final BoundedCache<URI, String> cacheTwo = cache("two");
+        sut.register(cacheOne);
+        sut.register(cacheTwo);
+        cacheOne.getOrCompute(Generator.generateUri(), URI::toString);
+        cacheTwo.getOrCompute(Generator.generateUri(), URI::toString);
+
+        sut.onEvictCache(new EvictCacheEvent(this));
+        assertEquals(0, cacheOne.getStatistics().getSize());
+        assertEquals(0, cacheTwo.getStatistics().getSize());
+    }
+
+    @Test
+    void getStatisticsReturnsStatisticsOfAllRegisteredCaches() {
+        sut.register(cache("one"));
+        sut.register(cache("two"));
+
+        final List<CacheStatistics> result = sut.getStatistics();
+        assertEquals(2, result.size());
+        assertEquals("one", result.get(0).getName());
+        assertEquals("two", result.get(1).getName());
+    }
+}
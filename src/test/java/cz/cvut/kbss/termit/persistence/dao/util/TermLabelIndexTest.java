@@ -0,0 +1,235 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.termit.environment.Environment;
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TermLabelIndexTest {
+
+    private final URI vocabulary = Generator.generateUri();
+
+    private TermLabelIndex sut;
+
+    @BeforeEach
+    void setUp() {
+        final Configuration config = new Configuration();
+        config.getPersistence().setLanguage(Environment.LANGUAGE);
+        this.sut = new TermLabelIndex(config);
+    }
+
+    private TermLabelIndex.Entry entry(URI term, String label) {
+        return new TermLabelIndex.Entry(term, vocabulary, label);
+    }
+
+    @Test
+    void searchReturnsEmptyOptionalWhenIndexHasNotBeenBuilt() {
+        assertFalse(sut.search("test", null).isPresent());
+    }
+
+    @Test
+    void searchFindsTermsWhoseLabelContainsSearchStringIgnoringCase() {
+        final URI building = Generator.generateUri();
+        final URI plan = Generator.generateUri();
+        final URI metroPlan = Generator.generateUri();
+        sut.rebuild(Arrays.asList(entry(building, "Building"), entry(plan, "Plan"),
+                                  entry(metroPlan, "Metropolitan plan")), sut.getModificationStamp());
+
+        final Optional<List<URI>> result = sut.search("PLAN", null);
+        assertTrue(result.isPresent());
+        assertEquals(Arrays.asList(metroPlan, plan), result.get());
+        assertEquals(Collections.singletonList(building), sut.search("ld", null).get());
+    }
+
+    @Test
+    void searchReturnsOnlyTermsFromSpecifiedVocabulary() {
+        final URI term = Generator.generateUri();
+        final URI otherTerm = Generator.generateUri();
+        sut.rebuild(Arrays.asList(entry(term, "Building"),
+                                  new TermLabelIndex.Entry(otherTerm, Generator.generateUri(), "Building")),
+                    sut.getModificationStamp());
+
+        assertEquals(Collections.singletonList(term), sut.search("build", vocabulary).get());
+    }
+
+    @Test
+    void putReplacesLabelOfIndexedTerm() {
+        final URI term = Generator.generateUri();
+        sut.rebuild(Collections.singletonList(entry(term, "Building")), sut.getModificationStamp());
+
+        sut.put(term, vocabulary, "Construction");
+        assertTrue(sut.search("build", null).get().isEmpty());
+        assertEquals(Collections.singletonList(term), sut.search("construct", null).get());
+    }
+
+    @Test
+    void removeRemovesTermFromIndex() {
+        final URI term = Generator.generateUri();
+        sut.rebuild(Collections.singletonList(entry(term, "Building")), sut.getModificationStamp());
+
+        sut.remove(term);
+        assertTrue(sut.search("build", null).get().isEmpty());
+    }
+
+    @Test
+    void rebuildIsIgnoredWhenIndexWasModifiedSinceStampWasRetrieved() {
+        final long stamp = sut.getModificationStamp();
+        sut.put(Generator.generateUri(), vocabulary, "Building");
+
+        assertFalse(sut.rebuild(Collections.emptyList(), stamp));
+        assertFalse(sut.isReady());
+    }
+
+    @Test
+    void evictCacheEventInvalidatesIndex() {
+        sut.rebuild(Collections.singletonList(entry(Generator.generateUri(), "Building")),
+                    sut.getModificationStamp());
+
+        sut.onEvictCache(new EvictCacheEvent(this));
+        assertFalse(sut.isReady());
+        assertFalse(sut.search("build", null).isPresent());
+    }
+
+    @Test
+    void sortByLabelOrdersItemsUsingCollationRulesOfConfiguredLanguage() {
+        final Configuration config = new Configuration();
+        config.getPersistence().setLanguage("cs");
+        final TermLabelIndex czechIndex = new TermLabelIndex(config);
+        final List<String> labels = Arrays.asList("Čáp", "Dům", "cesta", "Chata", "Hrad");
+
+        final List<String> result = czechIndex.sortByLabel(labels, l -> URI.create("urn:" + labels.indexOf(l)),
+                                                           Function.identity());
+        // In Czech, č follows c and ch follows h
+        assertEquals(Arrays.asList("cesta", "Čáp", "Dům", "Hrad", "Chata"), result);
+    }
+
+    @Test
+    void sortByLabelUsesIndexedLabelsAndPlacesItemsWithoutLabelLast() {
+        final URI first = Generator.generateUri();
+        final URI second = Generator.generateUri();
+        final URI unlabeled = Generator.generateUri();
+        sut.rebuild(Arrays.asList(entry(second, "Plan"), entry(first, "Building")), sut.getModificationStamp());
+        final Map<URI, String> labels = new HashMap<>();
+        labels.put(first, "Building");
+        labels.put(second, "Plan");
+
+        final List<URI> result = sut.sortByLabel(Arrays.asList(unlabeled, second, first), Function.identity(),
+                                                 labels::get);
+        assertEquals(Arrays.asList(first, second, unlabeled), result);
+    }
+
+    @Test
+    void pageByLabelReturnsItemsFollowingSpecifiedPosition() {
+        final List<String> labels = Arrays.asList("Road", "Building", "Plan", "Area", "Tower", "Map");
+        final Function<String, URI> id = l -> URI.create("urn:" + l);
+
+        final List<String> first = sut.pageByLabel(labels, id, Function.identity(), null, null, 2);
+        assertEquals(Arrays.asList("Area", "Building"), first);
+        final List<String> second = sut.pageByLabel(labels, id, Function.identity(), "Building", id.apply("Building"),
+                                                    3);
+        assertEquals(Arrays.asList("Map", "Plan", "Road"), second);
+        assertEquals(Collections.singletonList("Tower"),
+                     sut.pageByLabel(labels, id, Function.identity(), "Road", id.apply("Road"), 3));
+    }
+
+    @Test
+    void pageByLabelOrdersItemsWithSameLabelByIdentifier() {
+        final URI first = URI.create("urn:a");
+        final URI second = URI.create("urn:b");
+        final URI third = URI.create("urn:c");
+
+        final List<URI> result = sut.pageByLabel(Arrays.asList(third, first, second), Function.identity(),
+                                                 u -> "Building", "Building", first, 10);
+        assertEquals(Arrays.asList(second, third), result);
+    }
+
+    private TermLabelIndex.Entry root(URI vocabulary, String label) {
+        return new TermLabelIndex.Entry(URI.create("urn:" + label), vocabulary, label, true);
+    }
+
+    private static List<String> labels(Optional<List<TermLabelIndex.Entry>> entries) {
+        return entries.get().stream().map(TermLabelIndex.Entry::getLabel).collect(Collectors.toList());
+    }
+
+    @Test
+    void findRootsReturnsEmptyOptionalWhenIndexHasNotBeenBuilt() {
+        assertFalse(sut.findRoots(Collections.singleton(vocabulary), Collections.emptySet(), null, null, 0, 10)
+                       .isPresent());
+    }
+
+    @Test
+    void findRootsReturnsPageOfRootTermsOfVocabularyOrderedByLabel() {
+        sut.rebuild(Arrays.asList(root(vocabulary, "Road"), root(vocabulary, "Building"),
+                                  entry(URI.create("urn:Bridge"), "Bridge"), root(vocabulary, "Plan"),
+                                  root(Generator.generateUri(), "Area"),
+                                  root(vocabulary, "Tower")), sut.getModificationStamp());
+
+        final Set<URI> vocabularies = Collections.singleton(vocabulary);
+        assertEquals(Arrays.asList("Building", "Plan"),
+                     labels(sut.findRoots(vocabularies, Collections.emptySet(), null, null, 0, 2)));
+        assertEquals(Arrays.asList("Road", "Tower"),
+                     labels(sut.findRoots(vocabularies, Collections.emptySet(), null, null, 2, 2)));
+        assertEquals(Arrays.asList("Road", "Tower"),
+                     labels(sut.findRoots(vocabularies, Collections.emptySet(), "Plan", URI.create("urn:Plan"), 0, 5)));
+    }
+
+    @Test
+    void findRootsSkipsExcludedTermsWithoutCountingThemIntoOffset() {
+        sut.rebuild(Arrays.asList(root(vocabulary, "Area"), root(vocabulary, "Building"), root(vocabulary, "Map"),
+                                  root(vocabulary, "Plan"), root(vocabulary, "Road")), sut.getModificationStamp());
+
+        final List<URI> excluded = Arrays.asList(URI.create("urn:Building"), URI.create("urn:Plan"));
+        assertEquals(Arrays.asList("Area", "Map"),
+                     labels(sut.findRoots(Collections.singleton(vocabulary), excluded, null, null, 0, 2)));
+        assertEquals(Collections.singletonList("Road"),
+                     labels(sut.findRoots(Collections.singleton(vocabulary), excluded, null, null, 2, 2)));
+    }
+
+    @Test
+    void findRootsMergesRootsOfMultipleVocabularies() {
+        final URI another = Generator.generateUri();
+        sut.rebuild(Arrays.asList(root(vocabulary, "Road"), root(another, "Building"), root(vocabulary, "Area"),
+                                  root(another, "Plan"), root(Generator.generateUri(), "Map")),
+                    sut.getModificationStamp());
+
+        final List<URI> vocabularies = Arrays.asList(vocabulary, another);
+        assertEquals(Arrays.asList("Area", "Building", "Plan"),
+                     labels(sut.findRoots(vocabularies, Collections.emptySet(), null, null, 0, 3)));
+        assertEquals(Collections.singletonList("Road"),
+                     labels(sut.findRoots(vocabularies, Collections.emptySet(), "Plan", URI.create("urn:Plan"), 0, 3)));
+        assertEquals(Arrays.asList("Area", "Building", "Map", "Plan", "Road"),
+                     labels(sut.findRoots(null, Collections.emptySet(), null, null, 0, 10)));
+    }
+
+    @Test
+    void putMaintainsOrderedRootTerms() {
+        sut.rebuild(Arrays.asList(root(vocabulary, "Building"), root(vocabulary, "Road")),
+                    sut.getModificationStamp());
+
+        sut.put(URI.create("urn:Plan"), vocabulary, "Plan", true);
+        sut.put(URI.create("urn:Road"), vocabulary, "Area", true);
+        sut.put(URI.create("urn:Building"), vocabulary, "Building", false);
+        assertEquals(Arrays.asList("Area", "Plan"),
+                     labels(sut.findRoots(Collections.singleton(vocabulary), Collections.emptySet(), null, null, 0,
+                                          10)));
+        sut.remove(URI.create("urn:Plan"));
+        assertEquals(Collections.singletonList("Area"),
+                     labels(sut.findRoots(Collections.singleton(vocabulary), Collections.emptySet(), null, null, 0,
+                                          10)));
+    }
+}
@@ -0,0 +1,66 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.event.VocabularyContentModified;
+import cz.cvut.kbss.termit.model.Term;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class VocabularyContentVersionsTest {
+
+    private final VocabularyContentVersions sut = new VocabularyContentVersions();
+
+    @Test
+    void onVocabularyContentModifiedChangesVersionOfModifiedVocabularyAndGlobalVersion() {
+        final URI modified = Generator.generateUri();
+        final URI other = Generator.generateUri();
+        final String originalVersion = sut.getVersion(modified);
+        final String otherVersion = sut.getVersion(other);
+        final String globalVersion = sut.getVersion();
+
+        sut.onVocabularyContentModified(new VocabularyContentModified(this, modified));
+        assertNotEquals(originalVersion, sut.getVersion(modified));
+        assertEquals(otherVersion, sut.getVersion(other));
+        assertNotEquals(globalVersion, sut.getVersion());
+    }
+
+    @Test
+    void onVocabularyContentModifiedChangesVersionsOfAllVocabulariesWhenModifiedVocabularyIsUnknown() {
+        final URI vocabulary = Generator.generateUri();
+        final String originalVersion = sut.getVersion(vocabulary);
+        final String globalVersion = sut.getVersion();
+
+        sut.onVocabularyContentModified(new VocabularyContentModified(this));
+        assertNotEquals(originalVersion, sut.getVersion(vocabulary));
+        assertNotEquals(globalVersion, sut.getVersion());
+    }
+
+    @Test
+    void onAssetRemovalChangesVersionOfVocabularyOfRemovedTerm() {
+        final Vocabulary vocabulary = Generator.generateVocabularyWithId();
+        final Term term = Generator.generateTermWithId(vocabulary.getUri());
+        final String originalVersion = sut.getVersion(vocabulary.getUri());
+
+        sut.onAssetRemoval(new AssetRemovalEvent(term));
+        assertNotEquals(originalVersion, sut.getVersion(vocabulary.getUri()));
+    }
+
+    @Test
+    void onEvictCacheChangesVersionsOfAllVocabularies() {
+        final URI vocabulary = Generator.generateUri();
+        sut.onVocabularyContentModified(new VocabularyContentModified(this, vocabulary));
+        final String originalVersion = sut.getVersion(vocabulary);
+        final String globalVersion = sut.getVersion();
+
+        sut.onEvictCache(new EvictCacheEvent(this));
+        assertNotEquals(originalVersion, sut.getVersion(vocabulary));
+        assertNotEquals(globalVersion, sut.getVersion());
+    }
+}
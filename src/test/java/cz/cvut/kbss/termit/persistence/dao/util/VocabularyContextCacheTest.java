@@ -0,0 +1,93 @@
+package cz.cvut.kbss.termit.persistence.dao.util;
+
+import cz.cvut.kbss.jopa.model.EntityManager;
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.exception.NotFoundException;
+import cz.cvut.kbss.termit.model.Term;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import cz.cvut.kbss.termit.persistence.DescriptorFactory;
+import cz.cvut.kbss.termit.persistence.dao.BaseDaoTestRunner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VocabularyContextCacheTest extends BaseDaoTestRunner {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private DescriptorFactory descriptorFactory;
+
+    private VocabularyContextCache sut;
+
+    @BeforeEach
+    void setUp() {
+        this.sut = new VocabularyContextCache(em);
+    }
+
+    private Vocabulary persistVocabulary() {
+        final Vocabulary vocabulary = Generator.generateVocabularyWithId();
+        transactional(() -> em.persist(vocabulary, descriptorFactory.vocabularyDescriptor(vocabulary)));
+        return vocabulary;
+    }
+
+    @Test
+    void getVocabularyOfGlossaryReturnsVocabularyContainingGlossary() {
+        final Vocabulary vocabulary = persistVocabulary();
+
+        assertEquals(vocabulary.getUri(), sut.getVocabularyOfGlossary(vocabulary.getGlossary().getUri()));
+    }
+
+    @Test
+    void getVocabularyOfGlossaryFindsVocabularyCreatedAfterGlossariesWereLoaded() {
+        final Vocabulary first = persistVocabulary();
+        assertEquals(first.getUri(), sut.getVocabularyOfGlossary(first.getGlossary().getUri()));
+        final Vocabulary second = persistVocabulary();
+
+        assertEquals(second.getUri(), sut.getVocabularyOfGlossary(second.getGlossary().getUri()));
+    }
+
+    @Test
+    void getVocabularyOfGlossaryThrowsNotFoundExceptionForUnknownGlossary() {
+        assertThrows(NotFoundException.class, () -> sut.getVocabularyOfGlossary(Generator.generateUri()));
+    }
+
+    @Test
+    void getVocabularyReturnsVocabularySpecifiedByTerm() {
+        final Term term = Generator.generateTermWithId();
+        term.setVocabulary(Generator.generateUri());
+
+        assertEquals(term.getVocabulary(), sut.getVocabulary(term));
+    }
+
+    @Test
+    void getVocabularyResolvesVocabularyFromTermGlossary() {
+        final Vocabulary vocabulary = persistVocabulary();
+        final Term term = Generator.generateTermWithId();
+        term.setGlossary(vocabulary.getGlossary().getUri());
+
+        assertEquals(vocabulary.getUri(), sut.getVocabulary(term));
+    }
+
+    @Test
+    void onAssetRemovalEvictsGlossaryOfRemovedVocabulary() {
+        final Vocabulary vocabulary = persistVocabulary();
+        assertEquals(vocabulary.getUri(), sut.getVocabularyOfGlossary(vocabulary.getGlossary().getUri()));
+        transactional(() -> em.createNativeQuery("DELETE WHERE { GRAPH ?g { ?v ?hasGlossary ?glossary . } }")
+                              .setParameter("v", vocabulary.getUri())
+                              .setParameter("hasGlossary",
+                                            URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_p_ma_glosar))
+                              .executeUpdate());
+
+        sut.onAssetRemoval(new AssetRemovalEvent(vocabulary));
+        assertThrows(NotFoundException.class,
+                     () -> sut.getVocabularyOfGlossary(vocabulary.getGlossary().getUri()));
+    }
+}
@@ -3,6 +3,7 @@ package cz.cvut.kbss.termit.persistence.validation;
 import cz.cvut.kbss.termit.environment.Generator;
 import cz.cvut.kbss.termit.event.VocabularyContentModified;
 import cz.cvut.kbss.termit.model.validation.ValidationResult;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,11 +11,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.net.URI;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.*;
 
@@ -26,41 +31,92 @@ class ResultCachingValidatorTest {
 
     private ResultCachingValidator sut;
 
+    private final URI vocabulary = Generator.generateUri();
+
+    private final Set<URI> importClosure = Collections.singleton(vocabulary);
+
     @BeforeEach
     void setUp() {
         this.sut = spy(new ResultCachingValidator());
+        sut.initExecutor();
         when(sut.getValidator()).thenReturn(validator);
     }
 
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
+    }
+
     @Test
     void invokesInternalValidatorWhenNoResultsAreCached() {
         final List<ValidationResult> results = Collections.singletonList(new ValidationResult());
-        when(validator.validate(anyCollection())).thenReturn(results);
-        final Set<URI> vocabularies = Collections.singleton(Generator.generateUri());
-        final List<ValidationResult> result = sut.validate(vocabularies);
+        when(validator.validate(any(), anyCollection())).thenReturn(results);
+        final List<ValidationResult> result = sut.validate(vocabulary, importClosure);
         assertEquals(results, result);
-        verify(validator).validate(vocabularies);
+        verify(validator).validate(vocabulary, importClosure);
     }
 
     @Test
     void returnsCachedResultsWhenArgumentsMatch() {
         final List<ValidationResult> results = Collections.singletonList(new ValidationResult());
-        when(validator.validate(anyCollection())).thenReturn(results);
-        final Set<URI> vocabularies = Collections.singleton(Generator.generateUri());
-        final List<ValidationResult> resultOne = sut.validate(vocabularies);
-        final List<ValidationResult> resultTwo = sut.validate(vocabularies);
+        when(validator.validate(any(), anyCollection())).thenReturn(results);
+        final List<ValidationResult> resultOne = sut.validate(vocabulary, importClosure);
+        final List<ValidationResult> resultTwo = sut.validate(vocabulary, importClosure);
         assertEquals(resultOne, resultTwo);
-        verify(validator).validate(vocabularies);
+        verify(validator).validate(vocabulary, importClosure);
     }
 
     @Test
-    void evictCacheClearsCachedValidationResults() {
+    void evictCacheWithoutVocabularyClearsCachedValidationResults() {
         final List<ValidationResult> results = Collections.singletonList(new ValidationResult());
-        when(validator.validate(anyCollection())).thenReturn(results);
-        final Set<URI> vocabularies = Collections.singleton(Generator.generateUri());
-        final List<ValidationResult> resultOne = sut.validate(vocabularies);
+        when(validator.validate(any(), anyCollection())).thenReturn(results);
+        sut.validate(vocabulary, importClosure);
         sut.evictCache(new VocabularyContentModified(this));
-        final List<ValidationResult> resultTwo = sut.validate(vocabularies);
-        verify(validator, times(2)).validate(vocabularies);
+        sut.validate(vocabulary, importClosure);
+        verify(validator, times(2)).validate(vocabulary, importClosure);
+    }
+
+    @Test
+    void evictCacheRevalidatesVocabulariesImportingModifiedVocabularyInBackground() throws Exception {
+        final List<ValidationResult> outdated = Collections.singletonList(new ValidationResult());
+        final List<ValidationResult> current = Arrays.asList(new ValidationResult(), new ValidationResult());
+        when(validator.validate(any(), anyCollection())).thenReturn(outdated).thenReturn(current);
+        final URI importing = Generator.generateUri();
+        final Set<URI> importingClosure = new HashSet<>(Arrays.asList(importing, vocabulary));
+        sut.validate(importing, importingClosure);
+
+        sut.evictCache(new VocabularyContentModified(this, vocabulary));
+        verify(validator, timeout(5000).times(2)).validate(importing, importingClosure);
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (sut.validate(importing, importingClosure).size() != current.size() &&
+                System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(current.size(), sut.validate(importing, importingClosure).size());
+    }
+
+    @Test
+    void evictCacheDoesNotRevalidateVocabulariesNotImportingModifiedVocabulary() {
+        when(validator.validate(any(), anyCollection())).thenReturn(Collections.emptyList());
+        sut.validate(vocabulary, importClosure);
+
+        sut.evictCache(new VocabularyContentModified(this, Generator.generateUri()));
+        sut.validate(vocabulary, importClosure);
+        verify(validator).validate(vocabulary, importClosure);
+    }
+
+    @Test
+    void validateReturnsOutdatedResultsWhileRevalidationIsInProgress() throws Exception {
+        final List<ValidationResult> outdated = Collections.singletonList(new ValidationResult());
+        final CountDownLatch latch = new CountDownLatch(1);
+        when(validator.validate(any(), anyCollection())).thenReturn(outdated).thenAnswer(inv -> {
+            latch.await();
+            return Collections.emptyList();
+        });
+        sut.validate(vocabulary, importClosure);
+
+        sut.evictCache(new VocabularyContentModified(this, vocabulary));
+        assertEquals(outdated, sut.validate(vocabulary, importClosure));
+        latch.countDown();
     }
-}
\ No newline at end of file
+}
@@ -6,7 +6,9 @@ import cz.cvut.kbss.jopa.model.MultilingualString;
 import cz.cvut.kbss.jopa.vocabulary.SKOS;
 import cz.cvut.kbss.jsonld.JsonLd;
 import cz.cvut.kbss.termit.dto.TermStatus;
+import cz.cvut.kbss.termit.dto.listing.TermCursor;
 import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.dto.listing.TermPage;
 import cz.cvut.kbss.termit.environment.Environment;
 import cz.cvut.kbss.termit.environment.Generator;
 import cz.cvut.kbss.termit.exception.NotFoundException;
@@ -22,6 +24,7 @@ import cz.cvut.kbss.termit.rest.handler.ErrorInfo;
 import cz.cvut.kbss.termit.service.IdentifierResolver;
 import cz.cvut.kbss.termit.service.business.TermService;
 import cz.cvut.kbss.termit.service.export.util.TypeAwareByteArrayResource;
+import cz.cvut.kbss.termit.service.export.util.TypeAwareStreamingResource;
 import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.Constants;
 import cz.cvut.kbss.termit.util.Constants.Excel;
@@ -64,6 +67,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @ExtendWith(MockitoExtension.class)
@@ -179,6 +183,22 @@ class TermControllerTest extends BaseControllerTestRunner {
         return termUri;
     }
 
+    @Test
+    void getByIdReturnsNotModifiedWithoutLoadingTermWhenContentVersionMatchesETag() throws Exception {
+        final URI termUri = initTermUriResolution();
+        final Term term = Generator.generateTerm();
+        term.setUri(termUri);
+        when(termServiceMock.getContentVersion()).thenReturn("1-g1");
+        when(termServiceMock.findRequired(termUri)).thenReturn(term);
+
+        final MvcResult mvcResult = mockMvc.perform(get(PATH + VOCABULARY_NAME + "/terms/" + TERM_NAME))
+                                           .andExpect(status().isOk()).andReturn();
+        final String eTag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(PATH + VOCABULARY_NAME + "/terms/" + TERM_NAME).header(HttpHeaders.IF_NONE_MATCH, eTag))
+               .andExpect(status().isNotModified());
+        verify(termServiceMock).findRequired(termUri);
+    }
+
     @Test
     void getSubTermsLoadsSubTermsOfParentTerm() throws Exception {
         final URI termUri = initTermUriResolution();
@@ -246,6 +266,44 @@ class TermControllerTest extends BaseControllerTestRunner {
         verify(termServiceMock).findAll(vocabulary);
     }
 
+    @Test
+    void getAllReturnsNotModifiedWithoutLoadingTermsWhenVocabularyContentVersionMatchesETag() throws Exception {
+        when(idResolverMock.resolveIdentifier(Environment.BASE_URI, VOCABULARY_NAME))
+                .thenReturn(URI.create(VOCABULARY_URI));
+        when(termServiceMock.getContentVersion(vocabulary.getUri())).thenReturn("1-1");
+        when(termServiceMock.findVocabularyRequired(vocabulary.getUri())).thenReturn(vocabulary);
+        when(termServiceMock.findAll(eq(vocabulary))).thenReturn(termsToDtos(Generator.generateTermsWithIds(5)));
+
+        final MvcResult mvcResult = mockMvc.perform(get(PATH + VOCABULARY_NAME + "/terms")
+                                                            .param(QueryParams.NAMESPACE, Environment.BASE_URI))
+                                           .andExpect(status().isOk()).andReturn();
+        final String eTag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        mockMvc.perform(get(PATH + VOCABULARY_NAME + "/terms").param(QueryParams.NAMESPACE, Environment.BASE_URI)
+                                                               .header(HttpHeaders.IF_NONE_MATCH, eTag))
+               .andExpect(status().isNotModified());
+        verify(termServiceMock).findVocabularyRequired(vocabulary.getUri());
+        verify(termServiceMock).findAll(vocabulary);
+    }
+
+    @Test
+    void getAllReturnsTermsWhenVocabularyContentVersionChanged() throws Exception {
+        when(idResolverMock.resolveIdentifier(Environment.BASE_URI, VOCABULARY_NAME))
+                .thenReturn(URI.create(VOCABULARY_URI));
+        when(termServiceMock.getContentVersion(vocabulary.getUri())).thenReturn("1-1", "1-2");
+        when(termServiceMock.findVocabularyRequired(vocabulary.getUri())).thenReturn(vocabulary);
+        when(termServiceMock.findAll(eq(vocabulary))).thenReturn(termsToDtos(Generator.generateTermsWithIds(5)));
+
+        final MvcResult mvcResult = mockMvc.perform(get(PATH + VOCABULARY_NAME + "/terms")
+                                                            .param(QueryParams.NAMESPACE, Environment.BASE_URI))
+                                           .andExpect(status().isOk()).andReturn();
+        final String eTag = mvcResult.getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get(PATH + VOCABULARY_NAME + "/terms").param(QueryParams.NAMESPACE, Environment.BASE_URI)
+                                                               .header(HttpHeaders.IF_NONE_MATCH, eTag))
+               .andExpect(status().isOk());
+        verify(termServiceMock, times(2)).findAll(vocabulary);
+    }
+
     @Test
     void getAllReturnsAllTermsFromVocabularyChainWhenIncludeImportedIsSpecified() throws Exception {
         when(idResolverMock.resolveIdentifier(Environment.BASE_URI, VOCABULARY_NAME))
@@ -346,6 +404,27 @@ class TermControllerTest extends BaseControllerTestRunner {
         assertEquals(content, mvcResult.getResponse().getContentAsString());
     }
 
+    @Test
+    void getAllStreamsStreamingExportDirectlyIntoResponse() throws Exception {
+        when(idResolverMock.resolveIdentifier(config.getNamespace().getVocabulary(), VOCABULARY_NAME))
+                .thenReturn(URI.create(VOCABULARY_URI));
+        final cz.cvut.kbss.termit.model.Vocabulary vocabulary = Generator.generateVocabulary();
+        vocabulary.setUri(URI.create(VOCABULARY_URI));
+        when(termServiceMock.findVocabularyRequired(vocabulary.getUri())).thenReturn(vocabulary);
+        final String content = String.join(",", Term.EXPORT_COLUMNS);
+        final TypeAwareStreamingResource export = new TypeAwareStreamingResource(
+                out -> out.write(content.getBytes()), CsvUtils.MEDIA_TYPE, CsvUtils.FILE_EXTENSION);
+        when(termServiceMock.exportGlossary(vocabulary, CsvUtils.MEDIA_TYPE)).thenReturn(Optional.of(export));
+
+        final MvcResult asyncResult = mockMvc.perform(get(PATH + VOCABULARY_NAME + "/terms").accept(CsvUtils.MEDIA_TYPE))
+                                             .andExpect(request().asyncStarted()).andReturn();
+        final MvcResult mvcResult = mockMvc.perform(asyncDispatch(asyncResult)).andExpect(status().isOk())
+                                           .andReturn();
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.CONTENT_DISPOSITION),
+                containsString("filename=\"" + VOCABULARY_NAME + CsvUtils.FILE_EXTENSION + "\""));
+        assertEquals(content, mvcResult.getResponse().getContentAsString());
+    }
+
     @Test
     void getAllExportsTermsToExcelWhenAcceptMediaTypeIsExcel() throws Exception {
         initNamespaceAndIdentifierResolution();
@@ -417,6 +496,50 @@ class TermControllerTest extends BaseControllerTestRunner {
         assertEquals(DEFAULT_PAGE_SPEC, captor.getValue());
     }
 
+    @Test
+    void getAllRootsWithCursorLoadsPageAfterCursorAndReturnsNextPageCursorInHeader() throws Exception {
+        initNamespaceAndIdentifierResolution();
+        final List<TermDto> terms = termsToDtos(Generator.generateTermsWithIds(5));
+        final TermCursor cursor = new TermCursor("Building", Generator.generateUri());
+        final TermCursor next = new TermCursor("Plan", terms.get(4).getUri());
+        when(termServiceMock.findVocabularyRequired(vocabulary.getUri())).thenReturn(vocabulary);
+        when(termServiceMock.findAllRoots(eq(vocabulary), any(TermCursor.class), anyInt(), anyBoolean(),
+                                          anyCollection())).thenReturn(new TermPage(terms, next));
+        final MvcResult mvcResult = mockMvc.perform(get(PATH + VOCABULARY_NAME + "/terms/roots")
+                                                            .param(Constants.QueryParams.CURSOR, cursor.encode())
+                                                            .param(PAGE_SIZE, "5"))
+                                           .andExpect(status().isOk()).andReturn();
+        assertEquals(next.encode(), mvcResult.getResponse().getHeader(Constants.X_NEXT_CURSOR_HEADER));
+        verify(termServiceMock).findAllRoots(vocabulary, cursor, 5, false, Collections.emptyList());
+        verify(termServiceMock, never())
+                .findAllRoots(any(cz.cvut.kbss.termit.model.Vocabulary.class), any(Pageable.class), anyCollection());
+    }
+
+    @Test
+    void getAllRootsWithEmptyCursorLoadsFirstPage() throws Exception {
+        final List<TermDto> terms = termsToDtos(Generator.generateTermsWithIds(5));
+        when(termServiceMock.findAllRoots(any(), anyInt(), anyCollection())).thenReturn(new TermPage(terms, null));
+        final MvcResult mvcResult = mockMvc.perform(get("/terms/roots").param(Constants.QueryParams.CURSOR, ""))
+                                           .andExpect(status().isOk()).andReturn();
+        assertNull(mvcResult.getResponse().getHeader(Constants.X_NEXT_CURSOR_HEADER));
+        verify(termServiceMock).findAllRoots(null, Constants.DEFAULT_PAGE_SIZE, Collections.emptyList());
+    }
+
+    @Test
+    void getAllRootsWithInvalidCursorReturnsUnprocessableEntity() throws Exception {
+        mockMvc.perform(get("/terms/roots").param(Constants.QueryParams.CURSOR, "not a cursor"))
+               .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void getAllRootsWithCursorAndNonPositivePageSizeReturnsUnprocessableEntity() throws Exception {
+        mockMvc.perform(get("/terms/roots").param(Constants.QueryParams.CURSOR, "").param(PAGE_SIZE, "0"))
+               .andExpect(status().isUnprocessableEntity());
+        mockMvc.perform(get("/terms/roots").param(Constants.QueryParams.CURSOR, "").param(PAGE_SIZE, "-1"))
+               .andExpect(status().isUnprocessableEntity());
+        verify(termServiceMock, never()).findAllRoots(any(), anyInt(), anyCollection());
+    }
+
     @Test
     void getAllRootsWithoutVocabularyLoadsRootsFromCorrectPage() throws Exception {
         final List<TermDto> terms = termsToDtos(Generator.generateTermsWithIds(5));
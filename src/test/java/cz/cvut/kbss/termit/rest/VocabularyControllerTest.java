@@ -13,6 +13,8 @@ import cz.cvut.kbss.termit.model.validation.ValidationResult;
 import cz.cvut.kbss.termit.rest.handler.ErrorInfo;
 import cz.cvut.kbss.termit.service.IdentifierResolver;
 import cz.cvut.kbss.termit.service.business.VocabularyService;
+import cz.cvut.kbss.termit.service.job.Job;
+import cz.cvut.kbss.termit.service.job.VocabularyJobService;
 import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.Constants;
 import cz.cvut.kbss.termit.util.Constants.QueryParams;
@@ -57,6 +59,9 @@ class VocabularyControllerTest extends BaseControllerTestRunner {
     @Mock
     private VocabularyService serviceMock;
 
+    @Mock
+    private VocabularyJobService jobServiceMock;
+
     @Mock
     private IdentifierResolver idResolverMock;
 
@@ -167,6 +172,22 @@ class VocabularyControllerTest extends BaseControllerTestRunner {
         verify(serviceMock).importVocabulary(false, null, upload);
     }
 
+    @Test
+    void submitVocabularyImportSubmitsImportJobAndReturnsItsLocation() throws Exception {
+        final Job job = new Job("1", VocabularyJobService.IMPORT_JOB, null, user.getUri());
+        when(jobServiceMock.importVocabulary(anyBoolean(), any(), any())).thenReturn(job);
+        final MockMultipartFile upload = new MockMultipartFile("file", "test-glossary.ttl",
+                                                               Constants.Turtle.MEDIA_TYPE,
+                                                               Environment.loadFile("data/test-glossary.ttl"));
+        final MvcResult mvcResult = mockMvc.perform(multipart(PATH + "/jobs/import").file(upload)
+                                                                                    .param("rename", "false"))
+                                           .andExpect(status().isAccepted())
+                                           .andReturn();
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.LOCATION), containsString("/jobs/" + job.getId()));
+        verify(jobServiceMock).importVocabulary(false, null, upload);
+        verify(serviceMock, never()).importVocabulary(anyBoolean(), any(), any());
+    }
+
     @Test
     void getByIdLoadsVocabularyFromRepository() throws Exception {
         final Vocabulary vocabulary = generateVocabulary();
@@ -22,6 +22,7 @@ import cz.cvut.kbss.termit.model.UserAccount;
 import cz.cvut.kbss.termit.rest.ConfigurationController;
 import cz.cvut.kbss.termit.rest.handler.ErrorInfo;
 import cz.cvut.kbss.termit.security.model.TermItUserDetails;
+import cz.cvut.kbss.termit.service.security.PrincipalCache;
 import cz.cvut.kbss.termit.service.security.SecurityUtils;
 import cz.cvut.kbss.termit.service.security.TermItUserDetailsService;
 import cz.cvut.kbss.termit.util.Configuration;
@@ -97,8 +98,9 @@ class JwtAuthorizationFilterTest {
         this.objectMapper = Environment.getObjectMapper();
         this.signingKey = Keys.hmacShaKeyFor(config.getJwt().getSecretKey().getBytes(StandardCharsets.UTF_8));
         this.jwtUtilsSpy = spy(new JwtUtils(objectMapper, config));
-        this.sut = new JwtAuthorizationFilter(authManagerMock, jwtUtilsSpy, securityUtilsMock, detailsServiceMock,
-                objectMapper);
+        this.sut = new JwtAuthorizationFilter(authManagerMock, jwtUtilsSpy, securityUtilsMock,
+                                              new PrincipalCache(detailsServiceMock, config),
+                                              objectMapper);
     }
 
     @Test
@@ -153,9 +155,16 @@ class JwtAuthorizationFilterTest {
     }
 
     @Test
-    void doFilterInternalRefreshesUserTokenOnSuccessfulAuthorization() throws Exception {
+    void doFilterInternalRefreshesUserTokenOnSuccessfulAuthorizationWhenRefreshThresholdPassed() throws Exception {
         when(detailsServiceMock.loadUserByUsername(user.getUsername())).thenReturn(new TermItUserDetails(user));
-        generateJwtIntoRequest();
+        final long refreshAfter = (long) (config.getJwt().getRefreshThreshold() * SecurityConstants.SESSION_TIMEOUT);
+        final Date issued = new Date(System.currentTimeMillis() - refreshAfter - 10000);
+        final String token = Jwts.builder().setSubject(user.getUsername())
+                                 .setId(user.getUri().toString())
+                                 .setIssuedAt(issued)
+                                 .setExpiration(new Date(issued.getTime() + SecurityConstants.SESSION_TIMEOUT))
+                                 .signWith(signingKey, JwtUtils.SIGNATURE_ALGORITHM).compact();
+        mockRequest.addHeader(HttpHeaders.AUTHORIZATION, SecurityConstants.JWT_TOKEN_PREFIX + token);
         sut.doFilterInternal(mockRequest, mockResponse, chainMock);
         assertTrue(mockResponse.containsHeader(HttpHeaders.AUTHORIZATION));
         assertNotEquals(mockRequest.getHeader(HttpHeaders.AUTHORIZATION),
@@ -163,6 +172,16 @@ class JwtAuthorizationFilterTest {
         verify(jwtUtilsSpy).refreshToken(any());
     }
 
+    @Test
+    void doFilterInternalDoesNotRefreshRecentlyIssuedUserToken() throws Exception {
+        when(detailsServiceMock.loadUserByUsername(user.getUsername())).thenReturn(new TermItUserDetails(user));
+        generateJwtIntoRequest();
+        sut.doFilterInternal(mockRequest, mockResponse, chainMock);
+        assertFalse(mockResponse.containsHeader(HttpHeaders.AUTHORIZATION));
+        verify(jwtUtilsSpy, never()).refreshToken(any());
+        verify(chainMock).doFilter(mockRequest, mockResponse);
+    }
+
     @Test
     void doFilterInternalReturnsUnauthorizedWhenTokenIsExpired() throws Exception {
         final String token = Jwts.builder().setSubject(user.getUsername())
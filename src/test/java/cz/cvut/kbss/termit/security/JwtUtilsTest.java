@@ -235,4 +235,42 @@ class JwtUtilsTest {
 
         assertThrows(JwtException.class, () -> sut.extractUserInfo(token));
     }
+
+    @Test
+    void isRefreshRequiredReturnsFalseForRecentlyIssuedToken() {
+        final String token = sut.generateToken(user, Collections.singleton(DEFAULT_AUTHORITY));
+        assertFalse(sut.isRefreshRequired(token));
+    }
+
+    @Test
+    void isRefreshRequiredReturnsTrueWhenRefreshThresholdPassedSinceTokenWasIssued() {
+        assertTrue(sut.isRefreshRequired(generateTokenPastRefreshThreshold()));
+    }
+
+    @Test
+    void extractUserInfoReturnsSameUserInfoForRecentlyVerifiedToken() {
+        final String token = sut.generateToken(user, Collections.singleton(DEFAULT_AUTHORITY));
+        final TermItUserDetails first = sut.extractUserInfo(token);
+        final TermItUserDetails second = sut.extractUserInfo(token);
+        assertEquals(first.getUser(), second.getUser());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+    }
+
+    @Test
+    void refreshTokenDoesNotModifyClaimsOfVerifiedToken() {
+        final String token = generateTokenPastRefreshThreshold();
+        assertTrue(sut.isRefreshRequired(token));
+        sut.refreshToken(token);
+        assertTrue(sut.isRefreshRequired(token));
+    }
+
+    private String generateTokenPastRefreshThreshold() {
+        final long refreshAfter = (long) (config.getJwt().getRefreshThreshold() * SecurityConstants.SESSION_TIMEOUT);
+        final Date issued = new Date(System.currentTimeMillis() - refreshAfter - 10000);
+        return Jwts.builder().setSubject(user.getUsername())
+                   .setId(user.getUri().toString())
+                   .setIssuedAt(issued)
+                   .setExpiration(new Date(issued.getTime() + SecurityConstants.SESSION_TIMEOUT))
+                   .signWith(key, JwtUtils.SIGNATURE_ALGORITHM).compact();
+    }
 }
@@ -21,6 +21,7 @@ import cz.cvut.kbss.termit.model.User;
 import cz.cvut.kbss.termit.model.UserAccount;
 import cz.cvut.kbss.termit.model.comment.Comment;
 import cz.cvut.kbss.termit.model.resource.Resource;
+import cz.cvut.kbss.termit.service.changetracking.RecentlyModifiedAssets;
 import cz.cvut.kbss.termit.service.repository.ResourceRepositoryService;
 import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
 import cz.cvut.kbss.termit.service.repository.VocabularyRepositoryService;
@@ -39,6 +40,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -56,6 +58,9 @@ class AssetServiceTest {
     @Mock
     private VocabularyRepositoryService vocabularyService;
 
+    @Mock
+    private RecentlyModifiedAssets recentlyModifiedAssets;
+
     @Mock
     private SecurityUtils securityUtils;
 
@@ -159,6 +164,33 @@ class AssetServiceTest {
         verify(vocabularyService).findLastEditedBy(currentUser.toUser(), count);
     }
 
+    @Test
+    void findLastEditedReturnsAssetsFromRecentlyModifiedAssetsWhenAvailable() {
+        final List<RecentlyModifiedAsset> expected = generateRecentlyModifiedAssets(5);
+        when(recentlyModifiedAssets.findLastEdited(anyInt())).thenReturn(Optional.of(expected));
+
+        final List<RecentlyModifiedAsset> result = sut.findLastEdited(5);
+        assertEquals(expected, result);
+        verify(resourceService, never()).findLastEdited(anyInt());
+        verify(termService, never()).findLastEdited(anyInt());
+        verify(vocabularyService, never()).findLastEdited(anyInt());
+    }
+
+    @Test
+    void findMyLastEditedReturnsAssetsFromRecentlyModifiedAssetsWhenAvailable() {
+        final List<RecentlyModifiedAsset> expected = generateRecentlyModifiedAssets(5);
+        final UserAccount currentUser = Generator.generateUserAccount();
+        when(securityUtils.getCurrentUser()).thenReturn(currentUser);
+        when(recentlyModifiedAssets.findLastEditedBy(any(User.class), anyInt())).thenReturn(Optional.of(expected));
+
+        final List<RecentlyModifiedAsset> result = sut.findMyLastEdited(5);
+        assertEquals(expected, result);
+        verify(recentlyModifiedAssets).findLastEditedBy(currentUser.toUser(), 5);
+        verify(resourceService, never()).findLastEditedBy(any(User.class), anyInt());
+        verify(termService, never()).findLastEditedBy(any(User.class), anyInt());
+        verify(vocabularyService, never()).findLastEditedBy(any(User.class), anyInt());
+    }
+
     private List<RecentlyCommentedAsset> generateRecentlyCommentedAssets() {
         final List<RecentlyCommentedAsset> assets = new ArrayList<>();
         final User author = Generator.generateUserWithId();
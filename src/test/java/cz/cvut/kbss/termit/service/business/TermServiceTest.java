@@ -8,24 +8,30 @@ import cz.cvut.kbss.termit.dto.assignment.TermOccurrences;
 import cz.cvut.kbss.termit.dto.listing.TermDto;
 import cz.cvut.kbss.termit.environment.Environment;
 import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.VocabularyContentModified;
 import cz.cvut.kbss.termit.model.Term;
 import cz.cvut.kbss.termit.model.Vocabulary;
 import cz.cvut.kbss.termit.model.assignment.FileOccurrenceTarget;
 import cz.cvut.kbss.termit.model.assignment.TermDefinitionSource;
 import cz.cvut.kbss.termit.model.comment.Comment;
+import cz.cvut.kbss.termit.persistence.dao.util.VocabularyContentVersions;
 import cz.cvut.kbss.termit.service.comment.CommentService;
+import cz.cvut.kbss.termit.service.document.TermDefinitionAnalysisQueue;
 import cz.cvut.kbss.termit.service.document.TextAnalysisService;
 import cz.cvut.kbss.termit.service.export.VocabularyExporters;
 import cz.cvut.kbss.termit.service.export.util.TypeAwareByteArrayResource;
 import cz.cvut.kbss.termit.service.repository.ChangeRecordService;
 import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
 import cz.cvut.kbss.termit.util.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigInteger;
 import java.net.URI;
@@ -54,6 +60,9 @@ class TermServiceTest {
     @Mock
     private TextAnalysisService textAnalysisService;
 
+    @Mock
+    private TermDefinitionAnalysisQueue analysisQueue;
+
     @Mock
     private TermOccurrenceService termOccurrenceRepositoryService;
 
@@ -63,14 +72,25 @@ class TermServiceTest {
     @Mock
     private CommentService commentService;
 
+    @Mock
+    private VocabularyContentVersions contentVersions;
+
     @Mock
     private Configuration configuration;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private TermService sut;
 
     private final Vocabulary vocabulary = Generator.generateVocabularyWithId();
 
+    @BeforeEach
+    void setUp() {
+        sut.setApplicationEventPublisher(eventPublisher);
+    }
+
     @Test
     void exportGlossaryGetsGlossaryExportForSpecifiedVocabularyFromExporters() {
         final TypeAwareByteArrayResource resource = new TypeAwareByteArrayResource("test".getBytes(),
@@ -271,23 +291,25 @@ class TermServiceTest {
     }
 
     @Test
-    void persistChildInvokesTextAnalysisOnPersistedChildTerm() {
+    void persistChildSchedulesTextAnalysisOfPersistedChildTerm() {
         final Term parent = generateTermWithId();
         parent.setVocabulary(vocabulary.getUri());
         final Term childToPersist = generateTermWithId();
         sut.persistChild(childToPersist, parent);
-        verify(textAnalysisService).analyzeTermDefinition(childToPersist, parent.getVocabulary());
+        verify(analysisQueue).scheduleTerm(childToPersist.getUri(), parent.getVocabulary());
+        verify(textAnalysisService, never()).analyzeTermDefinition(any(), any());
     }
 
     @Test
-    void persistRootInvokesTextAnalysisOnPersistedRootTerm() {
+    void persistRootSchedulesTextAnalysisOfPersistedRootTerm() {
         final Term toPersist = generateTermWithId();
         sut.persistRoot(toPersist, vocabulary);
-        verify(textAnalysisService).analyzeTermDefinition(toPersist, vocabulary.getUri());
+        verify(analysisQueue).scheduleTerm(toPersist.getUri(), vocabulary.getUri());
+        verify(textAnalysisService, never()).analyzeTermDefinition(any(), any());
     }
 
     @Test
-    void updateInvokesTextAnalysisOnUpdatedTerm() {
+    void updateSchedulesTextAnalysisOfUpdatedTermWhenDefinitionHasChanged() {
         final Term original = generateTermWithId();
         final Term toUpdate = new Term();
         toUpdate.setUri(original.getUri());
@@ -296,7 +318,7 @@ class TermServiceTest {
         when(termRepositoryService.findRequired(toUpdate.getUri())).thenReturn(original);
         toUpdate.setDefinition(MultilingualString.create(newDefinition, Environment.LANGUAGE));
         sut.update(toUpdate);
-        verify(textAnalysisService).analyzeTermDefinition(toUpdate, toUpdate.getVocabulary());
+        verify(analysisQueue).scheduleTerm(toUpdate.getUri(), toUpdate.getVocabulary());
     }
 
     @Test
@@ -337,6 +359,27 @@ class TermServiceTest {
         verify(termOccurrenceRepositoryService).persist(definitionSource);
     }
 
+    @Test
+    void setTermDefinitionSourcePublishesVocabularyContentModifiedEvent() {
+        final Term term = Generator.generateTermWithId(vocabulary.getUri());
+        final TermDefinitionSource definitionSource = new TermDefinitionSource();
+        definitionSource.setTarget(new FileOccurrenceTarget(Generator.generateFileWithId("test.html")));
+        when(termRepositoryService.findRequired(term.getUri())).thenReturn(term);
+
+        sut.setTermDefinitionSource(term, definitionSource);
+        final ArgumentCaptor<VocabularyContentModified> captor = ArgumentCaptor.forClass(
+                VocabularyContentModified.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(vocabulary.getUri(), captor.getValue().getVocabularyIri());
+    }
+
+    @Test
+    void getContentVersionCombinesVocabularyContentVersionWithVocabularyLastModified() {
+        when(contentVersions.getVersion(vocabulary.getUri())).thenReturn("1-2");
+        when(vocabularyService.getLastModified()).thenReturn(117L);
+        assertEquals("1-2-117", sut.getContentVersion(vocabulary.getUri()));
+    }
+
     @Test
     void getChangesRetrievesChangeRecordsFromChangeRecordService() {
         final Term asset = Generator.generateTermWithId();
@@ -403,30 +446,31 @@ class TermServiceTest {
     }
 
     @Test
-    void persistRootInvokesTextAnalysisOnAllTermsInTargetVocabulary() {
+    void persistRootSchedulesTextAnalysisOfAllTermsInTargetVocabulary() {
         final Term term = generateTermWithId();
 
         sut.persistRoot(term, vocabulary);
-        final InOrder inOrder = inOrder(termRepositoryService, vocabularyService);
+        final InOrder inOrder = inOrder(termRepositoryService, analysisQueue);
         inOrder.verify(termRepositoryService).addRootTermToVocabulary(term, vocabulary);
-        inOrder.verify(vocabularyService).runTextAnalysisOnAllTerms(vocabulary);
+        inOrder.verify(analysisQueue).scheduleVocabulary(vocabulary.getUri());
+        verify(vocabularyService, never()).runTextAnalysisOnAllTerms(any());
     }
 
     @Test
-    void persistChildInvokesTextAnalysisOnAllTermsInParentTermVocabulary() {
+    void persistChildSchedulesTextAnalysisOfAllTermsInParentTermVocabulary() {
         final Term parent = generateTermWithId();
         parent.setVocabulary(vocabulary.getUri());
         final Term childToPersist = generateTermWithId();
-        when(vocabularyService.getRequiredReference(vocabulary.getUri())).thenReturn(vocabulary);
 
         sut.persistChild(childToPersist, parent);
-        final InOrder inOrder = inOrder(termRepositoryService, vocabularyService);
+        final InOrder inOrder = inOrder(termRepositoryService, analysisQueue);
         inOrder.verify(termRepositoryService).addChildTerm(childToPersist, parent);
-        inOrder.verify(vocabularyService).runTextAnalysisOnAllTerms(vocabulary);
+        inOrder.verify(analysisQueue).scheduleVocabulary(vocabulary.getUri());
+        verify(vocabularyService, never()).runTextAnalysisOnAllTerms(any());
     }
 
     @Test
-    void updateInvokesTextAnalysisOnAllTermsInTermsVocabularyWhenLabelHasChanged() {
+    void updateSchedulesTextAnalysisOfAllTermsInTermsVocabularyWhenLabelHasChanged() {
         final Term original = generateTermWithId();
         original.setVocabulary(vocabulary.getUri());
         final Term update = new Term();
@@ -436,11 +480,11 @@ class TermServiceTest {
         update.setDescription(new MultilingualString(original.getDescription().getValue()));
         update.setVocabulary(vocabulary.getUri());
         when(termRepositoryService.findRequired(original.getUri())).thenReturn(original);
-        when(vocabularyService.getRequiredReference(vocabulary.getUri())).thenReturn(vocabulary);
         update.getLabel().set(Environment.LANGUAGE, "updatedLabel");
 
         sut.update(update);
-        verify(vocabularyService).runTextAnalysisOnAllTerms(vocabulary);
+        verify(analysisQueue).scheduleVocabulary(vocabulary.getUri());
+        verify(analysisQueue, never()).scheduleTerm(any(), any());
     }
 
     @Test
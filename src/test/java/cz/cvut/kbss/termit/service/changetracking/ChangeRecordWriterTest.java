@@ -0,0 +1,129 @@
+package cz.cvut.kbss.termit.service.changetracking;
+
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.model.Term;
+import cz.cvut.kbss.termit.model.changetracking.AbstractChangeRecord;
+import cz.cvut.kbss.termit.persistence.dao.changetracking.ChangeRecordDao;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChangeRecordWriterTest {
+
+    private static final int TIMEOUT = 1000;
+
+    @Mock
+    private ChangeRecordDao changeRecordDao;
+
+    private final TestTransactionManager txManager = new TestTransactionManager();
+
+    private Term asset;
+
+    private ChangeRecordWriter sut;
+
+    @BeforeEach
+    void setUp() {
+        this.asset = Generator.generateTermWithId();
+        final Configuration config = new Configuration();
+        config.getChangetracking().setAsynchronous(true);
+        this.sut = new ChangeRecordWriter(changeRecordDao, txManager, config);
+        sut.initExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
+    }
+
+    @Test
+    void writeInAsynchronousModePersistsRecordsInBackgroundAfterTransactionCommits() {
+        final AbstractChangeRecord record = Generator.generatePersistChange(asset);
+        new TransactionTemplate(txManager).executeWithoutResult(status -> {
+            sut.write(record, asset);
+            verify(changeRecordDao, never()).persistAll(any(), any());
+        });
+
+        verify(changeRecordDao, timeout(TIMEOUT)).persistAll(Collections.singletonList(record), asset);
+    }
+
+    @Test
+    void writeInAsynchronousModeDiscardsRecordsOfRolledBackTransaction() {
+        final AbstractChangeRecord record = Generator.generatePersistChange(asset);
+        new TransactionTemplate(txManager).executeWithoutResult(status -> {
+            sut.write(record, asset);
+            status.setRollbackOnly();
+        });
+
+        // Nothing is submitted to the background writer on rollback
+        verify(changeRecordDao, never()).persistAll(any(), any());
+    }
+
+    @Test
+    void writeInNewTransactionDoesNotAddRecordsToBatchOfSuspendedTransaction() {
+        final AbstractChangeRecord outerRecord = Generator.generatePersistChange(asset);
+        final AbstractChangeRecord innerRecord = Generator.generateUpdateChange(asset);
+        final TransactionTemplate requiresNew = new TransactionTemplate(txManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        new TransactionTemplate(txManager).executeWithoutResult(status -> {
+            sut.write(outerRecord, asset);
+            requiresNew.executeWithoutResult(s -> sut.write(innerRecord, asset));
+            status.setRollbackOnly();
+        });
+
+        verify(changeRecordDao, timeout(TIMEOUT)).persistAll(Collections.singletonList(innerRecord), asset);
+        verify(changeRecordDao, never()).persistAll(eq(Collections.singletonList(outerRecord)), any());
+    }
+
+    /**
+     * Transaction manager without an underlying resource, supporting transaction synchronization and suspension.
+     */
+    private static class TestTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return (Boolean) transaction;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            return transaction;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -73,6 +73,19 @@ class ChangeTrackerTest extends BaseServiceTestRunner {
         assertNotNull(record.getTimestamp());
     }
 
+    @Test
+    void recordAddEventDiscardsChangeRecordWhenTransactionRollsBack() {
+        enableRdfsInference(em);
+        final Term newTerm = Generator.generateTermWithId();
+        newTerm.setGlossary(vocabulary.getGlossary().getUri());
+        assertThrows(IllegalStateException.class, () -> transactional(() -> {
+            sut.recordAddEvent(newTerm);
+            throw new IllegalStateException("Rollback");
+        }));
+
+        assertTrue(findRecords(newTerm).isEmpty());
+    }
+
     private List<AbstractChangeRecord> findRecords(HasIdentifier entity) {
         return em.createNativeQuery("SELECT ?x WHERE { ?x a ?changeRecord ; ?concerns ?entity . }", AbstractChangeRecord.class)
                  .setParameter("changeRecord", URI.create(cz.cvut.kbss.termit.util.Vocabulary.s_c_zmena))
@@ -134,4 +147,29 @@ class ChangeTrackerTest extends BaseServiceTestRunner {
                     equalTo(DC.Terms.SOURCE)));
         });
     }
+
+    @Test
+    void recordUpdateEventWritesChangeRecordsOfAllAssetsChangedInTransaction() {
+        enableRdfsInference(em);
+        final Term originalOne = Generator.generateTermWithId();
+        originalOne.setGlossary(vocabulary.getGlossary().getUri());
+        final Term originalTwo = Generator.generateTermWithId();
+        originalTwo.setGlossary(vocabulary.getGlossary().getUri());
+        transactional(() -> {
+            em.persist(originalOne, descriptorFactory.termDescriptor(vocabulary));
+            em.persist(originalTwo, descriptorFactory.termDescriptor(vocabulary));
+        });
+
+        final Term updateOne = cloneOf(originalOne);
+        updateOne.setDefinition(MultilingualString.create("Updated definition of this term.", Environment.LANGUAGE));
+        final Term updateTwo = cloneOf(originalTwo);
+        updateTwo.setSources(Collections.singleton(Generator.generateUri().toString()));
+        transactional(() -> {
+            sut.recordUpdateEvent(updateOne, originalOne);
+            sut.recordUpdateEvent(updateTwo, originalTwo);
+        });
+
+        assertEquals(1, findRecords(originalOne).size());
+        assertEquals(1, findRecords(originalTwo).size());
+    }
 }
@@ -0,0 +1,156 @@
+package cz.cvut.kbss.termit.service.changetracking;
+
+import cz.cvut.kbss.termit.dto.RecentlyModifiedAsset;
+import cz.cvut.kbss.termit.environment.Environment;
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.AssetRemovalEvent;
+import cz.cvut.kbss.termit.model.User;
+import cz.cvut.kbss.termit.model.changetracking.AbstractChangeRecord;
+import cz.cvut.kbss.termit.model.resource.Resource;
+import cz.cvut.kbss.termit.persistence.dao.ResourceDao;
+import cz.cvut.kbss.termit.persistence.dao.TermDao;
+import cz.cvut.kbss.termit.persistence.dao.VocabularyDao;
+import cz.cvut.kbss.termit.util.Configuration;
+import cz.cvut.kbss.termit.util.Vocabulary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecentlyModifiedAssetsTest {
+
+    private static final int CAPACITY = 5;
+
+    @Mock
+    private ResourceDao resourceDao;
+
+    @Mock
+    private TermDao termDao;
+
+    @Mock
+    private VocabularyDao vocabularyDao;
+
+    private User user;
+
+    private RecentlyModifiedAssets sut;
+
+    @BeforeEach
+    void setUp() {
+        this.user = Generator.generateUserWithId();
+        final Configuration config = new Configuration();
+        config.getPersistence().setLanguage(Environment.LANGUAGE);
+        config.getChangetracking().setRecentChanges(CAPACITY);
+        this.sut = new RecentlyModifiedAssets(resourceDao, termDao, vocabularyDao, config);
+    }
+
+    private Resource addPersistChange(int secondsAgo) {
+        final Resource resource = Generator.generateResourceWithId();
+        addChange(Generator.generatePersistChange(resource), resource, secondsAgo);
+        return resource;
+    }
+
+    private void addChange(AbstractChangeRecord record, Resource resource, int secondsAgo) {
+        record.setAuthor(user);
+        record.setTimestamp(Instant.now().minusSeconds(secondsAgo));
+        sut.add(record, resource);
+    }
+
+    @Test
+    void findLastEditedReturnsMostRecentlyModifiedAssetsWithoutQueryingRepositoryAfterLoad() {
+        final List<Resource> resources = IntStream.range(0, 3).mapToObj(i -> addPersistChange(10 - i))
+                                                  .collect(Collectors.toList());
+
+        final Optional<List<RecentlyModifiedAsset>> result = sut.findLastEdited(2);
+        assertTrue(result.isPresent());
+        assertEquals(List.of(resources.get(2).getUri(), resources.get(1).getUri()),
+                     result.get().stream().map(RecentlyModifiedAsset::getUri).collect(Collectors.toList()));
+        sut.findLastEdited(2);
+        verify(resourceDao).findRecentChanges(CAPACITY);
+        verify(termDao).findRecentChanges(CAPACITY);
+        verify(vocabularyDao).findRecentChanges(CAPACITY);
+    }
+
+    @Test
+    void findLastEditedReturnsEachAssetOnceWithItsLatestChange() {
+        final Resource resource = addPersistChange(10);
+        addPersistChange(5);
+        addChange(Generator.generateUpdateChange(resource), resource, 1);
+
+        final Optional<List<RecentlyModifiedAsset>> result = sut.findLastEdited(CAPACITY);
+        assertTrue(result.isPresent());
+        assertEquals(2, result.get().size());
+        assertEquals(resource.getUri(), result.get().get(0).getUri());
+        assertThat(result.get().get(0).getTypes(), hasItem(Vocabulary.s_c_uprava_entity));
+        assertEquals(user, result.get().get(0).getEditor());
+    }
+
+    @Test
+    void findLastEditedByReturnsOnlyAssetsModifiedBySpecifiedUser() {
+        final Resource mine = addPersistChange(10);
+        final User otherUser = Generator.generateUserWithId();
+        final Resource other = Generator.generateResourceWithId();
+        final AbstractChangeRecord otherRecord = Generator.generatePersistChange(other);
+        otherRecord.setAuthor(otherUser);
+        otherRecord.setTimestamp(Instant.now());
+        sut.add(otherRecord, other);
+
+        final Optional<List<RecentlyModifiedAsset>> result = sut.findLastEditedBy(user, CAPACITY);
+        assertTrue(result.isPresent());
+        assertEquals(1, result.get().size());
+        assertEquals(mine.getUri(), result.get().get(0).getUri());
+    }
+
+    @Test
+    void findLastEditedReturnsEmptyOptionalWhenRequestedAssetsWereDroppedFromBuffer() {
+        // Load the (empty) buffer first
+        assertEquals(Optional.of(Collections.emptyList()), sut.findLastEdited(CAPACITY));
+        IntStream.range(0, CAPACITY + 1).forEach(i -> addPersistChange(CAPACITY + 1 - i));
+
+        assertTrue(sut.findLastEdited(CAPACITY).isPresent());
+        assertFalse(sut.findLastEdited(CAPACITY + 1).isPresent());
+    }
+
+    @Test
+    void findLastEditedReturnsChangesLoadedFromRepository() {
+        final RecentlyModifiedAsset loaded = new RecentlyModifiedAsset(Generator.generateUri(), "Test",
+                                                                       Instant.now().minusSeconds(60),
+                                                                       user.getUri(), null,
+                                                                       Vocabulary.s_c_zdroj,
+                                                                       Vocabulary.s_c_vytvoreni_entity);
+        when(resourceDao.findRecentChanges(anyInt())).thenReturn(Collections.singletonList(loaded));
+        final Resource added = addPersistChange(0);
+
+        final Optional<List<RecentlyModifiedAsset>> result = sut.findLastEdited(CAPACITY);
+        assertTrue(result.isPresent());
+        assertEquals(List.of(added.getUri(), loaded.getUri()),
+                     result.get().stream().map(RecentlyModifiedAsset::getUri).collect(Collectors.toList()));
+    }
+
+    @Test
+    void onAssetRemovalRemovesChangesOfRemovedAsset() {
+        final Resource removed = addPersistChange(10);
+        final Resource retained = addPersistChange(5);
+
+        sut.onAssetRemoval(new AssetRemovalEvent(removed));
+        final Optional<List<RecentlyModifiedAsset>> result = sut.findLastEdited(CAPACITY);
+        assertTrue(result.isPresent());
+        final List<URI> uris = result.get().stream().map(RecentlyModifiedAsset::getUri).collect(Collectors.toList());
+        assertEquals(Collections.singletonList(retained.getUri()), uris);
+    }
+}
@@ -0,0 +1,67 @@
+package cz.cvut.kbss.termit.service.document;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final int THRESHOLD = 3;
+
+    private static final long OPEN_DURATION = 1000;
+
+    private long now;
+
+    private CircuitBreaker sut;
+
+    @BeforeEach
+    void setUp() {
+        this.sut = new CircuitBreaker(THRESHOLD, OPEN_DURATION, () -> now);
+    }
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(sut.tryAcquire());
+            sut.recordFailure();
+        }
+    }
+
+    @Test
+    void circuitOpensAfterThresholdConsecutiveFailures() {
+        fail(THRESHOLD - 1);
+        assertEquals(CircuitBreaker.State.CLOSED, sut.getState());
+        fail(1);
+        assertEquals(CircuitBreaker.State.OPEN, sut.getState());
+        assertFalse(sut.tryAcquire());
+    }
+
+    @Test
+    void successResetsConsecutiveFailureCount() {
+        fail(THRESHOLD - 1);
+        sut.recordSuccess();
+        fail(THRESHOLD - 1);
+        assertEquals(CircuitBreaker.State.CLOSED, sut.getState());
+    }
+
+    @Test
+    void circuitPermitsSingleTrialInvocationAfterOpenDuration() {
+        fail(THRESHOLD);
+        now += OPEN_DURATION;
+        assertTrue(sut.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, sut.getState());
+        assertFalse(sut.tryAcquire());
+        sut.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, sut.getState());
+    }
+
+    @Test
+    void failedTrialInvocationReopensCircuit() {
+        fail(THRESHOLD);
+        now += OPEN_DURATION;
+        assertTrue(sut.tryAcquire());
+        sut.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, sut.getState());
+        assertFalse(sut.tryAcquire());
+    }
+}
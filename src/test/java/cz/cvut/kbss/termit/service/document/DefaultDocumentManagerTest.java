@@ -25,6 +25,7 @@ import cz.cvut.kbss.termit.environment.Generator;
 import cz.cvut.kbss.termit.environment.PropertyMockingApplicationContextInitializer;
 import cz.cvut.kbss.termit.event.DocumentRenameEvent;
 import cz.cvut.kbss.termit.event.FileRenameEvent;
+import cz.cvut.kbss.termit.exception.DocumentManagerException;
 import cz.cvut.kbss.termit.exception.NotFoundException;
 import cz.cvut.kbss.termit.model.resource.Document;
 import cz.cvut.kbss.termit.model.resource.File;
@@ -34,6 +35,7 @@ import cz.cvut.kbss.termit.service.IdentifierResolver;
 import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.TypeAwareResource;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
@@ -193,6 +195,34 @@ class DefaultDocumentManagerTest extends BaseServiceTestRunner {
         assertFalse(result.isEmpty());
     }
 
+    @Test
+    void writeFileContentReplacesExistingContentWithWrittenContent() throws Exception {
+        final File file = new File();
+        final java.io.File physicalFile = generateFile();
+        file.setLabel(physicalFile.getName());
+        document.addFile(file);
+        file.setDocument(document);
+        final String newContent = "<html><body>Updated</body></html>";
+        sut.writeFileContent(file, out -> out.write(newContent.getBytes()));
+        assertEquals(newContent, new String(Files.readAllBytes(physicalFile.toPath())));
+        assertEquals(1, physicalFile.getParentFile().list().length);
+    }
+
+    @Test
+    void writeFileContentRetainsOriginalContentWhenWriterFails() throws Exception {
+        final File file = new File();
+        final java.io.File physicalFile = generateFile();
+        file.setLabel(physicalFile.getName());
+        document.addFile(file);
+        file.setDocument(document);
+        assertThrows(DocumentManagerException.class, () -> sut.writeFileContent(file, out -> {
+            out.write("<html>".getBytes());
+            throw new IOException("Writing failed.");
+        }));
+        assertEquals(CONTENT, sut.loadFileContent(file));
+        assertEquals(1, physicalFile.getParentFile().list().length);
+    }
+
     @Test
     void createBackupCreatesBackupFileWithIdenticalContent() throws Exception {
         final File file = new File();
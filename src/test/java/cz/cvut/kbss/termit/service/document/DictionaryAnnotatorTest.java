@@ -0,0 +1,156 @@
+package cz.cvut.kbss.termit.service.document;
+
+import cz.cvut.kbss.termit.dto.TextAnalysisInput;
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.VocabularyContentModified;
+import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
+import cz.cvut.kbss.termit.util.Constants;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DictionaryAnnotatorTest {
+
+    private static final URI PLAN = Generator.generateUri();
+    private static final URI CITY_PLAN = Generator.generateUri();
+    private static final URI CITY = Generator.generateUri();
+
+    @Mock
+    private TermRepositoryService termService;
+
+    private final URI vocabulary = Generator.generateUri();
+
+    private DictionaryAnnotator sut;
+
+    @BeforeEach
+    void setUp() {
+        final Map<URI, Set<String>> labels = new HashMap<>();
+        labels.put(PLAN, Collections.singleton("plan"));
+        labels.put(CITY_PLAN, Collections.singleton("City  plan"));
+        labels.put(CITY, new HashSet<>(Arrays.asList("city", "town")));
+        when(termService.findAllLabels(Collections.singleton(vocabulary))).thenReturn(labels);
+        this.sut = new DictionaryAnnotator(termService);
+    }
+
+    private Document annotate(String content) throws IOException {
+        final TextAnalysisInput input = new TextAnalysisInput(content, "en", null);
+        input.addVocabularyContext(vocabulary);
+        return Jsoup.parse(new String(sut.annotate(input).getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    private static Elements occurrences(Document document) {
+        return document.getElementsByAttributeValue(Constants.RDFa.TYPE,
+                                                    cz.cvut.kbss.termit.util.Vocabulary.s_c_vyskyt_termu);
+    }
+
+    @Test
+    void annotateWrapsLabelOccurrencesInRdfaTermOccurrenceAnnotations() throws Exception {
+        final Document result = annotate("<html><body><p>The town has a new plan.</p></body></html>");
+        final Elements occurrences = occurrences(result);
+        assertEquals(2, occurrences.size());
+        assertEquals(CITY.toString(), occurrences.get(0).attr(Constants.RDFa.RESOURCE));
+        assertEquals("town", occurrences.get(0).text());
+        assertEquals(PLAN.toString(), occurrences.get(1).attr(Constants.RDFa.RESOURCE));
+        assertEquals(DictionaryAnnotator.SCORE, occurrences.get(1).attr("score"));
+        assertNotEquals(occurrences.get(0).attr(Constants.RDFa.ABOUT), occurrences.get(1).attr(Constants.RDFa.ABOUT));
+        assertEquals("The town has a new plan.", result.selectFirst("p").text());
+    }
+
+    @Test
+    void annotatePrefersLongestMatchIgnoringCaseAndWhitespaceDifferences() throws Exception {
+        final Document result = annotate("<html><body><p>The CITY\n plan is ready.</p></body></html>");
+        final Elements occurrences = occurrences(result);
+        assertEquals(1, occurrences.size());
+        assertEquals(CITY_PLAN.toString(), occurrences.get(0).attr(Constants.RDFa.RESOURCE));
+        assertEquals("CITY\n plan", occurrences.get(0).wholeText());
+    }
+
+    @Test
+    void annotateMatchesWholeWordsOnly() throws Exception {
+        final Document result = annotate("<html><body><p>Planning in cities.</p></body></html>");
+        assertTrue(occurrences(result).isEmpty());
+    }
+
+    @Test
+    void annotateSkipsExistingAnnotationsAndScripts() throws Exception {
+        final Document result = annotate("<html><head><title>City</title></head><body>" +
+                                                 "<span about=\"_:1\" typeof=\"" +
+                                                 cz.cvut.kbss.termit.util.Vocabulary.s_c_vyskyt_termu +
+                                                 "\" resource=\"" + PLAN + "\">city</span>" +
+                                                 "<script>var city = 1;</script></body></html>");
+        final Elements occurrences = occurrences(result);
+        assertEquals(1, occurrences.size());
+        assertEquals("_:1", occurrences.get(0).attr(Constants.RDFa.ABOUT));
+        final Element script = result.selectFirst("script");
+        assertNotNull(script);
+        assertEquals("var city = 1;", script.data());
+    }
+
+    @Test
+    void annotateStreamsAnnotatedContentToResultHandler() {
+        final TextAnalysisInput input = new TextAnalysisInput(null, "en", null);
+        input.addVocabularyContext(vocabulary);
+        final Resource content = new ByteArrayResource(
+                "<html><body><p>The town has a new plan.</p></body></html>".getBytes(StandardCharsets.UTF_8));
+        final List<Document> results = new ArrayList<>();
+        sut.annotate(input, content, result -> results.add(Jsoup.parse(result, StandardCharsets.UTF_8.name(), "")));
+        assertEquals(1, results.size());
+        assertEquals(2, occurrences(results.get(0)).size());
+        assertEquals("The town has a new plan.", results.get(0).selectFirst("p").text());
+    }
+
+    @Test
+    void annotateReusesMatcherForSameVocabularies() throws Exception {
+        annotate("<html><body><p>The town has a new plan.</p></body></html>");
+        final Document result = annotate("<html><body><p>A city plan.</p></body></html>");
+        assertEquals(1, occurrences(result).size());
+        verify(termService).findAllLabels(Collections.singleton(vocabulary));
+    }
+
+    @Test
+    void vocabularyContentModificationEvictsMatcherUsingModifiedVocabulary() throws Exception {
+        annotate("<html><body><p>The town has a new plan.</p></body></html>");
+        when(termService.findAllLabels(Collections.singleton(vocabulary)))
+                .thenReturn(Collections.singletonMap(CITY, Collections.singleton("village")));
+
+        sut.onVocabularyContentModified(new VocabularyContentModified(this, vocabulary));
+        final Document result = annotate("<html><body><p>The village has a new plan.</p></body></html>");
+        final Elements occurrences = occurrences(result);
+        assertEquals(1, occurrences.size());
+        assertEquals("village", occurrences.get(0).text());
+        verify(termService, times(2)).findAllLabels(Collections.singleton(vocabulary));
+    }
+
+    @Test
+    void vocabularyContentModificationKeepsMatchersOfOtherVocabularies() throws Exception {
+        annotate("<html><body><p>The town has a new plan.</p></body></html>");
+
+        sut.onVocabularyContentModified(new VocabularyContentModified(this, Generator.generateUri()));
+        annotate("<html><body><p>The town has a new plan.</p></body></html>");
+        verify(termService).findAllLabels(Collections.singleton(vocabulary));
+    }
+}
@@ -0,0 +1,168 @@
+package cz.cvut.kbss.termit.service.document;
+
+import cz.cvut.kbss.jopa.model.MultilingualString;
+import cz.cvut.kbss.termit.dto.listing.TermDto;
+import cz.cvut.kbss.termit.environment.Environment;
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.model.Term;
+import cz.cvut.kbss.termit.model.Vocabulary;
+import cz.cvut.kbss.termit.service.repository.TermRepositoryService;
+import cz.cvut.kbss.termit.service.repository.VocabularyRepositoryService;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TermDefinitionAnalysisQueueTest {
+
+    private static final int DELAY = 50;
+
+    @Mock
+    private TextAnalysisService textAnalysisService;
+
+    @Mock
+    private TermRepositoryService termService;
+
+    @Mock
+    private VocabularyRepositoryService vocabularyService;
+
+    private Vocabulary vocabulary;
+
+    private TermDefinitionAnalysisQueue sut;
+
+    @BeforeEach
+    void setUp() {
+        final Configuration config = new Configuration();
+        config.getPersistence().setLanguage(Environment.LANGUAGE);
+        config.getTextAnalysis().setDefinitionAnalysisDelay(DELAY);
+        this.vocabulary = Generator.generateVocabularyWithId();
+        this.sut = new TermDefinitionAnalysisQueue(textAnalysisService, termService, vocabularyService, config);
+        sut.initExecutors();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
+    }
+
+    private Term generateTerm() {
+        final Term term = Generator.generateTermWithId(vocabulary.getUri());
+        term.setDefinition(MultilingualString.create("Definition of " + term.getUri(), Environment.LANGUAGE));
+        return term;
+    }
+
+    @Test
+    void scheduleVocabularyAnalyzesEachTermOnceInSingleBatchForBurstOfChanges() {
+        final TermDto one = new TermDto(generateTerm());
+        final TermDto two = new TermDto(generateTerm());
+        when(vocabularyService.getRequiredReference(vocabulary.getUri())).thenReturn(vocabulary);
+        when(vocabularyService.getTransitivelyImportedVocabularies(vocabulary)).thenReturn(Collections.emptyList());
+        when(termService.findAll(vocabulary)).thenReturn(new ArrayList<>(Arrays.asList(one, two)));
+
+        for (int i = 0; i < 10; i++) {
+            sut.scheduleTerm(one.getUri(), vocabulary.getUri());
+            sut.scheduleVocabulary(vocabulary.getUri());
+        }
+        verify(textAnalysisService, timeout(DELAY * 20).times(1)).analyzeTermDefinitions(
+                argThat(batch -> batch.size() == 2 && batch.containsAll(Arrays.asList(one, two))),
+                eq(vocabulary.getUri()));
+        verify(textAnalysisService, after(DELAY * 4).times(1)).analyzeTermDefinitions(anyCollection(), any());
+        verify(termService).findAll(vocabulary);
+        verify(termService, never()).find(any());
+    }
+
+    @Test
+    void scheduleTermSkipsAnalysisWhenDefinitionHasNotChangedSinceLastAnalysis() {
+        final Term term = generateTerm();
+        when(termService.find(term.getUri())).thenReturn(Optional.of(term));
+
+        sut.scheduleTerm(term.getUri(), vocabulary.getUri());
+        verify(textAnalysisService, timeout(DELAY * 20)).analyzeTermDefinitions(Collections.singletonList(term),
+                                                                                   vocabulary.getUri());
+        sut.scheduleTerm(term.getUri(), vocabulary.getUri());
+        verify(termService, timeout(DELAY * 20).times(2)).find(term.getUri());
+        verify(textAnalysisService, after(DELAY * 4).times(1)).analyzeTermDefinitions(anyCollection(), any());
+
+        term.getDefinition().set(Environment.LANGUAGE, "Updated definition");
+        sut.scheduleTerm(term.getUri(), vocabulary.getUri());
+        verify(textAnalysisService, timeout(DELAY * 20).times(2)).analyzeTermDefinitions(Collections.singletonList(term),
+                                                                                   vocabulary.getUri());
+    }
+
+    @Test
+    void scheduleVocabularyReanalyzesUnchangedDefinitionsBecauseLabelSetHasChanged() {
+        final TermDto term = new TermDto(generateTerm());
+        when(vocabularyService.getRequiredReference(vocabulary.getUri())).thenReturn(vocabulary);
+        when(vocabularyService.getTransitivelyImportedVocabularies(vocabulary)).thenReturn(Collections.emptyList());
+        when(termService.findAll(vocabulary)).thenAnswer(inv -> new ArrayList<>(Collections.singletonList(term)));
+
+        sut.scheduleVocabulary(vocabulary.getUri());
+        verify(textAnalysisService, timeout(DELAY * 20)).analyzeTermDefinitions(Collections.singletonList(term),
+                                                                                   vocabulary.getUri());
+        sut.scheduleVocabulary(vocabulary.getUri());
+        verify(textAnalysisService, timeout(DELAY * 20).times(2)).analyzeTermDefinitions(Collections.singletonList(term),
+                                                                                   vocabulary.getUri());
+    }
+
+    @Test
+    void scheduleTermSkipsTermRemovedBeforeAnalysis() {
+        final Term term = generateTerm();
+        when(termService.find(term.getUri())).thenReturn(Optional.empty());
+
+        sut.scheduleTerm(term.getUri(), vocabulary.getUri());
+        verify(termService, timeout(DELAY * 20)).find(term.getUri());
+        verify(textAnalysisService, after(DELAY * 2).never()).analyzeTermDefinitions(anyCollection(), any());
+    }
+
+    @Test
+    void scheduledAnalysesAreRecoveredFromJournalAfterRestart(@TempDir Path storage) {
+        final Term term = generateTerm();
+        final Configuration config = new Configuration();
+        config.getPersistence().setLanguage(Environment.LANGUAGE);
+        // Long enough for the analysis not to be executed before shutdown
+        config.getTextAnalysis().setDefinitionAnalysisDelay(DELAY * 100);
+        config.getFile().setStorage(storage.toString());
+        final TermDefinitionAnalysisQueue stopped = new TermDefinitionAnalysisQueue(textAnalysisService, termService,
+                                                                                    vocabularyService, config);
+        stopped.initExecutors();
+        stopped.scheduleTerm(term.getUri(), vocabulary.getUri());
+        stopped.shutdown();
+        assertTrue(Files.exists(storage.resolve(TermDefinitionAnalysisQueue.JOURNAL_FILE)));
+
+        config.getTextAnalysis().setDefinitionAnalysisDelay(DELAY);
+
+        when(termService.find(term.getUri())).thenReturn(Optional.of(term));
+        final TermDefinitionAnalysisQueue restarted = new TermDefinitionAnalysisQueue(textAnalysisService, termService,
+                                                                                      vocabularyService, config);
+        restarted.initExecutors();
+        try {
+            restarted.onApplicationReady();
+            verify(textAnalysisService, timeout(DELAY * 20)).analyzeTermDefinitions(Collections.singletonList(term),
+                                                                                       vocabulary.getUri());
+            verify(textAnalysisService, after(DELAY * 2).times(1)).analyzeTermDefinitions(anyCollection(), any());
+            assertFalse(Files.exists(storage.resolve(TermDefinitionAnalysisQueue.JOURNAL_FILE)));
+        } finally {
+            restarted.shutdown();
+        }
+    }
+}
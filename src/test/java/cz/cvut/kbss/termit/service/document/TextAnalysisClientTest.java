@@ -0,0 +1,94 @@
+package cz.cvut.kbss.termit.service.document;
+
+import cz.cvut.kbss.termit.dto.TextAnalysisInput;
+import cz.cvut.kbss.termit.exception.WebServiceIntegrationException;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class TextAnalysisClientTest {
+
+    private static final String URL = "http://localhost/annotace";
+
+    private static final String RESULT = "<html><body>Result</body></html>";
+
+    private Configuration config;
+
+    private MockRestServiceServer mockServer;
+
+    private TextAnalysisClient sut;
+
+    @BeforeEach
+    void setUp() {
+        this.config = new Configuration();
+        config.getTextAnalysis().setUrl(URL);
+        config.getTextAnalysis().setRetryBackoff(1);
+        final RestTemplate restTemplate = new RestTemplate();
+        this.mockServer = MockRestServiceServer.createServer(restTemplate);
+        this.sut = new TextAnalysisClient(restTemplate, config);
+    }
+
+    private static TextAnalysisInput input() {
+        return new TextAnalysisInput("test", "en", null);
+    }
+
+    @Test
+    void analyzeRetriesRequestWhenServiceIsTemporarilyUnavailable() throws Exception {
+        mockServer.expect(requestTo(URL)).andExpect(method(HttpMethod.POST))
+                  .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        mockServer.expect(requestTo(URL)).andExpect(method(HttpMethod.POST))
+                  .andRespond(withSuccess(RESULT, MediaType.APPLICATION_XML));
+
+        final Resource result = sut.analyze(input());
+        mockServer.verify();
+        assertEquals(RESULT, new String(result.getInputStream().readAllBytes()));
+        assertEquals(2, sut.getRequestCount());
+        assertEquals(1, sut.getFailureCount());
+    }
+
+    @Test
+    void analyzeDoesNotRetryRequestFailingWithInternalServerError() {
+        mockServer.expect(ExpectedCount.once(), requestTo(URL)).andRespond(withServerError());
+
+        assertThrows(WebServiceIntegrationException.class, () -> sut.analyze(input()));
+        mockServer.verify();
+    }
+
+    @Test
+    void analyzeGivesUpAfterConfiguredNumberOfAttempts() {
+        mockServer.expect(ExpectedCount.times(config.getTextAnalysis().getMaxAttempts()), requestTo(URL))
+                  .andRespond(withStatus(HttpStatus.BAD_GATEWAY));
+
+        assertThrows(WebServiceIntegrationException.class, () -> sut.analyze(input()));
+        mockServer.verify();
+    }
+
+    @Test
+    void analyzeRejectsRequestsWithoutInvokingServiceAfterRepeatedFailures() {
+        config.getTextAnalysis().setMaxAttempts(1);
+        final int threshold = config.getTextAnalysis().getFailureThreshold();
+        mockServer.expect(ExpectedCount.times(threshold), requestTo(URL)).andRespond(withServerError());
+        for (int i = 0; i < threshold; i++) {
+            assertThrows(WebServiceIntegrationException.class, () -> sut.analyze(input()));
+        }
+        assertEquals(CircuitBreaker.State.OPEN.name(), sut.getCircuitState());
+
+        assertThrows(WebServiceIntegrationException.class, () -> sut.analyze(input()));
+        mockServer.verify();
+        assertEquals(1, sut.getRejectedCount());
+    }
+}
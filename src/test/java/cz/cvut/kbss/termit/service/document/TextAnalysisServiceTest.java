@@ -46,12 +46,15 @@ import org.springframework.test.web.client.MockRestServiceServer;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
 import java.nio.file.Files;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -90,6 +93,9 @@ class TextAnalysisServiceTest extends BaseServiceTestRunner {
     @Mock
     private TextAnalysisRecordDao textAnalysisRecordDao;
 
+    @Mock
+    private DictionaryAnnotator dictionaryAnnotator;
+
     private TextAnalysisService sut;
 
     private MockRestServiceServer mockServer;
@@ -113,8 +119,8 @@ class TextAnalysisServiceTest extends BaseServiceTestRunner {
         this.documentManagerSpy = spy(documentManager);
         doCallRealMethod().when(documentManagerSpy).loadFileContent(any());
         doNothing().when(documentManagerSpy).createBackup(any());
-        this.sut = new TextAnalysisService(restTemplate, config, documentManagerSpy, annotationGeneratorMock,
-                textAnalysisRecordDao);
+        this.sut = new TextAnalysisService(new TextAnalysisClient(restTemplate, config), dictionaryAnnotator, config,
+                documentManagerSpy, annotationGeneratorMock, textAnalysisRecordDao);
     }
 
     @Test
@@ -337,4 +343,48 @@ class TextAnalysisServiceTest extends BaseServiceTestRunner {
         mockServer.verify();
         verify(annotationGeneratorMock, never()).generateAnnotations(any(), any(Term.class));
     }
+
+    @Test
+    void analyzeTermDefinitionsAnalyzesMultipleDefinitionsInSingleRequest() {
+        final Term one = Generator.generateTermWithId(vocabulary.getUri());
+        final Term two = Generator.generateTermWithId(vocabulary.getUri());
+        final String result = "<html><body><div id=\"termit-definition-0\">First</div>" +
+                "<div id=\"termit-definition-1\">Second</div></body></html>";
+        mockServer.expect(requestTo(config.getTextAnalysis().getUrl()))
+                  .andExpect(method(HttpMethod.POST))
+                  .andExpect(content().string(containsString(one.getDefinition().get(Environment.LANGUAGE))))
+                  .andExpect(content().string(containsString(two.getDefinition().get(Environment.LANGUAGE))))
+                  .andRespond(withSuccess(result, MediaType.APPLICATION_XML));
+
+        sut.analyzeTermDefinitions(Arrays.asList(one, two), vocabulary.getUri());
+        mockServer.verify();
+        final ArgumentCaptor<InputStream> captor = ArgumentCaptor.forClass(InputStream.class);
+        verify(annotationGeneratorMock).generateAnnotations(captor.capture(), eq(one));
+        verify(annotationGeneratorMock).generateAnnotations(captor.capture(), eq(two));
+        final List<String> annotated = captor.getAllValues().stream()
+                                             .map(is -> new BufferedReader(new InputStreamReader(is)).lines()
+                                                                                                     .collect(Collectors.joining()))
+                                             .collect(Collectors.toList());
+        assertEquals(Arrays.asList("First", "Second"), annotated);
+    }
+
+    @Test
+    void analyzeFileUsesEmbeddedAnnotatorInsteadOfTextAnalysisServiceWhenConfigured() {
+        config.getTextAnalysis().setEmbedded(true);
+        try {
+            doAnswer(inv -> {
+                inv.getArgument(2, TextAnalysisClient.ResultHandler.class)
+                   .handle(new ByteArrayInputStream(CONTENT.getBytes()));
+                return null;
+            }).when(dictionaryAnnotator).annotate(any(), any(), any());
+            sut.analyzeFile(file, Collections.singleton(vocabulary.getUri()));
+            final ArgumentCaptor<TextAnalysisInput> captor = ArgumentCaptor.forClass(TextAnalysisInput.class);
+            verify(dictionaryAnnotator).annotate(captor.capture(), any(), any());
+            assertEquals(Collections.singleton(vocabulary.getUri()), captor.getValue().getVocabularyContexts());
+            verify(annotationGeneratorMock).generateAnnotations(any(), eq(file));
+            mockServer.verify();
+        } finally {
+            config.getTextAnalysis().setEmbedded(false);
+        }
+    }
 }
@@ -0,0 +1,36 @@
+package cz.cvut.kbss.termit.service.document.html;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DocumentTextIndexTest {
+
+    @Test
+    void startAndEndCorrespondToElementTextInDocumentText() {
+        final Document document = new Document("");
+        document.html("<div><h1>Title</h1><p>Paragraph with <span id=\"elem\"><b>nested</b> text</span>.</p>" +
+                              "<script>ignored();</script><p>Last</p></div>");
+        final DocumentTextIndex sut = new DocumentTextIndex(document);
+        final Element element = document.getElementById("elem");
+        final String text = document.wholeText();
+
+        assertEquals(text.indexOf("nested"), sut.start(element));
+        assertEquals(element.wholeText(), text.substring(sut.start(element), sut.end(element)));
+        assertEquals("Paragraph with ", sut.textBefore(sut.start(element), 15));
+        assertEquals(".Last", sut.textAfter(sut.end(element), 100));
+        assertEquals("TitleParagraph with ", sut.textBefore(sut.start(element), 100));
+    }
+
+    @Test
+    void startThrowsIllegalArgumentExceptionForElementNotInIndexedDocument() {
+        final Document document = new Document("");
+        document.html("<p>Text</p>");
+        final DocumentTextIndex sut = new DocumentTextIndex(document);
+
+        assertThrows(IllegalArgumentException.class, () -> sut.start(new Element("span")));
+    }
+}
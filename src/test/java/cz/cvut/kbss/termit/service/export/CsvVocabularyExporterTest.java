@@ -30,10 +30,10 @@ import org.springframework.http.MediaType;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.net.URI;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
@@ -51,7 +51,7 @@ class CsvVocabularyExporterTest {
 
     @Test
     void exportVocabularyGlossaryOutputsHeaderContainingColumnNamesIntoResult() throws Exception {
-        when(termService.findAllFull(vocabulary)).thenReturn(Collections.emptyList());
+        when(termService.streamAllFull(vocabulary)).thenReturn(Stream.empty());
         final Resource result = sut.exportGlossary(vocabulary);
         try (final BufferedReader reader = new BufferedReader(new InputStreamReader(result.getInputStream()))) {
             final String header = reader.readLine();
@@ -63,7 +63,7 @@ class CsvVocabularyExporterTest {
     void exportVocabularyGlossaryOutputsTermsContainedInVocabularyAsCsv() throws Exception {
         final List<Term> terms = IntStream.range(0, 10).mapToObj(i -> Generator.generateTermWithId()).collect(
                 Collectors.toList());
-        when(termService.findAllFull(vocabulary)).thenReturn(terms);
+        when(termService.streamAllFull(vocabulary)).thenReturn(terms.stream());
         final Resource result = sut.exportGlossary(vocabulary);
         try (final BufferedReader reader = new BufferedReader(new InputStreamReader(result.getInputStream()))) {
             final List<String> lines = reader.lines().collect(Collectors.toList());
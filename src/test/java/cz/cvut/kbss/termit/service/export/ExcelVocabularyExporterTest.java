@@ -33,10 +33,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static cz.cvut.kbss.termit.service.export.ExcelVocabularyExporter.SHEET_NAME;
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,7 +55,7 @@ class ExcelVocabularyExporterTest {
 
     @Test
     void exportVocabularyGlossaryOutputsExcelWorkbookWithSingleSheet() throws Exception {
-        when(termService.findAllFull(vocabulary)).thenReturn(Collections.emptyList());
+        when(termService.streamAllFull(vocabulary)).thenReturn(Stream.empty());
         final Resource result = sut.exportGlossary(vocabulary);
         assertNotNull(result);
         final XSSFWorkbook wb = new XSSFWorkbook(result.getInputStream());
@@ -67,7 +67,7 @@ class ExcelVocabularyExporterTest {
     void exportVocabularyGlossaryOutputsHeaderRowWithColumnNamesIntoSheet() throws Exception {
         final List<Term> terms = IntStream.range(0, 10).mapToObj(i -> Generator.generateTermWithId()).collect(
                 Collectors.toList());
-        when(termService.findAllFull(vocabulary)).thenReturn(terms);
+        when(termService.streamAllFull(vocabulary)).thenReturn(terms.stream());
         final Resource result = sut.exportGlossary(vocabulary);
         final XSSFWorkbook wb = new XSSFWorkbook(result.getInputStream());
         final XSSFSheet sheet = wb.getSheet(SHEET_NAME);
@@ -83,7 +83,7 @@ class ExcelVocabularyExporterTest {
     void exportVocabularyGlossaryOutputsGlossaryTermsIntoSheet() throws Exception {
         final List<Term> terms = IntStream.range(0, 10).mapToObj(i -> Generator.generateTermWithId()).collect(
                 Collectors.toList());
-        when(termService.findAllFull(vocabulary)).thenReturn(terms);
+        when(termService.streamAllFull(vocabulary)).thenReturn(terms.stream());
         final Resource result = sut.exportGlossary(vocabulary);
         final XSSFWorkbook wb = new XSSFWorkbook(result.getInputStream());
         final XSSFSheet sheet = wb.getSheet(SHEET_NAME);
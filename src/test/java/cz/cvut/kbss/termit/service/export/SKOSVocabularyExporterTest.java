@@ -9,11 +9,13 @@ import cz.cvut.kbss.termit.model.User;
 import cz.cvut.kbss.termit.model.Vocabulary;
 import cz.cvut.kbss.termit.persistence.DescriptorFactory;
 import cz.cvut.kbss.termit.service.BaseServiceTestRunner;
+import cz.cvut.kbss.termit.service.export.util.TypeAwareStreamingResource;
 import cz.cvut.kbss.termit.util.Configuration;
 import cz.cvut.kbss.termit.util.Constants;
 import cz.cvut.kbss.termit.util.TypeAwareResource;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.ValueFactory;
 import org.eclipse.rdf4j.model.impl.LinkedHashModel;
 import org.eclipse.rdf4j.model.impl.SimpleValueFactory;
@@ -29,14 +31,18 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -175,6 +181,18 @@ class SKOSVocabularyExporterTest extends BaseServiceTestRunner {
         }
     }
 
+    @Test
+    void exportGlossaryWritesExportDirectlyIntoOutputStream() throws Exception {
+        final List<Term> terms = generateTerms(vocabulary);
+        final TypeAwareResource result = sut.exportGlossary(vocabulary);
+        assertThat(result, instanceOf(TypeAwareStreamingResource.class));
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        ((TypeAwareStreamingResource) result).writeTo(bos);
+        final Model model = Rio.parse(new ByteArrayInputStream(bos.toByteArray()), "", RDFFormat.TURTLE);
+        terms.forEach(t -> assertThat(model,
+                hasItem(vf.createStatement(vf.createIRI(t.getUri().toString()), RDF.TYPE, SKOS.CONCEPT))));
+    }
+
     List<Term> generateTerms(Vocabulary target) {
         final List<Term> terms = new ArrayList<>(10);
         for (int i = 0; i < Generator.randomInt(5, 10); i++) {
@@ -240,6 +258,32 @@ class SKOSVocabularyExporterTest extends BaseServiceTestRunner {
         });
     }
 
+    @Test
+    void exportGlossaryDoesNotRepeatStatementsOfTermsWithMultiValuedProperties() throws Exception {
+        final List<Term> terms = generateTerms(vocabulary);
+        final Term term = terms.get(Generator.randomIndex(terms));
+        insertAltLabels(term);
+        transactional(() -> {
+            try (final RepositoryConnection conn = em.unwrap(Repository.class).getConnection()) {
+                conn.begin();
+                final IRI iri = vf.createIRI(term.getUri().toString());
+                conn.add(iri, SKOS.EXACT_MATCH, vf.createIRI(Generator.generateUri().toString()));
+                conn.add(iri, SKOS.EXACT_MATCH, vf.createIRI(Generator.generateUri().toString()));
+                conn.commit();
+            }
+        });
+
+        final TypeAwareResource result = sut.exportGlossary(vocabulary);
+        final List<Statement> statements = new ArrayList<>();
+        final RDFParser parser = Rio.createParser(RDFFormat.TURTLE);
+        parser.setRDFHandler(new StatementCollector(statements));
+        parser.parse(result.getInputStream(), "");
+        final Model model = new LinkedHashModel(statements);
+        assertEquals(model.size(), statements.size());
+        assertEquals(2, model.filter(vf.createIRI(term.getUri().toString()), SKOS.ALT_LABEL, null).size());
+        assertEquals(2, model.filter(vf.createIRI(term.getUri().toString()), SKOS.EXACT_MATCH, null).size());
+    }
+
     @Test
     void exportGlossaryExportsHierarchicalStructureOfTerms() throws Exception {
         final List<Term> terms = generateTerms(vocabulary);
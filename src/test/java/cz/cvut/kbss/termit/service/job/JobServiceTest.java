@@ -0,0 +1,96 @@
+package cz.cvut.kbss.termit.service.job;
+
+import cz.cvut.kbss.termit.environment.Environment;
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.exception.NotFoundException;
+import cz.cvut.kbss.termit.util.Configuration;
+import cz.cvut.kbss.termit.util.JobProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobServiceTest {
+
+    private static final URI SUBJECT = Generator.generateUri();
+
+    private JobService sut;
+
+    @BeforeEach
+    void setUp() {
+        Environment.setCurrentUser(Generator.generateUserAccount());
+        this.sut = new JobService(new Configuration());
+        sut.initExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sut.shutdown();
+        Environment.resetCurrentUser();
+    }
+
+    private static void awaitDone(Job job) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (!job.getStatus().isDone() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(job.getStatus().isDone());
+    }
+
+    @Test
+    void submitExecutesTaskAndMarksJobFinished() throws Exception {
+        final Job job = sut.submit("test", SUBJECT, j -> j.setResult(SUBJECT));
+        awaitDone(job);
+        assertEquals(JobStatus.FINISHED, job.getStatus());
+        assertEquals(SUBJECT, job.getResult());
+        assertNotNull(job.getStarted());
+        assertNotNull(job.getFinished());
+    }
+
+    @Test
+    void submitMarksJobFailedWithMessageWhenTaskThrowsException() throws Exception {
+        final Job job = sut.submit("test", SUBJECT, j -> {
+            throw new IllegalStateException("Failure");
+        });
+        awaitDone(job);
+        assertEquals(JobStatus.FAILED, job.getStatus());
+        assertEquals("Failure", job.getMessage());
+    }
+
+    @Test
+    void submitRecordsProgressReportedByTask() throws Exception {
+        final Job job = sut.submit("test", SUBJECT, j -> JobProgress.report(5, 10));
+        awaitDone(job);
+        assertEquals(5, job.getProcessed());
+        assertEquals(10, job.getTotal());
+    }
+
+    @Test
+    void cancelStopsRunningJob() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final Job job = sut.submit("test", SUBJECT, j -> {
+            started.countDown();
+            while (!JobProgress.isCancelled()) {
+                Thread.yield();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        sut.cancel(job.getId());
+        awaitDone(job);
+        assertEquals(JobStatus.CANCELLED, job.getStatus());
+    }
+
+    @Test
+    void findRequiredThrowsNotFoundExceptionForJobSubmittedByAnotherUser() {
+        final Job job = sut.submit("test", SUBJECT, j -> {
+        });
+        Environment.setCurrentUser(Generator.generateUserAccount());
+        assertThrows(NotFoundException.class, () -> sut.findRequired(job.getId()));
+        assertTrue(sut.findAll().isEmpty());
+    }
+}
@@ -31,6 +31,7 @@ import cz.cvut.kbss.termit.model.assignment.TermOccurrence;
 import cz.cvut.kbss.termit.model.resource.Document;
 import cz.cvut.kbss.termit.model.resource.File;
 import cz.cvut.kbss.termit.persistence.DescriptorFactory;
+import cz.cvut.kbss.termit.persistence.dao.util.TermLabelIndex;
 import cz.cvut.kbss.termit.service.BaseServiceTestRunner;
 import cz.cvut.kbss.termit.util.Constants;
 import org.eclipse.rdf4j.common.iteration.Iterations;
@@ -68,12 +69,17 @@ class TermRepositoryServiceTest extends BaseServiceTestRunner {
     @Autowired
     private TermRepositoryService sut;
 
+    @Autowired
+    private TermLabelIndex labelIndex;
+
     private UserAccount user;
     private Vocabulary vocabulary;
     private Vocabulary childVocabulary;
 
     @BeforeEach
     void setUp() {
+        // Tests write terms directly, bypassing incremental index updates
+        labelIndex.invalidate();
         this.user = Generator.generateUserAccountWithPassword();
         transactional(() -> em.persist(user));
         Environment.setCurrentUser(user);
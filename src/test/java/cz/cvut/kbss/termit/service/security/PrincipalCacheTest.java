@@ -0,0 +1,100 @@
+/**
+ * TermIt
+ * Copyright (C) 2019 Czech Technical University in Prague
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+package cz.cvut.kbss.termit.service.security;
+
+import cz.cvut.kbss.termit.environment.Generator;
+import cz.cvut.kbss.termit.event.EvictCacheEvent;
+import cz.cvut.kbss.termit.event.UserAccountUpdateEvent;
+import cz.cvut.kbss.termit.model.UserAccount;
+import cz.cvut.kbss.termit.security.model.TermItUserDetails;
+import cz.cvut.kbss.termit.util.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private TermItUserDetailsService userDetailsService;
+
+    private Configuration config;
+
+    private UserAccount user;
+
+    private PrincipalCache sut;
+
+    @BeforeEach
+    void setUp() {
+        this.config = new Configuration();
+        this.user = Generator.generateUserAccount();
+        when(userDetailsService.loadUserByUsername(user.getUsername())).thenReturn(new TermItUserDetails(user));
+        this.sut = new PrincipalCache(userDetailsService, config);
+    }
+
+    @Test
+    void getUserDetailsLoadsUserDetailsOnlyOnceWhenCached() {
+        final TermItUserDetails first = sut.getUserDetails(user.getUri(), user.getUsername());
+        final TermItUserDetails second = sut.getUserDetails(user.getUri(), user.getUsername());
+        assertEquals(user, first.getUser());
+        assertEquals(first, second);
+        verify(userDetailsService).loadUserByUsername(user.getUsername());
+    }
+
+    @Test
+    void getUserDetailsReloadsUserDetailsWhenCachedEntryExpired() {
+        config.getJwt().setPrincipalCacheTtl(0);
+        this.sut = new PrincipalCache(userDetailsService, config);
+        sut.getUserDetails(user.getUri(), user.getUsername());
+        sut.getUserDetails(user.getUri(), user.getUsername());
+        verify(userDetailsService, times(2)).loadUserByUsername(user.getUsername());
+    }
+
+    @Test
+    void getUserDetailsEvictsLeastRecentlyUsedEntryWhenMaximumSizeIsExceeded() {
+        config.getJwt().setPrincipalCacheSize(1);
+        this.sut = new PrincipalCache(userDetailsService, config);
+        final UserAccount another = Generator.generateUserAccount();
+        when(userDetailsService.loadUserByUsername(another.getUsername())).thenReturn(new TermItUserDetails(another));
+        sut.getUserDetails(user.getUri(), user.getUsername());
+        sut.getUserDetails(another.getUri(), another.getUsername());
+        sut.getUserDetails(user.getUri(), user.getUsername());
+        verify(userDetailsService, times(2)).loadUserByUsername(user.getUsername());
+    }
+
+    @Test
+    void onUserAccountUpdateEvictsUpdatedUserDetails() {
+        sut.getUserDetails(user.getUri(), user.getUsername());
+        sut.onUserAccountUpdate(new UserAccountUpdateEvent(user));
+        sut.getUserDetails(user.getUri(), user.getUsername());
+        verify(userDetailsService, times(2)).loadUserByUsername(user.getUsername());
+    }
+
+    @Test
+    void onEvictCacheEvictsAllUserDetails() {
+        sut.getUserDetails(user.getUri(), user.getUsername());
+        sut.onEvictCache(new EvictCacheEvent(this));
+        sut.getUserDetails(user.getUri(), user.getUsername());
+        verify(userDetailsService, times(2)).loadUserByUsername(user.getUsername());
+    }
+}